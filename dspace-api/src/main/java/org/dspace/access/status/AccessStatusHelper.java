@@ -39,4 +39,19 @@ public interface AccessStatusHelper {
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     public String getEmbargoFromItem(Context context, Item item, Date threshold) throws SQLException;
+
+    /**
+     * Retrieve the date of the next scheduled change of the access status of the item, like the lift of an
+     * embargo, so that a stored access status can be computed again at that date.
+     * The default implementation returns null: no change is scheduled.
+     *
+     * @param context the DSpace context
+     * @param item the item
+     * @param threshold the embargo threshold date
+     * @return the date of the next change, or null if no change is scheduled
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public default Date getNextAccessStatusChange(Context context, Item item, Date threshold) throws SQLException {
+        return null;
+    }
 }
@@ -9,9 +9,13 @@ package org.dspace.access.status;
 
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
+import org.dspace.access.status.dao.ItemAccessStatusDAO;
 import org.dspace.access.status.service.AccessStatusService;
 import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.service.PluginService;
 import org.dspace.services.ConfigurationService;
@@ -22,6 +26,9 @@ import org.springframework.beans.factory.annotation.Autowired;
  * Implementation for the access status calculation service.
  */
 public class AccessStatusServiceImpl implements AccessStatusService {
+    // Number of expired stored access statuses updated before each commit.
+    private static final int UPDATE_BATCH_SIZE = 100;
+
     // Plugin implementation, set from the DSpace configuration by init().
     protected AccessStatusHelper helper = null;
 
@@ -33,6 +40,12 @@ public class AccessStatusServiceImpl implements AccessStatusService {
     @Autowired(required = true)
     protected PluginService pluginService;
 
+    @Autowired(required = true)
+    protected ItemService itemService;
+
+    @Autowired(required = true)
+    protected ItemAccessStatusDAO itemAccessStatusDAO;
+
     /**
      * Initialize the bean (after dependency injection has already taken place).
      * Ensures the configurationService is injected, so that we can get the plugin
@@ -61,6 +74,12 @@ public class AccessStatusServiceImpl implements AccessStatusService {
 
     @Override
     public String getAccessStatus(Context context, Item item) throws SQLException {
+        if (item != null && isStoreEnabled()) {
+            ItemAccessStatus storedStatus = itemAccessStatusDAO.findByItem(context, item.getID());
+            if (storedStatus != null && !storedStatus.isExpired(new Date())) {
+                return storedStatus.getAccessStatus();
+            }
+        }
         return helper.getAccessStatusFromItem(context, item, forever_date);
     }
 
@@ -68,4 +87,42 @@ public class AccessStatusServiceImpl implements AccessStatusService {
     public String getEmbargoFromItem(Context context, Item item) throws SQLException {
         return helper.getEmbargoFromItem(context, item, forever_date);
     }
+
+    @Override
+    public void updateAccessStatus(Context context, Item item) throws SQLException {
+        if (!isStoreEnabled()) {
+            return;
+        }
+        String accessStatus = helper.getAccessStatusFromItem(context, item, forever_date);
+        Date nextChange = helper.getNextAccessStatusChange(context, item, forever_date);
+        itemAccessStatusDAO.save(context, item.getID(), accessStatus, nextChange);
+    }
+
+    @Override
+    public int updateExpiredAccessStatuses(Context context) throws SQLException {
+        if (!isStoreEnabled()) {
+            return 0;
+        }
+        int count = 0;
+        List<UUID> itemIds = itemAccessStatusDAO.findItemsToUpdate(context, new Date(), UPDATE_BATCH_SIZE);
+        while (!itemIds.isEmpty()) {
+            for (UUID itemId : itemIds) {
+                Item item = itemService.find(context, itemId);
+                if (item != null) {
+                    updateAccessStatus(context, item);
+                    context.uncacheEntity(item);
+                } else {
+                    itemAccessStatusDAO.delete(context, itemId);
+                }
+                count++;
+            }
+            context.commit();
+            itemIds = itemAccessStatusDAO.findItemsToUpdate(context, new Date(), UPDATE_BATCH_SIZE);
+        }
+        return count;
+    }
+
+    private boolean isStoreEnabled() {
+        return configurationService.getBooleanProperty("access.status.store.enabled", true);
+    }
 }
@@ -75,6 +75,62 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
         if (item == null) {
             return UNKNOWN;
         }
+        return calculateAccessStatusForDso(context, getPrimaryOrFirstBitstream(item), threshold);
+    }
+
+    /**
+     * Look at the anonymous read policies of the primary (or first) bitstream of the item to find the
+     * next date its access status changes: the closest start or end date of a policy in the future.
+     * The start dates after the embargo threshold date are not considered, as they don't lift any
+     * embargo.
+     *
+     * If the item is null or has no bitstream, returns null.
+     *
+     * @param context     the DSpace context
+     * @param item        the item to check
+     * @param threshold   the embargo threshold date
+     * @return the date of the next change, or null if no change is scheduled
+     */
+    @Override
+    public Date getNextAccessStatusChange(Context context, Item item, Date threshold) throws SQLException {
+        if (item == null) {
+            return null;
+        }
+        Bitstream bitstream = getPrimaryOrFirstBitstream(item);
+        if (bitstream == null) {
+            return null;
+        }
+        Date now = new Date();
+        Date nextChange = null;
+        // Only consider read policies.
+        List<ResourcePolicy> policies = authorizeService
+            .getPoliciesActionFilter(context, bitstream, Constants.READ);
+        for (ResourcePolicy policy : policies) {
+            Group group = policy.getGroup();
+            if (group == null || !StringUtils.equals(group.getName(), Group.ANONYMOUS)) {
+                continue;
+            }
+            Date startDate = policy.getStartDate();
+            if (startDate != null && startDate.after(now) && startDate.before(threshold)) {
+                nextChange = min(nextChange, startDate);
+            }
+            Date endDate = policy.getEndDate();
+            if (endDate != null && endDate.after(now)) {
+                nextChange = min(nextChange, endDate);
+            }
+        }
+        return nextChange;
+    }
+
+    private Date min(Date date, Date other) {
+        return date == null || other.before(date) ? other : date;
+    }
+
+    /**
+     * Returns the primary bitstream of the original bundles of the item or,
+     * if there is no primary bitstream, the first bitstream in the bundles.
+     */
+    private Bitstream getPrimaryOrFirstBitstream(Item item) {
         // Consider only the original bundles.
         List<Bundle> bundles = item.getBundles(Constants.DEFAULT_BUNDLE_NAME);
         // Check for primary bitstreams first.
@@ -92,7 +148,7 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
                 .findFirst()
                 .orElse(null);
         }
-        return calculateAccessStatusForDso(context, bitstream, threshold);
+        return bitstream;
     }
 
     /**
@@ -183,24 +239,7 @@ public class DefaultAccessStatusHelper implements AccessStatusHelper {
         if (item == null || !accessStatus.equals(EMBARGO)) {
             return null;
         }
-        // Consider only the original bundles.
-        List<Bundle> bundles = item.getBundles(Constants.DEFAULT_BUNDLE_NAME);
-        // Check for primary bitstreams first.
-        Bitstream bitstream = bundles.stream()
-                .map(bundle -> bundle.getPrimaryBitstream())
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
-        if (bitstream == null) {
-            // If there is no primary bitstream,
-            // take the first bitstream in the bundles.
-            bitstream = bundles.stream()
-                    .map(bundle -> bundle.getBitstreams())
-                    .flatMap(List::stream)
-                    .findFirst()
-                    .orElse(null);
-        }
-
+        Bitstream bitstream = getPrimaryOrFirstBitstream(item);
         if (bitstream == null) {
             return null;
         }
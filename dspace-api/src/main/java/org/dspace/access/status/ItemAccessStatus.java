@@ -0,0 +1,54 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The access status of an item stored in the item_access_status table, with
+ * the date of its next scheduled change, like an embargo lift.
+ */
+public class ItemAccessStatus {
+
+    private final UUID itemId;
+
+    private final String accessStatus;
+
+    private final Date nextUpdate;
+
+    public ItemAccessStatus(UUID itemId, String accessStatus, Date nextUpdate) {
+        this.itemId = itemId;
+        this.accessStatus = accessStatus;
+        this.nextUpdate = nextUpdate;
+    }
+
+    /**
+     * Returns whether the stored status must be computed again because its
+     * scheduled change is due at the given date.
+     *
+     * @param  date the date to check
+     * @return      true if the stored status is expired
+     */
+    public boolean isExpired(Date date) {
+        return nextUpdate != null && !nextUpdate.after(date);
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public String getAccessStatus() {
+        return accessStatus;
+    }
+
+    public Date getNextUpdate() {
+        return nextUpdate;
+    }
+
+}
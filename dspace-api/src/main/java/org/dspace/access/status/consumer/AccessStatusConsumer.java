@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.consumer;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.access.status.factory.AccessStatusServiceFactory;
+import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * Implementation of {@link Consumer} that stores again the access status of
+ * the items whose policies, bundles or bitstreams are changed. The policy
+ * changes are notified as modify events of the object owning the policy.
+ */
+public class AccessStatusConsumer implements Consumer {
+
+    private Set<UUID> itemsToUpdate = new HashSet<UUID>();
+
+    private AccessStatusService accessStatusService;
+
+    private ItemService itemService;
+
+    @Override
+    public void initialize() throws Exception {
+        accessStatusService = AccessStatusServiceFactory.getInstance().getAccessStatusService();
+        itemService = ContentServiceFactory.getInstance().getItemService();
+    }
+
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        switch (event.getSubjectType()) {
+            case Constants.ITEM:
+                if (event.getEventType() != Event.DELETE) {
+                    itemsToUpdate.add(event.getSubjectID());
+                }
+                break;
+            case Constants.BUNDLE:
+                Bundle bundle = (Bundle) event.getSubject(context);
+                if (bundle != null) {
+                    addItems(bundle);
+                }
+                break;
+            case Constants.BITSTREAM:
+                Bitstream bitstream = (Bitstream) event.getSubject(context);
+                if (bitstream != null) {
+                    for (Bundle bitstreamBundle : bitstream.getBundles()) {
+                        addItems(bitstreamBundle);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void addItems(Bundle bundle) {
+        for (Item item : bundle.getItems()) {
+            itemsToUpdate.add(item.getID());
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        ctx.turnOffAuthorisationSystem();
+        try {
+            for (UUID uuid : itemsToUpdate) {
+                Item item = itemService.find(ctx, uuid);
+                if (item != null) {
+                    accessStatusService.updateAccessStatus(ctx, item);
+                }
+            }
+        } finally {
+            ctx.restoreAuthSystemState();
+            itemsToUpdate.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+
+}
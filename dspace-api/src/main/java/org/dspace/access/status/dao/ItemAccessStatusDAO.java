@@ -0,0 +1,67 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.dao;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.access.status.ItemAccessStatus;
+import org.dspace.core.Context;
+
+/**
+ * Database Access Object interface class for the item_access_status table,
+ * which stores the access status computed for each item.
+ */
+public interface ItemAccessStatusDAO {
+
+    /**
+     * Find the stored access status of the item with the given uuid.
+     *
+     * @param  context      the DSpace Context object
+     * @param  itemId       the uuid of the item
+     * @return              the stored access status, or null if none is stored
+     * @throws SQLException if a problem with the database occurs
+     */
+    ItemAccessStatus findByItem(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Store the access status of the item with the given uuid, replacing the
+     * previous one if any.
+     *
+     * @param  context      the DSpace Context object
+     * @param  itemId       the uuid of the item
+     * @param  accessStatus the access status
+     * @param  nextUpdate   the date of the next scheduled change of the status,
+     *                      null if no change is scheduled
+     * @throws SQLException if a problem with the database occurs
+     */
+    void save(Context context, UUID itemId, String accessStatus, Date nextUpdate) throws SQLException;
+
+    /**
+     * Remove the stored access status of the item with the given uuid, if any.
+     *
+     * @param  context      the DSpace Context object
+     * @param  itemId       the uuid of the item
+     * @throws SQLException if a problem with the database occurs
+     */
+    void delete(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Find the uuids of the items whose stored access status has a scheduled
+     * change due at the given date, the oldest first.
+     *
+     * @param  context      the DSpace Context object
+     * @param  date         the date
+     * @param  limit        the maximum number of uuids to return
+     * @return              the uuids of the items to update
+     * @throws SQLException if a problem with the database occurs
+     */
+    List<UUID> findItemsToUpdate(Context context, Date date, int limit) throws SQLException;
+}
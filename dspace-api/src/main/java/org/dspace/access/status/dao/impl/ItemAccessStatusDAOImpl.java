@@ -0,0 +1,103 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.dao.impl;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.persistence.TemporalType;
+
+import org.dspace.access.status.ItemAccessStatus;
+import org.dspace.access.status.dao.ItemAccessStatusDAO;
+import org.dspace.core.Context;
+import org.dspace.core.DBConnection;
+import org.dspace.services.ConfigurationService;
+import org.dspace.utils.DSpace;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for
+ * the item_access_status table. This class is autowired by spring and should
+ * never be accessed directly.
+ */
+public class ItemAccessStatusDAOImpl implements ItemAccessStatusDAO {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public ItemAccessStatus findByItem(Context context, UUID itemId) throws SQLException {
+        String sql = "SELECT access_status, next_update FROM item_access_status WHERE uuid = :uuid";
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("uuid", itemId);
+
+        Object[] result = (Object[]) query.uniqueResult();
+        if (result == null) {
+            return null;
+        }
+        return new ItemAccessStatus(itemId, (String) result[0], (Date) result[1]);
+    }
+
+    @Override
+    public void save(Context context, UUID itemId, String accessStatus, Date nextUpdate) throws SQLException {
+        String sql;
+        if ("org.h2.Driver".equals(configurationService.getProperty("db.driver"))) {
+            // H2 doesn't support the INSERT ... ON CONFLICT statement
+            sql = "MERGE INTO item_access_status (uuid, access_status, next_update, last_update) KEY (uuid)"
+                + " VALUES (:uuid, :status, :nextUpdate, CURRENT_TIMESTAMP)";
+        } else {
+            sql = "INSERT INTO item_access_status (uuid, access_status, next_update, last_update)"
+                + " VALUES (:uuid, :status, :nextUpdate, CURRENT_TIMESTAMP)"
+                + " ON CONFLICT (uuid) DO UPDATE SET access_status = EXCLUDED.access_status,"
+                + " next_update = EXCLUDED.next_update, last_update = EXCLUDED.last_update";
+        }
+
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("uuid", itemId);
+        query.setParameter("status", accessStatus);
+        query.setParameter("nextUpdate", nextUpdate, TemporalType.TIMESTAMP);
+        query.executeUpdate();
+    }
+
+    @Override
+    public void delete(Context context, UUID itemId) throws SQLException {
+        NativeQuery<?> query = getHibernateSession()
+            .createNativeQuery("DELETE FROM item_access_status WHERE uuid = :uuid");
+        query.setParameter("uuid", itemId);
+        query.executeUpdate();
+    }
+
+    @Override
+    public List<UUID> findItemsToUpdate(Context context, Date date, int limit) throws SQLException {
+        String sql = "SELECT cast(uuid as varchar) FROM item_access_status"
+            + " WHERE next_update <= :date ORDER BY next_update ASC";
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("date", date, TemporalType.TIMESTAMP);
+        query.setMaxResults(limit);
+
+        return query.getResultList().stream()
+            .map(uuid -> UUID.fromString((String) uuid))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The Hibernate Session used in the current thread
+     *
+     * @return the current Session.
+     * @throws SQLException
+     */
+    private Session getHibernateSession() throws SQLException {
+        DBConnection dbConnection = new DSpace().getServiceManager().getServiceByName(null, DBConnection.class);
+        return ((Session) dbConnection.getSession());
+    }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.script;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.access.status.factory.AccessStatusServiceFactory;
+import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script that stores the access status of the items: by default only the
+ * stored statuses whose scheduled change, like an embargo lift, is due are
+ * computed again, with the all option the status of every archived item is
+ * computed and stored.
+ */
+public class AccessStatusUpdateScript
+    extends DSpaceRunnable<AccessStatusUpdateScriptConfiguration<AccessStatusUpdateScript>> {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ItemService itemService;
+
+    private AccessStatusService accessStatusService;
+
+    private boolean all;
+
+    @Override
+    public void setup() throws ParseException {
+        this.itemService = ContentServiceFactory.getInstance().getItemService();
+        this.accessStatusService = AccessStatusServiceFactory.getInstance().getAccessStatusService();
+        this.all = commandLine.hasOption('a');
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        Context context = new Context();
+        context.turnOffAuthorisationSystem();
+        try {
+            int count = all ? updateAllItems(context) : accessStatusService.updateExpiredAccessStatuses(context);
+            context.complete();
+            handler.logInfo("Updated the access status of " + count + " items");
+        } catch (Exception e) {
+            handler.handleException("An error occurs updating the access status. The process is aborted", e);
+            context.abort();
+        } finally {
+            context.restoreAuthSystemState();
+        }
+    }
+
+    private int updateAllItems(Context context) throws SQLException {
+        int total = itemService.countArchivedItems(context);
+        for (int offset = 0; offset < total; offset += PAGE_SIZE) {
+            Iterator<Item> items = itemService.findAll(context, PAGE_SIZE, offset);
+            while (items.hasNext()) {
+                accessStatusService.updateAccessStatus(context, items.next());
+            }
+            context.commit();
+            context.clear();
+        }
+        return total;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public AccessStatusUpdateScriptConfiguration<AccessStatusUpdateScript> getScriptConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("access-status-update",
+            AccessStatusUpdateScriptConfiguration.class);
+    }
+
+}
@@ -31,6 +31,8 @@ import org.dspace.core.Context;
  * # This default access status helper provides an item status based on the policies of the primary
  * # bitstream (or first bitstream in the original bundles if no primary file is specified).
  * plugin.single.org.dspace.access.status.AccessStatusHelper = org.dspace.access.status.DefaultAccessStatusHelper
+ * # read the access status stored for each item when its policies change, instead of computing it every time
+ * access.status.store.enabled = true
  * }
  */
 public interface AccessStatusService {
@@ -54,4 +56,24 @@ public interface AccessStatusService {
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     public String getEmbargoFromItem(Context context, Item item) throws SQLException;
+
+    /**
+     * Calculate the access status for an Item and store it, with the date of its next scheduled change,
+     * so that {@link #getAccessStatus(Context, Item)} can read it without looking at the policies.
+     *
+     * @param context the DSpace context
+     * @param item    the item
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public void updateAccessStatus(Context context, Item item) throws SQLException;
+
+    /**
+     * Calculate again the stored access status of the items whose scheduled change, like an embargo lift,
+     * is due. The changes are committed in batches.
+     *
+     * @param context the DSpace context
+     * @return the number of updated items
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public int updateExpiredAccessStatuses(Context context) throws SQLException;
 }
@@ -23,8 +23,11 @@ import static org.dspace.core.CrisConstants.PLACEHOLDER_PARENT_METADATA_VALUE;
 import static org.dspace.util.WorkbookUtils.getCellValue;
 import static org.dspace.util.WorkbookUtils.getRows;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -44,10 +48,12 @@ import org.apache.commons.cli.ParseException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -60,6 +66,8 @@ import org.dspace.app.bulkimport.model.ImportAction;
 import org.dspace.app.bulkimport.model.MetadataGroup;
 import org.dspace.app.bulkimport.model.UploadDetails;
 import org.dspace.app.bulkimport.util.BulkImportFileUtil;
+import org.dspace.app.bulkimport.util.ChildRowsIndex;
+import org.dspace.app.bulkimport.util.StreamingWorkbookReader;
 import org.dspace.app.util.DCInputsReader;
 import org.dspace.app.util.DCInputsReaderException;
 import org.dspace.authority.service.ItemSearchService;
@@ -294,12 +302,145 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
     }
 
     public void performImport(InputStream is) {
-        Workbook workbook = createWorkbook(is);
+        InputStream workbookStream = FileMagic.prepareToCheckMagic(is);
+        if (isOOXML(workbookStream)) {
+            performImportFromFile(workbookStream);
+        } else {
+            performImport(createWorkbook(workbookStream));
+        }
+    }
+
+    private void performImport(Workbook workbook) {
         validateWorkbook(workbook);
         List<EntityRow> entityRows = getValidEntityRows(workbook);
         performImport(entityRows);
     }
 
+    /**
+     * Copy the given XLSX stream on a temporary file and import it in streaming
+     * mode if its size exceeds the configured threshold, otherwise loading the
+     * whole workbook in memory.
+     */
+    private void performImportFromFile(InputStream is) {
+
+        File workbookFile = null;
+
+        try {
+
+            workbookFile = Files.createTempFile("bulk-import", ".xlsx").toFile();
+            FileUtils.copyInputStreamToFile(is, workbookFile);
+
+            if (workbookFile.length() < getStreamingThreshold()) {
+                try (InputStream fileStream = new FileInputStream(workbookFile)) {
+                    performImport(createWorkbook(fileStream));
+                }
+            } else {
+                performStreamingImport(workbookFile);
+            }
+
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs reading the workbook", e);
+        } finally {
+            FileUtils.deleteQuietly(workbookFile);
+        }
+
+    }
+
+    /**
+     * Import the given workbook reading it row by row. The rows of the metadata
+     * groups and bitstreams sheets are validated and stored in a spill to disk
+     * index, then each row of the main sheet is validated, joined with its child
+     * rows and imported as soon as it is read.
+     */
+    private void performStreamingImport(File workbookFile) throws IOException {
+
+        LOGGER.info("The workbook {} is imported in streaming mode", workbookFile.getName());
+
+        try (StreamingWorkbookReader reader = new StreamingWorkbookReader(workbookFile);
+            ChildRowsIndex metadataGroupsIndex = new ChildRowsIndex();
+            ChildRowsIndex uploadDetailsIndex = new ChildRowsIndex()) {
+
+            List<String> sheetNames = reader.getSheetNames();
+            if (sheetNames.isEmpty()) {
+                throw new BulkImportException("The Workbook should have at least one sheet");
+            }
+
+            List<String> groups = getSubmissionFormMetadataGroups();
+
+            reader.readSheet(0, sheet -> validateSheet(sheet, groups), null);
+
+            handler.logInfo("Start reading all the metadata group and bitstream rows");
+
+            for (int sheetIndex = 1; sheetIndex < sheetNames.size(); sheetIndex++) {
+                boolean isBitstreamsSheet = isBitstreamsSheet(reader.getSheet(sheetIndex));
+                ChildRowsIndex index = isBitstreamsSheet ? uploadDetailsIndex : metadataGroupsIndex;
+                reader.readSheet(sheetIndex, sheet -> validateSheet(sheet, groups),
+                    row -> indexChildRow(row, index, isBitstreamsSheet));
+            }
+
+            handler.logInfo("Found " + metadataGroupsIndex.size() + " metadata groups and "
+                + uploadDetailsIndex.size() + " bitstreams to process");
+
+            Map<String, Integer> headers = getHeaderMap(reader.getSheet(0));
+            AtomicInteger processedRows = new AtomicInteger();
+
+            reader.readSheet(0, sheet -> { }, row -> {
+
+                if (WorkbookUtils.isRowEmpty(row) || !isEntityRowRowValid(row)) {
+                    return;
+                }
+
+                List<MetadataGroup> metadataGroups = getOwnChildRows(reader, row, metadataGroupsIndex,
+                    groupRow -> buildMetadataGroup(groupRow, getHeaderMap(groupRow.getSheet())));
+                List<UploadDetails> uploadDetails = getOwnChildRows(reader, row, uploadDetailsIndex,
+                    this::buildUploadDetails);
+
+                performImport(createEntityRow(row, headers, metadataGroups, uploadDetails));
+                processedRows.incrementAndGet();
+
+            });
+
+            handler.logInfo("Processed " + processedRows.get() + " items");
+
+        }
+
+    }
+
+    private void indexChildRow(Row row, ChildRowsIndex index, boolean isBitstreamRow) {
+
+        if (WorkbookUtils.isRowEmpty(row)) {
+            return;
+        }
+
+        boolean isValid = isBitstreamRow ? isUploadRowValid(row) : isMetadataGroupRowValid(row);
+        if (isValid) {
+            List<String> values = WorkbookUtils.getRowValues(row, Math.max(row.getLastCellNum(), 0));
+            index.add(getParentIdFromRow(row), row.getSheet().getSheetName(), row.getRowNum(), values);
+        }
+
+    }
+
+    private <T extends ChildRow> List<T> getOwnChildRows(StreamingWorkbookReader reader, Row row,
+        ChildRowsIndex index, Function<Row, T> childRowBuilder) {
+        String rowId = ROW_ID + ID_SEPARATOR + (row.getRowNum() + 1);
+        return index.get(getIdFromRow(row), rowId).stream()
+            .map(childRow -> reader.applyOnRow(childRow.getSheetName(), childRow.getRowNum(),
+                childRow.getValues(), childRowBuilder))
+            .collect(Collectors.toList());
+    }
+
+    private boolean isOOXML(InputStream is) {
+        try {
+            return FileMagic.valueOf(is) == FileMagic.OOXML;
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs during the workbook creation", e);
+        }
+    }
+
+    private long getStreamingThreshold() {
+        return configurationService.getLongProperty("bulk-import.streaming.threshold", 10 * 1024 * 1024);
+    }
+
     private Workbook createWorkbook(InputStream is) {
         try {
             return WorkbookFactory.create(is);
@@ -316,22 +457,26 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         List<String> groups = getSubmissionFormMetadataGroups();
 
         for (Sheet sheet : workbook) {
-            String name = sheet.getSheetName();
+            validateSheet(sheet, groups);
+        }
+    }
 
-            if (WorkbookUtils.isSheetEmpty(sheet)) {
-                throw new BulkImportException("The sheet " + name + " of the Workbook is empty");
-            }
+    private void validateSheet(Sheet sheet, List<String> groups) {
+        String name = sheet.getSheetName();
 
-            if (WorkbookUtils.isRowEmpty(sheet.getRow(0))) {
-                throw new BulkImportException("The header of sheet " + name + " of the Workbook is empty");
-            }
+        if (WorkbookUtils.isSheetEmpty(sheet)) {
+            throw new BulkImportException("The sheet " + name + " of the Workbook is empty");
+        }
 
-            if (isMetadataGroupsSheet(sheet) && !groups.contains(name)) {
-                throw new BulkImportException("The sheet name " + name + " is not a valid metadata group");
-            }
+        if (WorkbookUtils.isRowEmpty(sheet.getRow(0))) {
+            throw new BulkImportException("The header of sheet " + name + " of the Workbook is empty");
+        }
 
-            validateHeaders(sheet);
+        if (isMetadataGroupsSheet(sheet) && !groups.contains(name)) {
+            throw new BulkImportException("The sheet name " + name + " is not a valid metadata group");
         }
+
+        validateHeaders(sheet);
     }
 
     private void validateHeaders(Sheet sheet) {
@@ -533,13 +678,21 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
     private EntityRow buildEntityRow(Row row, Map<String, Integer> headers,
         List<MetadataGroup> metadataGroups, List<UploadDetails> uploadDetails) {
 
+        List<MetadataGroup> ownMetadataGroup = getOwnChildRows(row, metadataGroups);
+        List<UploadDetails> ownUploadDetails = getOwnChildRows(row, uploadDetails);
+
+        return createEntityRow(row, headers, ownMetadataGroup, ownUploadDetails);
+
+    }
+
+    private EntityRow createEntityRow(Row row, Map<String, Integer> headers,
+        List<MetadataGroup> ownMetadataGroup, List<UploadDetails> ownUploadDetails) {
+
         String id = getIdFromRow(row);
         String action = getActionFromRow(row);
         Boolean discoverable = headers.containsKey(DISCOVERABLE_HEADER) ? getDiscoverableFromRow(row) : null;
 
         MultiValuedMap<String, MetadataValueVO> metadata = getMetadataFromRow(row, headers);
-        List<MetadataGroup> ownMetadataGroup = getOwnChildRows(row, metadataGroups);
-        List<UploadDetails> ownUploadDetails = getOwnChildRows(row, uploadDetails);
 
         return new EntityRow(id, action, row.getRowNum(), discoverable, metadata, ownMetadataGroup, ownUploadDetails);
 
@@ -1432,6 +1585,10 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         return BulkImportSheetType.getTypeFromSheet(sheet) == BulkImportSheetType.METADATA_GROUPS;
     }
 
+    private boolean isBitstreamsSheet(Sheet sheet) {
+        return BulkImportSheetType.getTypeFromSheet(sheet) == BulkImportSheetType.BITSTREAMS;
+    }
+
     private long countOptionalHeaders(List<String> headers, String[] optionalHeaders) {
         return headers.stream()
             .filter(header -> ArrayUtils.contains(optionalHeaders, header))
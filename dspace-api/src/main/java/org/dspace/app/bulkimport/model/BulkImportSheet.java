@@ -21,6 +21,7 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.dspace.app.bulkimport.service.BulkImportWorkbookBuilderImpl;
 import org.dspace.content.Collection;
+import org.dspace.util.StreamingWorkbook;
 import org.dspace.util.WorkbookUtils;
 
 /**
@@ -42,10 +43,13 @@ public final class BulkImportSheet {
 
     private final boolean nestedMetadata;
 
+    private Row lastRow;
+
     public BulkImportSheet(Workbook workbook, String sheetname, boolean nestedMetadata, Collection collection) {
         this.sheet = workbook.createSheet(sheetname);
         this.collection = collection;
-        this.headerRow = sheet.createRow(0);
+        this.headerRow = createHeaderRow(workbook, sheetname);
+        this.lastRow = headerRow;
         this.headers = new HashMap<String, Integer>();
         this.nestedMetadata = nestedMetadata;
     }
@@ -89,11 +93,11 @@ public final class BulkImportSheet {
     }
 
     public Row appendRow() {
-        return sheet.createRow(sheet.getPhysicalNumberOfRows());
+        lastRow = sheet.createRow(lastRow.getRowNum() + 1);
+        return lastRow;
     }
 
     public void setValueOnLastRow(String header, String value) {
-        Row lastRow = sheet.getRow(sheet.getPhysicalNumberOfRows() - 1);
         int column = getHeaderPosition(header);
         if (column == -1) {
             throw new IllegalArgumentException("Unknown header '" + header + "'");
@@ -102,7 +106,6 @@ public final class BulkImportSheet {
     }
 
     public void appendValueOnLastRow(String header, String value, String separator) {
-        Row lastRow = sheet.getRow(sheet.getPhysicalNumberOfRows() - 1);
         int column = getHeaderPosition(header);
         if (column == -1) {
             throw new IllegalArgumentException("Unknown header '" + header + "'");
@@ -112,6 +115,18 @@ public final class BulkImportSheet {
                 getValueLimitedByLength(isEmpty(cellContent) ? value : cellContent + separator + value));
     }
 
+    /**
+     * Create the header row. If the given workbook is a streaming one the header
+     * row is kept out of the row access window, so new headers can be appended
+     * after the data rows have been flushed.
+     */
+    private Row createHeaderRow(Workbook workbook, String sheetname) {
+        if (workbook instanceof StreamingWorkbook) {
+            return ((StreamingWorkbook) workbook).createHeaderRow(sheetname);
+        }
+        return sheet.createRow(0);
+    }
+
     private String getValueLimitedByLength(String value) {
         return StringUtils.length(value) > 32726 ? value.substring(0, 32725) + "…" : value;
     }
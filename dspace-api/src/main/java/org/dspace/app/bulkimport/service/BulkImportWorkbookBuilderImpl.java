@@ -36,11 +36,8 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.dspace.app.bulkedit.BulkImport;
 import org.dspace.app.bulkimport.model.BulkImportSheet;
 import org.dspace.app.bulkimport.model.BulkImportWorkbook;
@@ -60,9 +57,11 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.CrisConstants;
 import org.dspace.core.exception.SQLRuntimeException;
+import org.dspace.services.ConfigurationService;
 import org.dspace.submit.model.AccessConditionOption;
 import org.dspace.submit.model.UploadConfiguration;
 import org.dspace.submit.model.UploadConfigurationService;
+import org.dspace.util.StreamingWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.datetime.DateFormatter;
 
@@ -78,6 +77,8 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
 
     private static final DateFormatter DATE_FORMATTER = new DateFormatter("yyyy-MM-dd");
 
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
     @Autowired
     private UploadConfigurationService uploadConfigurationService;
 
@@ -87,6 +88,9 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
     @Autowired
     private CollectionService collectionService;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     private DCInputsReader reader;
 
     @PostConstruct
@@ -113,7 +117,7 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
     @Override
     public Workbook build(Context context, Collection collection, Iterator<ItemDTO> items) {
 
-        Workbook workbook = new XSSFWorkbook();
+        Workbook workbook = new StreamingWorkbook(getRowAccessWindowSize());
 
         BulkImportSheet mainSheet = writeMainSheetHeader(collection, workbook);
         List<BulkImportSheet> nestedSheets = writeNestedMetadataSheetsHeader(collection, workbook);
@@ -430,7 +434,7 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
     }
 
     private void autoSizeColumns(List<BulkImportSheet> sheets) {
-        sheets.forEach(sheet -> autoSizeColumns(sheet.getSheet()));
+        sheets.forEach(sheet -> autoSizeColumns(sheet));
     }
 
     private ItemDTO convertItem(Context context, Collection collection, Item item) {
@@ -469,16 +473,24 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
         }
     }
 
-    private void autoSizeColumns(Sheet sheet) {
-        if (sheet.getPhysicalNumberOfRows() > 0) {
-            Row row = sheet.getRow(sheet.getFirstRowNum());
-            for (Cell cell : row) {
-                int columnIndex = cell.getColumnIndex();
-                sheet.autoSizeColumn(columnIndex);
+    private void autoSizeColumns(BulkImportSheet bulkImportSheet) {
+        Sheet sheet = bulkImportSheet.getSheet();
+        for (String header : bulkImportSheet.getHeaders()) {
+            int columnIndex = bulkImportSheet.getHeaderPosition(header);
+            sheet.autoSizeColumn(columnIndex);
+            // the header row is not considered by the auto sizing of the streamed rows
+            int headerWidth = Math.min((header.length() + 2) * 256, MAX_COLUMN_WIDTH);
+            if (sheet.getColumnWidth(columnIndex) < headerWidth) {
+                sheet.setColumnWidth(columnIndex, headerWidth);
             }
         }
     }
 
+    private int getRowAccessWindowSize() {
+        return configurationService.getIntProperty("bulk-import.export.row-access-window",
+            StreamingWorkbook.DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+    }
+
     public void setReader(DCInputsReader reader) {
         this.reader = reader;
     }
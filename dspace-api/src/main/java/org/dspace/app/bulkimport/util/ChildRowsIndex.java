@@ -0,0 +1,217 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkimport.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.dspace.app.bulkimport.exception.BulkImportException;
+
+/**
+ * Index of the rows of the child sheets of the Bulk import excel (metadata
+ * groups and bitstreams) grouped by the id of the parent entity row.
+ *
+ * The values of the rows are spilled to a temporary file as soon as they are
+ * added, while only their offsets are kept in memory, so the memory used does
+ * not depend on the size of the rows. The rows are written during a first
+ * phase and then read back, in the same order, during a second phase.
+ */
+public class ChildRowsIndex implements Closeable {
+
+    private final File file;
+
+    private final Map<String, List<Long>> offsetsByParentId = new HashMap<>();
+
+    private DataOutputStream outputStream;
+
+    private RandomAccessFile randomAccessFile;
+
+    private long currentOffset = 0;
+
+    private int size = 0;
+
+    public ChildRowsIndex() {
+        try {
+            this.file = Files.createTempFile("bulk-import-child-rows", ".bin").toFile();
+            this.outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs creating the child rows index", e);
+        }
+    }
+
+    /**
+     * Add the given row to the index.
+     *
+     * @param parentId  the id of the parent entity row
+     * @param sheetName the name of the sheet of the row
+     * @param rowNum    the row number
+     * @param values    the values of the row cells
+     */
+    public void add(String parentId, String sheetName, int rowNum, List<String> values) {
+
+        if (outputStream == null) {
+            throw new IllegalStateException("Rows can't be added to the index after it has been read");
+        }
+
+        byte[] record;
+
+        try {
+            record = serialize(new SpilledRow(sheetName, rowNum, values));
+            outputStream.writeInt(record.length);
+            outputStream.write(record);
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs writing the child rows index", e);
+        }
+
+        offsetsByParentId.computeIfAbsent(parentId, key -> new ArrayList<>()).add(currentOffset);
+        currentOffset += Integer.BYTES + record.length;
+        size++;
+    }
+
+    /**
+     * Returns all the rows related to at least one of the given parent ids, in
+     * the same order they were added.
+     *
+     * @param  parentIds the parent ids
+     * @return           the found rows
+     */
+    public List<SpilledRow> get(String... parentIds) {
+
+        List<Long> offsets = Stream.of(parentIds)
+            .flatMap(parentId -> offsetsByParentId.getOrDefault(parentId, List.of()).stream())
+            .sorted()
+            .distinct()
+            .collect(Collectors.toList());
+
+        if (offsets.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<SpilledRow> rows = new ArrayList<SpilledRow>();
+            for (Long offset : offsets) {
+                rows.add(read(offset));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs reading the child rows index", e);
+        }
+
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (outputStream != null) {
+                outputStream.close();
+            }
+            if (randomAccessFile != null) {
+                randomAccessFile.close();
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    private SpilledRow read(long offset) throws IOException {
+
+        if (randomAccessFile == null) {
+            outputStream.close();
+            outputStream = null;
+            randomAccessFile = new RandomAccessFile(file, "r");
+        }
+
+        randomAccessFile.seek(offset);
+        byte[] record = new byte[randomAccessFile.readInt()];
+        randomAccessFile.readFully(record);
+        return deserialize(record);
+    }
+
+    private byte[] serialize(SpilledRow row) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(row.getSheetName());
+            output.writeInt(row.getRowNum());
+            output.writeInt(row.getValues().size());
+            for (String value : row.getValues()) {
+                byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(valueBytes.length);
+                output.write(valueBytes);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private SpilledRow deserialize(byte[] record) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(record))) {
+            String sheetName = input.readUTF();
+            int rowNum = input.readInt();
+            int valuesCount = input.readInt();
+            List<String> values = new ArrayList<String>(valuesCount);
+            for (int i = 0; i < valuesCount; i++) {
+                byte[] valueBytes = new byte[input.readInt()];
+                input.readFully(valueBytes);
+                values.add(new String(valueBytes, StandardCharsets.UTF_8));
+            }
+            return new SpilledRow(sheetName, rowNum, values);
+        }
+    }
+
+    /**
+     * A row read back from the index.
+     */
+    public static final class SpilledRow {
+
+        private final String sheetName;
+
+        private final int rowNum;
+
+        private final List<String> values;
+
+        public SpilledRow(String sheetName, int rowNum, List<String> values) {
+            this.sheetName = sheetName;
+            this.rowNum = rowNum;
+            this.values = values;
+        }
+
+        public String getSheetName() {
+            return sheetName;
+        }
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkimport.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.dspace.app.bulkimport.exception.BulkImportException;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reader of XLSX workbooks based on the POI event model, that reads the sheets
+ * row by row without loading the whole workbook in memory.
+ *
+ * Every read row is materialized in a scratch workbook that has the same sheets
+ * of the read one, so the consumers can work with the usual {@link Row} and
+ * {@link Sheet} API. The scratch workbook only keeps the header of each sheet:
+ * any other row is removed as soon as its consumer returns.
+ */
+public class StreamingWorkbookReader implements Closeable {
+
+    private final OPCPackage opcPackage;
+
+    private final XSSFReader xssfReader;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final StylesTable styles;
+
+    private final Workbook scratchWorkbook;
+
+    private final List<String> sheetNames;
+
+    public StreamingWorkbookReader(File file) {
+        try {
+            this.opcPackage = OPCPackage.open(file, PackageAccess.READ);
+            this.xssfReader = new XSSFReader(opcPackage);
+            this.sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+            this.styles = xssfReader.getStylesTable();
+            this.sheetNames = readSheetNames();
+        } catch (IOException | OpenXML4JException | SAXException e) {
+            throw new BulkImportException("An error occurs opening the workbook " + file.getName(), e);
+        }
+
+        this.scratchWorkbook = new XSSFWorkbook();
+        this.sheetNames.forEach(scratchWorkbook::createSheet);
+    }
+
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    /**
+     * Returns the scratch sheet related to the sheet with the given index. After
+     * the sheet has been read, the returned sheet contains its header row.
+     *
+     * @param  sheetIndex the sheet index
+     * @return            the scratch sheet
+     */
+    public Sheet getSheet(int sheetIndex) {
+        return scratchWorkbook.getSheetAt(sheetIndex);
+    }
+
+    /**
+     * Read the sheet with the given index. The header consumer is called once
+     * the first row of the sheet has been read (or at the end of the sheet if it
+     * contains no rows), then the row consumer is called for each other row. If
+     * no row consumer is provided the reading stops after the header.
+     *
+     * @param sheetIndex     the index of the sheet to read
+     * @param headerConsumer the consumer of the sheet with its header row
+     * @param rowConsumer    the consumer of the data rows, may be null
+     */
+    public void readSheet(int sheetIndex, Consumer<Sheet> headerConsumer, Consumer<Row> rowConsumer) {
+
+        Sheet sheet = getSheet(sheetIndex);
+        SheetRowsHandler handler = new SheetRowsHandler(sheet, headerConsumer, rowConsumer);
+
+        try (InputStream sheetStream = getSheetStream(sheetIndex)) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            DataFormatter formatter = new DataFormatter();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles, sharedStrings, handler, formatter, true));
+            parser.parse(new InputSource(sheetStream));
+        } catch (StopReadingException ex) {
+            return;
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new BulkImportException("An error occurs reading the sheet " + sheet.getSheetName(), e);
+        }
+
+        handler.endSheet();
+    }
+
+    /**
+     * Materialize a row previously read from the given sheet, apply the given
+     * function on it and then remove it from the scratch workbook.
+     *
+     * @param  sheetName the name of the sheet of the row
+     * @param  rowNum    the row number
+     * @param  values    the row values
+     * @param  function  the function to apply
+     * @return           the function result
+     */
+    public <T> T applyOnRow(String sheetName, int rowNum, List<String> values, Function<Row, T> function) {
+        Sheet sheet = scratchWorkbook.getSheet(sheetName);
+        Row row = sheet.createRow(rowNum);
+        try {
+            for (int column = 0; column < values.size(); column++) {
+                row.createCell(column).setCellValue(values.get(column));
+            }
+            return function.apply(row);
+        } finally {
+            sheet.removeRow(row);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scratchWorkbook.close();
+        opcPackage.revert();
+    }
+
+    private List<String> readSheetNames() throws IOException, OpenXML4JException {
+        List<String> names = new ArrayList<String>();
+        XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        while (iterator.hasNext()) {
+            try (InputStream sheetStream = iterator.next()) {
+                names.add(iterator.getSheetName());
+            }
+        }
+        return names;
+    }
+
+    private InputStream getSheetStream(int sheetIndex) throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        for (int index = 0; iterator.hasNext(); index++) {
+            InputStream sheetStream = iterator.next();
+            if (index == sheetIndex) {
+                return sheetStream;
+            }
+            sheetStream.close();
+        }
+        throw new BulkImportException("No sheet found at index " + sheetIndex);
+    }
+
+    /**
+     * Implementation of {@link SheetContentsHandler} that collects the cell
+     * values of each row and materializes it in the scratch sheet.
+     */
+    private static class SheetRowsHandler implements SheetContentsHandler {
+
+        private final Sheet sheet;
+
+        private final Consumer<Sheet> headerConsumer;
+
+        private final Consumer<Row> rowConsumer;
+
+        private Map<Integer, String> currentValues;
+
+        private int nextColumn;
+
+        private boolean headerConsumed;
+
+        SheetRowsHandler(Sheet sheet, Consumer<Sheet> headerConsumer, Consumer<Row> rowConsumer) {
+            this.sheet = sheet;
+            this.headerConsumer = headerConsumer;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentValues = new TreeMap<Integer, String>();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            currentValues.put(column, formattedValue);
+            nextColumn = column + 1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+
+            Row row = sheet.createRow(rowNum);
+            currentValues.forEach((column, value) -> row.createCell(column).setCellValue(value));
+
+            if (rowNum == 0) {
+                consumeHeader();
+                stopIfOnlyHeaderIsRequired();
+                return;
+            }
+
+            consumeHeader();
+
+            try {
+                stopIfOnlyHeaderIsRequired();
+                rowConsumer.accept(row);
+            } finally {
+                sheet.removeRow(row);
+            }
+
+        }
+
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+
+        }
+
+        private void endSheet() {
+            consumeHeader();
+        }
+
+        private void consumeHeader() {
+            if (!headerConsumed) {
+                headerConsumed = true;
+                headerConsumer.accept(sheet);
+            }
+        }
+
+        private void stopIfOnlyHeaderIsRequired() {
+            if (rowConsumer == null) {
+                throw new StopReadingException();
+            }
+        }
+
+    }
+
+    /**
+     * Exception used to stop the reading of a sheet.
+     */
+    private static class StopReadingException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+}
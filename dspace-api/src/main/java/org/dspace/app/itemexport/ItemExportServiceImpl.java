@@ -8,6 +8,7 @@
 package org.dspace.app.itemexport;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -15,7 +16,9 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
@@ -25,8 +28,11 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.zip.ZipEntry;
@@ -36,6 +42,7 @@ import javax.mail.MessagingException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.itemexport.service.ItemExportService;
+import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
@@ -59,6 +66,7 @@ import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -101,6 +109,10 @@ public class ItemExportServiceImpl implements ItemExportService {
     protected HandleService handleService;
     @Autowired(required = true)
     protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected AuthorizeService authorizeService;
+    @Autowired(required = true)
+    protected BitstreamStorageService bitstreamStorageService;
 
     /**
      * log4j logger
@@ -223,101 +235,121 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, String schema, Item i,
                                  File destDir, boolean migrate) throws Exception {
-        String filename;
-        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
-            filename = "dublin_core.xml";
-        } else {
-            filename = "metadata_" + schema + ".xml";
-        }
+        String filename = getMetadataFileName(schema);
 
         File outFile = new File(destDir, filename);
 
         logInfo("Attempting to create file " + outFile);
 
         if (outFile.createNewFile()) {
-            BufferedOutputStream out = new BufferedOutputStream(
-                new FileOutputStream(outFile));
-
-            List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
-                                                                      Item.ANY);
-
-            // XML preamble
-            byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
-                .getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
-
-            String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
-            utf8 = dcTag.getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
-
-            String dateIssued = null;
-            String dateAccessioned = null;
+            try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(outFile))) {
+                List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
+                                                                          Item.ANY);
+                writeMetadata(schema, dcorevalues, migrate, out);
+            }
+        } else {
+            throw new Exception("Cannot create dublin_core.xml in " + destDir);
+        }
+    }
 
-            for (MetadataValue dcv : dcorevalues) {
-                MetadataField metadataField = dcv.getMetadataField();
-                String qualifier = metadataField.getQualifier();
+    /**
+     * Returns the name of the metadata file of the given schema.
+     *
+     * @param schema the schema name
+     * @return the file name
+     */
+    protected String getMetadataFileName(String schema) {
+        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
+            return "dublin_core.xml";
+        }
+        return "metadata_" + schema + ".xml";
+    }
 
-                if (qualifier == null) {
-                    qualifier = "none";
-                }
+    /**
+     * Serialize the given metadata values of an item in the dublin_core.xml
+     * format. It doesn't use the DSpace context, so it can be invoked outside
+     * of the thread that loaded the values.
+     *
+     * @param schema      the schema of the values
+     * @param dcorevalues the values to serialize
+     * @param migrate     Whether to use the migrate option or not
+     * @param out         the stream to write to
+     * @throws IOException if error
+     */
+    protected void writeMetadata(String schema, List<MetadataValue> dcorevalues, boolean migrate,
+                                 OutputStream out) throws IOException {
+        // XML preamble
+        byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
+            .getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
+
+        String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
+        utf8 = dcTag.getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
+
+        String dateIssued = null;
+        String dateAccessioned = null;
+
+        for (MetadataValue dcv : dcorevalues) {
+            MetadataField metadataField = dcv.getMetadataField();
+            String qualifier = metadataField.getQualifier();
+
+            if (qualifier == null) {
+                qualifier = "none";
+            }
 
-                String language = dcv.getLanguage();
+            String language = dcv.getLanguage();
 
-                if (language != null) {
-                    language = " language=\"" + language + "\"";
-                } else {
-                    language = "";
-                }
+            if (language != null) {
+                language = " language=\"" + language + "\"";
+            } else {
+                language = "";
+            }
 
-                utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
-                    + "qualifier=\"" + qualifier + "\""
-                    + language + ">"
-                    + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-
-                if (!migrate ||
-                    (migrate && !(
-                        ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
-                            ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
-                                (dcv.getValue() != null && dcv.getValue().startsWith(
-                                    handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
-                            ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
-                    out.write(utf8, 0, utf8.length);
-                }
+            utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
+                + "qualifier=\"" + qualifier + "\""
+                + language + ">"
+                + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
+                .getBytes("UTF-8");
 
-                // Store the date issued and accession to see if they are different
-                // because we need to keep date.issued if they are, when migrating
-                if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
-                    dateIssued = dcv.getValue();
-                }
-                if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
-                    dateAccessioned = dcv.getValue();
-                }
+            if (!migrate ||
+                (migrate && !(
+                    ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
+                        ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
+                            (dcv.getValue() != null && dcv.getValue().startsWith(
+                                handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
+                        ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
+                out.write(utf8, 0, utf8.length);
             }
 
-            // When migrating, only keep date.issued if it is different to date.accessioned
-            if (migrate &&
-                (dateIssued != null) &&
-                (dateAccessioned != null) &&
-                !dateIssued.equals(dateAccessioned)) {
-                utf8 = ("  <dcvalue element=\"date\" "
-                    + "qualifier=\"issued\">"
-                    + Utils.addEntities(dateIssued) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-                out.write(utf8, 0, utf8.length);
+            // Store the date issued and accession to see if they are different
+            // because we need to keep date.issued if they are, when migrating
+            if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
+                dateIssued = dcv.getValue();
+            }
+            if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
+                dateAccessioned = dcv.getValue();
             }
+        }
 
-            utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        // When migrating, only keep date.issued if it is different to date.accessioned
+        if (migrate &&
+            (dateIssued != null) &&
+            (dateAccessioned != null) &&
+            !dateIssued.equals(dateAccessioned)) {
+            utf8 = ("  <dcvalue element=\"date\" "
+                + "qualifier=\"issued\">"
+                + Utils.addEntities(dateIssued) + "</dcvalue>\n")
+                .getBytes("UTF-8");
             out.write(utf8, 0, utf8.length);
-
-            out.close();
-        } else {
-            throw new Exception("Cannot create dublin_core.xml in " + destDir);
         }
+
+        utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
     }
 
     /**
@@ -484,6 +516,15 @@ public class ItemExportServiceImpl implements ItemExportService {
                             String destDirName, String zipFileName,
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception {
+        if (isZipStreamingEnabled()) {
+            File dnDir = new File(destDirName);
+            if (!dnDir.exists() && !dnDir.mkdirs()) {
+                logError("Unable to create destination directory");
+            }
+            streamAsZip(context, items, new File(dnDir, zipFileName), seqStart, migrate, excludeBitstreams);
+            return;
+        }
+
         String workDir = getExportWorkDirectory() +
             System.getProperty("file.separator") +
             zipFileName;
@@ -505,6 +546,173 @@ public class ItemExportServiceImpl implements ItemExportService {
         zip(workDir, destDirName + System.getProperty("file.separator") + zipFileName);
     }
 
+    /**
+     * Export the given items in the Simple Archive Format straight into a zip
+     * file, without writing them to a work directory first.
+     *
+     * @param context           The DSpace Context
+     * @param items             The items to export
+     * @param zipFile           The zip file to create
+     * @param seqStart          The first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @throws Exception if error
+     */
+    protected void streamAsZip(Context context, Iterator<Item> items, File zipFile, int seqStart,
+                               boolean migrate, boolean excludeBitstreams) throws Exception {
+        try (ZipExport zipExport = new ZipExport(zipFile, getZipThreads())) {
+            exportItemsToZip(context, items, zipExport, "", seqStart, migrate, excludeBitstreams);
+            zipExport.complete();
+        }
+    }
+
+    /**
+     * Write the Simple Archive Format directories of the given items into the
+     * given zip export, under the given entry prefix. The item data is read
+     * from the database in this thread, then the metadata files are serialized
+     * and the bitstreams are opened by the worker threads of the export, a few
+     * entries ahead of the one being written: each bitstream is a separate
+     * task, so that the prefetched bitstreams are bounded whatever the number
+     * of bitstreams of the items.
+     *
+     * @param c                 The DSpace Context
+     * @param items             The items to export
+     * @param zipExport         The zip export to write to
+     * @param entryPrefix       The prefix of the entries, e.g. a directory
+     * @param seqStart          The first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @throws Exception if error
+     */
+    protected void exportItemsToZip(Context c, Iterator<Item> items, ZipExport zipExport, String entryPrefix,
+                                    int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        int mySequenceNumber = seqStart;
+
+        logInfo("Beginning export");
+
+        while (items.hasNext()) {
+            Item item = items.next();
+            logInfo("Exporting item to " + mySequenceNumber);
+
+            ExportedItem exportedItem = readExportedItem(c, item, entryPrefix + mySequenceNumber + "/", migrate,
+                                                         excludeBitstreams);
+            c.uncacheEntity(item);
+
+            zipExport.submit(context -> renderExportedItem(exportedItem, migrate));
+            for (Map.Entry<String, Bitstream> bitstream : exportedItem.bitstreams.entrySet()) {
+                String name = exportedItem.directory + bitstream.getKey();
+                zipExport.submit(context -> List.of(renderBitstream(context, name, bitstream.getValue())));
+            }
+            mySequenceNumber++;
+        }
+
+        zipExport.flush();
+    }
+
+    /**
+     * Read from the database all the data of the given item needed to export
+     * it, checking the READ permission on its bitstreams.
+     */
+    protected ExportedItem readExportedItem(Context c, Item item, String directory, boolean migrate,
+                                            boolean excludeBitstreams) throws Exception {
+        ExportedItem exportedItem = new ExportedItem(directory);
+
+        Set<String> schemas = new LinkedHashSet<>();
+        for (MetadataValue metadataValue : itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY)) {
+            schemas.add(metadataValue.getMetadataField().getMetadataSchema().getName());
+        }
+        for (String schema : schemas) {
+            exportedItem.metadata.put(schema, itemService.getMetadata(item, schema, Item.ANY, Item.ANY, Item.ANY));
+        }
+
+        // the same contents file of writeBitstreams, with the names made unique among the item entries
+        StringWriter contents = new StringWriter();
+        PrintWriter contentsOut = new PrintWriter(contents);
+        Set<String> names = new HashSet<>();
+        for (Bundle bundle : item.getBundles()) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                String myName = bitstream.getName();
+                String description = StringUtils.isEmpty(bitstream.getDescription()) ? ""
+                    : "\tdescription:" + bitstream.getDescription();
+                String primary = bitstream.equals(bundle.getPrimaryBitstream()) ? "\tprimary:true " : "";
+
+                if (!excludeBitstreams) {
+                    int myPrefix = 1;
+                    while (!names.add(myName)) {
+                        myName = myPrefix++ + "_" + bitstream.getName();
+                    }
+                    authorizeService.authorizeAction(c, bitstream, Constants.READ);
+                    exportedItem.bitstreams.put(myName, bitstream);
+                }
+
+                if (bitstreamService.isRegisteredBitstream(bitstream)) {
+                    contentsOut.println("-r -s " + bitstream.getStoreNumber() + " -f " + myName +
+                                            "\tbundle:" + bundle.getName() + primary + description);
+                } else {
+                    contentsOut.println(myName + "\tbundle:" + bundle.getName() + primary + description);
+                }
+            }
+        }
+        contentsOut.flush();
+        exportedItem.files.put("contents", contents.toString());
+
+        StringWriter collections = new StringWriter();
+        PrintWriter collectionsOut = new PrintWriter(collections);
+        String ownerHandle = item.getOwningCollection().getHandle();
+        collectionsOut.println(ownerHandle);
+        for (Collection collection : item.getCollections()) {
+            if (!collection.getHandle().equals(ownerHandle)) {
+                collectionsOut.println(collection.getHandle());
+            }
+        }
+        collectionsOut.flush();
+        exportedItem.files.put("collections", collections.toString());
+
+        if (!migrate && item.getHandle() != null) {
+            exportedItem.files.put("handle", item.getHandle() + System.lineSeparator());
+        }
+
+        return exportedItem;
+    }
+
+    /**
+     * Build the zip entries of the metadata and of the other files of the
+     * given item. Invoked by the worker threads.
+     */
+    protected List<ZipExport.Entry> renderExportedItem(ExportedItem exportedItem, boolean migrate)
+        throws Exception {
+        List<ZipExport.Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, List<MetadataValue>> metadata : exportedItem.metadata.entrySet()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeMetadata(metadata.getKey(), metadata.getValue(), migrate, out);
+            entries.add(new ZipExport.Entry(exportedItem.directory + getMetadataFileName(metadata.getKey()),
+                                            out.toByteArray()));
+        }
+
+        for (Map.Entry<String, String> file : exportedItem.files.entrySet()) {
+            entries.add(new ZipExport.Entry(exportedItem.directory + file.getKey(),
+                                            file.getValue().getBytes(StandardCharsets.UTF_8)));
+        }
+        return entries;
+    }
+
+    /**
+     * Build the zip entry of the given bitstream, prefetching its content.
+     * Invoked by the worker threads with their own context, which is only
+     * passed to the storage service.
+     */
+    protected ZipExport.Entry renderBitstream(Context c, String name, Bitstream bitstream) throws Exception {
+        return ZipExport.Entry.prefetch(name, bitstreamStorageService.retrieve(c, bitstream));
+    }
+
+    protected boolean isZipStreamingEnabled() {
+        return configurationService.getBooleanProperty("org.dspace.app.itemexport.zip.streaming", true);
+    }
+
+    protected int getZipThreads() {
+        return Math.max(configurationService.getIntProperty("org.dspace.app.itemexport.zip.threads", 4), 1);
+    }
+
     @Override
     public void createDownloadableExport(DSpaceObject dso,
                                          Context context, boolean migrate) throws Exception {
@@ -681,6 +889,14 @@ public class ItemExportServiceImpl implements ItemExportService {
                             logError("Unable to create download directory");
                         }
 
+                        if (isZipStreamingEnabled()) {
+                            streamDownloadableExport(context, itemsMap, new File(dnDir, fileName + ".zip"),
+                                                     migrate);
+                            emailSuccessMessage(context, eperson, fileName + ".zip");
+                            context.restoreAuthSystemState();
+                            return;
+                        }
+
                         Iterator<String> iter = itemsMap.keySet().iterator();
                         while (iter.hasNext()) {
                             String keyName = iter.next();
@@ -741,6 +957,24 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * Export the given items, grouped by key, straight into the given zip file:
+     * the items of each key are placed in a directory named after the key.
+     */
+    protected void streamDownloadableExport(Context context, Map<String, List<UUID>> itemsMap, File zipFile,
+                                            boolean migrate) throws Exception {
+        try (ZipExport zipExport = new ZipExport(zipFile, getZipThreads())) {
+            for (Map.Entry<String, List<UUID>> entry : itemsMap.entrySet()) {
+                List<Item> items = new ArrayList<>();
+                for (UUID uuid : entry.getValue()) {
+                    items.add(itemService.find(context, uuid));
+                }
+                exportItemsToZip(context, items.iterator(), zipExport, entry.getKey() + "/", 1, migrate, false);
+            }
+            zipExport.complete();
+        }
+    }
+
     @Override
     public String assembleFileName(String type, EPerson eperson,
                                    Date date) throws Exception {
@@ -1163,4 +1397,25 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * The data of an item to export, read from the database: the metadata
+     * values by schema, the bitstreams by entry name and the other files by
+     * name.
+     */
+    protected static class ExportedItem {
+
+        protected final String directory;
+
+        protected final Map<String, List<MetadataValue>> metadata = new LinkedHashMap<>();
+
+        protected final Map<String, Bitstream> bitstreams = new LinkedHashMap<>();
+
+        protected final Map<String, String> files = new LinkedHashMap<>();
+
+        protected ExportedItem(String directory) {
+            this.directory = directory;
+        }
+
+    }
+
 }
@@ -0,0 +1,251 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.itemexport;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.core.Context;
+
+/**
+ * A zip file written while the entries are produced by a pool of worker
+ * threads. The entries of each submitted task are written in the order the
+ * tasks were submitted; at most two tasks per thread are pending at the same
+ * time, so that the memory used by the prefetched entries and the number of
+ * open streams are bounded as long as each task prefetches at most one entry.
+ *
+ * Each worker thread has its own read-only {@link Context}, given to the tasks
+ * it runs, as the context of the thread submitting the tasks must not be used
+ * concurrently.
+ *
+ * The zip file is written with a temporary name and renamed only when the
+ * export is completed.
+ */
+public class ZipExport implements Closeable {
+
+    /**
+     * The number of bytes of each bitstream read by the worker threads, before
+     * the entry is written: smaller bitstreams are completely read ahead.
+     */
+    public static final int PREFETCH_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<Context> WORKER_CONTEXT = new ThreadLocal<>();
+
+    private final File zipFile;
+
+    private final File tempFile;
+
+    private final ZipOutputStream zipOutputStream;
+
+    private final ExecutorService workers;
+
+    private final int maxPendingTasks;
+
+    private final Deque<Future<List<Entry>>> pendingTasks = new ArrayDeque<>();
+
+    private boolean completed = false;
+
+    public ZipExport(File zipFile, int threads) throws IOException {
+        this.zipFile = zipFile;
+        this.tempFile = new File(zipFile.getPath() + "_tmp");
+        this.zipOutputStream = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        this.workers = Executors.newFixedThreadPool(threads, worker -> new Thread(() -> {
+            Context context = new Context(Context.Mode.READ_ONLY);
+            try {
+                WORKER_CONTEXT.set(context);
+                worker.run();
+            } finally {
+                WORKER_CONTEXT.remove();
+                context.abort();
+            }
+        }));
+        this.maxPendingTasks = threads * 2;
+    }
+
+    /**
+     * Submit a task producing entries to the workers, writing the entries of
+     * the oldest tasks if too many of them are pending.
+     *
+     * @param  task        the task
+     * @throws IOException if an error occurs producing or writing the entries
+     */
+    public void submit(Task task) throws IOException {
+        pendingTasks.add(workers.submit(() -> task.call(WORKER_CONTEXT.get())));
+        while (pendingTasks.size() > maxPendingTasks) {
+            writeEntries(pendingTasks.poll());
+        }
+    }
+
+    /**
+     * Write the entries of all the pending tasks.
+     *
+     * @throws IOException if an error occurs producing or writing the entries
+     */
+    public void flush() throws IOException {
+        while (!pendingTasks.isEmpty()) {
+            writeEntries(pendingTasks.poll());
+        }
+    }
+
+    /**
+     * Write the entries of all the pending tasks and finish the zip file,
+     * giving it its final name.
+     *
+     * @throws IOException if an error occurs
+     */
+    public void complete() throws IOException {
+        flush();
+        zipOutputStream.finish();
+        zipOutputStream.close();
+        if (!tempFile.renameTo(zipFile)) {
+            throw new IOException("Unable to rename " + tempFile + " to " + zipFile);
+        }
+        completed = true;
+    }
+
+    /**
+     * Stop the workers and, if the export was not completed, release the
+     * entries not written and delete the partial zip file.
+     */
+    @Override
+    public void close() throws IOException {
+        workers.shutdownNow();
+        if (completed) {
+            return;
+        }
+
+        for (Future<List<Entry>> pendingTask : pendingTasks) {
+            if (!pendingTask.cancel(true)) {
+                try {
+                    pendingTask.get().forEach(Entry::close);
+                } catch (ExecutionException | InterruptedException e) {
+                    // nothing to release
+                }
+            }
+        }
+        pendingTasks.clear();
+
+        IOUtils.closeQuietly(zipOutputStream);
+        tempFile.delete();
+    }
+
+    private void writeEntries(Future<List<Entry>> task) throws IOException {
+        List<Entry> entries = getEntries(task);
+        try {
+            for (Entry entry : entries) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry.name));
+                zipOutputStream.write(entry.head);
+                if (entry.tail != null) {
+                    entry.tail.transferTo(zipOutputStream);
+                }
+                zipOutputStream.closeEntry();
+            }
+        } finally {
+            entries.forEach(Entry::close);
+        }
+    }
+
+    private List<Entry> getEntries(Future<List<Entry>> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while exporting", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error exporting: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * A task producing entries, run by a worker thread.
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * Produce the entries.
+         *
+         * @param  context   the read-only context of the worker thread
+         * @return           the entries
+         * @throws Exception if an error occurs
+         */
+        List<Entry> call(Context context) throws Exception;
+
+    }
+
+    /**
+     * An entry of the zip file: its content is the head, completely read,
+     * followed by the tail, read while the entry is written.
+     */
+    public static class Entry {
+
+        private final String name;
+
+        private final byte[] head;
+
+        private final InputStream tail;
+
+        public Entry(String name, byte[] content) {
+            this(name, content, null);
+        }
+
+        private Entry(String name, byte[] head, InputStream tail) {
+            this.name = name;
+            this.head = head;
+            this.tail = tail;
+        }
+
+        /**
+         * Create an entry with the content of the given stream, reading the
+         * first {@link ZipExport#PREFETCH_SIZE} bytes. The stream is closed if
+         * completely read, otherwise when the entry is written.
+         *
+         * @param  name        the entry name
+         * @param  content     the entry content
+         * @return             the entry
+         * @throws IOException if an error occurs reading the stream
+         */
+        public static Entry prefetch(String name, InputStream content) throws IOException {
+            try {
+                byte[] head = content.readNBytes(PREFETCH_SIZE);
+                if (head.length < PREFETCH_SIZE) {
+                    content.close();
+                    return new Entry(name, head, null);
+                }
+                return new Entry(name, head, content);
+            } catch (IOException e) {
+                IOUtils.closeQuietly(content);
+                throw e;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        void close() {
+            IOUtils.closeQuietly(tail);
+        }
+
+    }
+
+}
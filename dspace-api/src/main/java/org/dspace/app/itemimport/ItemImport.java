@@ -74,6 +74,7 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
     protected boolean useWorkflow = false;
     protected boolean useWorkflowSendEmail = false;
     protected boolean isQuiet = false;
+    protected int threads = 1;
     protected boolean commandLineCollections = false;
     protected boolean zip = false;
     protected boolean remoteUrl = false;
@@ -146,6 +147,13 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             isQuiet = true;
         }
 
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+            if (threads < 1) {
+                throw new ParseException("The number of threads must be at least 1");
+            }
+        }
+
         setZip();
     }
 
@@ -217,6 +225,7 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             itemImportService.setUseWorkflowSendEmail(useWorkflowSendEmail);
             itemImportService.setQuiet(isQuiet);
             itemImportService.setHandler(handler);
+            itemImportService.setThreads(threads);
 
             try {
                 context.turnOffAuthorisationSystem();
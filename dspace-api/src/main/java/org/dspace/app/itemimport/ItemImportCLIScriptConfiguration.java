@@ -70,6 +70,9 @@ public class ItemImportCLIScriptConfiguration extends ItemImportScriptConfigurat
         options.addOption(Option.builder("q").longOpt("quiet")
                 .desc("don't display metadata")
                 .hasArg(false).required(false).build());
+        options.addOption(Option.builder("t").longOpt("threads")
+                .desc("number of threads preparing the items to add, default 1 (sequential import)")
+                .hasArg().required(false).build());
 
         options.addOption(Option.builder("h").longOpt("help")
                 .desc("help")
@@ -28,7 +28,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.URL;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -44,6 +46,11 @@ import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.mail.MessagingException;
@@ -187,6 +194,12 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     protected boolean useWorkflow = false;
     protected boolean useWorkflowSendEmail = false;
     protected boolean isQuiet = false;
+    protected int threads = 1;
+
+    /**
+     * The default number of items created in each transaction in concurrent mode.
+     */
+    protected static final int DEFAULT_CONCURRENT_BATCH_SIZE = 100;
 
     //remember which folder item was imported from
     Map<String, Item> itemFolderMap = null;
@@ -245,6 +258,14 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         File outFile = null;
         PrintWriter mapOut = null;
 
+        // in concurrent mode the reader threads prepare the next items while this thread creates the current one
+        ExecutorService readers = null;
+        Map<String, Future<PreparedItem>> preparations = new HashMap<>();
+        // set when the import ends, so that the preparations not started yet are skipped
+        AtomicBoolean importEnded = new AtomicBoolean();
+        // the prepared bitstreams of the items not committed yet, to be deleted if the import fails
+        List<UUID> uncommittedBitstreams = new ArrayList<>();
+
         try {
             Map<String, String> skipItems = new HashMap<>(); // set of items to skip if in 'resume'
             // mode
@@ -282,7 +303,25 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
             Arrays.sort(dircontents, ComparatorUtils.naturalComparator());
 
+            // the mapfile lines of the items not committed yet, written only after the commit in concurrent mode
+            StringWriter pendingMapLines = null;
+            int batchSize = configurationService.getIntProperty("itemimport.concurrent.batch-size",
+                DEFAULT_CONCURRENT_BATCH_SIZE);
+            int itemsInTransaction = 0;
+            int nextPreparation = 0;
+
+            if (threads > 1 && !isTest) {
+                logInfo("Importing with " + threads + " reader threads, committing every " + batchSize + " items");
+                readers = Executors.newFixedThreadPool(threads);
+                pendingMapLines = new StringWriter();
+            }
+
             for (int i = 0; i < dircontents.length; i++) {
+                if (readers != null) {
+                    nextPreparation = submitPreparations(readers, preparations, importEnded, sourceDir,
+                        dircontents, skipItems, nextPreparation, i + threads * 2);
+                }
+
                 if (skipItems.containsKey(dircontents[i])) {
                     logInfo("Skipping import of " + dircontents[i]);
 
@@ -292,37 +331,68 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
                     itemFolderMap.put(dircontents[i], skippedItem);
 
                 } else {
+                    PreparedItem preparedItem = readers != null ? takePreparation(preparations, dircontents[i]) : null;
+                    if (preparedItem != null) {
+                        uncommittedBitstreams.addAll(preparedItem.bitstreams.values());
+                    }
+                    // after a failure, the prepared bitstreams are deleted with the uncommitted ones
                     List<Collection> clist;
                     if (directoryFileCollections) {
                         String path = sourceDir + File.separatorChar + dircontents[i];
                         try {
                             List<Collection> cols = processCollectionFile(c, path, "collections");
                             if (cols == null) {
-                                logError("No collections specified for item " + dircontents[i] + ". Skipping.");
+                                logError("No collections specified for item " + dircontents[i]
+                                    + ". Skipping.");
+                                discardPreparedItem(c, preparedItem);
                                 continue;
                             }
                             clist = cols;
                         } catch (IllegalArgumentException e) {
                             logError(e.getMessage() + " Skipping.");
+                            discardPreparedItem(c, preparedItem);
                             continue;
                         }
                     } else {
                         clist = mycollections;
                     }
 
-                    Item item = addItem(c, clist, sourceDir, dircontents[i], mapOut, template);
+                    PrintWriter itemMapOut = readers != null ? new PrintWriter(pendingMapLines) : mapOut;
+                    Item item = addItem(c, clist, sourceDir, dircontents[i], itemMapOut, template, preparedItem);
+                    discardPreparedItem(c, preparedItem);
 
                     itemFolderMap.put(dircontents[i], item);
 
                     c.uncacheEntity(item);
                     logInfo(i + " " + dircontents[i]);
+
+                    if (readers != null && ++itemsInTransaction >= batchSize) {
+                        commitBatch(c, pendingMapLines, mapOut);
+                        uncommittedBitstreams.clear();
+                        mycollections = reloadCollections(c, mycollections);
+                        itemsInTransaction = 0;
+                    }
                 }
             }
 
+            if (readers != null) {
+                commitBatch(c, pendingMapLines, mapOut);
+                uncommittedBitstreams.clear();
+            }
+
             //now that all items are imported, iterate again to link relationships
             addRelationships(c, sourceDir);
 
         } finally {
+            if (readers != null) {
+                importEnded.set(true);
+                if (!uncommittedBitstreams.isEmpty()) {
+                    // the import failed: its uncommitted items are rolled back before deleting their bitstreams
+                    rollbackFailedBatch(c);
+                }
+                discardPreparations(readers, preparations.values(), uncommittedBitstreams);
+                readers.shutdown();
+            }
             if (mapOut != null) {
                 mapOut.flush();
                 mapOut.close();
@@ -330,6 +400,221 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     }
 
+    /**
+     * Submit to the reader threads the preparation of the items to import, from
+     * the given index up to the given limit, skipping the items already
+     * imported. The preparations started after the end of the import return
+     * null, without storing any bitstream.
+     *
+     * @return the index of the next item to prepare
+     */
+    protected int submitPreparations(ExecutorService readers, Map<String, Future<PreparedItem>> preparations,
+                                     AtomicBoolean importEnded, String sourceDir, String[] dircontents,
+                                     Map<String, String> skipItems, int from, int limit) {
+        int next = from;
+        for (; next < dircontents.length && next <= limit; next++) {
+            if (!skipItems.containsKey(dircontents[next])) {
+                String itemPath = sourceDir + File.separatorChar + dircontents[next];
+                preparations.put(dircontents[next],
+                    readers.submit(() -> importEnded.get() ? null : prepareItem(itemPath)));
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Wait for the preparation of the given item.
+     */
+    protected PreparedItem takePreparation(Map<String, Future<PreparedItem>> preparations, String itemname)
+        throws Exception {
+        Future<PreparedItem> preparation = preparations.remove(itemname);
+        try {
+            return preparation != null ? preparation.get() : null;
+        } catch (ExecutionException e) {
+            throw new Exception("Error preparing item " + itemname + ": " + e.getCause().getMessage(),
+                e.getCause());
+        }
+    }
+
+    /**
+     * Prepare the item in the given directory, out of the import transaction:
+     * parse its metadata files and store its content files in the assetstore,
+     * as bitstreams without bundle committed in a context of their own. The
+     * bitstreams are added to the item when it is created.
+     *
+     * @param itemPath the directory of the item
+     * @return the prepared item
+     * @throws Exception if the item can't be prepared
+     */
+    protected PreparedItem prepareItem(String itemPath) throws Exception {
+        PreparedItem prepared = new PreparedItem();
+        File itemDirectory = new File(itemPath);
+
+        List<File> metadataFiles = new ArrayList<>();
+        metadataFiles.add(new File(itemDirectory, "dublin_core.xml"));
+        metadataFiles.addAll(Arrays.asList(itemDirectory.listFiles(metadataFileFilter)));
+        for (File metadataFile : metadataFiles) {
+            // a missing file is reported by the import of the item, as in sequential mode
+            if (metadataFile.exists()) {
+                prepared.documents.put(metadataFile.getAbsolutePath(), parseXML(metadataFile));
+            }
+        }
+
+        if (isExcludeContent) {
+            return prepared;
+        }
+
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        try {
+            context.turnOffAuthorisationSystem();
+            for (String fileName : readContentFileNames(itemDirectory)) {
+                File contentFile = new File(itemDirectory, fileName);
+                if (contentFile.exists() && !prepared.bitstreams.containsKey(contentFile.getAbsolutePath())) {
+                    try (InputStream is = new BufferedInputStream(new FileInputStream(contentFile))) {
+                        Bitstream bitstream = bitstreamService.create(context, is);
+                        prepared.bitstreams.put(contentFile.getAbsolutePath(), bitstream.getID());
+                    }
+                }
+            }
+            context.complete();
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+
+        return prepared;
+    }
+
+    /**
+     * Returns the names of the files of the given item directory to be
+     * imported as bitstreams, as listed in its contents file. The registered
+     * bitstreams are excluded.
+     */
+    protected List<String> readContentFileNames(File itemDirectory) throws IOException {
+        File contentsFile = new File(itemDirectory, "contents");
+        if (!contentsFile.exists()) {
+            return List.of();
+        }
+
+        List<String> fileNames = new ArrayList<>();
+        for (String line : Files.readAllLines(contentsFile.toPath())) {
+            if (StringUtils.isNotBlank(line) && !line.trim().startsWith("-r ")) {
+                int bitstreamEndIndex = line.indexOf('\t');
+                fileNames.add(bitstreamEndIndex == -1 ? line : line.substring(0, bitstreamEndIndex));
+            }
+        }
+        return fileNames;
+    }
+
+    /**
+     * Delete the bitstreams of the given prepared item that have not been
+     * added to the item, e.g. because the item was skipped.
+     */
+    protected void discardPreparedItem(Context c, PreparedItem preparedItem)
+        throws SQLException, IOException, AuthorizeException {
+        if (preparedItem == null) {
+            return;
+        }
+
+        deleteBitstreams(c, preparedItem.bitstreams.values());
+        preparedItem.bitstreams.clear();
+    }
+
+    protected void deleteBitstreams(Context c, java.util.Collection<UUID> bitstreamIds)
+        throws SQLException, IOException, AuthorizeException {
+        for (UUID bitstreamId : bitstreamIds) {
+            Bitstream bitstream = bitstreamService.find(c, bitstreamId);
+            if (bitstream != null && !bitstream.isDeleted()) {
+                bitstreamService.delete(c, bitstream);
+            }
+        }
+    }
+
+    /**
+     * Roll back the items imported since the last commit, after a failure, so
+     * that their bitstreams can be deleted by another transaction. The caller
+     * aborts the context anyway.
+     */
+    protected void rollbackFailedBatch(Context c) {
+        try {
+            c.rollback();
+        } catch (SQLException e) {
+            logWarn("Unable to roll back the items imported since the last commit", e);
+        }
+    }
+
+    /**
+     * Delete the bitstreams of the items prepared but not imported and of the
+     * given uncommitted items, after a failure. The preparations are not
+     * cancelled, as a running one would still commit its bitstreams: the
+     * preparations not started yet are skipped by the readers and the running
+     * ones are waited for. The deletion runs in a reader thread, so that its
+     * transaction is independent from the one of the import, bound to this
+     * thread.
+     */
+    protected void discardPreparations(ExecutorService readers,
+                                       java.util.Collection<Future<PreparedItem>> preparations,
+                                       List<UUID> uncommittedBitstreams) {
+        if (preparations.isEmpty() && uncommittedBitstreams.isEmpty()) {
+            return;
+        }
+
+        Future<?> discard = readers.submit(() -> {
+            Context context = new Context(Context.Mode.BATCH_EDIT);
+            try {
+                context.turnOffAuthorisationSystem();
+                deleteBitstreams(context, uncommittedBitstreams);
+                for (Future<PreparedItem> preparation : preparations) {
+                    try {
+                        discardPreparedItem(context, preparation.get());
+                    } catch (ExecutionException e) {
+                        // the failed preparation didn't commit any bitstream
+                    }
+                }
+                context.complete();
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+            return null;
+        });
+
+        try {
+            discard.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logWarn("Interrupted while deleting the bitstreams of the items prepared but not imported", e);
+        } catch (ExecutionException e) {
+            logWarn("Unable to delete the bitstreams of the items prepared but not imported", e);
+        }
+    }
+
+    /**
+     * Commit the items imported so far and only then record them in the
+     * mapfile, so that an interrupted import can be resumed from the last
+     * committed item.
+     */
+    protected void commitBatch(Context c, StringWriter pendingMapLines, PrintWriter mapOut) throws SQLException {
+        c.commit();
+        mapOut.print(pendingMapLines.toString());
+        mapOut.flush();
+        pendingMapLines.getBuffer().setLength(0);
+    }
+
+    protected List<Collection> reloadCollections(Context c, List<Collection> collections) throws SQLException {
+        if (collections == null) {
+            return null;
+        }
+
+        List<Collection> reloadedCollections = new ArrayList<>();
+        for (Collection collection : collections) {
+            reloadedCollections.add(c.reloadEntity(collection));
+        }
+        return reloadedCollections;
+    }
+
      /**
       * Add relationships from a 'relationships' manifest file.
       * 
@@ -728,6 +1013,19 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
      */
     protected Item addItem(Context c, List<Collection> mycollections, String path,
                            String itemname, PrintWriter mapOut, boolean template) throws Exception {
+        return addItem(c, mycollections, path, itemname, mapOut, template, null);
+    }
+
+    /**
+     * Same as {@link #addItem(Context, List, String, String, PrintWriter, boolean)},
+     * using the metadata files and the bitstreams of the given item prepared by
+     * a reader thread in concurrent mode.
+     *
+     * @param preparedItem the prepared item, null to read the item directory
+     * @see #addItem(Context, List, String, String, PrintWriter, boolean)
+     */
+    protected Item addItem(Context c, List<Collection> mycollections, String path, String itemname,
+                           PrintWriter mapOut, boolean template, PreparedItem preparedItem) throws Exception {
         String mapOutputString = null;
 
         logDebug("adding item from directory " + itemname);
@@ -744,13 +1042,13 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
         // now fill out dublin core for item
         loadMetadata(c, myitem, path + File.separatorChar + itemname
-            + File.separatorChar);
+            + File.separatorChar, preparedItem);
 
         // and the bitstreams from the contents file
         // process contents file, add bistreams and bundles, return any
         // non-standard permissions
         List<String> options = processContentsFile(c, myitem, path
-            + File.separatorChar + itemname, "contents");
+            + File.separatorChar + itemname, "contents", preparedItem);
 
         if (useWorkflow) {
             // don't process handle file
@@ -895,24 +1193,24 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     }
 
     // Load all metadata schemas into the item.
-    protected void loadMetadata(Context c, Item myitem, String path)
+    protected void loadMetadata(Context c, Item myitem, String path, PreparedItem preparedItem)
         throws SQLException, IOException, ParserConfigurationException,
         SAXException, TransformerException, AuthorizeException, XPathExpressionException {
         // Load the dublin core metadata
-        loadDublinCore(c, myitem, path + "dublin_core.xml");
+        loadDublinCore(c, myitem, path + "dublin_core.xml", preparedItem);
 
         // Load any additional metadata schemas
         File folder = new File(path);
         File file[] = folder.listFiles(metadataFileFilter);
         for (int i = 0; i < file.length; i++) {
-            loadDublinCore(c, myitem, file[i].getAbsolutePath());
+            loadDublinCore(c, myitem, file[i].getAbsolutePath(), preparedItem);
         }
     }
 
-    protected void loadDublinCore(Context c, Item myitem, String filename)
+    protected void loadDublinCore(Context c, Item myitem, String filename, PreparedItem preparedItem)
         throws SQLException, IOException, ParserConfigurationException,
         SAXException, TransformerException, AuthorizeException, XPathExpressionException {
-        Document document = loadXML(filename);
+        Document document = loadXML(filename, preparedItem);
 
         // Get the schema, for backward compatibility we will default to the
         // dublin core schema if the schema name is not available in the import
@@ -1118,14 +1416,15 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
      * @param i        DSpace item
      * @param path     path as string
      * @param filename file name
+     * @param preparedItem the item prepared by a reader thread, may be null
      * @return List of Strings
      * @throws SQLException       if database error
      * @throws IOException        if IO error
      * @throws AuthorizeException if authorization error
      */
     protected List<String> processContentsFile(Context c, Item i, String path,
-                                               String filename) throws SQLException, IOException,
-        AuthorizeException {
+                                               String filename, PreparedItem preparedItem)
+        throws SQLException, IOException, AuthorizeException {
         File contentsFile = new File(path + File.separatorChar + filename);
         String line = "";
         List<String> options = new ArrayList<>();
@@ -1213,7 +1512,7 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
                     if (bitstreamEndIndex == -1) {
                         // no extra info
-                        processContentFileEntry(c, i, path, line, null, false);
+                        processContentFileEntry(c, i, path, line, null, false, preparedItem);
                         logInfo("\tBitstream: " + line);
                     } else {
 
@@ -1325,12 +1624,13 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
                             String bundleName = line.substring(bMarkerIndex
                                 + bundleMarker.length(), bEndIndex).trim();
 
-                            processContentFileEntry(c, i, path, bitstreamName, bundleName, primary);
+                            processContentFileEntry(c, i, path, bitstreamName, bundleName, primary,
+                                preparedItem);
                             logInfo("\tBitstream: " + bitstreamName +
                                 "\tBundle: " + bundleName +
                                 primaryStr);
                         } else {
-                            processContentFileEntry(c, i, path, bitstreamName, null, primary);
+                            processContentFileEntry(c, i, path, bitstreamName, null, primary, preparedItem);
                             logInfo("\tBitstream: " + bitstreamName + primaryStr);
                         }
 
@@ -1403,13 +1703,14 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
      * @param fileName   file name
      * @param bundleName bundle name
      * @param primary    if primary bitstream
+     * @param preparedItem the item prepared by a reader thread, may be null
      * @throws SQLException       if database error
      * @throws IOException        if IO error
      * @throws AuthorizeException if authorization error
      */
-    protected void processContentFileEntry(Context c, Item i, String path,
-                                           String fileName, String bundleName, boolean primary) throws SQLException,
-        IOException, AuthorizeException {
+    protected void processContentFileEntry(Context c, Item i, String path, String fileName, String bundleName,
+                                           boolean primary, PreparedItem preparedItem)
+        throws SQLException, IOException, AuthorizeException {
         if (isExcludeContent) {
             return;
         }
@@ -1446,8 +1747,16 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
                 targetBundle = bundles.iterator().next();
             }
 
-            // now add the bitstream
-            bs = bitstreamService.create(c, targetBundle, bis);
+            // now add the bitstream, already stored by a reader thread in concurrent mode
+            UUID preparedBitstreamId = preparedItem != null
+                ? preparedItem.bitstreams.remove(new File(fullpath).getAbsolutePath()) : null;
+            if (preparedBitstreamId != null) {
+                authorizeService.authorizeAction(c, targetBundle, Constants.ADD);
+                bs = bitstreamService.find(c, preparedBitstreamId);
+                bundleService.addBitstream(c, targetBundle, bs);
+            } else {
+                bs = bitstreamService.create(c, targetBundle, bis);
+            }
 
             bs.setName(c, fileName);
 
@@ -1879,17 +2188,28 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
      * Load in the XML from file.
      *
      * @param filename the filename to load from
+     * @param preparedItem the item prepared by a reader thread, whose parsed
+     *                     file is returned if any, may be null
      * @return the DOM representation of the XML file
      * @throws IOException                  if IO error
      * @throws ParserConfigurationException if config error
      * @throws SAXException                 if XML error
      */
-    protected Document loadXML(String filename) throws IOException,
+    protected Document loadXML(String filename, PreparedItem preparedItem) throws IOException,
         ParserConfigurationException, SAXException {
+        File file = new File(filename);
+        if (preparedItem != null && preparedItem.documents.containsKey(file.getAbsolutePath())) {
+            return preparedItem.documents.get(file.getAbsolutePath());
+        }
+
+        return parseXML(file);
+    }
+
+    protected Document parseXML(File file) throws IOException, ParserConfigurationException, SAXException {
         DocumentBuilder builder = DocumentBuilderFactory.newInstance()
                                                         .newDocumentBuilder();
 
-        return builder.parse(new File(filename));
+        return builder.parse(file);
     }
 
     /**
@@ -2383,6 +2703,11 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         this.handler = handler;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     private void logInfo(String message) {
         logInfo(message, null);
     }
@@ -2455,4 +2780,16 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     }
 
+    /**
+     * An item prepared by a reader thread in concurrent mode: its parsed
+     * metadata files and its content files already stored as bitstreams, both
+     * keyed by absolute path.
+     */
+    protected static class PreparedItem {
+
+        protected final Map<String, Document> documents = new HashMap<>();
+
+        protected final Map<String, UUID> bitstreams = new HashMap<>();
+
+    }
 }
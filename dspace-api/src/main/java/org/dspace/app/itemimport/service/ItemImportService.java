@@ -249,4 +249,15 @@ public interface ItemImportService {
      * @param handler
      */
     public void setHandler(DSpaceRunnableHandler handler);
+
+    /**
+     * Set the number of reader threads used by
+     * {@link #addItems(Context, List, String, String, boolean)}. With more than
+     * one thread the items are prepared concurrently, parsing their metadata
+     * and storing their bitstreams, while they are created in batches of
+     * itemimport.concurrent.batch-size items per transaction.
+     *
+     * @param threads the number of reader threads, 1 to import sequentially
+     */
+    public void setThreads(int threads);
 }
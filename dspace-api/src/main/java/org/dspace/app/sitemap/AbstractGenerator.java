@@ -7,14 +7,22 @@
  */
 package org.dspace.app.sitemap;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.io.FileUtils;
+
 /**
  * Base class for creating sitemaps of various kinds. A sitemap consists of one
  * or more files which list significant URLs on a site for search engines to
@@ -67,6 +75,26 @@ public abstract class AbstractGenerator {
      */
     private int trailingByteCount;
 
+    /**
+     * Whether an existing sitemap file is kept when its content has not changed
+     */
+    private boolean deltaMode;
+
+    /**
+     * Content of the current file in delta mode, written only if it changed
+     */
+    private ByteArrayOutputStream currentContent;
+
+    /**
+     * Latest modification date of the URLs of the current file in delta mode
+     */
+    private Date currentLastModified;
+
+    /**
+     * Last modification date of each sitemap file written so far
+     */
+    private final List<Date> fileDates = new ArrayList<>();
+
     /**
      * Initialize this generator to write to the given directory. This must be
      * called by any subclass constructor.
@@ -80,6 +108,21 @@ public abstract class AbstractGenerator {
         currentOutput = null;
     }
 
+    /**
+     * Enable or disable the delta mode. In delta mode the content of each
+     * sitemap file is kept in memory and it replaces the existing file only if
+     * it differs, so the unchanged sitemap files keep their last modification
+     * date and the crawlers don't need to fetch them again. The URLs must be
+     * partitioned with {@link #closeFile()} so that each file always gets the
+     * same URLs, otherwise any added or removed URL changes all the following
+     * files.
+     *
+     * @param deltaMode {@code true} to enable the delta mode
+     */
+    public void setDeltaMode(boolean deltaMode) {
+        this.deltaMode = deltaMode;
+    }
+
     /**
      * Start writing a new sitemap file.
      *
@@ -89,8 +132,14 @@ public abstract class AbstractGenerator {
     protected void startNewFile() throws IOException {
         String lbp = getLeadingBoilerPlate();
 
-        OutputStream fo = new FileOutputStream(new File(outputDir,
-                                                        getFilename(fileCount)));
+        OutputStream fo;
+        if (deltaMode) {
+            currentContent = new ByteArrayOutputStream();
+            currentLastModified = null;
+            fo = currentContent;
+        } else {
+            fo = new FileOutputStream(new File(outputDir, getFilename(fileCount)));
+        }
 
         if (useCompression()) {
             fo = new GZIPOutputStream(fo);
@@ -127,6 +176,26 @@ public abstract class AbstractGenerator {
         currentOutput.print(newURLText);
         bytesWritten += newURLText.length();
         urlsWritten++;
+
+        if (lastMod != null && (currentLastModified == null || lastMod.after(currentLastModified))) {
+            currentLastModified = lastMod;
+        }
+    }
+
+    /**
+     * Complete the current sitemap file, even if no URL was added to it, so
+     * that the next URL starts a new file. In delta mode each partition of the
+     * URLs is closed this way, to keep it in its own file.
+     *
+     * @throws IOException if IO error
+     *                     if an error occurs writing
+     */
+    public void closeFile() throws IOException {
+        if (currentOutput == null) {
+            startNewFile();
+        }
+        closeCurrentFile();
+        currentOutput = null;
     }
 
     /**
@@ -138,9 +207,37 @@ public abstract class AbstractGenerator {
     protected void closeCurrentFile() throws IOException {
         currentOutput.print(getTrailingBoilerPlate());
         currentOutput.close();
+
+        File file = new File(outputDir, getFilename(fileCount));
+        if (!deltaMode) {
+            fileDates.add(new Date());
+        } else if (isUnchanged(file)) {
+            // nothing changed since the last run, keep the existing file
+            fileDates.add(new Date(file.lastModified()));
+        } else {
+            // replace the file at once, as it can be served meanwhile
+            File tempFile = new File(outputDir, file.getName() + ".tmp");
+            FileUtils.writeByteArrayToFile(tempFile, currentContent.toByteArray());
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            fileDates.add(new Date());
+        }
+
         fileCount++;
     }
 
+    /**
+     * Whether the given existing file has the content of the current file.
+     * The content is compared only if none of the URLs was modified after the
+     * file, as the removed URLs don't have a modification date to check.
+     */
+    private boolean isUnchanged(File file) throws IOException {
+        if (!file.exists()
+            || currentLastModified != null && currentLastModified.getTime() > file.lastModified()) {
+            return false;
+        }
+        return Arrays.equals(currentContent.toByteArray(), FileUtils.readFileToByteArray(file));
+    }
+
     /**
      * Complete writing sitemap files and write the index files. This is invoked
      * when all calls to {@link AbstractGenerator#addURL(String, Date)} have
@@ -155,6 +252,13 @@ public abstract class AbstractGenerator {
             closeCurrentFile();
         }
 
+        // remove the sitemap files left by a previous run with more URLs
+        File staleFile = new File(outputDir, getFilename(fileCount));
+        for (int i = fileCount + 1; staleFile.exists(); i++) {
+            Files.delete(staleFile.toPath());
+            staleFile = new File(outputDir, getFilename(i));
+        }
+
         OutputStream fo = new FileOutputStream(new File(outputDir,
                                                         getIndexFilename()));
 
@@ -169,6 +273,17 @@ public abstract class AbstractGenerator {
         return fileCount;
     }
 
+    /**
+     * Return the last modification date of the sitemap file at the given
+     * index, that is the date of the run that changed its content.
+     *
+     * @param number index of the sitemap file (zero is first).
+     * @return the last modification date of the file
+     */
+    protected Date getFileLastModified(int number) {
+        return number < fileDates.size() ? fileDates.get(number) : new Date();
+    }
+
     /**
      * Return marked-up text to be included in a sitemap about a given URL.
      *
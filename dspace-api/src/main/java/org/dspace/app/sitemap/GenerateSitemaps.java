@@ -11,7 +11,7 @@ import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Date;
-import java.util.List;
+import java.util.Iterator;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -19,19 +19,13 @@ import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
-import org.dspace.content.factory.ContentServiceFactory;
-import org.dspace.content.service.CollectionService;
-import org.dspace.content.service.CommunityService;
-import org.dspace.content.service.ItemService;
+import org.apache.solr.common.SolrDocument;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
 import org.dspace.discovery.DiscoverQuery;
-import org.dspace.discovery.DiscoverResult;
-import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.SearchUtils;
@@ -50,14 +44,14 @@ public class GenerateSitemaps {
      */
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(GenerateSitemaps.class);
 
-    private static final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
-    private static final CollectionService collectionService =
-        ContentServiceFactory.getInstance().getCollectionService();
-    private static final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private static final ConfigurationService configurationService =
         DSpaceServicesFactory.getInstance().getConfigurationService();
     private static final SearchService searchService = SearchUtils.getSearchService();
-    private static final int PAGE_SIZE = 100;
+    private static final int PAGE_SIZE = 1000;
+    private static final String ENTITY_TYPE_FIELD = "search.entitytype";
+    private static final String LAST_MODIFIED_FIELD = "lastModified";
+    // Number of leading bits of the item uuids available to partition the items in delta mode.
+    private static final int MAX_PARTITION_BITS = 16;
 
     /**
      * Default constructor
@@ -80,6 +74,8 @@ public class GenerateSitemaps {
         options
             .addOption("d", "delete", false,
                 "delete sitemaps dir and its contents");
+        options.addOption("u", "delta", false,
+                          "replace only the sitemaps.org files whose items have changed");
 
         CommandLine line = null;
 
@@ -114,7 +110,7 @@ public class GenerateSitemaps {
 
         // Note the negation (CLI options indicate NOT to generate a sitemap)
         if (!line.hasOption('b') || !line.hasOption('s')) {
-            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'));
+            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'), line.hasOption('u'));
         }
 
         if (line.hasOption('d')) {
@@ -131,7 +127,7 @@ public class GenerateSitemaps {
      * @throws IOException  if IO error occurs.
      */
     public static void generateSitemapsScheduled() throws IOException, SQLException {
-        generateSitemaps(true, true);
+        generateSitemaps(true, true, configurationService.getBooleanProperty("sitemap.delta", false));
     }
 
     /**
@@ -158,6 +154,24 @@ public class GenerateSitemaps {
      *                      if IO error occurs.
      */
     public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg) throws SQLException, IOException {
+        generateSitemaps(makeHTMLMap, makeSitemapOrg, false);
+    }
+
+    /**
+     * Generate sitemap.org protocol and/or basic HTML sitemaps.
+     *
+     * @param makeHTMLMap    if {@code true}, generate an HTML sitemap.
+     * @param makeSitemapOrg if {@code true}, generate an sitemap.org sitemap.
+     * @param delta          if {@code true}, partition the items of the
+     *                       sitemaps.org files by uuid and replace only the
+     *                       files whose items changed since the last run.
+     * @throws SQLException if database error
+     *                      if a database error occurs.
+     * @throws IOException  if IO error
+     *                      if IO error occurs.
+     */
+    public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg, boolean delta)
+        throws SQLException, IOException {
         String uiURLStem = configurationService.getProperty("dspace.ui.url");
         if (!uiURLStem.endsWith("/")) {
             uiURLStem = uiURLStem + '/';
@@ -172,102 +186,74 @@ public class GenerateSitemaps {
         AbstractGenerator html = null;
         AbstractGenerator sitemapsOrg = null;
 
+        // the html sitemap index has no dates, so it is always written in full
         if (makeHTMLMap) {
             html = new HTMLSitemapGenerator(outputDir, sitemapStem, ".html");
         }
 
         if (makeSitemapOrg) {
             sitemapsOrg = new SitemapsOrgGenerator(outputDir, sitemapStem, ".xml");
+            sitemapsOrg.setDeltaMode(delta);
         }
+        boolean partition = delta && makeSitemapOrg;
 
         Context c = new Context(Context.Mode.READ_ONLY);
-        int offset = 0;
         long commsCount = 0;
         long collsCount = 0;
         long itemsCount = 0;
 
         try {
-            DiscoverQuery discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Community");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                commsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "communities/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
+            // stream the stored fields of the index with a cursor, without loading the objects from the database
+            Iterator<SolrDocument> docs = iterate(c, "search.resourcetype:Community", SearchUtils.RESOURCE_ID_FIELD);
+            while (docs.hasNext()) {
+                String url = uiURLStem + "communities/" + docs.next().getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+                addURL(html, sitemapsOrg, url, null);
+                commsCount++;
+            }
+
+            docs = iterate(c, "search.resourcetype:Collection", SearchUtils.RESOURCE_ID_FIELD);
+            while (docs.hasNext()) {
+                String url = uiURLStem + "collections/" + docs.next().getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+                addURL(html, sitemapsOrg, url, null);
+                collsCount++;
+            }
+
+            // in delta mode the communities and the collections have their own file, then each partition of the
+            // items has its own file: the items are streamed in uuid order, so the partitions come one after
+            // the other, and an item added or removed changes only the file of its partition
+            int partitionBits = 0;
+            int currentPartition = 0;
+            if (partition) {
+                sitemapsOrg.closeFile();
+                partitionBits = getPartitionBits(c, sitemapsOrg.getMaxURLs() / 2);
+            }
+
+            docs = iterate(c, "search.resourcetype:Item", SearchUtils.RESOURCE_ID_FIELD, ENTITY_TYPE_FIELD,
+                LAST_MODIFIED_FIELD);
+            while (docs.hasNext()) {
+                SolrDocument doc = docs.next();
+                Object id = doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+                if (partition) {
+                    int itemPartition = getPartition(id.toString(), partitionBits);
+                    for (; currentPartition < itemPartition; currentPartition++) {
+                        sitemapsOrg.closeFile();
                     }
                 }
-                offset += PAGE_SIZE;
-            } while (offset < commsCount);
-
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Collection");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                collsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "collections/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
+                Object entityType = doc.getFirstValue(ENTITY_TYPE_FIELD);
+                String url;
+                if (entityType != null && StringUtils.isNotBlank(entityType.toString())) {
+                    url = uiURLStem + "entities/" + StringUtils.lowerCase(entityType.toString()) + "/" + id;
+                } else {
+                    url = uiURLStem + "items/" + id;
                 }
-                offset += PAGE_SIZE;
-            } while (offset < collsCount);
-
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Item");
-            discoveryQuery.addSearchField("search.entitytype");
-            do {
-
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                itemsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url;
-                    List<String> entityTypeFieldValues = discoverResult.getSearchDocument(doc).get(0)
-                                            .getSearchFieldValues("search.entitytype");
-                    if (CollectionUtils.isNotEmpty(entityTypeFieldValues)) {
-                        url = uiURLStem + "entities/" + StringUtils.lowerCase(entityTypeFieldValues.get(0)) + "/"
-                                + doc.getID();
-                    } else {
-                        url = uiURLStem + "items/" + doc.getID();
-                    }
-                    Date lastMod = doc.getLastModified();
-                    c.uncacheEntity(doc.getIndexedObject());
+                addURL(html, sitemapsOrg, url, (Date) doc.getFirstValue(LAST_MODIFIED_FIELD));
+                itemsCount++;
+            }
 
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
-                }
-                offset += PAGE_SIZE;
-            } while (offset < itemsCount);
+            // write the file of every partition, even the empty ones, to keep the numbering of the files
+            for (; partition && currentPartition < (1 << partitionBits); currentPartition++) {
+                sitemapsOrg.closeFile();
+            }
 
             if (makeHTMLMap) {
                 int files = html.finish();
@@ -290,4 +276,48 @@ public class GenerateSitemaps {
             c.abort();
         }
     }
+
+    /**
+     * Returns the number of leading bits of the item uuids used to partition
+     * the items, so that a partition has at most the given number of items on
+     * average. The partitions change only when the number of items crosses a
+     * power of two of the given size.
+     */
+    private static int getPartitionBits(Context context, int itemsPerPartition) throws SearchServiceException {
+        DiscoverQuery discoveryQuery = new DiscoverQuery();
+        discoveryQuery.setQuery("search.resourcetype:Item");
+        discoveryQuery.setMaxResults(0);
+        long items = searchService.search(context, discoveryQuery).getTotalSearchResults();
+
+        int bits = 0;
+        while (bits < MAX_PARTITION_BITS && (items >> bits) > itemsPerPartition) {
+            bits++;
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the partition of the item with the given uuid: the value of its
+     * leading bits, which grows with the uuid order of the index.
+     */
+    private static int getPartition(String uuid, int bits) {
+        return Integer.parseInt(uuid.substring(0, MAX_PARTITION_BITS / 4), 16) >>> (MAX_PARTITION_BITS - bits);
+    }
+
+    private static Iterator<SolrDocument> iterate(Context context, String query, String... fields)
+        throws SearchServiceException {
+        DiscoverQuery discoveryQuery = new DiscoverQuery();
+        discoveryQuery.setQuery(query);
+        return searchService.iterateSearchDocuments(context, discoveryQuery, PAGE_SIZE, fields);
+    }
+
+    private static void addURL(AbstractGenerator html, AbstractGenerator sitemapsOrg, String url, Date lastMod)
+        throws IOException {
+        if (html != null) {
+            html.addURL(url, lastMod);
+        }
+        if (sitemapsOrg != null) {
+            sitemapsOrg.addURL(url, lastMod);
+        }
+    }
 }
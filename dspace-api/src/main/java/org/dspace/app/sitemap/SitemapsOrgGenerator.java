@@ -111,8 +111,6 @@ public class SitemapsOrgGenerator extends AbstractGenerator {
     @Override
     public void writeIndex(PrintStream output, int sitemapCount)
         throws IOException {
-        String now = w3dtfFormat.format(new Date());
-
         output.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
         output
             .println("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
@@ -120,7 +118,7 @@ public class SitemapsOrgGenerator extends AbstractGenerator {
         for (int i = 0; i < sitemapCount; i++) {
             output.print("<sitemap><loc>" + indexURLStem + i + indexURLTail
                              + "</loc>");
-            output.print("<lastmod>" + now + "</lastmod></sitemap>\n");
+            output.print("<lastmod>" + w3dtfFormat.format(getFileLastModified(i)) + "</lastmod></sitemap>\n");
         }
 
         output.println("</sitemapindex>");
@@ -14,11 +14,16 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -73,6 +78,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
 
     private static final Logger log = LogManager.getLogger();
 
+    private static final int PREFETCH_CHUNK_SIZE = 500;
+
     @Autowired(required = true)
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
@@ -520,9 +527,43 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     @Override
     public List<ResourcePolicy> getPoliciesActionFilter(Context c, DSpaceObject o,
                                                         int actionID) throws SQLException {
+        List<ResourcePolicy> cachedPolicies = c.getCachedResourcePolicies(o);
+        if (cachedPolicies != null) {
+            return cachedPolicies.stream()
+                                 .filter(rp -> rp.getAction() == actionID)
+                                 .collect(Collectors.toList());
+        }
         return resourcePolicyService.find(c, o, actionID);
     }
 
+    @Override
+    public void prefetchPolicies(Context c, List<? extends DSpaceObject> dsos) throws SQLException {
+        if (!c.isReadOnly() || CollectionUtils.isEmpty(dsos)) {
+            return;
+        }
+
+        // collect the objects and their parents, skipping the ones already prefetched
+        Map<UUID, DSpaceObject> objects = new LinkedHashMap<>();
+        for (DSpaceObject dso : dsos) {
+            DSpaceObject current = dso;
+            while (current != null && !objects.containsKey(current.getID())
+                && c.getCachedResourcePolicies(current) == null) {
+                objects.put(current.getID(), current);
+                current = serviceFactory.getDSpaceObjectService(current).getParentObject(c, current);
+            }
+        }
+
+        for (List<UUID> ids : ListUtils.partition(new ArrayList<>(objects.keySet()), PREFETCH_CHUNK_SIZE)) {
+            Map<UUID, List<ResourcePolicy>> policiesByObject = new HashMap<>();
+            for (ResourcePolicy rp : resourcePolicyService.findByDsoIds(c, ids)) {
+                policiesByObject.computeIfAbsent(rp.getdSpaceObject().getID(), id -> new ArrayList<>()).add(rp);
+            }
+            for (UUID id : ids) {
+                c.cacheResourcePolicies(objects.get(id), policiesByObject.getOrDefault(id, new ArrayList<>()));
+            }
+        }
+    }
+
     @Override
     public List<ResourcePolicyOwnerVO> getValidPolicyOwnersActionFilter(Context c, List<UUID> dsoIds, int actionID)
         throws SQLException {
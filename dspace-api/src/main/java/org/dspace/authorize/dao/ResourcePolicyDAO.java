@@ -258,4 +258,15 @@ public interface ResourcePolicyDAO extends GenericDAO<ResourcePolicy> {
      */
     List<ResourcePolicyOwnerVO> findValidPolicyOwners(Context c, List<UUID> dsoIds, int actionID) throws SQLException;
 
+    /**
+     * Return all the policies related to the given objects, fetching also the
+     * eperson and the group of each policy.
+     *
+     * @param  c            context
+     * @param  dsoIds       DSpaceObject ids policies relate to
+     * @return              list of resource policies
+     * @throws SQLException if there's a database problem
+     */
+    List<ResourcePolicy> findByDsoIds(Context c, List<UUID> dsoIds) throws SQLException;
+
 }
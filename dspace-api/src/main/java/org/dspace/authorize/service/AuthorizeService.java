@@ -315,6 +315,19 @@ public interface AuthorizeService {
      */
     public List<ResourcePolicy> getPoliciesActionFilter(Context c, DSpaceObject o, int actionID) throws SQLException;
 
+    /**
+     * Load with a few set-based queries the policies of the given objects and of
+     * their parents (e.g. the owning collection and communities of an item), so
+     * that the next authorization checks on them do not query the policies one
+     * object and action at a time. The loaded policies are kept only if the
+     * context is in READ_ONLY mode, otherwise this method does nothing.
+     *
+     * @param c    context
+     * @param dsos the objects that are going to be checked
+     * @throws SQLException if there's a database problem
+     */
+    public void prefetchPolicies(Context c, List<? extends DSpaceObject> dsos) throws SQLException;
+
     /**
      * Return a list of date valid policy owners for a list of object that match the
      * action.
@@ -300,4 +300,14 @@ public interface ResourcePolicyService extends DSpaceCRUDService<ResourcePolicy>
      */
     List<ResourcePolicyOwnerVO> findValidPolicyOwners(Context c, List<UUID> dsoIds, int actionID) throws SQLException;
 
+    /**
+     * Return all the policies related to the given objects with a single query.
+     *
+     * @param  c            context
+     * @param  dsoIds       DSpaceObject ids policies relate to
+     * @return              list of resource policies
+     * @throws SQLException if there's a database problem
+     */
+    List<ResourcePolicy> findByDsoIds(Context c, List<UUID> dsoIds) throws SQLException;
+
 }
@@ -15,6 +15,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,6 +41,7 @@ import org.dspace.content.service.RelationshipService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.I18nUtil;
+import org.dspace.event.Event;
 import org.dspace.handle.service.HandleService;
 import org.dspace.identifier.service.IdentifierService;
 import org.dspace.utils.DSpace;
@@ -320,18 +322,7 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
                                 .get(i) + "\"");
                     }
                 }
-                // remove control unicode char
-                String temp = values.get(i).trim();
-                char[] dcvalue = temp.toCharArray();
-                for (int charPos = 0; charPos < dcvalue.length; charPos++) {
-                    if (Character.isISOControl(dcvalue[charPos]) &&
-                            !String.valueOf(dcvalue[charPos]).equals("\u0009") &&
-                            !String.valueOf(dcvalue[charPos]).equals("\n") &&
-                            !String.valueOf(dcvalue[charPos]).equals("\r")) {
-                        dcvalue[charPos] = ' ';
-                    }
-                }
-                metadataValue.setValue(String.valueOf(dcvalue));
+                metadataValue.setValue(removeControlCharacters(values.get(i)));
                 //An update here isn't needed, this is persited upon the merge of the owning object
 //            metadataValueService.update(context, metadataValue);
                 dso.addDetails(metadataField.toString());
@@ -341,7 +332,24 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
         return newMetadata;
     }
 
-    private Collection getCollection(Context context, T dso) throws SQLException {
+    /**
+     * Trim the given value and replace its control unicode chars, except tab
+     * and line breaks, with spaces.
+     */
+    private String removeControlCharacters(String value) {
+        char[] dcvalue = value.trim().toCharArray();
+        for (int charPos = 0; charPos < dcvalue.length; charPos++) {
+            if (Character.isISOControl(dcvalue[charPos]) &&
+                    !String.valueOf(dcvalue[charPos]).equals("\u0009") &&
+                    !String.valueOf(dcvalue[charPos]).equals("\n") &&
+                    !String.valueOf(dcvalue[charPos]).equals("\r")) {
+                dcvalue[charPos] = ' ';
+            }
+        }
+        return String.valueOf(dcvalue);
+    }
+
+    private Collection getCollection(Context context, DSpaceObject dso) throws SQLException {
         Collection col = null;
         switch (dso.getType()) {
             case Constants.ITEM:
@@ -508,6 +516,118 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
         dso.setMetadataModified();
     }
 
+    @Override
+    public void writeMetadata(Context context, MetadataBatch batch) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // the next place of each field on each object, after its values that are not deleted
+        Map<DSpaceObject, Map<MetadataField, Integer>> nextPlaces = new HashMap<>();
+        for (MetadataBatch.Insert insert : batch.getInserts()) {
+            boolean authorityControlled = checkAuthority(context, insert.getDSpaceObject(),
+                insert.getMetadataField(), insert.getAuthority(), insert.getValue());
+            insert.setValue(removeControlCharacters(insert.getValue()));
+            insert.setLanguage(StringUtils.trim(insert.getLanguage()));
+            // like the values added one by one, the authority and the confidence are kept only when allowed
+            insert.setAuthority(authorityControlled ? StringUtils.defaultIfEmpty(insert.getAuthority(), null) : null);
+            insert.setConfidence(authorityControlled ? insert.getConfidence() : Choices.CF_UNSET);
+
+            Map<MetadataField, Integer> places = nextPlaces.computeIfAbsent(insert.getDSpaceObject(),
+                dso -> getNextPlaces(dso, batch.getDeletes()));
+            int place = places.getOrDefault(insert.getMetadataField(), 0);
+            insert.setPlace(place);
+            places.put(insert.getMetadataField(), place + 1);
+        }
+
+        for (MetadataBatch.Update update : batch.getUpdates()) {
+            MetadataValue metadataValue = update.getMetadataValue();
+            boolean authorityControlled = checkAuthority(context, metadataValue.getDSpaceObject(),
+                metadataValue.getMetadataField(), update.getAuthority(), update.getValue());
+            update.setValue(removeControlCharacters(update.getValue()));
+            update.setLanguage(StringUtils.trim(update.getLanguage()));
+            update.setAuthority(authorityControlled ? StringUtils.defaultIfEmpty(update.getAuthority(), null) : null);
+            update.setConfidence(authorityControlled ? update.getConfidence() : Choices.CF_UNSET);
+        }
+
+        // the events are created before the batch evicts the changed objects from the session
+        List<Event> events = getModifyMetadataEvents(context, batch);
+
+        metadataValueService.executeBatch(context, batch);
+
+        events.forEach(context::addEvent);
+    }
+
+    /**
+     * Returns the modify metadata events of the objects changed by the given
+     * batch, with the names of the changed fields as details, like the events
+     * fired by the update of the objects.
+     */
+    private List<Event> getModifyMetadataEvents(Context context, MetadataBatch batch) {
+        Map<DSpaceObject, List<String>> changedFields = new LinkedHashMap<>();
+        for (MetadataBatch.Insert insert : batch.getInserts()) {
+            changedFields.computeIfAbsent(insert.getDSpaceObject(), dso -> new ArrayList<>())
+                .add(insert.getMetadataField().toString());
+        }
+        for (MetadataBatch.Update update : batch.getUpdates()) {
+            MetadataValue metadataValue = update.getMetadataValue();
+            changedFields.computeIfAbsent(metadataValue.getDSpaceObject(), dso -> new ArrayList<>())
+                .add(metadataValue.getMetadataField().toString());
+        }
+        for (MetadataValue metadataValue : batch.getDeletes()) {
+            changedFields.computeIfAbsent(metadataValue.getDSpaceObject(), dso -> new ArrayList<>())
+                .add(metadataValue.getMetadataField().toString());
+        }
+
+        List<Event> events = new ArrayList<>();
+        for (Map.Entry<DSpaceObject, List<String>> entry : changedFields.entrySet()) {
+            DSpaceObject dso = entry.getKey();
+            DSpaceObjectService<DSpaceObject> dSpaceObjectService = ContentServiceFactory.getInstance()
+                .getDSpaceObjectService(dso);
+            events.add(new Event(Event.MODIFY_METADATA, dso.getType(), dso.getID(),
+                String.join(", ", entry.getValue()), dSpaceObjectService.getIdentifiers(context, dso)));
+        }
+        return events;
+    }
+
+    private Map<MetadataField, Integer> getNextPlaces(DSpaceObject dso, List<MetadataValue> deletes) {
+        Map<MetadataField, Integer> places = new HashMap<>();
+        for (MetadataValue metadataValue : dso.getMetadata()) {
+            if (!deletes.contains(metadataValue)) {
+                places.merge(metadataValue.getMetadataField(), metadataValue.getPlace() + 1, Math::max);
+            }
+        }
+        return places;
+    }
+
+    /**
+     * Apply the same authority checks of
+     * {@link #addMetadata(Context, DSpaceObject, MetadataField, String, List, List, List, Supplier, Integer)} to a
+     * value of a metadata batch.
+     *
+     * @return true if the field is authority controlled on the given object
+     */
+    private boolean checkAuthority(Context context, DSpaceObject dso, MetadataField metadataField, String authority,
+        String value) throws SQLException {
+        Collection collection = getCollection(context, dso);
+        boolean authorityControlled = metadataAuthorityService.isAuthorityAllowed(metadataField, dso.getType(),
+            collection);
+
+        if (!authorityControlled && StringUtils.isNotEmpty(authority)) {
+            throw new IllegalArgumentException("The metadata field \"" + metadataField.toString()
+                + "\" is not authority controlled but an authority was provided. Value:\"" + value + "\"");
+        }
+
+        if (authorityControlled && StringUtils.isEmpty(authority)
+            && metadataAuthorityService.isAuthorityRequired(metadataField, dso.getType(), collection)
+            && isNotPlaceholderMetadataValue(value.trim())) {
+            throw new IllegalArgumentException("The metadata field \"" + metadataField.toString()
+                + "\" requires an authority key but none was provided. Value=\"" + value + "\"");
+        }
+
+        return authorityControlled;
+    }
+
     /**
      * Retrieve first metadata field value
      *
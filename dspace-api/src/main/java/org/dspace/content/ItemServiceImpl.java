@@ -34,6 +34,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.metrics.service.CrisMetricsService;
@@ -120,6 +121,8 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
      */
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(Item.class);
 
+    private static final int FIND_BY_IDS_CHUNK_SIZE = 500;
+
     @Autowired(required = true)
     protected ItemDAO itemDAO;
 
@@ -1849,6 +1852,17 @@ prevent the generation of resource policy entry values with null dspace_object a
                 ids.stream().map(uuid -> UUID.fromString(uuid)).distinct().collect(Collectors.toList()));
     }
 
+    @Override
+    public List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException {
+        List<Item> items = new ArrayList<>(ids.size());
+        // split the ids to keep the number of bind parameters of each query under control
+        for (List<UUID> chunk : ListUtils.partition(ids.stream().distinct().collect(Collectors.toList()),
+            FIND_BY_IDS_CHUNK_SIZE)) {
+            items.addAll(itemDAO.findByIdsWithMetadata(context, chunk));
+        }
+        return items;
+    }
+
     @Override
     public int countItems(Context context, Collection collection) throws SQLException {
         return itemDAO.countItems(context, collection, true, false);
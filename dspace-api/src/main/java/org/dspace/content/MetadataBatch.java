@@ -0,0 +1,290 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.dspace.content.authority.Choices;
+
+/**
+ * Collector of metadata value inserts, updates and deletes on many DSpace
+ * objects, to be written with JDBC batch statements through
+ * {@link org.dspace.content.service.DSpaceObjectService#writeMetadata}
+ * instead of one Hibernate statement per value.
+ *
+ * The batch doesn't change the given objects nor the given values: all the
+ * changes are applied when the batch is written.
+ */
+public class MetadataBatch {
+
+    private final List<Insert> inserts = new ArrayList<>();
+
+    private final List<Update> updates = new ArrayList<>();
+
+    private final List<MetadataValue> deletes = new ArrayList<>();
+
+    private final Set<DSpaceObject> dSpaceObjects = new LinkedHashSet<>();
+
+    /**
+     * Add a new value without authority to the given object, after the
+     * existing values of the same field.
+     *
+     * @param  dso      the object to add the value to
+     * @param  field    the metadata field
+     * @param  language the language of the value, may be null
+     * @param  value    the value
+     * @return          this batch
+     */
+    public MetadataBatch addValue(DSpaceObject dso, MetadataField field, String language, String value) {
+        return addValue(dso, field, language, value, null, Choices.CF_UNSET, null);
+    }
+
+    /**
+     * Add a new value to the given object, after the existing values of the
+     * same field.
+     *
+     * @param  dso           the object to add the value to
+     * @param  field         the metadata field
+     * @param  language      the language of the value, may be null
+     * @param  value         the value
+     * @param  authority     the authority key, may be null
+     * @param  confidence    the authority confidence
+     * @param  securityLevel the security level, may be null
+     * @return               this batch
+     */
+    public MetadataBatch addValue(DSpaceObject dso, MetadataField field, String language, String value,
+        String authority, int confidence, Integer securityLevel) {
+        inserts.add(new Insert(dso, field, language, value, authority, confidence, securityLevel));
+        dSpaceObjects.add(dso);
+        return this;
+    }
+
+    /**
+     * Replace the value, the language, the authority and the confidence of
+     * the given metadata value.
+     *
+     * @param  metadataValue the metadata value to update
+     * @param  language      the new language, may be null
+     * @param  value         the new value
+     * @param  authority     the new authority key, may be null
+     * @param  confidence    the new authority confidence
+     * @return               this batch
+     */
+    public MetadataBatch updateValue(MetadataValue metadataValue, String language, String value, String authority,
+        int confidence) {
+        updates.add(new Update(metadataValue, language, value, authority, confidence));
+        dSpaceObjects.add(metadataValue.getDSpaceObject());
+        return this;
+    }
+
+    /**
+     * Remove the given metadata value from its object.
+     *
+     * @param  metadataValue the metadata value to remove
+     * @return               this batch
+     */
+    public MetadataBatch removeValue(MetadataValue metadataValue) {
+        deletes.add(metadataValue);
+        dSpaceObjects.add(metadataValue.getDSpaceObject());
+        return this;
+    }
+
+    public List<Insert> getInserts() {
+        return Collections.unmodifiableList(inserts);
+    }
+
+    public List<Update> getUpdates() {
+        return Collections.unmodifiableList(updates);
+    }
+
+    public List<MetadataValue> getDeletes() {
+        return Collections.unmodifiableList(deletes);
+    }
+
+    /**
+     * Returns the objects changed by this batch, in the order they were
+     * first added.
+     *
+     * @return the changed objects
+     */
+    public Set<DSpaceObject> getDSpaceObjects() {
+        return Collections.unmodifiableSet(dSpaceObjects);
+    }
+
+    public int size() {
+        return inserts.size() + updates.size() + deletes.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove all the collected changes, so that the batch can be reused.
+     */
+    public void clear() {
+        inserts.clear();
+        updates.clear();
+        deletes.clear();
+        dSpaceObjects.clear();
+    }
+
+    /**
+     * A new metadata value. The value, the language, the authority and the
+     * place are normalized or set by the service before writing it.
+     */
+    public static class Insert {
+
+        private final DSpaceObject dSpaceObject;
+
+        private final MetadataField metadataField;
+
+        private String language;
+
+        private String value;
+
+        private String authority;
+
+        private int confidence;
+
+        private final Integer securityLevel;
+
+        private int place;
+
+        Insert(DSpaceObject dSpaceObject, MetadataField metadataField, String language, String value,
+            String authority, int confidence, Integer securityLevel) {
+            this.dSpaceObject = dSpaceObject;
+            this.metadataField = metadataField;
+            this.language = language;
+            this.value = value;
+            this.authority = authority;
+            this.confidence = confidence;
+            this.securityLevel = securityLevel;
+        }
+
+        public DSpaceObject getDSpaceObject() {
+            return dSpaceObject;
+        }
+
+        public MetadataField getMetadataField() {
+            return metadataField;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        void setLanguage(String language) {
+            this.language = language;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        void setValue(String value) {
+            this.value = value;
+        }
+
+        public String getAuthority() {
+            return authority;
+        }
+
+        void setAuthority(String authority) {
+            this.authority = authority;
+        }
+
+        public int getConfidence() {
+            return confidence;
+        }
+
+        void setConfidence(int confidence) {
+            this.confidence = confidence;
+        }
+
+        public Integer getSecurityLevel() {
+            return securityLevel;
+        }
+
+        public int getPlace() {
+            return place;
+        }
+
+        void setPlace(int place) {
+            this.place = place;
+        }
+
+    }
+
+    /**
+     * The new content of an existing metadata value. The value, the language
+     * and the authority are normalized by the service before writing it.
+     */
+    public static class Update {
+
+        private final MetadataValue metadataValue;
+
+        private String language;
+
+        private String value;
+
+        private String authority;
+
+        private int confidence;
+
+        Update(MetadataValue metadataValue, String language, String value, String authority, int confidence) {
+            this.metadataValue = metadataValue;
+            this.language = language;
+            this.value = value;
+            this.authority = authority;
+            this.confidence = confidence;
+        }
+
+        public MetadataValue getMetadataValue() {
+            return metadataValue;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        void setLanguage(String language) {
+            this.language = language;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        void setValue(String value) {
+            this.value = value;
+        }
+
+        public String getAuthority() {
+            return authority;
+        }
+
+        void setAuthority(String authority) {
+            this.authority = authority;
+        }
+
+        public int getConfidence() {
+            return confidence;
+        }
+
+        void setConfidence(int confidence) {
+            this.confidence = confidence;
+        }
+
+    }
+
+}
@@ -55,6 +55,9 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
     @Autowired
     protected SiteService siteService;
 
+    @Autowired(required = true)
+    protected MetadataRegistryCache metadataRegistryCache;
+
     protected MetadataFieldServiceImpl() {
 
     }
@@ -82,6 +85,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
         metadataField.setMetadataSchema(metadataSchema);
         metadataField = metadataFieldDAO.create(context, metadataField);
         metadataFieldDAO.save(context, metadataField);
+        metadataRegistryCache.invalidateAfterCommit(context);
 
         log.info(LogHelper.getHeader(context, "create_metadata_field",
                                       "metadata_field_id=" + metadataField.getID()));
@@ -98,13 +102,24 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
     @Override
     public MetadataField findByElement(Context context, MetadataSchema metadataSchema, String element, String qualifier)
         throws SQLException {
-        return metadataFieldDAO.findByElement(context, metadataSchema, element, qualifier);
+        return findByElement(context, metadataSchema.getName(), element, qualifier);
     }
 
     @Override
     public MetadataField findByElement(Context context, String metadataSchemaName, String element, String qualifier)
         throws SQLException {
-        return metadataFieldDAO.findByElement(context, metadataSchemaName, element, qualifier);
+        MetadataField metadataField = metadataRegistryCache.findField(context, metadataSchemaName, element,
+            qualifier);
+        if (metadataField != null) {
+            return metadataField;
+        }
+
+        metadataField = metadataFieldDAO.findByElement(context, metadataSchemaName, element, qualifier);
+        if (metadataField != null) {
+            // the field has been registered after the cache was built, e.g. by another process
+            metadataRegistryCache.invalidate();
+        }
+        return metadataField;
     }
 
     @Override
@@ -154,6 +169,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
         }
 
         metadataFieldDAO.save(context, metadataField);
+        metadataRegistryCache.invalidateAfterCommit(context);
 
         log.info(LogHelper.getHeader(context, "update_metadatafieldregistry",
                                       "metadata_field_id=" + metadataField.getID() + "element=" + metadataField
@@ -182,6 +198,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
         // Only remove this field if it is NOT in use (as we don't want to bulk delete metadata values)
         if (CollectionUtils.isEmpty(values)) {
             metadataFieldDAO.delete(context, metadataField);
+            metadataRegistryCache.invalidateAfterCommit(context);
         } else {
             throw new IllegalStateException("Metadata field " + metadataField
                 .toString() + " cannot be deleted as it is currently used by one or more objects.");
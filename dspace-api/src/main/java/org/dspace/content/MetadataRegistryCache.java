@@ -0,0 +1,140 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dspace.content.dao.MetadataFieldDAO;
+import org.dspace.content.dao.MetadataSchemaDAO;
+import org.dspace.core.Context;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Process-wide cache of the metadata registry, used by the metadata field and
+ * schema services to resolve names without querying the database. It keeps a
+ * {@link MetadataRegistrySnapshot}, built on first use and discarded after the
+ * commit of every transaction that changes the registry.
+ *
+ * The entities are loaded by id from the Hibernate session of the caller, so
+ * they are always attached to it, and checked against the requested name, so
+ * that an outdated snapshot, for example because another process changed the
+ * registry, is discarded instead of returning a wrong entity.
+ */
+public class MetadataRegistryCache {
+
+    @Autowired(required = true)
+    protected MetadataFieldDAO metadataFieldDAO;
+
+    @Autowired(required = true)
+    protected MetadataSchemaDAO metadataSchemaDAO;
+
+    private volatile MetadataRegistrySnapshot snapshot;
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Find the given metadata field in the cached registry.
+     *
+     * @param context            DSpace context
+     * @param metadataSchemaName the schema name
+     * @param element            the element
+     * @param qualifier          the qualifier, if any
+     * @return the metadata field, or null if it is not found in the cache
+     * @throws SQLException if database error
+     */
+    public MetadataField findField(Context context, String metadataSchemaName, String element, String qualifier)
+        throws SQLException {
+
+        if (metadataSchemaName == null || element == null) {
+            return null;
+        }
+
+        Integer id = getSnapshot(context).getFieldId(metadataSchemaName, element, qualifier);
+        if (id == null) {
+            return null;
+        }
+
+        MetadataField metadataField = metadataFieldDAO.findByID(context, MetadataField.class, id);
+        if (metadataField != null && MetadataRegistrySnapshot.getName(metadataSchemaName, element, qualifier)
+            .equals(MetadataRegistrySnapshot.getName(metadataField.getMetadataSchema().getName(),
+                metadataField.getElement(), metadataField.getQualifier()))) {
+            return metadataField;
+        }
+
+        invalidate();
+        return null;
+    }
+
+    /**
+     * Find the metadata schema with the given name in the cached registry.
+     *
+     * @param context            DSpace context
+     * @param metadataSchemaName the schema name
+     * @return the metadata schema, or null if it is not found in the cache
+     * @throws SQLException if database error
+     */
+    public MetadataSchema findSchema(Context context, String metadataSchemaName) throws SQLException {
+
+        if (metadataSchemaName == null) {
+            return null;
+        }
+
+        Integer id = getSnapshot(context).getSchemaId(metadataSchemaName);
+        if (id == null) {
+            return null;
+        }
+
+        MetadataSchema metadataSchema = metadataSchemaDAO.findByID(context, MetadataSchema.class, id);
+        if (metadataSchema != null && metadataSchemaName.equals(metadataSchema.getName())) {
+            return metadataSchema;
+        }
+
+        invalidate();
+        return null;
+    }
+
+    /**
+     * Discard the cached registry once the current transaction of the given
+     * context is committed. To be called by the changes to the registry: a
+     * snapshot built before the commit could miss the change.
+     *
+     * @param context DSpace context
+     * @throws SQLException if database error
+     */
+    public void invalidateAfterCommit(Context context) throws SQLException {
+        context.runAfterCommit(this::invalidate);
+    }
+
+    /**
+     * Discard the cached registry immediately, e.g. because it is outdated.
+     */
+    public synchronized void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private MetadataRegistrySnapshot getSnapshot(Context context) throws SQLException {
+        MetadataRegistrySnapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            return currentSnapshot;
+        }
+
+        long currentVersion = version.get();
+        currentSnapshot = MetadataRegistrySnapshot.of(metadataSchemaDAO.findAll(context, MetadataSchema.class),
+            metadataFieldDAO.findAll(context, MetadataField.class));
+        synchronized (this) {
+            // don't publish a snapshot built while the registry was changing
+            if (currentVersion == version.get()) {
+                snapshot = currentSnapshot;
+            }
+        }
+        return currentSnapshot;
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable snapshot of the metadata registry, mapping the names of the
+ * metadata fields and schemas to their identifiers. It only stores
+ * identifiers and names: the entities are always retrieved from the Hibernate
+ * session of the caller, so that they are attached to it.
+ *
+ * A snapshot is never updated: when the registry changes a new one is built
+ * and it replaces the old one, see {@link MetadataRegistryCache}.
+ */
+public final class MetadataRegistrySnapshot {
+
+    private static final char SEPARATOR = '.';
+
+    private final Map<String, Integer> fieldIdsByName;
+
+    private final Map<String, Integer> schemaIdsByName;
+
+    private MetadataRegistrySnapshot(Map<String, Integer> fieldIdsByName, Map<String, Integer> schemaIdsByName) {
+        this.fieldIdsByName = Map.copyOf(fieldIdsByName);
+        this.schemaIdsByName = Map.copyOf(schemaIdsByName);
+    }
+
+    /**
+     * Build a snapshot of the given metadata schemas and fields.
+     *
+     * @param  metadataSchemas all the metadata schemas of the registry
+     * @param  metadataFields  all the metadata fields of the registry
+     * @return                 the snapshot
+     */
+    public static MetadataRegistrySnapshot of(List<MetadataSchema> metadataSchemas,
+        List<MetadataField> metadataFields) {
+        Map<String, Integer> fieldIdsByName = new HashMap<>();
+        Map<String, Integer> schemaIdsByName = new HashMap<>();
+
+        for (MetadataSchema metadataSchema : metadataSchemas) {
+            schemaIdsByName.put(metadataSchema.getName(), metadataSchema.getID());
+        }
+
+        for (MetadataField metadataField : metadataFields) {
+            String name = getName(metadataField.getMetadataSchema().getName(), metadataField.getElement(),
+                metadataField.getQualifier());
+            fieldIdsByName.put(name, metadataField.getID());
+        }
+
+        return new MetadataRegistrySnapshot(fieldIdsByName, schemaIdsByName);
+    }
+
+    /**
+     * Returns the name of the given field in the form
+     * schema.element[.qualifier], a blank qualifier being ignored.
+     *
+     * @param  schema    the schema name
+     * @param  element   the element
+     * @param  qualifier the qualifier, if any
+     * @return           the field name
+     */
+    public static String getName(String schema, String element, String qualifier) {
+        String name = schema + SEPARATOR + element;
+        return StringUtils.isNotBlank(qualifier) ? name + SEPARATOR + qualifier : name;
+    }
+
+    /**
+     * Returns the id of the given field.
+     *
+     * @param  schema    the schema name
+     * @param  element   the element
+     * @param  qualifier the qualifier, if any
+     * @return           the field id, or null if the field is not in the snapshot
+     */
+    public Integer getFieldId(String schema, String element, String qualifier) {
+        return fieldIdsByName.get(getName(schema, element, qualifier));
+    }
+
+    /**
+     * Returns the id of the schema with the given name.
+     *
+     * @param  schema the schema name
+     * @return        the schema id, or null if the schema is not in the snapshot
+     */
+    public Integer getSchemaId(String schema) {
+        return schemaIdsByName.get(schema);
+    }
+
+}
@@ -43,6 +43,9 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
     @Autowired(required = true)
     protected MetadataSchemaDAO metadataSchemaDAO;
 
+    @Autowired(required = true)
+    protected MetadataRegistryCache metadataRegistryCache;
+
     protected MetadataSchemaServiceImpl() {
 
     }
@@ -74,6 +77,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         metadataSchema.setNamespace(namespace);
         metadataSchema.setName(name);
         metadataSchemaDAO.save(context, metadataSchema);
+        metadataRegistryCache.invalidateAfterCommit(context);
         log.info(LogHelper.getHeader(context, "create_metadata_schema",
                                       "metadata_schema_id="
                                           + metadataSchema.getID()));
@@ -106,6 +110,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
                                                      + " unique");
         }
         metadataSchemaDAO.save(context, metadataSchema);
+        metadataRegistryCache.invalidateAfterCommit(context);
         log.info(LogHelper.getHeader(context, "update_metadata_schema",
                                       "metadata_schema_id=" + metadataSchema.getID() + "namespace="
                                           + metadataSchema.getNamespace() + "name=" + metadataSchema.getName()));
@@ -124,6 +129,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         }
 
         metadataSchemaDAO.delete(context, metadataSchema);
+        metadataRegistryCache.invalidateAfterCommit(context);
 
         log.info(LogHelper.getHeader(context, "delete_metadata_schema",
                 "metadata_schema_id=" + metadataSchema.getID()));
@@ -145,7 +151,18 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         if (shortName == null) {
             return null;
         }
-        return metadataSchemaDAO.find(context, shortName);
+
+        MetadataSchema metadataSchema = metadataRegistryCache.findSchema(context, shortName);
+        if (metadataSchema != null) {
+            return metadataSchema;
+        }
+
+        metadataSchema = metadataSchemaDAO.find(context, shortName);
+        if (metadataSchema != null) {
+            // the schema has been registered after the cache was built, e.g. by another process
+            metadataRegistryCache.invalidate();
+        }
+        return metadataSchema;
     }
 
 
@@ -130,4 +130,11 @@ public class MetadataValueServiceImpl implements MetadataValueService {
     public int countTotal(Context context) throws SQLException {
         return metadataValueDAO.countRows(context);
     }
+
+    @Override
+    public void executeBatch(Context context, MetadataBatch batch) throws SQLException {
+        metadataValueDAO.executeBatch(context, batch);
+        log.info(LogHelper.getHeader(context, "write_metadatavalue_batch", "inserts=" + batch.getInserts().size()
+            + ",updates=" + batch.getUpdates().size() + ",deletes=" + batch.getDeletes().size()));
+    }
 }
@@ -221,5 +221,16 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
 
+    /**
+     * Get all Items matching the given ids with a single query, fetching their
+     * metadata values in the same query. The ids not related to any item are
+     * ignored and the order of the returned items is not defined.
+     * @param context          context
+     * @param ids              the list of ids
+     * @return result list of items
+     * @throws SQLException if database error
+     */
+    List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException;
+
 
 }
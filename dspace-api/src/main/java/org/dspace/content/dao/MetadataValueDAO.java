@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
 
+import org.dspace.content.MetadataBatch;
 import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataValue;
 import org.dspace.core.Context;
@@ -41,4 +42,16 @@ public interface MetadataValueDAO extends GenericDAO<MetadataValue> {
 
     int countRows(Context context) throws SQLException;
 
+    /**
+     * Write all the changes of the given batch with JDBC batch statements, in
+     * the transaction of the given context. The pending changes of the session
+     * are flushed before and the changed objects are evicted from the session
+     * after, so that they are loaded again from the database when needed.
+     *
+     * @param  context      the DSpace context
+     * @param  batch        the changes to write
+     * @throws SQLException if a database error occurs
+     */
+    void executeBatch(Context context, MetadataBatch batch) throws SQLException;
+
 }
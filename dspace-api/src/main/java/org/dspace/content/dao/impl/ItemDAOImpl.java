@@ -509,4 +509,15 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return new UUIDIterator<Item>(context, ids, Item.class, this);
     }
 
+    @Override
+    public List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context, "SELECT DISTINCT i FROM Item i "
+            + "LEFT JOIN FETCH i.metadata WHERE i.id IN (:ids)");
+        query.setParameter("ids", ids);
+        return list(query);
+    }
+
 }
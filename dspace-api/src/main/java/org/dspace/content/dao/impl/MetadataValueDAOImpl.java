@@ -7,7 +7,10 @@
  */
 package org.dspace.content.dao.impl;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.Iterator;
 import java.util.List;
 import javax.persistence.Query;
@@ -16,12 +19,16 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Root;
 
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.MetadataBatch;
 import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataField_;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.dao.MetadataValueDAO;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
+import org.dspace.storage.rdbms.DatabaseUtils;
+import org.hibernate.Session;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for the MetadataValue object.
@@ -31,6 +38,21 @@ import org.dspace.core.Context;
  * @author kevinvandevelde at atmire.com
  */
 public class MetadataValueDAOImpl extends AbstractHibernateDAO<MetadataValue> implements MetadataValueDAO {
+
+    /**
+     * The number of statements sent to the database at once.
+     */
+    private static final int JDBC_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO metadatavalue (metadata_value_id, metadata_field_id, "
+        + "text_value, text_lang, place, authority, confidence, security_level, dspace_object_id) "
+        + "VALUES (%s, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE metadatavalue SET text_value = ?, text_lang = ?, "
+        + "authority = ?, confidence = ? WHERE metadata_value_id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM metadatavalue WHERE metadata_value_id = ?";
+
     protected MetadataValueDAOImpl() {
         super();
     }
@@ -96,4 +118,105 @@ public class MetadataValueDAOImpl extends AbstractHibernateDAO<MetadataValue> im
         return count(createQuery(context, "SELECT count(*) FROM MetadataValue"));
     }
 
+    @Override
+    public void executeBatch(Context context, MetadataBatch batch) throws SQLException {
+        Session session = getHibernateSession(context);
+
+        // the statements below must see the changes still pending in the session
+        session.flush();
+
+        session.doWork(connection -> {
+            executeInserts(connection, batch.getInserts());
+            executeUpdates(connection, batch.getUpdates());
+            executeDeletes(connection, batch.getDeletes());
+        });
+
+        // the deleted values are no longer in the metadata of their objects, so the eviction doesn't reach them
+        for (MetadataValue metadataValue : batch.getDeletes()) {
+            metadataValue.getDSpaceObject().getMetadata().remove(metadataValue);
+            session.evict(metadataValue);
+        }
+
+        // the session state of the changed objects is outdated: evict them, cascading to their existing values,
+        // so that they are loaded again when needed instead of refreshing each of them now
+        for (DSpaceObject dso : batch.getDSpaceObjects()) {
+            session.evict(dso);
+        }
+    }
+
+    private void executeInserts(Connection connection, List<MetadataBatch.Insert> inserts) throws SQLException {
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        String sql = String.format(INSERT_SQL, getNextValueExpression(connection));
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int count = 0;
+            for (MetadataBatch.Insert insert : inserts) {
+                statement.setInt(1, insert.getMetadataField().getID());
+                statement.setString(2, insert.getValue());
+                statement.setString(3, insert.getLanguage());
+                statement.setInt(4, insert.getPlace());
+                statement.setString(5, insert.getAuthority());
+                statement.setInt(6, insert.getConfidence());
+                statement.setObject(7, insert.getSecurityLevel(), Types.INTEGER);
+                statement.setObject(8, insert.getDSpaceObject().getID());
+                addBatch(statement, ++count);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void executeUpdates(Connection connection, List<MetadataBatch.Update> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+            int count = 0;
+            for (MetadataBatch.Update update : updates) {
+                statement.setString(1, update.getValue());
+                statement.setString(2, update.getLanguage());
+                statement.setString(3, update.getAuthority());
+                statement.setInt(4, update.getConfidence());
+                statement.setInt(5, update.getMetadataValue().getID());
+                addBatch(statement, ++count);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void executeDeletes(Connection connection, List<MetadataValue> deletes) throws SQLException {
+        if (deletes.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+            int count = 0;
+            for (MetadataValue metadataValue : deletes) {
+                statement.setInt(1, metadataValue.getID());
+                addBatch(statement, ++count);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void addBatch(PreparedStatement statement, int count) throws SQLException {
+        statement.addBatch();
+        if (count % JDBC_BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Returns the SQL expression of the next value of the sequence of the
+     * metadata value identifiers, which depends on the database.
+     */
+    private String getNextValueExpression(Connection connection) throws SQLException {
+        if (DatabaseUtils.DBMS_POSTGRES.equals(DatabaseUtils.getDbType(connection))) {
+            return "nextval('metadatavalue_seq')";
+        }
+        return "NEXT VALUE FOR metadatavalue_seq";
+    }
+
 }
@@ -9,6 +9,7 @@ package org.dspace.content.integration.crosswalks;
 
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -28,9 +29,10 @@ public class CsvCrosswalk extends TabularCrosswalk {
         return "text/csv";
     }
 
-    protected void writeRows(List<List<String>> rows, OutputStream out) {
+    protected void writeRows(Iterator<List<String>> rows, OutputStream out) {
         try (PrintWriter writer = new PrintWriter(out)) {
-            for (List<String> row : rows) {
+            while (rows.hasNext()) {
+                List<String> row = rows.next();
                 writer.write(String.join(getFieldsSeparator(), row));
                 writer.write("\n");
             }
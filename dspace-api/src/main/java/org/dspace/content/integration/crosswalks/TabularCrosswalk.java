@@ -7,6 +7,9 @@
  */
 package org.dspace.content.integration.crosswalks;
 
+import static org.apache.commons.collections4.IteratorUtils.chainedIterator;
+import static org.apache.commons.collections4.IteratorUtils.singletonIterator;
+
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -122,12 +125,14 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     }
 
     /**
-     * Write the given rows into the given outputstream in a specific format.
+     * Write the given rows into the given outputstream in a specific format. The
+     * rows are computed lazily while iterating, so they should be written as
+     * soon as they are read.
      *
      * @param rows the rows to write
      * @param out the OutputStream to write into
      */
-    protected abstract void writeRows(List<List<String>> rows, OutputStream out);
+    protected abstract void writeRows(Iterator<List<String>> rows, OutputStream out);
 
     /**
      * Returns the separator string of the values of the same field.
@@ -160,26 +165,29 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     @Override
     public void disseminate(Context context, DSpaceObject dso, OutputStream out)
         throws CrosswalkException, IOException, SQLException, AuthorizeException {
-        this.disseminate(context, Arrays.asList(dso).iterator(), out);
+        disseminateRows(context, Arrays.asList(dso).iterator(), out);
     }
 
     @Override
     public void disseminate(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out)
         throws CrosswalkException, IOException, SQLException, AuthorizeException {
+        disseminateRows(context, dsoIterator, out);
+    }
 
-        List<List<String>> rows = new ArrayList<>();
-        rows.add(getHeader());
+    private void disseminateRows(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out)
+        throws CrosswalkException, SQLException {
 
-        while (dsoIterator.hasNext()) {
-            DSpaceObject dso = dsoIterator.next();
-            if (!canDisseminate(context, dso)) {
-                throw new CrosswalkObjectNotSupported(
-                    "Can only crosswalk an Item with the configured type: " + entityType);
+        Iterator<List<String>> rows = new RowIterator(context, dsoIterator);
+
+        try {
+            writeRows(chainedIterator(singletonIterator(getHeader()), rows), out);
+        } catch (RowCreationException ex) {
+            if (ex.getCause() instanceof SQLException) {
+                throw (SQLException) ex.getCause();
             }
-            rows.add(getRow(context, dso));
+            throw (CrosswalkException) ex.getCause();
         }
 
-        writeRows(rows, out);
     }
 
     @Override
@@ -354,4 +362,63 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     public CrosswalkMode getCrosswalkMode() {
         return Optional.ofNullable(this.crosswalkMode).orElse(ItemExportCrosswalk.super.getCrosswalkMode());
     }
+
+    /**
+     * Iterator that converts each object of the given iterator to a row when it
+     * is read, so that only the row that is being written is kept in memory.
+     * The objects are not uncached from the context, as they are owned by the
+     * caller: the iterators that load them, like DiscoverResultIterator, are
+     * in charge of uncaching them.
+     */
+    private class RowIterator implements Iterator<List<String>> {
+
+        private final Context context;
+
+        private final Iterator<? extends DSpaceObject> dsoIterator;
+
+        private RowIterator(Context context, Iterator<? extends DSpaceObject> dsoIterator) {
+            this.context = context;
+            this.dsoIterator = dsoIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return dsoIterator.hasNext();
+        }
+
+        @Override
+        public List<String> next() {
+
+            DSpaceObject dso = dsoIterator.next();
+
+            try {
+
+                if (!canDisseminate(context, dso)) {
+                    throw new CrosswalkObjectNotSupported(
+                        "Can only crosswalk an Item with the configured type: " + entityType);
+                }
+
+                return getRow(context, dso);
+
+            } catch (CrosswalkException | SQLException e) {
+                throw new RowCreationException(e);
+            }
+
+        }
+
+    }
+
+    /**
+     * Unchecked exception used to propagate the errors that occur during the
+     * lazy creation of the rows.
+     */
+    private static class RowCreationException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private RowCreationException(Throwable cause) {
+            super(cause);
+        }
+
+    }
 }
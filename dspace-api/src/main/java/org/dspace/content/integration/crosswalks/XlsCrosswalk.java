@@ -9,17 +9,19 @@ package org.dspace.content.integration.crosswalks;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
+import org.dspace.util.StreamingWorkbook;
 
 /**
  * Implementation of {@StreamDisseminationCrosswalk} to produce a xls file starting from a template.
+ * The workbook is written in the xlsx format keeping in memory only the last
+ * rows, so there is no limit on the number of exported items.
  *
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
@@ -30,18 +32,21 @@ public class XlsCrosswalk extends TabularCrosswalk {
 
     @Override
     public String getMIMEType() {
-        return "application/vnd.ms-excel";
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
     }
 
     @Override
-    protected void writeRows(List<List<String>> rows, OutputStream out) {
+    protected void writeRows(Iterator<List<String>> rows, OutputStream out) {
 
-        try (Workbook workbook = new HSSFWorkbook()) {
+        try (StreamingWorkbook workbook = new StreamingWorkbook(getRowAccessWindowSize())) {
 
             Sheet sheet = workbook.createSheet(sheetName);
 
             int rowCount = 0;
-            for (List<String> row : rows) {
+            int columnCount = 0;
+            while (rows.hasNext()) {
+                List<String> row = rows.next();
+                columnCount = Math.max(columnCount, row.size());
                 Row sheetRow = sheet.createRow(rowCount++);
                 int cellCount = 0;
                 for (String field : row) {
@@ -50,7 +55,7 @@ public class XlsCrosswalk extends TabularCrosswalk {
                 }
             }
 
-            autoSizeColumns(sheet);
+            autoSizeColumns(sheet, columnCount);
 
             workbook.write(out);
 
@@ -60,16 +65,17 @@ public class XlsCrosswalk extends TabularCrosswalk {
 
     }
 
-    private void autoSizeColumns(Sheet sheet) {
-        if (sheet.getPhysicalNumberOfRows() > 0) {
-            Row row = sheet.getRow(sheet.getFirstRowNum());
-            for (Cell cell : row) {
-                int columnIndex = cell.getColumnIndex();
-                sheet.autoSizeColumn(columnIndex);
-            }
+    private void autoSizeColumns(Sheet sheet, int columnCount) {
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            sheet.autoSizeColumn(columnIndex);
         }
     }
 
+    private int getRowAccessWindowSize() {
+        return configurationService.getIntProperty("crosswalk.xls.row-access-window",
+            StreamingWorkbook.DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+    }
+
     protected String getValuesSeparator() {
         return configurationService.getProperty("crosswalk.xls.separator.values", "||");
     }
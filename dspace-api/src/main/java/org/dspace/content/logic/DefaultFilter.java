@@ -35,14 +35,39 @@ public class DefaultFilter implements Filter {
     }
 
     /**
-     * Get the result of logical evaluation for an item
+     * Get the result of logical evaluation for an item.
+     * When the context is in READ_ONLY mode the result is cached, so that a filter referenced by many
+     * statements or applied many times during the same run is evaluated only once per item.
      * @param context   DSpace context
      * @param item      Item to evaluate
      * @return boolean
      * @throws LogicalStatementException
      */
     public Boolean getResult(Context context, Item item) throws LogicalStatementException {
-        return this.statement.getResult(context, item);
+        boolean cacheable = name != null && context != null && item != null && item.getID() != null;
+        if (cacheable) {
+            Boolean cachedResult = context.getCachedFilterResult(name, item);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+        }
+
+        Boolean result = this.statement.getResult(context, item);
+        if (cacheable) {
+            context.cacheFilterResult(name, item, result);
+        }
+        return result;
+    }
+
+    /**
+     * Get the Solr query of the statement of this filter
+     * @param context   DSpace context
+     * @return Solr query, or null if the statement can't be translated
+     * @throws LogicalStatementException
+     */
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return this.statement.getSolrQuery(context);
     }
 
     @Override
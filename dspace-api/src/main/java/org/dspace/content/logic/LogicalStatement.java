@@ -9,6 +9,7 @@ package org.dspace.content.logic;
 
 import org.dspace.content.Item;
 import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
 
 /**
  * The base interface used by all logic classes: all operators and conditions are logical statements.
@@ -19,6 +20,12 @@ import org.dspace.core.Context;
  * @author Kim Shepherd
  */
 public interface LogicalStatement {
+
+    /**
+     * The Solr query matching all the indexed items, and no other type of document
+     */
+    String ITEMS_SOLR_QUERY = "search.resourcetype:" + IndexableItem.TYPE;
+
     /**
      * Get the result of logical evaluation for an item
      * @param context   DSpace context
@@ -27,4 +34,17 @@ public interface LogicalStatement {
      * @throws LogicalStatementException
      */
     Boolean getResult(Context context, Item item) throws LogicalStatementException;
+
+    /**
+     * Get a Solr query matching the indexed items for which this statement is true. The queries matching all
+     * the documents, like the negations, are restricted to {@link #ITEMS_SOLR_QUERY}, so that no other type of
+     * document is matched.
+     * Statements whose evaluation has no exact equivalent in the search index return null.
+     * @param context   DSpace context
+     * @return Solr query, or null if the statement can't be translated
+     * @throws LogicalStatementException
+     */
+    default String getSolrQuery(Context context) throws LogicalStatementException {
+        return null;
+    }
 }
@@ -38,4 +38,9 @@ public class TrueFilter implements Filter {
     public String getName() {
         return name;
     }
+
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return ITEMS_SOLR_QUERY;
+    }
 }
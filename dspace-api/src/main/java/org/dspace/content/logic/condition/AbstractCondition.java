@@ -9,6 +9,9 @@ package org.dspace.content.logic.condition;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,6 +32,10 @@ public abstract class AbstractCondition implements Condition {
 
     private Map<String, Object> parameters = new HashMap<>();
 
+    // Patterns and field names parsed once and reused for every evaluated item
+    private final ConcurrentMap<String, Pattern> patterns = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String[]> fields = new ConcurrentHashMap<>();
+
     // Declare and instantiate spring services
     @Autowired(required = true)
     protected ItemService itemService;
@@ -84,6 +91,32 @@ public abstract class AbstractCondition implements Condition {
         return true;
     }
 
+    /**
+     * Get the compiled form of a regex pattern, compiling it only the first time it is requested
+     * @param regex the regex pattern
+     * @return compiled pattern
+     */
+    protected Pattern getPattern(String regex) {
+        return patterns.computeIfAbsent(regex, Pattern::compile);
+    }
+
+    /**
+     * Get the schema, element and qualifier of a metadata field name in the form schema.element.qualifier,
+     * splitting it only the first time it is requested. Missing parts are null.
+     * @param field the metadata field name
+     * @return array of schema, element and qualifier
+     */
+    protected String[] getFieldParts(String field) {
+        return fields.computeIfAbsent(field, name -> {
+            String[] fieldParts = name.split("\\.");
+            return new String[] {
+                fieldParts.length > 0 ? fieldParts[0] : null,
+                fieldParts.length > 1 ? fieldParts[1] : null,
+                fieldParts.length > 2 ? fieldParts[2] : null
+            };
+        });
+    }
+
     @Override
     public void setItemService(ItemService itemService) {
         this.itemService = itemService;
@@ -8,6 +8,7 @@
 package org.dspace.content.logic.condition;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -74,4 +75,33 @@ public class InCollectionCondition extends AbstractCondition {
 
         return false;
     }
+
+    /**
+     * Return a Solr query matching the items in one of the specified collections, including the mapped ones
+     * @param context   DSpace context
+     * @return Solr query
+     * @throws LogicalStatementException
+     */
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        List<String> collectionHandles = (List<String>)getParameters().get("collections");
+        List<String> queries = new ArrayList<>();
+        try {
+            for (String handle : collectionHandles) {
+                DSpaceObject collection = handleService.resolveToObject(context, handle);
+                if (collection instanceof Collection) {
+                    queries.add("location.coll:" + collection.getID());
+                } else {
+                    log.debug("Handle " + handle + " is not a collection, ignoring it in the Solr query");
+                }
+            }
+        } catch (SQLException | IllegalStateException e) {
+            log.error("Error resolving collection handles", e);
+            throw new LogicalStatementException(e);
+        }
+
+        // the collection field is also indexed for the in progress submissions
+        return queries.isEmpty() ? "(*:* -*:*)"
+            : "(" + ITEMS_SOLR_QUERY + " AND (" + String.join(" OR ", queries) + "))";
+    }
 }
@@ -34,4 +34,9 @@ public class IsArchivedCondition extends AbstractCondition {
         log.debug("Result of isArchived is " + item.isArchived());
         return item.isArchived();
     }
+
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return "archived:true";
+    }
 }
@@ -34,4 +34,9 @@ public class IsWithdrawnCondition extends AbstractCondition {
         log.debug("Result of isWithdrawn is " + item.isWithdrawn());
         return item.isWithdrawn();
     }
+
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return "withdrawn:true";
+    }
 }
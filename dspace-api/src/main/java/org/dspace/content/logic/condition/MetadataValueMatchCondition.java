@@ -9,7 +9,6 @@ package org.dspace.content.logic.condition;
 
 import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,19 +42,15 @@ public class MetadataValueMatchCondition extends AbstractCondition {
             return false;
         }
 
-        String[] fieldParts = field.split("\\.");
-        String schema = (fieldParts.length > 0 ? fieldParts[0] : null);
-        String element = (fieldParts.length > 1 ? fieldParts[1] : null);
-        String qualifier = (fieldParts.length > 2 ? fieldParts[2] : null);
-
-        List<MetadataValue> values = itemService.getMetadata(item, schema, element, qualifier, Item.ANY);
+        String[] fieldParts = getFieldParts(field);
+        List<MetadataValue> values = itemService.getMetadata(item, fieldParts[0], fieldParts[1], fieldParts[2],
+            Item.ANY);
         for (MetadataValue value : values) {
             if (getParameters().get("pattern") instanceof String) {
                 String pattern = (String)getParameters().get("pattern");
                 log.debug("logic for " + item.getHandle() + ": pattern passed is " + pattern
                     + ", checking value " + value.getValue());
-                Pattern p = Pattern.compile(pattern);
-                Matcher m = p.matcher(value.getValue());
+                Matcher m = getPattern(pattern).matcher(value.getValue());
                 if (m.find()) {
                     return true;
                 }
@@ -67,4 +67,28 @@ public abstract class AbstractOperator implements LogicalStatement {
     public Boolean getResult(Context context, Item item) throws LogicalStatementException {
         return false;
     }
+
+    /**
+     * Join the Solr queries of all sub-statements with the given boolean operator
+     * @param context   DSpace context
+     * @param operator  the Solr boolean operator, AND or OR
+     * @param empty     the query to return if there are no sub-statements
+     * @return the joined query, or null if any sub-statement can't be translated
+     * @throws LogicalStatementException
+     */
+    protected String joinSolrQueries(Context context, String operator, String empty)
+        throws LogicalStatementException {
+        if (getStatements().isEmpty()) {
+            return empty;
+        }
+        List<String> queries = new ArrayList<>();
+        for (LogicalStatement statement : getStatements()) {
+            String query = statement.getSolrQuery(context);
+            if (query == null) {
+                return null;
+            }
+            queries.add(query);
+        }
+        return "(" + String.join(" " + operator + " ", queries) + ")";
+    }
 }
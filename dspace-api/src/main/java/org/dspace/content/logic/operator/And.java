@@ -33,7 +33,7 @@ public class And extends AbstractOperator {
      * Constructor that accepts predefined list of statements as defined in item-filters.xml
      * @param statements    List of logical statements
      */
-    And(List<LogicalStatement> statements) {
+    public And(List<LogicalStatement> statements) {
         super(statements);
     }
 
@@ -56,4 +56,15 @@ public class And extends AbstractOperator {
 
         return true;
     }
+
+    /**
+     * Return the Solr queries of all sub-statements joined with AND
+     * @param context   DSpace context
+     * @return Solr query, or null if any sub-statement can't be translated
+     * @throws LogicalStatementException
+     */
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return joinSolrQueries(context, "AND", ITEMS_SOLR_QUERY);
+    }
 }
@@ -48,4 +48,15 @@ public class Nor extends AbstractOperator {
     public Boolean getResult(Context context, Item item) throws LogicalStatementException {
         return !(new Or(getStatements()).getResult(context, item));
     }
+
+    /**
+     * Return the negation of the Solr query of the OR of all sub-statements
+     * @param context   DSpace context
+     * @return Solr query, or null if any sub-statement can't be translated
+     * @throws LogicalStatementException
+     */
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return Not.negateSolrQuery(new Or(getStatements()).getSolrQuery(context));
+    }
 }
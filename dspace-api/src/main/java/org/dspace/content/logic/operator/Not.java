@@ -65,4 +65,24 @@ public class Not implements LogicalStatement {
     public Boolean getResult(Context context, Item item) throws LogicalStatementException {
         return !statement.getResult(context, item);
     }
+
+    /**
+     * Return the negation of the Solr query of the sub-statement
+     * @param context   DSpace context
+     * @return Solr query, or null if the sub-statement can't be translated
+     * @throws LogicalStatementException
+     */
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return negateSolrQuery(statement.getSolrQuery(context));
+    }
+
+    /**
+     * Negate a Solr query, matching all the items not matched by it
+     * @param query the Solr query, may be null
+     * @return the negated query, or null if the given query is null
+     */
+    static String negateSolrQuery(String query) {
+        return query != null ? "(" + ITEMS_SOLR_QUERY + " -" + query + ")" : null;
+    }
 }
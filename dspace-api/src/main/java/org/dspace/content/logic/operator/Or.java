@@ -56,4 +56,15 @@ public class Or extends AbstractOperator {
 
         return false;
     }
+
+    /**
+     * Return the Solr queries of all sub-statements joined with OR
+     * @param context   DSpace context
+     * @return Solr query, or null if any sub-statement can't be translated
+     * @throws LogicalStatementException
+     */
+    @Override
+    public String getSolrQuery(Context context) throws LogicalStatementException {
+        return joinSolrQueries(context, "OR", "(*:* -*:*)");
+    }
 }
@@ -18,6 +18,7 @@ import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.MetadataBatch;
 import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataFieldName;
 import org.dspace.content.MetadataValue;
@@ -451,6 +452,25 @@ public interface DSpaceObjectService<T extends DSpaceObject> {
 
     public void removeMetadataValues(Context context, T dso, List<MetadataValue> values) throws SQLException;
 
+    /**
+     * Write all the metadata changes of the given batch, on any number of
+     * objects, with JDBC batch statements instead of one Hibernate statement
+     * per value. The values are cleaned and checked like in
+     * {@link #addMetadata(Context, DSpaceObject, MetadataField, String, List, List, List)}
+     * and the new values are placed after the existing ones of the same field.
+     *
+     * The modify metadata events of the changed objects are fired with the
+     * batch. The changed objects are evicted from the session, together with
+     * their metadata values, instead of being reloaded one by one: the callers
+     * that keep using them must reload them with
+     * {@link Context#reloadEntity(org.dspace.core.ReloadableEntity)}.
+     *
+     * @param context DSpace context
+     * @param batch   the changes to write
+     * @throws SQLException if database error
+     */
+    public void writeMetadata(Context context, MetadataBatch batch) throws SQLException;
+
     /**
      * Get the first value of a metadata field.
      *
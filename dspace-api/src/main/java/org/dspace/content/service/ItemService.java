@@ -982,6 +982,20 @@ public interface ItemService
      */
     Iterator<Item> findByIds(Context context, List<String> ids) throws SQLException;
 
+    /**
+     * Find all the items matching the given list of ids with a single query per
+     * chunk of ids, loading also their metadata values. Unlike
+     * {@link #findByIds(Context, List)}, the items are not loaded one by one, so
+     * this method is meant to hydrate pages of results (e.g. discovery hits).
+     * The ids not related to any item are ignored.
+     *
+     * @param context         DSpace context object
+     * @param ids             the ids of the items to find
+     * @return                the found items, in no particular order
+     * @throws SQLException   if database error
+     */
+    List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * Retrieve the label of the entity type of the given item.
      * @param  item the item.
@@ -14,6 +14,7 @@ import java.util.List;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.MetadataBatch;
 import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataValue;
 import org.dspace.core.Context;
@@ -112,4 +113,16 @@ public interface MetadataValueService {
         throws SQLException;
 
     int countTotal(Context context) throws SQLException;
+
+    /**
+     * Write all the changes of the given batch with JDBC batch statements.
+     * Use {@link DSpaceObjectService#writeMetadata(Context, MetadataBatch)},
+     * which also prepares the values and fires the modify metadata events of
+     * the changed objects.
+     *
+     * @param  context      dspace context
+     * @param  batch        the changes to write
+     * @throws SQLException if database error
+     */
+    void executeBatch(Context context, MetadataBatch batch) throws SQLException;
 }
@@ -441,11 +441,13 @@ public class Context implements AutoCloseable {
             // as the consumers may change something too
             dispatchEvents();
         } finally {
-            if (log.isDebugEnabled()) {
-                log.debug("Cache size on commit is " + getCacheSize());
-            }
-
+            // The dispatcher aborts the context, closing the connection, if
+            // the changes can't be committed with their events
             if (dbConnection != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Cache size on commit is " + getCacheSize());
+                }
+
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
                 reloadContextBoundEntities();
@@ -913,6 +915,18 @@ public class Context implements AutoCloseable {
         dbConnection.flush();
     }
 
+    /**
+     * Run the given action once the current transaction is committed, e.g. to
+     * discard the data cached from the objects changed in the transaction. The
+     * action is discarded if the transaction is rolled back.
+     *
+     * @param action the action to run after the commit.
+     * @throws SQLException passed through.
+     */
+    public void runAfterCommit(Runnable action) throws SQLException {
+        dbConnection.runAfterCommit(action);
+    }
+
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
         return getCachedAuthorizationResult(dspaceObject, action, eperson, null);
     }
@@ -943,6 +957,20 @@ public class Context implements AutoCloseable {
         }
     }
 
+    public List<ResourcePolicy> getCachedResourcePolicies(DSpaceObject dspaceObject) {
+        if (isReadOnly()) {
+            return readOnlyCache.getCachedResourcePolicies(dspaceObject);
+        } else {
+            return null;
+        }
+    }
+
+    public void cacheResourcePolicies(DSpaceObject dspaceObject, List<ResourcePolicy> resourcePolicies) {
+        if (isReadOnly()) {
+            readOnlyCache.cacheResourcePolicies(dspaceObject, resourcePolicies);
+        }
+    }
+
     public Boolean getCachedGroupMembership(Group group, EPerson eperson) {
         if (isReadOnly()) {
             return readOnlyCache.getCachedGroupMembership(group, eperson);
@@ -972,6 +1000,20 @@ public class Context implements AutoCloseable {
         }
     }
 
+    public Boolean getCachedFilterResult(String filterName, DSpaceObject dspaceObject) {
+        if (isReadOnly()) {
+            return readOnlyCache.getCachedFilterResult(filterName, dspaceObject);
+        } else {
+            return null;
+        }
+    }
+
+    public void cacheFilterResult(String filterName, DSpaceObject dspaceObject, Boolean result) {
+        if (isReadOnly()) {
+            readOnlyCache.cacheFilterResult(filterName, dspaceObject, result);
+        }
+    }
+
     /**
      * Reload all entities related to this context.
      *
@@ -8,10 +8,13 @@
 package org.dspace.core;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.DSpaceObject;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
@@ -40,6 +43,18 @@ public class ContextReadOnlyCache {
      */
     private final HashMap<String, Set<Group>> allMemberGroupsCache = new HashMap<>();
 
+    /**
+     * Resource policies cache that is used when the context is in READ_ONLY mode.
+     * The key of the cache is: DSpace Object ID.
+     */
+    private final HashMap<UUID, List<ResourcePolicy>> resourcePoliciesCache = new HashMap<>();
+
+    /**
+     * Item filter results cache that is used when the context is in READ_ONLY mode.
+     * The key of the cache is: Filter name, DSpace Object ID.
+     */
+    private final HashMap<Pair<String, UUID>, Boolean> filterResultsCache = new HashMap<>();
+
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action,
         EPerson eperson, Boolean useInheritance) {
         return authorizedActionsCache.get(AuthorizedActionKey.of(dspaceObject, action, eperson, useInheritance));
@@ -80,10 +95,28 @@ public class ContextReadOnlyCache {
         return allMemberGroupsCache.get(buildAllMembersGroupKey(ePerson));
     }
 
+    public List<ResourcePolicy> getCachedResourcePolicies(DSpaceObject dspaceObject) {
+        return resourcePoliciesCache.get(dspaceObject.getID());
+    }
+
+    public void cacheResourcePolicies(DSpaceObject dspaceObject, List<ResourcePolicy> resourcePolicies) {
+        resourcePoliciesCache.put(dspaceObject.getID(), resourcePolicies);
+    }
+
+    public Boolean getCachedFilterResult(String filterName, DSpaceObject dspaceObject) {
+        return filterResultsCache.get(new ImmutablePair<>(filterName, dspaceObject.getID()));
+    }
+
+    public void cacheFilterResult(String filterName, DSpaceObject dspaceObject, Boolean result) {
+        filterResultsCache.put(new ImmutablePair<>(filterName, dspaceObject.getID()), result);
+    }
+
     public void clear() {
         authorizedActionsCache.clear();
         groupMembershipCache.clear();
         allMemberGroupsCache.clear();
+        resourcePoliciesCache.clear();
+        filterResultsCache.clear();
     }
 
     private String buildAllMembersGroupKey(EPerson ePerson) {
@@ -163,4 +163,13 @@ public interface DBConnection<T> {
      * @throws SQLException passed through.
      */
     public void flushSession() throws SQLException;
+
+    /**
+     * Run the given action once the open transaction is committed. The action
+     * is discarded if the transaction is rolled back.
+     *
+     * @param action the action to run after the commit.
+     * @throws SQLException passed through.
+     */
+    public void runAfterCommit(Runnable action) throws SQLException;
 }
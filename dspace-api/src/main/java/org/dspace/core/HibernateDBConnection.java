@@ -11,6 +11,8 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import javax.sql.DataSource;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.Bitstream;
@@ -361,4 +363,22 @@ public class HibernateDBConnection implements DBConnection<Session> {
             getSession().flush();
         }
     }
+
+    @Override
+    public void runAfterCommit(Runnable action) throws SQLException {
+        getSession().getTransaction().registerSynchronization(new Synchronization() {
+
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+
+        });
+    }
 }
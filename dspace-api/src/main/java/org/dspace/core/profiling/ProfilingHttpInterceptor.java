@@ -0,0 +1,60 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core.profiling;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * HTTP client interceptor timing the calls to Solr in the
+ * {@link RequestProfile} of the current thread, by the name of the called
+ * core. The time is measured until the response headers are received, so it
+ * doesn't include the parsing of the response body.
+ */
+public class ProfilingHttpInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+    private static final String START_ATTRIBUTE = ProfilingHttpInterceptor.class.getName() + ".start";
+
+    private static final String CORE_ATTRIBUTE = ProfilingHttpInterceptor.class.getName() + ".core";
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) {
+        if (RequestProfile.current() != null) {
+            context.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            context.setAttribute(CORE_ATTRIBUTE, getCore(request));
+        }
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        RequestProfile profile = RequestProfile.current();
+        Object start = context.getAttribute(START_ATTRIBUTE);
+        if (profile != null && start instanceof Long) {
+            profile.recordSolrCall((String) context.getAttribute(CORE_ATTRIBUTE), System.nanoTime() - (Long) start);
+        }
+        context.removeAttribute(START_ATTRIBUTE);
+    }
+
+    /**
+     * Returns the name of the called core, the path segment preceding the
+     * request handler in the Solr URLs (e.g. /solr/search/select).
+     */
+    static String getCore(HttpRequest request) {
+        String path = StringUtils.substringBefore(request.getRequestLine().getUri(), "?");
+        if (path.contains("://")) {
+            path = StringUtils.substringAfter(StringUtils.substringAfter(path, "://"), "/");
+        }
+        String[] segments = StringUtils.split(path, '/');
+        return segments.length >= 2 ? segments[segments.length - 2] : "unknown";
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core.profiling;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener timing the execution of the JDBC statements and
+ * batches in the {@link RequestProfile} of the current thread. A new listener
+ * is created for each session, which is used by a single thread at a time.
+ *
+ * Registered in hibernate.cfg.xml via the hibernate.session.events.auto
+ * property.
+ */
+public class ProfilingSessionEventListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long executionStart = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        end();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        end();
+    }
+
+    private void start() {
+        executionStart = RequestProfile.current() != null ? System.nanoTime() : -1;
+    }
+
+    private void end() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null && executionStart >= 0) {
+            profile.recordStatementExecution(System.nanoTime() - executionStart);
+        }
+        executionStart = -1;
+    }
+
+}
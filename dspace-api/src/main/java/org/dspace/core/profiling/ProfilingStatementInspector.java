@@ -0,0 +1,33 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} counting the statements prepared by the
+ * current thread in its {@link RequestProfile}. The statements are returned
+ * unchanged, and nothing is recorded when the thread is not profiled.
+ *
+ * Registered in hibernate.cfg.xml via the
+ * hibernate.session_factory.statement_inspector property.
+ */
+public class ProfilingStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.recordStatement(sql);
+        }
+        return sql;
+    }
+
+}
@@ -0,0 +1,249 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core.profiling;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The database statements, Solr calls and REST conversions performed while
+ * serving a single request, with the time they took. A profile is bound to
+ * the thread serving the request between the calls to {@link #start()} and
+ * {@link #stop()}; the recording methods are called by the profiling hooks on
+ * the same thread, so the profile is not thread safe.
+ *
+ * The statements are counted by their SQL, which contains the parameter
+ * placeholders and not the values, so that a statement executed many times
+ * with different parameters (the typical N+1 select) shows up as a repeated
+ * statement.
+ */
+public class RequestProfile {
+
+    /**
+     * The maximum number of distinct statements counted, to bound the memory
+     * used by the requests executing many different statements.
+     */
+    static final int MAX_TRACKED_STATEMENTS = 1000;
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startTime = System.nanoTime();
+
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    private final Map<String, Timing> solrCalls = new TreeMap<>();
+
+    private final Map<String, Timing> conversions = new TreeMap<>();
+
+    private int statements;
+
+    private long statementNanos;
+
+    private int conversionDepth;
+
+    /**
+     * Start profiling the current thread, replacing any previous profile.
+     *
+     * @return the new profile
+     */
+    public static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Returns the profile of the current thread.
+     *
+     * @return the profile, or null if the current thread is not profiled
+     */
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop profiling the current thread.
+     *
+     * @return the stopped profile, or null if the current thread was not
+     *         profiled
+     */
+    public static RequestProfile stop() {
+        RequestProfile profile = CURRENT.get();
+        CURRENT.remove();
+        return profile;
+    }
+
+    /**
+     * Record the preparation of a database statement.
+     *
+     * @param sql the SQL of the statement
+     */
+    public void recordStatement(String sql) {
+        statements++;
+        if (statementCounts.size() < MAX_TRACKED_STATEMENTS || statementCounts.containsKey(sql)) {
+            statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Record the execution time of a database statement or batch.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordStatementExecution(long nanos) {
+        statementNanos += nanos;
+    }
+
+    /**
+     * Record a call to Solr.
+     *
+     * @param core  the name of the called core
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordSolrCall(String core, long nanos) {
+        solrCalls.computeIfAbsent(core, c -> new Timing()).record(nanos);
+    }
+
+    /**
+     * Mark the start of the conversion of a model object to its REST
+     * representation, which may convert further nested objects.
+     */
+    public void startConversion() {
+        conversionDepth++;
+    }
+
+    /**
+     * Record the end of the conversion of a model object. Only the outermost
+     * conversions are added to the total conversion time, as the time of the
+     * nested ones is already part of it.
+     *
+     * @param model the class name of the converted object
+     * @param nanos the duration in nanoseconds
+     */
+    public void endConversion(String model, long nanos) {
+        conversionDepth--;
+        Timing timing = conversions.computeIfAbsent(model, m -> new Timing());
+        timing.record(nanos);
+        if (conversionDepth > 0) {
+            timing.nestedNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public double getStatementTime() {
+        return toMillis(statementNanos);
+    }
+
+    public int getSolrCalls() {
+        return solrCalls.values().stream().mapToInt(timing -> timing.count).sum();
+    }
+
+    public double getSolrTime() {
+        return toMillis(solrCalls.values().stream().mapToLong(timing -> timing.nanos).sum());
+    }
+
+    public int getConversions() {
+        return conversions.values().stream().mapToInt(timing -> timing.count).sum();
+    }
+
+    /**
+     * Returns the time spent in the outermost conversions.
+     *
+     * @return the conversion time in milliseconds
+     */
+    public double getConversionTime() {
+        return toMillis(conversions.values().stream().mapToLong(timing -> timing.nanos - timing.nestedNanos).sum());
+    }
+
+    /**
+     * Returns the time elapsed since the start of the profile.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public double getElapsedTime() {
+        return toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Returns the statements prepared at least the given number of times,
+     * starting from the most repeated.
+     *
+     * @param  threshold the minimum number of executions
+     * @return           the execution count by SQL
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        return statementCounts.entrySet().stream()
+            .filter(entry -> entry.getValue() >= threshold)
+            .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Returns the value of the Server-Timing response header reporting the
+     * profile, readable by the browser developer tools.
+     *
+     * @return the header value
+     */
+    public String getServerTiming() {
+        return String.format(Locale.ROOT,
+            "db;desc=\"%d statements\";dur=%.1f, solr;desc=\"%d calls\";dur=%.1f, "
+                + "convert;desc=\"%d objects\";dur=%.1f, total;dur=%.1f",
+            getStatements(), getStatementTime(), getSolrCalls(), getSolrTime(), getConversions(),
+            getConversionTime(), getElapsedTime());
+    }
+
+    /**
+     * Returns a one line summary of the profile, for logging.
+     *
+     * @return the summary
+     */
+    public String getSummary() {
+        return String.format(Locale.ROOT,
+            "total=%.1fms, db=%d statements in %.1fms, solr=%d calls in %.1fms %s, "
+                + "convert=%d objects in %.1fms %s",
+            getElapsedTime(), getStatements(), getStatementTime(), getSolrCalls(), getSolrTime(),
+            format(solrCalls), getConversions(), getConversionTime(), format(conversions));
+    }
+
+    private static String format(Map<String, Timing> timings) {
+        return timings.entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue().count)
+            .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * The number and the total duration of the calls of a kind.
+     */
+    private static class Timing {
+
+        private int count;
+
+        private long nanos;
+
+        private long nestedNanos;
+
+        private void record(long duration) {
+            count++;
+            nanos += duration;
+        }
+
+    }
+
+}
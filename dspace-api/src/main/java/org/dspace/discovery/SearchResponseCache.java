@@ -0,0 +1,175 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.solr.client.solrj.response.QueryResponse;
+
+/**
+ * Bounded cache of the Solr responses of the discovery searches, keyed by the
+ * normalized Solr query. The key includes the filter queries added by the
+ * search plugins, so two callers share an entry only if they have the same
+ * effective authorization filter.
+ *
+ * Each entry is tagged with the commit generation of the index at the time
+ * the query was sent: every commit of the index moves to the next generation,
+ * so all the entries computed before the commit are discarded on their next
+ * lookup. An optional maximum age covers the commits performed by other
+ * processes (e.g. the command line indexer), which can't be observed.
+ */
+public class SearchResponseCache {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final Map<String, CachedResponse> entries;
+
+    public SearchResponseCache(int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                boolean evict = size() > maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+
+        });
+    }
+
+    /**
+     * Returns the response cached with the given key, if it was computed in
+     * the current generation of the index and it is not older than the given
+     * age.
+     *
+     * @param  key    the normalized query
+     * @param  maxAge the maximum age of the response in seconds, or a negative
+     *                value for no limit
+     * @return        the cached response, if any
+     */
+    public QueryResponse get(String key, long maxAge) {
+        CachedResponse cachedResponse = entries.get(key);
+        if (cachedResponse != null && !isValid(cachedResponse, maxAge)) {
+            entries.remove(key);
+            invalidations.incrementAndGet();
+            cachedResponse = null;
+        }
+
+        if (cachedResponse == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return cachedResponse.getResponse();
+    }
+
+    /**
+     * Cache the given response, unless the index has been committed after the
+     * query was sent.
+     *
+     * @param key             the normalized query
+     * @param queryGeneration the generation of the index when the query was
+     *                        sent, see {@link #getGeneration()}
+     * @param response        the response to cache
+     */
+    public void put(String key, long queryGeneration, QueryResponse response) {
+        if (queryGeneration == generation.get()) {
+            entries.put(key, new CachedResponse(response, queryGeneration));
+        }
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Move to the next generation of the index, invalidating all the cached
+     * responses. To be invoked after each commit of the index.
+     */
+    public void nextGeneration() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Returns the cache statistics: the current size and generation, the
+     * hits, the misses, the entries discarded because computed before a commit
+     * or too old, the entries evicted to respect the maximum size and the hit
+     * rate.
+     *
+     * @return the statistics by name
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.get();
+        long requestCount = hitCount + misses.get();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", entries.size());
+        statistics.put("generation", generation.get());
+        statistics.put("hits", hitCount);
+        statistics.put("misses", misses.get());
+        statistics.put("invalidations", invalidations.get());
+        statistics.put("evictions", evictions.get());
+        statistics.put("hitRate", requestCount > 0 ? (double) hitCount / requestCount : 0.0);
+        return statistics;
+    }
+
+    private boolean isValid(CachedResponse cachedResponse, long maxAge) {
+        if (cachedResponse.getGeneration() != generation.get()) {
+            return false;
+        }
+        return maxAge < 0 || System.currentTimeMillis() - cachedResponse.getCachedAt() < maxAge * 1000;
+    }
+
+    /**
+     * A response with the generation of the index it was computed in.
+     */
+    private static class CachedResponse {
+
+        private final QueryResponse response;
+
+        private final long generation;
+
+        private final long cachedAt;
+
+        CachedResponse(QueryResponse response, long generation) {
+            this.response = response;
+            this.generation = generation;
+            this.cachedAt = System.currentTimeMillis();
+        }
+
+        QueryResponse getResponse() {
+            return response;
+        }
+
+        long getGeneration() {
+            return generation;
+        }
+
+        long getCachedAt() {
+            return cachedAt;
+        }
+
+    }
+
+}
@@ -10,7 +10,9 @@ package org.dspace.discovery;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.solr.common.SolrDocument;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
@@ -146,4 +148,31 @@ public interface SearchService {
         throws SearchServiceException;
 
     public SolrSearchCore getSolrSearchCore();
+
+    /**
+     * Iterate over all the solr documents matching the given query, reading
+     * only the given stored fields instead of loading the related objects from
+     * the database. The documents are retrieved in pages of the given size using
+     * a solr cursor, so deep pages are as fast as the first one. The sort, the
+     * pagination and the facets of the query are ignored, the documents are
+     * returned ordered by their unique id.
+     *
+     * @param context   DSpace Context object.
+     * @param query     the discovery query object.
+     * @param pageSize  the number of documents to retrieve with each request
+     * @param fields    the stored fields to return, the unique id is always returned
+     * @return          an iterator over the matching documents
+     * @throws SearchServiceException if search error
+     */
+    Iterator<SolrDocument> iterateSearchDocuments(Context context, DiscoverQuery query, int pageSize,
+        String... fields) throws SearchServiceException;
+
+    /**
+     * Returns the statistics of the cache of the search responses served to
+     * the anonymous users: size, commit generation, hits, misses, invalidations,
+     * evictions and hit rate.
+     *
+     * @return the statistics by name
+     */
+    Map<String, Object> getSearchResponseCacheStatistics();
 }
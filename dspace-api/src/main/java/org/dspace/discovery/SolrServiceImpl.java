@@ -21,6 +21,7 @@ import java.sql.SQLException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
@@ -32,10 +33,12 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.mail.MessagingException;
 
+import com.google.common.collect.AbstractIterator;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.Transformer;
@@ -54,6 +57,8 @@ import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -136,6 +141,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     @Autowired
     protected IndexObjectFactoryFactory indexObjectFactoryFactory;
 
+    private SearchResponseCache searchResponseCache;
+
     protected SolrServiceImpl() {
 
     }
@@ -238,7 +245,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             log.info("Try to delete uniqueID:" + uniqueID);
             indexObjectServiceFactory.getIndexableObjectFactory(indexableObject).delete(indexableObject);
             if (commit) {
-                solrSearchCore.getSolr().commit();
+                commitIndex();
             }
         } catch (IOException | SolrServerException exception) {
             log.error(exception.getMessage(), exception);
@@ -279,7 +286,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     log.warn("Object not found in Solr index: " + searchUniqueID);
                 }
                 if (commit) {
-                    solrSearchCore.getSolr().commit();
+                    commitIndex();
                 }
             }
         } catch (SolrServerException e) {
@@ -368,7 +375,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 }
             }
             if (solrSearchCore.getSolr() != null) {
-                solrSearchCore.getSolr().commit();
+                commitIndex();
             }
 
         } catch (IOException | SQLException | SolrServerException e) {
@@ -1023,8 +1030,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             boolean zombieFound = false;
             // use zombieDocs to collect stale found objects
             List<String> zombieDocs = new ArrayList<>();
-            QueryResponse solrQueryResponse = solrSearchCore.getSolr().query(solrQuery,
-                          solrSearchCore.REQUEST_METHOD);
+            QueryResponse solrQueryResponse = executeSearchQuery(context, solrQuery);
             if (solrQueryResponse != null) {
                 result.setSearchTime(solrQueryResponse.getQTime());
                 result.setStart(query.getStart());
@@ -1032,8 +1038,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
 
                 List<String> searchFields = query.getSearchFields();
+                Map<String, IndexableObject> indexableObjects = findIndexableObjects(context,
+                    solrQueryResponse.getResults());
                 for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                    IndexableObject indexableObject = indexableObjects.get(
+                        (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID));
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
@@ -1264,7 +1273,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             if (!zombieDocs.isEmpty()) {
                 log.info("Cleaning " + zombieDocs.size() + " stale objects from Discovery Index");
                 solrSearchCore.getSolr().deleteById(zombieDocs);
-                solrSearchCore.getSolr().commit();
+                commitIndex();
             } else {
                 valid = true;
             }
@@ -1305,6 +1314,114 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    @Override
+    public Iterator<SolrDocument> iterateSearchDocuments(Context context, DiscoverQuery query, int pageSize,
+        String... fields) throws SearchServiceException {
+
+        if (solrSearchCore.getSolr() == null) {
+            return Collections.emptyIterator();
+        }
+
+        SolrQuery solrQuery = resolveToSolrQuery(context, query);
+        solrQuery.setFields(fields);
+        solrQuery.addField(SearchUtils.RESOURCE_UNIQUE_ID);
+        solrQuery.setStart(0);
+        solrQuery.setRows(pageSize);
+        solrQuery.setFacet(false);
+        solrQuery.setHighlight(false);
+        // a cursor requires a sort on the unique key
+        solrQuery.clearSorts();
+        solrQuery.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+
+        return new SolrCursorIterator(solrQuery);
+    }
+
+    /**
+     * Iterator over the documents matching a query that retrieves them one page
+     * at a time using a solr cursor.
+     */
+    private class SolrCursorIterator extends AbstractIterator<SolrDocument> {
+
+        private final SolrQuery solrQuery;
+
+        private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+
+        private Iterator<SolrDocument> currentPage = Collections.emptyIterator();
+
+        private boolean lastPage = false;
+
+        SolrCursorIterator(SolrQuery solrQuery) {
+            this.solrQuery = solrQuery;
+        }
+
+        @Override
+        protected SolrDocument computeNext() {
+            while (!currentPage.hasNext()) {
+                if (lastPage) {
+                    return endOfData();
+                }
+                loadNextPage();
+            }
+            return currentPage.next();
+        }
+
+        private void loadNextPage() {
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            try {
+                QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+                currentPage = response.getResults().iterator();
+                String nextCursorMark = response.getNextCursorMark();
+                lastPage = nextCursorMark == null || nextCursorMark.equals(cursorMark);
+                cursorMark = nextCursorMark;
+            } catch (SolrServerException | IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+    }
+
+    /**
+     * Find the indexable objects related to the given solr documents, loading
+     * all the objects of the same type at once instead of one by one.
+     *
+     * @param context
+     *            The relevant DSpace Context.
+     * @param docs
+     *            the solr documents, the following fields MUST be present RESOURCE_TYPE_FIELD,
+     *            RESOURCE_ID_FIELD and RESOURCE_UNIQUE_ID
+     * @return the found indexable objects by unique index id, the documents related to objects
+     *         no longer present in the database are not mapped
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    protected Map<String, IndexableObject> findIndexableObjects(Context context, List<SolrDocument> docs)
+        throws SQLException {
+
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+        }
+
+        Map<String, IndexableObject> indexableObjects = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : idsByType.entrySet()) {
+            IndexFactory indexableObjectService = indexObjectServiceFactory.getIndexFactoryByType(entry.getKey());
+            Map<String, IndexableObject> found = indexableObjectService.findIndexableObjects(context,
+                entry.getValue());
+            for (String id : entry.getValue()) {
+                IndexableObject indexableObject = found.get(id);
+                if (indexableObject != null) {
+                    indexableObjects.put(entry.getKey() + "-" + id, indexableObject);
+                } else {
+                    log.warn("Not able to retrieve object RESOURCE_ID:" + id + " - RESOURCE_TYPE_ID:"
+                        + entry.getKey());
+                }
+            }
+        }
+        return indexableObjects;
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
@@ -1668,13 +1785,83 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     public void commit() throws SearchServiceException {
         try {
             if (solrSearchCore.getSolr() != null) {
-                solrSearchCore.getSolr().commit();
+                commitIndex();
             }
         } catch (IOException | SolrServerException e) {
             throw new SearchServiceException(e.getMessage(), e);
         }
     }
 
+    @Override
+    public Map<String, Object> getSearchResponseCacheStatistics() {
+        return getSearchResponseCache().getStatistics();
+    }
+
+    /**
+     * Commit the search core and invalidate the cached search responses.
+     */
+    protected void commitIndex() throws SolrServerException, IOException {
+        solrSearchCore.getSolr().commit();
+        getSearchResponseCache().nextGeneration();
+    }
+
+    /**
+     * Send the given query to the search core. The responses to the queries of
+     * anonymous users are cached until the next commit of the index, if the
+     * cache is enabled.
+     */
+    private QueryResponse executeSearchQuery(Context context, SolrQuery solrQuery)
+        throws SolrServerException, IOException {
+
+        if (!isSearchResponseCacheable(context)) {
+            return solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+        }
+
+        SearchResponseCache cache = getSearchResponseCache();
+        String key = getSearchResponseCacheKey(solrQuery);
+        long maxAge = configurationService.getLongProperty("discovery.search.cache.max-age", 300);
+
+        QueryResponse response = cache.get(key, maxAge);
+        if (response == null) {
+            long generation = cache.getGeneration();
+            response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+            cache.put(key, generation, response);
+        }
+        return response;
+    }
+
+    private boolean isSearchResponseCacheable(Context context) {
+        return context.getCurrentUser() == null && !context.ignoreAuthorization()
+            && configurationService.getBooleanProperty("discovery.search.cache.enabled", false);
+    }
+
+    /**
+     * Build a key from all the parameters of the given query, sorted by name.
+     * The filter queries are sorted too, since their order doesn't affect the
+     * response.
+     */
+    private String getSearchResponseCacheKey(SolrQuery solrQuery) {
+        StringBuilder key = new StringBuilder();
+        for (String name : new TreeSet<>(solrQuery.getParameterNames())) {
+            String[] values = solrQuery.getParams(name);
+            if (CommonParams.FQ.equals(name)) {
+                values = Arrays.stream(values).sorted().toArray(String[]::new);
+            }
+            for (String value : values) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        }
+        return key.toString();
+    }
+
+    private synchronized SearchResponseCache getSearchResponseCache() {
+        if (searchResponseCache == null) {
+            int maxEntries = configurationService.getIntProperty("discovery.search.cache.max-entries", 1000);
+            searchResponseCache = new SearchResponseCache(maxEntries);
+        }
+        return searchResponseCache;
+    }
+
     @Override
     public String escapeQueryChars(String query) {
         // Use Solr's built in query escape tool
@@ -1739,7 +1926,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             solrInDoc.addField(SearchUtils.RESOURCE_ID_FIELD, UUIDUtils.toString(metric.getResource().getID()));
             req.add(SearchUtils.addMetricFieldsInSolrDoc(metric, solrInDoc));
             solrClient.request(req);
-            solrClient.commit();
+            commitIndex();
         } catch (SolrServerException | IOException e) {
             log.error(e.getMessage(), e);
         }
@@ -1776,7 +1963,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                                Collections.<String, Object>singletonMap("set", relatedItems));
             req.add(solrInDoc);
             solrClient.request(req);
-            solrClient.commit();
+            commitIndex();
         } catch (SolrServerException | SolrException | IOException e) {
             log.error(e.getMessage(), e);
         }
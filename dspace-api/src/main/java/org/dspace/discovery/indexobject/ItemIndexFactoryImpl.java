@@ -836,6 +836,19 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    @Override
+    public Map<String, IndexableItem> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        Map<UUID, String> idsByUuid = new HashMap<>();
+        for (String id : ids) {
+            idsByUuid.put(UUID.fromString(id), id);
+        }
+        Map<String, IndexableItem> indexableItems = new HashMap<>();
+        for (Item item : itemService.findByIdsWithMetadata(context, new ArrayList<>(idsByUuid.keySet()))) {
+            indexableItems.put(idsByUuid.get(item.getID()), new IndexableItem(item));
+        }
+        return indexableItems;
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
@@ -9,8 +9,10 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.solr.client.solrj.SolrServerException;
@@ -98,6 +100,27 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Retrieve the indexable objects related to the provided identifiers. The
+     * default implementation retrieves the objects one by one, the factories
+     * that are able to load many objects at once should override it.
+     * @param context       DSpace context object
+     * @param ids           The identifiers for which we want to retrieve our indexable objects
+     * @return              The found indexable objects by identifier, the identifiers with no
+     *                      related object are not present
+     * @throws SQLException If database error
+     */
+    default Map<String, T> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        Map<String, T> indexableObjects = new HashMap<>();
+        for (String id : ids) {
+            Optional<T> indexableObject = findIndexableObject(context, id);
+            if (indexableObject.isPresent()) {
+                indexableObjects.put(id, indexableObject.get());
+            }
+        }
+        return indexableObjects;
+    }
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
@@ -7,17 +7,30 @@
  */
 package org.dspace.event;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * BasicDispatcher implements the primary task of a Dispatcher: it delivers a
  * filtered list of events, synchronously, to a configured list of consumers. It
  * may be extended for more elaborate behavior.
  *
+ * The events of the asynchronous consumers are not delivered: they are stored
+ * in the event queue, in the current transaction, and delivered later by the
+ * {@link org.dspace.event.service.EventQueueService}.
+ *
  * @version $Revision$
  */
 public class BasicDispatcher extends Dispatcher {
@@ -80,57 +93,177 @@ public class BasicDispatcher extends Dispatcher {
             // some letters so RDF readers don't mistake it for an integer.
             String tid = "TX" + Utils.generateKey();
 
+            long slowThreshold = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                      .getLongProperty("event.statistics.slow.threshold", 1000);
+
+            // the consumers that got synchronous events, whose state must be
+            // discarded if the transaction is aborted
+            Set<String> deliveredConsumers = new HashSet<>();
+
+            // The events are dispatched in rounds, as the synchronous consumers
+            // may add new events: the events of each round are stored in the
+            // queues of the asynchronous consumers before being delivered to
+            // the synchronous ones, so that nothing is delivered if they can't
+            // be stored.
             while (ctx.hasEvents()) {
-                Event event = ctx.pollEvent();
-                event.setDispatcher(getIdentifier());
-                event.setTransactionID(tid);
-
-                if (log.isDebugEnabled()) {
-                    log.debug("Iterating over "
-                                  + String.valueOf(consumers.values().size())
-                                  + " consumers...");
-                }
+                List<Event> events = new ArrayList<>();
+                // events to store in the queue of each asynchronous consumer
+                Map<String, List<Event>> queuedEvents = new LinkedHashMap<>();
 
-                for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
-                    ConsumerProfile cp = (ConsumerProfile) ci.next();
+                while (ctx.hasEvents()) {
+                    Event event = ctx.pollEvent();
+                    event.setDispatcher(getIdentifier());
+                    event.setTransactionID(tid);
+                    events.add(event);
 
-                    if (event.pass(cp.getFilters())) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Sending event to \"" + cp.getName()
-                                          + "\": " + event.toString());
+                    for (ConsumerProfile cp : consumers.values()) {
+                        if (cp.isAsync() && event.pass(cp.getFilters())) {
+                            queuedEvents.computeIfAbsent(cp.getName(), name -> new ArrayList<>()).add(event);
                         }
+                    }
+                }
 
-                        try {
-                            cp.getConsumer().consume(ctx, event);
+                try {
+                    enqueue(ctx, queuedEvents);
+                } catch (IllegalStateException e) {
+                    resetConsumers(deliveredConsumers);
+                    throw e;
+                }
 
-                            // Record that the event has been consumed by this
-                            // consumer
-                            event.setBitSet(cp.getName());
-                        } catch (Exception e) {
-                            log.error("Consumer(\"" + cp.getName()
-                                          + "\").consume threw: " + e.toString(), e);
-                        }
+                for (Event event : events) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Iterating over "
+                                      + String.valueOf(consumers.values().size())
+                                      + " consumers...");
                     }
 
+                    for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
+                        ConsumerProfile cp = (ConsumerProfile) ci.next();
+
+                        if (!cp.isAsync() && event.pass(cp.getFilters())) {
+                            if (log.isDebugEnabled()) {
+                                log.debug("Sending event to \"" + cp.getName()
+                                              + "\": " + event.toString());
+                            }
+
+                            deliveredConsumers.add(cp.getName());
+                            long start = System.nanoTime();
+                            boolean failed = false;
+                            try {
+                                cp.getConsumer().consume(ctx, event);
+
+                                // Record that the event has been consumed by this
+                                // consumer
+                                event.setBitSet(cp.getName());
+                            } catch (Exception e) {
+                                failed = true;
+                                log.error("Consumer(\"" + cp.getName()
+                                              + "\").consume threw: " + e.toString(), e);
+                            }
+                            if (cp.getStatistics() != null) {
+                                long nanos = System.nanoTime() - start;
+                                cp.getStatistics().recordConsume(event, nanos, failed);
+                                logSlowCall(cp, "consume", nanos, slowThreshold, tid);
+                            }
+                        }
+
+                    }
                 }
             }
 
-            // Call end on the consumers that got synchronous events.
+            // Call end on the synchronous consumers, only once all the events
+            // have been stored or delivered
             for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
                 ConsumerProfile cp = (ConsumerProfile) ci.next();
-                if (cp != null) {
+                if (cp != null && !cp.isAsync()) {
                     if (log.isDebugEnabled()) {
                         log.debug("Calling end for consumer \"" + cp.getName()
                                       + "\"");
                     }
 
+                    long start = System.nanoTime();
+                    boolean failed = false;
                     try {
                         cp.getConsumer().end(ctx);
                     } catch (Exception e) {
+                        failed = true;
                         log.error("Error in Consumer(\"" + cp.getName()
                                       + "\").end: " + e.toString(), e);
                     }
+                    if (cp.getStatistics() != null) {
+                        long nanos = System.nanoTime() - start;
+                        cp.getStatistics().recordEnd(nanos, failed);
+                        logSlowCall(cp, "end", nanos, slowThreshold, tid);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Log the consumer calls slower than the configured threshold, to find
+     * the consumers responsible for a slow commit.
+     *
+     * @param cp        the consumer profile
+     * @param method    the called method
+     * @param nanos     the duration of the call in nanoseconds
+     * @param threshold the slow threshold in milliseconds
+     * @param tid       the transaction identifier of the events
+     */
+    protected void logSlowCall(ConsumerProfile cp, String method, long nanos, long threshold, String tid) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= threshold) {
+            log.warn("Slow Consumer(\"" + cp.getName() + "\")." + method + ": "
+                         + millis + " ms in transaction " + tid);
+        }
+    }
+
+    /**
+     * Store the given events in the queues of the asynchronous consumers,
+     * within the transaction being committed. If the events can't be stored
+     * the context is aborted, discarding the changes of the transaction and
+     * the entities of its session, so that the changes are not committed
+     * without the events, which would be lost.
+     *
+     * @param ctx          the execution context
+     * @param queuedEvents the events of each asynchronous consumer
+     * @throws IllegalStateException if the events could not be queued
+     */
+    protected void enqueue(Context ctx, Map<String, List<Event>> queuedEvents) {
+        for (Map.Entry<String, List<Event>> entry : queuedEvents.entrySet()) {
+            try {
+                EventServiceFactory.getInstance().getEventQueueService()
+                                   .enqueue(ctx, entry.getKey(), entry.getValue());
+
+                for (Event event : entry.getValue()) {
+                    event.setBitSet(entry.getKey());
                 }
+            } catch (Exception e) {
+                log.error("Consumer(\"" + entry.getKey()
+                              + "\") events could not be queued: " + e.toString(), e);
+                ctx.abort();
+                throw new IllegalStateException("Consumer(\"" + entry.getKey()
+                                                    + "\") events could not be queued", e);
+            }
+        }
+    }
+
+    /**
+     * Replace the instances of the given synchronous consumers with new ones,
+     * so that they don't keep the events of an aborted transaction, which
+     * would be processed by their next end call.
+     *
+     * @param names the names of the consumers
+     */
+    protected void resetConsumers(Set<String> names) {
+        for (String name : names) {
+            try {
+                ConsumerProfile cp = ConsumerProfile.makeConsumerProfile(name);
+                cp.getConsumer().initialize();
+                cp.setStatistics(consumers.get(name).getStatistics());
+                consumers.put(name, cp);
+            } catch (Exception e) {
+                log.error("Consumer(\"" + name + "\") could not be reset: " + e.toString(), e);
             }
         }
     }
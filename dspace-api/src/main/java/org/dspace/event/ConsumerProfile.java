@@ -43,6 +43,16 @@ public class ConsumerProfile {
      */
     private List<int[]> filters;
 
+    /**
+     * Whether the events are delivered through the durable event queue
+     */
+    private boolean async;
+
+    /**
+     * Statistics of the consumer calls, null if not collected
+     */
+    private ConsumerStatistics statistics;
+
     // Prefix of keys in DSpace Configuration.
     private static final String CONSUMER_PREFIX = "event.consumer.";
 
@@ -104,6 +114,8 @@ public class ConsumerProfile {
                 "No filters configured for consumer named: " + name);
         }
 
+        async = configurationService.getBooleanProperty(CONSUMER_PREFIX + name + ".async", false);
+
         consumer = Class.forName(className.trim())
                 .asSubclass(Consumer.class)
                 .getDeclaredConstructor().newInstance();
@@ -163,4 +175,23 @@ public class ConsumerProfile {
     public String getName() {
         return name;
     }
+
+    /**
+     * Returns whether the consumer is asynchronous: its events are stored in
+     * the event queue, in the same transaction that produced them, and
+     * delivered later by the {@link org.dspace.event.service.EventQueueService}.
+     *
+     * @return true if the consumer is asynchronous
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    public ConsumerStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(ConsumerStatistics statistics) {
+        this.statistics = statistics;
+    }
 }
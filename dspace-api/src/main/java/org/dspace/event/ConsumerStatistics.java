@@ -0,0 +1,380 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.dspace.core.Constants;
+
+/**
+ * The timings of the calls to a named {@link Consumer}, aggregated among all
+ * its instances, and the number of events it received by subject type and
+ * event type. The statistics are updated without locking, so that they can be
+ * always collected.
+ *
+ * The latencies of the consume, end and finish calls are recorded in
+ * histograms with fixed buckets, from which the percentiles are estimated.
+ * Besides the histograms since the statistics were created, the latencies are
+ * recorded in windows of the configured duration: the recent latencies, used
+ * to detect the slow consumers and in the summary, are the ones of the current
+ * and of the previous window, so that a past slowdown is eventually forgotten.
+ */
+public class ConsumerStatistics {
+
+    /**
+     * The upper bounds in milliseconds of the latency histogram buckets; the
+     * last bucket collects the longer calls.
+     */
+    static final long[] BUCKET_BOUNDS = { 1, 5, 10, 50, 100, 500, 1000, 5000, 10000 };
+
+    // one slot for the unknown subject type, then one per DSpace object type
+    private static final int SUBJECT_SLOTS = Constants.typeText.length + 1;
+
+    private static final int EVENT_SLOTS = Event.eventTypeText.length;
+
+    /**
+     * The default duration in milliseconds of the windows of the recent latencies.
+     */
+    static final long DEFAULT_WINDOW = 300000;
+
+    private final String name;
+
+    private final long window;
+
+    private final LongSupplier clock;
+
+    private final long startTime;
+
+    private final Phase consume;
+
+    private final Phase end;
+
+    private final Phase finish;
+
+    private final AtomicLongArray eventCounts = new AtomicLongArray(SUBJECT_SLOTS * EVENT_SLOTS);
+
+    public ConsumerStatistics(String name) {
+        this(name, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param name   the name of the consumer
+     * @param window the duration in milliseconds of the windows of the recent latencies
+     */
+    public ConsumerStatistics(String name, long window) {
+        this(name, window, System::currentTimeMillis);
+    }
+
+    ConsumerStatistics(String name, long window, LongSupplier clock) {
+        this.name = name;
+        this.window = Math.max(1, window);
+        this.clock = clock;
+        this.startTime = clock.getAsLong();
+        this.consume = new Phase();
+        this.end = new Phase();
+        this.finish = new Phase();
+    }
+
+    /**
+     * Record a call to the consume method of the consumer.
+     *
+     * @param event  the consumed event
+     * @param nanos  the duration of the call in nanoseconds
+     * @param failed true if the call threw an exception
+     */
+    public void recordConsume(Event event, long nanos, boolean failed) {
+        consume.record(nanos, failed, clock.getAsLong());
+        int eventSlot = Integer.numberOfTrailingZeros(event.getEventType());
+        if (eventSlot < EVENT_SLOTS) {
+            int subjectSlot = Math.max(0, Math.min(event.getSubjectType() + 1, SUBJECT_SLOTS - 1));
+            eventCounts.incrementAndGet(subjectSlot * EVENT_SLOTS + eventSlot);
+        }
+    }
+
+    /**
+     * Record a call to the end method of the consumer.
+     *
+     * @param nanos  the duration of the call in nanoseconds
+     * @param failed true if the call threw an exception
+     */
+    public void recordEnd(long nanos, boolean failed) {
+        end.record(nanos, failed, clock.getAsLong());
+    }
+
+    /**
+     * Record a call to the finish method of the consumer.
+     *
+     * @param nanos  the duration of the call in nanoseconds
+     * @param failed true if the call threw an exception
+     */
+    public void recordFinish(long nanos, boolean failed) {
+        finish.record(nanos, failed, clock.getAsLong());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of events received by the consumer.
+     *
+     * @return the event count
+     */
+    public long getEventCount() {
+        return consume.total.count.sum();
+    }
+
+    /**
+     * Returns the time spent in the consumer calls, which is the time added
+     * by the consumer to the commits.
+     *
+     * @return the total time in milliseconds
+     */
+    public double getTotalTime() {
+        return toMillis(consume.total.totalNanos.sum() + end.total.totalNanos.sum() + finish.total.totalNanos.sum());
+    }
+
+    /**
+     * Returns whether the consume or the end calls of the consumer are slow,
+     * i.e. their estimated recent 95th percentile latency is above the given
+     * threshold.
+     *
+     * @param  threshold the threshold in milliseconds
+     * @return           true if the consumer is slow
+     */
+    public boolean isSlow(long threshold) {
+        long now = clock.getAsLong();
+        return consume.getRecent(now).getPercentile(0.95) > threshold
+            || end.getRecent(now).getPercentile(0.95) > threshold;
+    }
+
+    /**
+     * Returns a one line summary of the statistics, for logging: the event
+     * count and the total time since the statistics were created, the recent
+     * latencies and errors.
+     *
+     * @return the summary
+     */
+    public String getSummary() {
+        long now = clock.getAsLong();
+        Histogram recentConsume = consume.getRecent(now);
+        Histogram recentEnd = end.getRecent(now);
+        return String.format("events=%d, total=%.2fms, recent consume avg=%.2fms p95=%.2fms, "
+            + "end avg=%.2fms p95=%.2fms, errors=%d", getEventCount(), getTotalTime(), recentConsume.getAverage(),
+            recentConsume.getPercentile(0.95), recentEnd.getAverage(), recentEnd.getPercentile(0.95),
+            recentConsume.errors.sum() + recentEnd.errors.sum() + finish.getRecent(now).errors.sum());
+    }
+
+    /**
+     * Returns the statistics of the consumer: the received events, in total,
+     * per second since the statistics were created and by subject and event
+     * type, the total time spent in the consumer and the latencies of each
+     * call.
+     *
+     * @return the statistics by name
+     */
+    public Map<String, Object> getStatistics() {
+        long now = clock.getAsLong();
+        long eventCount = getEventCount();
+        double elapsedSeconds = Math.max(1, now - startTime) / 1000.0;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("events", eventCount);
+        statistics.put("eventsPerSecond", eventCount / elapsedSeconds);
+        statistics.put("eventsByType", getEventCountsByType());
+        statistics.put("totalTimeMs", getTotalTime());
+        statistics.put("consume", consume.getStatistics(now));
+        statistics.put("end", end.getStatistics(now));
+        statistics.put("finish", finish.getStatistics(now));
+        return statistics;
+    }
+
+    private Map<String, Long> getEventCountsByType() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int subjectSlot = 0; subjectSlot < SUBJECT_SLOTS; subjectSlot++) {
+            for (int eventSlot = 0; eventSlot < EVENT_SLOTS; eventSlot++) {
+                long count = eventCounts.get(subjectSlot * EVENT_SLOTS + eventSlot);
+                if (count > 0) {
+                    String subjectType = subjectSlot > 0 ? Constants.typeText[subjectSlot - 1] : "UNKNOWN";
+                    counts.put(subjectType + "+" + Event.eventTypeText[eventSlot], count);
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * The latencies of the calls to one of the consumer methods, since the
+     * statistics were created and in the current and previous windows.
+     */
+    private class Phase {
+
+        private final Histogram total = new Histogram(0);
+
+        private volatile Histogram current = new Histogram(startTime);
+
+        private volatile Histogram previous;
+
+        private void record(long nanos, boolean failed, long now) {
+            total.record(nanos, failed);
+            getCurrent(now).record(nanos, failed);
+        }
+
+        private Histogram getCurrent(long now) {
+            Histogram histogram = current;
+            if (now - histogram.start < window) {
+                return histogram;
+            }
+            synchronized (this) {
+                if (current == histogram) {
+                    previous = histogram;
+                    current = new Histogram(now);
+                }
+                return current;
+            }
+        }
+
+        /**
+         * Returns the latencies of the windows started in the last two
+         * window durations: all the calls recorded in them are at most that
+         * old, while the calls of the older windows are forgotten.
+         */
+        private Histogram getRecent(long now) {
+            Histogram recent = new Histogram(now);
+            for (Histogram histogram : new Histogram[] { previous, current }) {
+                if (histogram != null && now - histogram.start < 2 * window) {
+                    recent.add(histogram);
+                }
+            }
+            return recent;
+        }
+
+        private Map<String, Object> getStatistics(long now) {
+            Map<String, Object> statistics = total.getStatistics();
+            Histogram recent = getRecent(now);
+            statistics.put("recentCalls", recent.count.sum());
+            statistics.put("recentErrors", recent.errors.sum());
+            statistics.put("recentAvgMs", recent.getAverage());
+            statistics.put("recentP95Ms", recent.getPercentile(0.95));
+            return statistics;
+        }
+
+    }
+
+    /**
+     * A latency histogram with fixed buckets, from the given start time.
+     */
+    private static class Histogram {
+
+        private final long start;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+
+        private Histogram(long start) {
+            this.start = start;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && millis >= BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        private void add(Histogram histogram) {
+            count.add(histogram.count.sum());
+            errors.add(histogram.errors.sum());
+            totalNanos.add(histogram.totalNanos.sum());
+            maxNanos.accumulateAndGet(histogram.maxNanos.get(), Math::max);
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i].add(histogram.buckets[i].sum());
+            }
+        }
+
+        private double getAverage() {
+            long calls = count.sum();
+            return calls > 0 ? toMillis(totalNanos.sum()) / calls : 0.0;
+        }
+
+        /**
+         * Returns the upper bound of the bucket containing the given
+         * percentile, or the maximum latency if it's in the last bucket.
+         */
+        private double getPercentile(double percentile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0.0;
+            }
+
+            long threshold = (long) Math.ceil(total * percentile);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+                cumulative += buckets[i].sum();
+                if (cumulative >= threshold) {
+                    return Math.min(BUCKET_BOUNDS[i], toMillis(maxNanos.get()));
+                }
+            }
+            return toMillis(maxNanos.get());
+        }
+
+        private Map<String, Object> getStatistics() {
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("calls", count.sum());
+            statistics.put("errors", errors.sum());
+            statistics.put("totalMs", toMillis(totalNanos.sum()));
+            statistics.put("avgMs", getAverage());
+            statistics.put("maxMs", toMillis(maxNanos.get()));
+            statistics.put("p50Ms", getPercentile(0.5));
+            statistics.put("p95Ms", getPercentile(0.95));
+            statistics.put("p99Ms", getPercentile(0.99));
+            statistics.put("histogram", getHistogram());
+            return statistics;
+        }
+
+        private Map<String, Long> getHistogram() {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+                histogram.put("<" + BUCKET_BOUNDS[i] + "ms", buckets[i].sum());
+            }
+            histogram.put(">=" + BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1] + "ms", buckets[BUCKET_BOUNDS.length].sum());
+            return histogram;
+        }
+
+    }
+
+}
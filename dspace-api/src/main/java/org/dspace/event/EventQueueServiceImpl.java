@@ -0,0 +1,399 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.persistence.PersistenceException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.event.dao.EventQueueDAO;
+import org.dspace.event.service.EventQueueService;
+import org.dspace.event.service.EventService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link EventQueueService}.
+ *
+ * The queued events of a consumer are delivered in batches, each one in its
+ * own transaction together with the removal of the delivered events from the
+ * queue. When a batch fails its events are delivered again one at a time, to
+ * find the failed ones.
+ *
+ * The events of a consumer must be delivered by a single thread, to keep their
+ * order: within this process this is ensured by the running consumers, among
+ * processes sharing the database by a lease on the consumer, stored in the
+ * event_queue_lease table and renewed before each batch. A lease left by a
+ * process that stopped is taken over once expired.
+ */
+public class EventQueueServiceImpl implements EventQueueService {
+
+    private static final Logger log = LogManager.getLogger(EventQueueServiceImpl.class);
+
+    @Autowired(required = true)
+    private EventQueueDAO eventQueueDAO;
+
+    @Autowired(required = true)
+    private EventService eventService;
+
+    @Autowired(required = true)
+    private ConfigurationService configurationService;
+
+    /**
+     * The consumer instances that receive the queued events, distinct from the
+     * ones of the dispatchers.
+     */
+    private final Map<String, ConsumerProfile> consumers = new ConcurrentHashMap<>();
+
+    /**
+     * The consumers being delivered, each one by a single thread at a time.
+     */
+    private final Set<String> runningConsumers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The owner of the leases acquired by this process.
+     */
+    private final String leaseOwner = UUID.randomUUID().toString();
+
+    @Override
+    public void enqueue(Context context, String consumer, List<Event> events) throws SQLException {
+        eventQueueDAO.enqueue(context, consumer, events);
+    }
+
+    @Override
+    public int deliverQueuedEvents() throws SQLException {
+        List<String> consumerNames = findConsumers();
+        if (consumerNames.isEmpty()) {
+            return 0;
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(getThreads(), consumerNames.size()));
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (String consumerName : consumerNames) {
+                results.add(workers.submit(() -> deliverQueuedEvents(consumerName)));
+            }
+
+            int delivered = 0;
+            for (Future<Integer> result : results) {
+                delivered += getDelivered(result);
+            }
+            return delivered;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public int deliverQueuedEvents(String consumerName) throws SQLException {
+        if (!runningConsumers.add(consumerName)) {
+            return 0;
+        }
+
+        Context context = new Context();
+        try {
+            if (getConsumerProfile(consumerName) == null) {
+                return 0;
+            }
+
+            context.turnOffAuthorisationSystem();
+
+            int delivered = 0;
+            boolean leased;
+            List<QueuedEvent> events;
+            while ((leased = acquireLease(context, consumerName))
+                && !(events = findEventsToDeliver(context, consumerName)).isEmpty()) {
+                delivered += deliver(context, consumerName, events);
+            }
+
+            if (leased) {
+                // on errors the lease is not released, but it expires
+                eventQueueDAO.releaseLease(context, consumerName, leaseOwner);
+            }
+            context.restoreAuthSystemState();
+            context.complete();
+            return delivered;
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+            runningConsumers.remove(consumerName);
+        }
+    }
+
+    @Override
+    public List<QueuedEvent> findDeadLetters(Context context, String consumer) throws SQLException {
+        return eventQueueDAO.findDeadLetters(context, consumer);
+    }
+
+    @Override
+    public int requeueDeadLetters(Context context, String consumer) throws SQLException {
+        return eventQueueDAO.requeueDeadLetters(context, consumer);
+    }
+
+    /**
+     * Finish the consumer instances that receive the queued events, when the
+     * application shuts down.
+     */
+    @PreDestroy
+    public void destroy() {
+        for (String consumerName : new ArrayList<>(consumers.keySet())) {
+            ConsumerProfile consumerProfile = consumers.remove(consumerName);
+            if (consumerProfile == null) {
+                continue;
+            }
+            Context context = new Context();
+            try {
+                finish(context, consumerProfile);
+                context.complete();
+            } catch (SQLException e) {
+                log.error("Error finishing the consumer \"" + consumerName + "\" of the queued events", e);
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+        }
+    }
+
+    private List<String> findConsumers() throws SQLException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            return eventQueueDAO.findConsumers(context);
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Acquire or renew the lease of the given consumer, in its own
+     * transaction, so that the other processes see it.
+     *
+     * @return true if this process can deliver the events of the consumer
+     */
+    private boolean acquireLease(Context context, String consumerName) throws SQLException {
+        Date date = new Date();
+        Date expires = new Date(date.getTime() + getLeaseDuration());
+        try {
+            boolean acquired = eventQueueDAO.acquireLease(context, consumerName, leaseOwner, date, expires);
+            context.commit();
+            return acquired;
+        } catch (PersistenceException e) {
+            // another process acquired the lease at the same time
+            log.debug("Lease of consumer \"" + consumerName + "\" acquired by another process", e);
+            context.rollback();
+            return false;
+        }
+    }
+
+    private List<QueuedEvent> findEventsToDeliver(Context context, String consumerName) throws SQLException {
+        return eventQueueDAO.findEventsToDeliver(context, consumerName, new Date(), getBatchSize());
+    }
+
+    private int deliver(Context context, String consumerName, List<QueuedEvent> events) throws SQLException {
+        try {
+            consume(context, consumerName, events);
+            return events.size();
+        } catch (Exception e) {
+            rollback(context, consumerName);
+            if (events.size() == 1) {
+                handleFailure(context, events.get(0), e);
+                return 0;
+            }
+            log.warn("Delivery of " + events.size() + " queued events to consumer \"" + consumerName
+                + "\" failed, delivering them one at a time", e);
+            return deliverOneAtATime(context, consumerName, events);
+        }
+    }
+
+    private int deliverOneAtATime(Context context, String consumerName, List<QueuedEvent> events)
+        throws SQLException {
+        // the following events of a failed subject stay in the queue, to keep their order
+        Set<UUID> failedSubjects = new HashSet<>();
+        int delivered = 0;
+        for (QueuedEvent event : events) {
+            if (event.getSubjectID() != null && failedSubjects.contains(event.getSubjectID())) {
+                continue;
+            }
+
+            try {
+                consume(context, consumerName, List.of(event));
+                delivered++;
+            } catch (Exception e) {
+                rollback(context, consumerName);
+                handleFailure(context, event, e);
+                if (event.getSubjectID() != null) {
+                    failedSubjects.add(event.getSubjectID());
+                }
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Deliver the given events to the consumer and remove them from the queue,
+     * committing the changes of the consumer with the removal.
+     */
+    private void consume(Context context, String consumerName, List<QueuedEvent> events) throws Exception {
+        ConsumerProfile consumerProfile = getConsumerProfile(consumerName);
+        Consumer consumer = consumerProfile.getConsumer();
+        ConsumerStatistics statistics = consumerProfile.getStatistics();
+
+        for (QueuedEvent event : events) {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                consumer.consume(context, event.getEvent());
+                failed = false;
+            } finally {
+                if (statistics != null) {
+                    statistics.recordConsume(event.getEvent(), System.nanoTime() - start, failed);
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            consumer.end(context);
+            failed = false;
+        } finally {
+            if (statistics != null) {
+                statistics.recordEnd(System.nanoTime() - start, failed);
+            }
+        }
+
+        eventQueueDAO.delete(context, events.stream().map(QueuedEvent::getId).collect(Collectors.toList()));
+        context.commit();
+    }
+
+    /**
+     * Rollback the failed delivery, discarding the consumer instance, which
+     * may still hold the state of the failed events.
+     */
+    private void rollback(Context context, String consumerName) throws SQLException {
+        context.rollback();
+        ConsumerProfile consumerProfile = consumers.remove(consumerName);
+        if (consumerProfile != null) {
+            finish(context, consumerProfile);
+        }
+    }
+
+    /**
+     * Finish the given consumer instance, which is no longer used.
+     */
+    private void finish(Context context, ConsumerProfile consumerProfile) {
+        ConsumerStatistics statistics = consumerProfile.getStatistics();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            consumerProfile.getConsumer().finish(context);
+            failed = false;
+        } catch (Exception e) {
+            log.error("Error in Consumer(\"" + consumerProfile.getName() + "\").finish: " + e.toString(), e);
+        } finally {
+            if (statistics != null) {
+                statistics.recordFinish(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private void handleFailure(Context context, QueuedEvent event, Exception e) throws SQLException {
+        int attempts = event.getAttempts() + 1;
+        boolean dead = attempts >= getMaxAttempts();
+        Date retryAfter = dead ? null : new Date(System.currentTimeMillis() + getRetryDelay(attempts));
+
+        eventQueueDAO.updateFailure(context, event.getId(), attempts, retryAfter, e.toString(), dead);
+        context.commit();
+
+        if (dead) {
+            log.error("Queued event " + event.getId() + " moved to the dead letters of consumer \""
+                + event.getConsumer() + "\" after " + attempts + " attempts: " + event.getEvent(), e);
+        } else {
+            log.warn("Delivery of queued event " + event.getId() + " to consumer \"" + event.getConsumer()
+                + "\" failed, attempt " + attempts + " of " + getMaxAttempts() + ": " + e.toString());
+        }
+    }
+
+    private ConsumerProfile getConsumerProfile(String consumerName) {
+        ConsumerProfile consumerProfile = consumers.get(consumerName);
+        if (consumerProfile != null) {
+            return consumerProfile;
+        }
+
+        try {
+            consumerProfile = ConsumerProfile.makeConsumerProfile(consumerName);
+            consumerProfile.getConsumer().initialize();
+            consumerProfile.setStatistics(eventService.getConsumerStatistics(consumerName));
+        } catch (Exception e) {
+            // the events stay in the queue until the consumer is configured again
+            log.error("Unable to create the consumer \"" + consumerName + "\" of the queued events", e);
+            return null;
+        }
+
+        consumers.put(consumerName, consumerProfile);
+        return consumerProfile;
+    }
+
+    private int getDelivered(Future<Integer> result) throws SQLException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while delivering the queued events", e);
+        } catch (ExecutionException e) {
+            log.error("Error delivering the queued events", e.getCause());
+            return 0;
+        }
+    }
+
+    /**
+     * The delay before the given attempt, doubled at each failure.
+     */
+    private long getRetryDelay(int attempts) {
+        long retryDelay = configurationService.getLongProperty("event.queue.retry.delay", 60000);
+        return retryDelay * (1L << Math.min(attempts - 1, 10));
+    }
+
+    private int getMaxAttempts() {
+        return Math.max(1, configurationService.getIntProperty("event.queue.max.attempts", 5));
+    }
+
+    private int getBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("event.queue.batch.size", 100));
+    }
+
+    /**
+     * The duration of the lease of a consumer, which must be longer than the
+     * delivery of a batch of events.
+     */
+    private long getLeaseDuration() {
+        return Math.max(1000, configurationService.getLongProperty("event.queue.lease.duration", 300000));
+    }
+
+    private int getThreads() {
+        return Math.max(1, configurationService.getIntProperty("event.queue.threads", 2));
+    }
+
+}
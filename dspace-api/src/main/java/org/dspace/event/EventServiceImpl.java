@@ -9,10 +9,15 @@ package org.dspace.event;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.pool2.KeyedObjectPool;
@@ -53,6 +58,9 @@ public class EventServiceImpl implements EventService {
 
     protected String CONSUMER_PFX = "event.consumer";
 
+    // Statistics of the consumers by name, shared by the instances of all the dispatchers
+    protected Map<String, ConsumerStatistics> consumerStatistics = new ConcurrentHashMap<>();
+
     private static final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
                                                                                           .getConfigurationService();
 
@@ -134,6 +142,44 @@ public class EventServiceImpl implements EventService {
         initPool();
     }
 
+    @Override
+    public ConsumerStatistics getConsumerStatistics(String consumerName) {
+        if (!configurationService.getBooleanProperty("event.statistics.enabled", true)) {
+            return null;
+        }
+        return consumerStatistics.computeIfAbsent(consumerName, name -> new ConsumerStatistics(name,
+            configurationService.getLongProperty("event.statistics.window", 300000)));
+    }
+
+    @Override
+    public List<ConsumerStatistics> getConsumerStatistics() {
+        List<ConsumerStatistics> statistics = new ArrayList<>(consumerStatistics.values());
+        statistics.sort(Comparator.comparingDouble(ConsumerStatistics::getTotalTime).reversed());
+        return statistics;
+    }
+
+    @Override
+    public List<String> getSlowConsumers() {
+        long threshold = configurationService.getLongProperty("event.statistics.slow.threshold", 1000);
+        return getConsumerStatistics().stream()
+                                      .filter(statistics -> statistics.isSlow(threshold))
+                                      .map(ConsumerStatistics::getName)
+                                      .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> consumers = new LinkedHashMap<>();
+        for (ConsumerStatistics statistics : getConsumerStatistics()) {
+            consumers.put(statistics.getName(), statistics.getStatistics());
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("slowConsumers", getSlowConsumers());
+        statistics.put("consumers", consumers);
+        return statistics;
+    }
+
     protected void enumerateConsumers() {
         // Get all configs starting with CONSUMER_PFX
         List<String> propertyNames = configurationService.getPropertyKeys(CONSUMER_PFX);
@@ -202,6 +248,7 @@ public class EventServiceImpl implements EventService {
                         consumerProfile = ConsumerProfile
                             .makeConsumerProfile(consumer);
                         consumerProfile.getConsumer().initialize();
+                        consumerProfile.setStatistics(getConsumerStatistics(consumer));
 
                         dispatcher.addConsumerProfile(consumerProfile);
                     }
@@ -254,7 +301,16 @@ public class EventServiceImpl implements EventService {
                                              .iterator(); ci.hasNext(); ) {
                     ConsumerProfile cp = (ConsumerProfile) ci.next();
                     if (cp != null) {
-                        cp.getConsumer().finish(ctx);
+                        long start = System.nanoTime();
+                        boolean failed = true;
+                        try {
+                            cp.getConsumer().finish(ctx);
+                            failed = false;
+                        } finally {
+                            if (cp.getStatistics() != null) {
+                                cp.getStatistics().recordFinish(System.nanoTime() - start, failed);
+                            }
+                        }
                     }
                 }
             } catch (Exception e) {
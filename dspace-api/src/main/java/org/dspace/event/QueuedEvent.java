@@ -0,0 +1,59 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.UUID;
+
+/**
+ * An event stored in the event_queue table, waiting to be delivered to an
+ * asynchronous consumer, with the number of failed delivery attempts.
+ */
+public class QueuedEvent {
+
+    private final long id;
+
+    private final String consumer;
+
+    private final Event event;
+
+    private final int attempts;
+
+    public QueuedEvent(long id, String consumer, Event event, int attempts) {
+        this.id = id;
+        this.consumer = consumer;
+        this.event = event;
+        this.attempts = attempts;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Returns the subject of the event, which defines the delivery order: the
+     * events of the same subject are delivered in the order they were queued.
+     *
+     * @return the subject id, may be null
+     */
+    public UUID getSubjectID() {
+        return event.getSubjectID();
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.event.Event;
+import org.dspace.event.QueuedEvent;
+
+/**
+ * Database Access Object interface class for the event_queue table, which
+ * stores the events waiting to be delivered to the asynchronous consumers.
+ * Each consumer has its own rows: the oldest live row of a consumer is its
+ * cursor in the queue, and the delivered rows are deleted.
+ */
+public interface EventQueueDAO {
+
+    /**
+     * Store the given events, in the given order, in the queue of the given
+     * consumer.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @param  events       the events to store
+     * @throws SQLException if database error
+     */
+    public void enqueue(Context context, String consumer, List<Event> events) throws SQLException;
+
+    /**
+     * Returns the names of the consumers with events to be delivered.
+     *
+     * @param  context      the DSpace context
+     * @return              the consumer names
+     * @throws SQLException if database error
+     */
+    public List<String> findConsumers(Context context) throws SQLException;
+
+    /**
+     * Returns the oldest events of the given consumer that can be delivered at
+     * the given date, ordered by queue position. The events whose retry is
+     * not due yet are skipped, together with the following events of the
+     * same subject. The dead letters block the following events of their
+     * subject too, until they are put back in the queue.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @param  date         the delivery date
+     * @param  limit        the maximum number of events to return
+     * @return              the events to deliver
+     * @throws SQLException if database error
+     */
+    public List<QueuedEvent> findEventsToDeliver(Context context, String consumer, Date date, int limit)
+        throws SQLException;
+
+    /**
+     * Delete the given delivered events.
+     *
+     * @param  context      the DSpace context
+     * @param  ids          the ids of the events to delete
+     * @throws SQLException if database error
+     */
+    public void delete(Context context, List<Long> ids) throws SQLException;
+
+    /**
+     * Record a failed delivery of the given event.
+     *
+     * @param  context      the DSpace context
+     * @param  id           the event id
+     * @param  attempts     the number of failed attempts
+     * @param  retryAfter   the date of the next attempt
+     * @param  error        the error message
+     * @param  dead         true if the event is moved to the dead letters,
+     *                      which are never delivered again
+     * @throws SQLException if database error
+     */
+    public void updateFailure(Context context, long id, int attempts, Date retryAfter, String error, boolean dead)
+        throws SQLException;
+
+    /**
+     * Returns the dead letters of the given consumer, i.e. the events whose
+     * delivery failed too many times.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @return              the dead letters, ordered by queue position
+     * @throws SQLException if database error
+     */
+    public List<QueuedEvent> findDeadLetters(Context context, String consumer) throws SQLException;
+
+    /**
+     * Put back in the queue the dead letters of the given consumer, resetting
+     * their attempts.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @return              the number of events put back in the queue
+     * @throws SQLException if database error
+     */
+    public int requeueDeadLetters(Context context, String consumer) throws SQLException;
+
+    /**
+     * Acquire or renew the lease of the given consumer for the given owner,
+     * which is granted if the consumer has no lease, if the lease belongs to
+     * the same owner or if it is expired.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @param  owner        the owner of the lease
+     * @param  date         the current date
+     * @param  expires      the expiration date of the lease
+     * @return              true if the lease has been granted
+     * @throws SQLException if database error
+     */
+    public boolean acquireLease(Context context, String consumer, String owner, Date date, Date expires)
+        throws SQLException;
+
+    /**
+     * Release the lease of the given consumer, if it belongs to the given
+     * owner.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @param  owner        the owner of the lease
+     * @throws SQLException if database error
+     */
+    public void releaseLease(Context context, String consumer, String owner) throws SQLException;
+
+}
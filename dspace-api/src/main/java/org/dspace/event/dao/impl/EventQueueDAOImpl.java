@@ -0,0 +1,251 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.persistence.TemporalType;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.core.Context;
+import org.dspace.core.DBConnection;
+import org.dspace.event.Event;
+import org.dspace.event.QueuedEvent;
+import org.dspace.event.dao.EventQueueDAO;
+import org.dspace.storage.rdbms.DatabaseUtils;
+import org.dspace.utils.DSpace;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for
+ * the event_queue table. This class is autowired by spring and should never
+ * be accessed directly.
+ */
+public class EventQueueDAOImpl implements EventQueueDAO {
+
+    private static final String INSERT_SQL = "INSERT INTO event_queue (id, consumer, event_type, subject_type,"
+        + " subject_id, object_type, object_id, detail, identifiers, transaction_id, created)"
+        + " VALUES (%s, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS = "SELECT q.id, q.consumer, q.event_type, q.subject_type,"
+        + " cast(q.subject_id as varchar), q.object_type, cast(q.object_id as varchar), q.detail, q.identifiers,"
+        + " q.transaction_id, q.attempts FROM event_queue q";
+
+    private static final String IDENTIFIERS_SEPARATOR = "\n";
+
+    private static final int JDBC_BATCH_SIZE = 100;
+
+    @Override
+    public void enqueue(Context context, String consumer, List<Event> events) throws SQLException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        getHibernateSession().doWork(connection -> {
+            String sql = String.format(INSERT_SQL, getNextValueExpression(connection));
+            Timestamp created = new Timestamp(System.currentTimeMillis());
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int count = 0;
+                for (Event event : events) {
+                    statement.setString(1, consumer);
+                    statement.setInt(2, event.getEventType());
+                    statement.setInt(3, event.getSubjectType());
+                    statement.setObject(4, event.getSubjectID());
+                    statement.setInt(5, event.getObjectType());
+                    statement.setObject(6, event.getObjectID());
+                    statement.setString(7, event.getDetail());
+                    statement.setString(8, joinIdentifiers(event.getIdentifiers()));
+                    statement.setString(9, event.getTransactionID());
+                    statement.setTimestamp(10, created);
+                    statement.addBatch();
+                    if (++count % JDBC_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findConsumers(Context context) throws SQLException {
+        NativeQuery<?> query = getHibernateSession()
+            .createNativeQuery("SELECT DISTINCT consumer FROM event_queue WHERE dead = FALSE");
+        return (List<String>) query.getResultList();
+    }
+
+    @Override
+    public List<QueuedEvent> findEventsToDeliver(Context context, String consumer, Date date, int limit)
+        throws SQLException {
+        // the events of a subject waiting for a retry or dead block the following ones of the same subject
+        String sql = SELECT_COLUMNS + " WHERE q.consumer = :consumer AND q.dead = FALSE"
+            + " AND (q.retry_after IS NULL OR q.retry_after <= :date)"
+            + " AND NOT EXISTS (SELECT 1 FROM event_queue f WHERE f.consumer = q.consumer"
+            + " AND f.subject_id = q.subject_id AND f.id < q.id AND (f.dead = TRUE OR f.retry_after > :date))"
+            + " ORDER BY q.id ASC";
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("consumer", consumer);
+        query.setParameter("date", date, TemporalType.TIMESTAMP);
+        query.setMaxResults(limit);
+        return toQueuedEvents(query.getResultList());
+    }
+
+    @Override
+    public void delete(Context context, List<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        NativeQuery<?> query = getHibernateSession().createNativeQuery("DELETE FROM event_queue WHERE id IN (:ids)");
+        query.setParameterList("ids", ids);
+        query.executeUpdate();
+    }
+
+    @Override
+    public void updateFailure(Context context, long id, int attempts, Date retryAfter, String error, boolean dead)
+        throws SQLException {
+        String sql = "UPDATE event_queue SET attempts = :attempts, retry_after = :retryAfter,"
+            + " last_error = :error, dead = :dead WHERE id = :id";
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("attempts", attempts);
+        query.setParameter("retryAfter", retryAfter, TemporalType.TIMESTAMP);
+        query.setParameter("error", StringUtils.defaultString(error));
+        query.setParameter("dead", dead);
+        query.setParameter("id", id);
+        query.executeUpdate();
+    }
+
+    @Override
+    public List<QueuedEvent> findDeadLetters(Context context, String consumer) throws SQLException {
+        String sql = SELECT_COLUMNS + " WHERE q.consumer = :consumer AND q.dead = TRUE ORDER BY q.id ASC";
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("consumer", consumer);
+        return toQueuedEvents(query.getResultList());
+    }
+
+    @Override
+    public int requeueDeadLetters(Context context, String consumer) throws SQLException {
+        String sql = "UPDATE event_queue SET dead = FALSE, attempts = 0, retry_after = NULL"
+            + " WHERE consumer = :consumer AND dead = TRUE";
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("consumer", consumer);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public boolean acquireLease(Context context, String consumer, String owner, Date date, Date expires)
+        throws SQLException {
+        String sql = "UPDATE event_queue_lease SET owner = :owner, expires = :expires"
+            + " WHERE consumer = :consumer AND (owner = :owner OR expires <= :date)";
+        NativeQuery<?> query = getHibernateSession().createNativeQuery(sql);
+        query.setParameter("owner", owner);
+        query.setParameter("expires", expires, TemporalType.TIMESTAMP);
+        query.setParameter("consumer", consumer);
+        query.setParameter("date", date, TemporalType.TIMESTAMP);
+        if (query.executeUpdate() > 0) {
+            return true;
+        }
+
+        NativeQuery<?> countQuery = getHibernateSession()
+            .createNativeQuery("SELECT COUNT(*) FROM event_queue_lease WHERE consumer = :consumer");
+        countQuery.setParameter("consumer", consumer);
+        if (((Number) countQuery.getSingleResult()).intValue() > 0) {
+            return false;
+        }
+
+        // a concurrent insert of the same lease fails on the primary key
+        NativeQuery<?> insertQuery = getHibernateSession().createNativeQuery(
+            "INSERT INTO event_queue_lease (consumer, owner, expires) VALUES (:consumer, :owner, :expires)");
+        insertQuery.setParameter("consumer", consumer);
+        insertQuery.setParameter("owner", owner);
+        insertQuery.setParameter("expires", expires, TemporalType.TIMESTAMP);
+        return insertQuery.executeUpdate() > 0;
+    }
+
+    @Override
+    public void releaseLease(Context context, String consumer, String owner) throws SQLException {
+        NativeQuery<?> query = getHibernateSession()
+            .createNativeQuery("DELETE FROM event_queue_lease WHERE consumer = :consumer AND owner = :owner");
+        query.setParameter("consumer", consumer);
+        query.setParameter("owner", owner);
+        query.executeUpdate();
+    }
+
+    private List<QueuedEvent> toQueuedEvents(List<?> rows) {
+        return rows.stream()
+            .map(row -> toQueuedEvent((Object[]) row))
+            .collect(Collectors.toList());
+    }
+
+    private QueuedEvent toQueuedEvent(Object[] row) {
+        int eventType = ((Number) row[2]).intValue();
+        int subjectType = ((Number) row[3]).intValue();
+        UUID subjectId = toUUID(row[4]);
+        int objectType = ((Number) row[5]).intValue();
+        UUID objectId = toUUID(row[6]);
+        String detail = (String) row[7];
+        ArrayList<String> identifiers = splitIdentifiers((String) row[8]);
+
+        Event event;
+        if (objectType == -1 && objectId == null) {
+            event = new Event(eventType, subjectType, subjectId, detail, identifiers);
+        } else {
+            event = new Event(eventType, subjectType, subjectId, objectType, objectId, detail, identifiers);
+        }
+        event.setTransactionID((String) row[9]);
+
+        return new QueuedEvent(((Number) row[0]).longValue(), (String) row[1], event, ((Number) row[10]).intValue());
+    }
+
+    private UUID toUUID(Object value) {
+        return value != null ? UUID.fromString((String) value) : null;
+    }
+
+    private String joinIdentifiers(List<String> identifiers) {
+        return identifiers.isEmpty() ? null : String.join(IDENTIFIERS_SEPARATOR, identifiers);
+    }
+
+    private ArrayList<String> splitIdentifiers(String identifiers) {
+        if (StringUtils.isEmpty(identifiers)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(identifiers.split(IDENTIFIERS_SEPARATOR)));
+    }
+
+    /**
+     * Returns the SQL expression of the next value of the sequence of the
+     * event identifiers, which depends on the database.
+     */
+    private String getNextValueExpression(Connection connection) throws SQLException {
+        if (DatabaseUtils.DBMS_POSTGRES.equals(DatabaseUtils.getDbType(connection))) {
+            return "nextval('event_queue_id_seq')";
+        }
+        return "NEXT VALUE FOR event_queue_id_seq";
+    }
+
+    /**
+     * The Hibernate Session used in the current thread
+     *
+     * @return the current Session.
+     * @throws SQLException
+     */
+    private Session getHibernateSession() throws SQLException {
+        DBConnection dbConnection = new DSpace().getServiceManager().getServiceByName(null, DBConnection.class);
+        return ((Session) dbConnection.getSession());
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.service;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.event.Event;
+import org.dspace.event.QueuedEvent;
+
+/**
+ * Service to deliver the events to the asynchronous consumers, i.e. the ones
+ * configured with {@code event.consumer.<name>.async = true}. The events are
+ * stored by the dispatcher in a durable queue, in the same transaction that
+ * produced them, and are delivered later by a pool of workers, each one with
+ * its own {@link Context}.
+ * <p>
+ * The events of the same subject are delivered in the order they were queued.
+ * A failed delivery is retried after an increasing delay, blocking only the
+ * following events of the same subject; after the configured number of
+ * attempts the event is moved to the dead letters.
+ */
+public interface EventQueueService {
+
+    /**
+     * Store the given events in the queue of the given consumer, in the
+     * transaction of the given context.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @param  events       the events to store
+     * @throws SQLException if database error
+     */
+    public void enqueue(Context context, String consumer, List<Event> events) throws SQLException;
+
+    /**
+     * Deliver the queued events of all the consumers, using a pool of
+     * workers. Each consumer is delivered by a single worker at a time.
+     *
+     * @return              the number of delivered events
+     * @throws SQLException if database error
+     */
+    public int deliverQueuedEvents() throws SQLException;
+
+    /**
+     * Deliver the queued events of the given consumer in the current thread,
+     * until no other event can be delivered. Nothing is done if the consumer
+     * is already being delivered by another thread, or by another process
+     * holding its lease.
+     *
+     * @param  consumer     the consumer name
+     * @return              the number of delivered events
+     * @throws SQLException if database error
+     */
+    public int deliverQueuedEvents(String consumer) throws SQLException;
+
+    /**
+     * Returns the events of the given consumer moved to the dead letters.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @return              the dead letters
+     * @throws SQLException if database error
+     */
+    public List<QueuedEvent> findDeadLetters(Context context, String consumer) throws SQLException;
+
+    /**
+     * Put back in the queue the dead letters of the given consumer, e.g. after
+     * fixing the cause of their failure.
+     *
+     * @param  context      the DSpace context
+     * @param  consumer     the consumer name
+     * @return              the number of events put back in the queue
+     * @throws SQLException if database error
+     */
+    public int requeueDeadLetters(Context context, String consumer) throws SQLException;
+
+}
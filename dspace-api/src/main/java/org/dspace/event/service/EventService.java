@@ -7,6 +7,10 @@
  */
 package org.dspace.event.service;
 
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.event.ConsumerStatistics;
 import org.dspace.event.Dispatcher;
 
 /**
@@ -39,4 +43,37 @@ public interface EventService {
      * Reload the dispatcher configuration.
      */
     public void reloadConfiguration();
+
+    /**
+     * Get the statistics of the consumer named by "consumerName", shared by
+     * all its instances.
+     *
+     * @param consumerName consumer name
+     * @return the consumer statistics, or null if they are disabled
+     */
+    public ConsumerStatistics getConsumerStatistics(String consumerName);
+
+    /**
+     * Get the statistics of all the consumers, starting from the ones that
+     * spent the most time in their calls.
+     *
+     * @return the consumer statistics
+     */
+    public List<ConsumerStatistics> getConsumerStatistics();
+
+    /**
+     * Get the names of the consumers whose calls are slow, i.e. with a 95th
+     * percentile latency above the configured threshold.
+     *
+     * @return the slow consumer names
+     */
+    public List<String> getSlowConsumers();
+
+    /**
+     * Get the statistics of all the consumers, by consumer name, with the
+     * names of the slow ones.
+     *
+     * @return the statistics by name
+     */
+    public Map<String, Object> getStatistics();
 }
@@ -0,0 +1,77 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.external.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of a search performed in parallel on many external sources. It
+ * contains the objects found by each source that answered in time, along with
+ * the sources that failed or timed out, so that partial results can be shown.
+ */
+public class MultiSourceSearchResult {
+
+    /**
+     * The found objects by source, in the same order of the requested sources
+     */
+    private final Map<String, List<ExternalDataObject>> results = new LinkedHashMap<>();
+
+    /**
+     * The error messages of the sources that failed
+     */
+    private final Map<String, String> errors = new LinkedHashMap<>();
+
+    /**
+     * The sources that have not answered within their timeout
+     */
+    private final Set<String> timedOutSources = new LinkedHashSet<>();
+
+    public void addResults(String source, List<ExternalDataObject> externalDataObjects) {
+        results.put(source, externalDataObjects);
+    }
+
+    public void addError(String source, String message) {
+        errors.put(source, message);
+    }
+
+    public void addTimedOutSource(String source) {
+        timedOutSources.add(source);
+    }
+
+    public Map<String, List<ExternalDataObject>> getResults() {
+        return Collections.unmodifiableMap(results);
+    }
+
+    public List<ExternalDataObject> getResults(String source) {
+        return results.getOrDefault(source, List.of());
+    }
+
+    public Map<String, String> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    public Set<String> getTimedOutSources() {
+        return Collections.unmodifiableSet(timedOutSources);
+    }
+
+    /**
+     * Returns true if at least one of the requested sources failed or timed
+     * out, false otherwise.
+     *
+     * @return true if the result is partial
+     */
+    public boolean isPartial() {
+        return !errors.isEmpty() || !timedOutSources.isEmpty();
+    }
+
+}
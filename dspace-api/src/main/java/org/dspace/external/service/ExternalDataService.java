@@ -16,6 +16,7 @@ import org.dspace.content.Collection;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.core.Context;
 import org.dspace.external.model.ExternalDataObject;
+import org.dspace.external.model.MultiSourceSearchResult;
 import org.dspace.external.provider.ExternalDataProvider;
 
 /**
@@ -57,6 +58,19 @@ public interface ExternalDataService {
      */
     public List<ExternalDataObject> searchExternalDataObjects(String source, String query, int start, int limit);
 
+    /**
+     * This method will search the given query on all the given sources in parallel, waiting for each source at
+     * most the timeout configured for it. The sources that fail or don't answer in time are reported in the
+     * returned result, along with the objects found by the other sources. The results of identical searches are
+     * cached for a short time.
+     * @param sources   The sources in which the search will be done
+     * @param query     The query for which the search will be done
+     * @param start     The start of the search
+     * @param limit     The maximum amount of records to be returned by the search of each source
+     * @return          The objects found by each source and the sources that failed
+     */
+    public MultiSourceSearchResult searchExternalDataObjects(List<String> sources, String query, int start, int limit);
+
     /**
      * This method wil return the total amount of results that will be found for the given query in the given source
      * @param source    The source in which the query will happen to return the number of results
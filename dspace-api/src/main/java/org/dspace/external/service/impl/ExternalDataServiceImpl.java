@@ -13,12 +13,23 @@ import static org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.RES
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
@@ -39,10 +50,14 @@ import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.external.model.ExternalDataObject;
+import org.dspace.external.model.MultiSourceSearchResult;
 import org.dspace.external.provider.ExternalDataProvider;
 import org.dspace.external.service.ExternalDataService;
+import org.dspace.services.ConfigurationService;
 import org.dspace.utils.DSpace;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 /**
  * Implementation of {@link ExternalDataService}
@@ -52,6 +67,12 @@ public class ExternalDataServiceImpl implements ExternalDataService {
     private static final Logger log
             = org.apache.logging.log4j.LogManager.getLogger();
 
+    public static final String SEARCH_CACHE_NAME = "external.searchExternalDataObjects";
+
+    private static final int DEFAULT_SEARCH_THREADS = 8;
+
+    private static final long DEFAULT_SEARCH_TIMEOUT = 10000;
+
     @Autowired
     private List<ExternalDataProvider> externalDataProviders;
 
@@ -67,6 +88,14 @@ public class ExternalDataServiceImpl implements ExternalDataService {
     @Autowired
     private DedupService dedupService;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    private ExecutorService searchExecutor;
+
     @Override
     public Optional<ExternalDataObject> getExternalDataObject(String source, String id) {
         ExternalDataProvider provider = getExternalDataProvider(source);
@@ -89,6 +118,106 @@ public class ExternalDataServiceImpl implements ExternalDataService {
         return externalDataObjects;
     }
 
+    @Override
+    public MultiSourceSearchResult searchExternalDataObjects(List<String> sources, String query, int start,
+        int limit) {
+
+        Map<String, ExternalDataProvider> providers = new LinkedHashMap<>();
+        for (String source : sources) {
+            ExternalDataProvider provider = getExternalDataProvider(source);
+            if (provider == null) {
+                throw new IllegalArgumentException("Provider for: " + source + " couldn't be found");
+            }
+            providers.put(source, provider);
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        Map<String, Future<List<ExternalDataObject>>> searches = new LinkedHashMap<>();
+        providers.forEach((source, provider) -> searches.put(source,
+            getSearchExecutor().submit(() -> searchExternalDataObjects(provider, source, query, start, limit))));
+
+        MultiSourceSearchResult result = new MultiSourceSearchResult();
+        searches.forEach((source, search) -> waitForSearch(result, source, search, startTime));
+        return result;
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (searchExecutor != null) {
+            searchExecutor.shutdownNow();
+            searchExecutor = null;
+        }
+    }
+
+    private void waitForSearch(MultiSourceSearchResult result, String source,
+        Future<List<ExternalDataObject>> search, long startTime) {
+
+        long remainingTime = startTime + getSearchTimeout(source) - System.currentTimeMillis();
+
+        try {
+            result.addResults(source, search.get(Math.max(remainingTime, 0), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            search.cancel(true);
+            log.warn("The external source " + source + " has not answered within the configured timeout");
+            result.addTimedOutSource(source);
+        } catch (ExecutionException e) {
+            log.error("An error occurs searching on the external source " + source, e.getCause());
+            result.addError(source, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            search.cancel(true);
+            result.addTimedOutSource(source);
+        }
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ExternalDataObject> searchExternalDataObjects(ExternalDataProvider provider, String source,
+        String query, int start, int limit) {
+
+        Cache cache = getSearchCache();
+        String cacheKey = getSearchCacheKey(source, query, start, limit);
+
+        List<ExternalDataObject> externalDataObjects = cache != null ? cache.get(cacheKey, List.class) : null;
+        if (externalDataObjects == null) {
+            externalDataObjects = provider.searchExternalDataObjects(query, start, limit);
+            if (cache != null) {
+                cache.put(cacheKey, externalDataObjects);
+            }
+        }
+
+        appendMatchedUUIDs(externalDataObjects);
+        return externalDataObjects;
+    }
+
+    private String getSearchCacheKey(String source, String query, int start, int limit) {
+        String normalizedQuery = StringUtils.normalizeSpace(StringUtils.defaultString(query));
+        return source + "|" + start + "|" + limit + "|" + normalizedQuery.toLowerCase(Locale.ROOT);
+    }
+
+    private Cache getSearchCache() {
+        return cacheManager != null ? cacheManager.getCache(SEARCH_CACHE_NAME) : null;
+    }
+
+    private synchronized ExecutorService getSearchExecutor() {
+        if (searchExecutor == null) {
+            int threads = configurationService.getIntProperty("external-sources.search.threads",
+                DEFAULT_SEARCH_THREADS);
+            searchExecutor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("external-source-search-%d")
+                .daemon(true)
+                .build());
+        }
+        return searchExecutor;
+    }
+
+    private long getSearchTimeout(String source) {
+        long defaultTimeout = configurationService.getLongProperty("external-sources.search.timeout",
+            DEFAULT_SEARCH_TIMEOUT);
+        return configurationService.getLongProperty("external-sources.search.timeout." + source, defaultTimeout);
+    }
+
     private void appendMatchedUUIDs(List<ExternalDataObject> externalDataObjects) {
         for (ExternalDataObject externalDataObject : externalDataObjects) {
             List<UUID> uuids = new ArrayList<>();
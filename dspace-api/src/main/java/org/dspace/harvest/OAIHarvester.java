@@ -10,6 +10,7 @@ package org.dspace.harvest;
 import static java.lang.String.format;
 import static java.lang.String.valueOf;
 import static org.apache.commons.lang3.BooleanUtils.toBoolean;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.dspace.app.harvest.Harvest.LOG_DELIMITER;
@@ -41,12 +42,17 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -257,6 +263,8 @@ public class OAIHarvester {
 
         processOAIHarvesterResponse(context, harvestRow, responseDTO, toDate, repositoryId, report, options);
 
+        log.info(getThroughputMessage(report));
+
         return report;
 
     }
@@ -265,24 +273,77 @@ public class OAIHarvester {
         OAIHarvesterResponseDTO responseDTO, Date toDate, String repositoryId, OAIHarvesterReport report,
         OAIHarvesterOptions options) {
 
-        while (responseDTO != null) {
+        ExecutorService prefetchExecutor = isPrefetchEnabled() ? Executors.newSingleThreadExecutor() : null;
+
+        try {
+
+            while (responseDTO != null) {
+
+                if (responseDTO.hasErrors()) {
+                    handleResponseErrors(responseDTO.getErrors());
+                    return;
+                }
+
+                report.incrementPageCount();
+
+                List<Element> records = getAllRecords(responseDTO.getDocument());
+
+                // start fetching the next page while the current one is ingested
+                String oaiSource = harvestRow.getOaiSource();
+                String token = responseDTO.getResumptionToken();
+                Future<OAIHarvesterResponseDTO> nextPage = prefetchNextPage(prefetchExecutor, oaiSource, token);
+
+                try {
+                    // Process the obtained records
+                    harvestRow = processRecords(context, harvestRow, records, repositoryId, report, options);
+                } catch (RuntimeException ex) {
+                    if (nextPage != null) {
+                        nextPage.cancel(true);
+                    }
+                    throw ex;
+                }
+
+                // keep going if there are more records to process
+                long startWaiting = System.currentTimeMillis();
+                responseDTO = nextPage != null ? waitForPage(nextPage) : fetchPage(oaiSource, token);
+                report.addPageWaitingTime(System.currentTimeMillis() - startWaiting);
 
-            if (responseDTO.hasErrors()) {
-                handleResponseErrors(responseDTO.getErrors());
-                return;
             }
 
-            List<Element> records = getAllRecords(responseDTO.getDocument());
+        } finally {
+            if (prefetchExecutor != null) {
+                prefetchExecutor.shutdownNow();
+            }
+        }
 
-            // Process the obtained records
-            harvestRow = processRecords(context, harvestRow, records, repositoryId, report, options);
+    }
 
-            // keep going if there are more records to process
-            String token = responseDTO.getResumptionToken();
-            responseDTO = isNotEmpty(token) ? oaiHarvesterClient.listRecords(harvestRow.getOaiSource(), token) : null;
+    private Future<OAIHarvesterResponseDTO> prefetchNextPage(ExecutorService executor, String oaiSource,
+        String resumptionToken) {
 
+        if (executor == null || isEmpty(resumptionToken)) {
+            return null;
         }
 
+        return executor.submit(() -> oaiHarvesterClient.listRecords(oaiSource, resumptionToken));
+    }
+
+    private OAIHarvesterResponseDTO fetchPage(String oaiSource, String resumptionToken) {
+        return isNotEmpty(resumptionToken) ? oaiHarvesterClient.listRecords(oaiSource, resumptionToken) : null;
+    }
+
+    private OAIHarvesterResponseDTO waitForPage(Future<OAIHarvesterResponseDTO> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new HarvestingException("Interrupted while waiting for the next page of records", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new HarvestingException(ex.getCause());
+        }
     }
 
     private HarvestedCollection processRecords(Context context, HarvestedCollection harvestRow, List<Element> records,
@@ -290,12 +351,23 @@ public class OAIHarvester {
 
         UUID collectionId = harvestRow.getCollection().getID();
         Date expirationDate = getExpirationDate();
+        int batchSize = getBatchSize();
+        long pageStartTimestamp = System.currentTimeMillis();
+
+        // results of the searches by cris.sourceId already performed on this page
+        Map<String, UUID> searchedItems = new HashMap<>();
+
+        // records processed but not yet committed, with the number of error messages reported
+        // for each of them before its processing
+        Map<Element, Integer> pendingRecords = new LinkedHashMap<>();
 
         log.info("Found " + records.size() + " records to process");
         for (Element record : records) {
 
             // check for STOP interrupt from the scheduler
             if (HarvestScheduler.getInterrupt() == HarvestScheduler.HARVESTER_INTERRUPT_STOP) {
+                commitPendingRecords(context, harvestRow, pendingRecords, repositoryId, report, options,
+                    searchedItems);
                 throw new HarvestingException(
                     "Harvest process for " + collectionId + " interrupted by stopping the scheduler."
                         + getReportMessage(report));
@@ -303,17 +375,95 @@ public class OAIHarvester {
 
             // check for timeout
             if (expirationDate.before(new Date())) {
+                commitPendingRecords(context, harvestRow, pendingRecords, repositoryId, report, options,
+                    searchedItems);
                 throw new HarvestingException(
                     "Harvesting timed out for collection " + collectionId + "." + getReportMessage(report));
             }
 
             Long startTimestamp = System.currentTimeMillis();
+            int errorMessageCount = report.getErrorMessageCount(getItemIdentifier(record));
+
+            try {
+                processRecord(context, harvestRow, record, repositoryId, options, startTimestamp, report,
+                    searchedItems);
+                pendingRecords.put(record, errorMessageCount);
+            } catch (Exception ex) {
+                // the rollback discards also the pending records, that are replayed one by one
+                harvestRow = rollbackAndReloadEntity(context, harvestRow);
+                searchedItems.clear();
+                harvestRow = replayRecords(context, harvestRow, pendingRecords, repositoryId, report, options,
+                    searchedItems);
+                pendingRecords.clear();
+                handleRecordFailure(context, harvestRow, record, ex, startTimestamp, report, options);
+                continue;
+            }
+
+            if (pendingRecords.size() >= batchSize) {
+                harvestRow = commitPendingRecords(context, harvestRow, pendingRecords, repositoryId, report,
+                    options, searchedItems);
+            }
+
+        }
+
+        harvestRow = commitPendingRecords(context, harvestRow, pendingRecords, repositoryId, report, options,
+            searchedItems);
+
+        report.addProcessingTime(System.currentTimeMillis() - pageStartTimestamp);
+
+        return harvestRow;
+    }
+
+    private HarvestedCollection commitPendingRecords(Context context, HarvestedCollection harvestRow,
+        Map<Element, Integer> pendingRecords, String repositoryId, OAIHarvesterReport report,
+        OAIHarvesterOptions options, Map<String, UUID> searchedItems) {
+
+        if (pendingRecords.isEmpty()) {
+            return harvestRow;
+        }
+
+        try {
+
+            harvestRow.setHarvestMessage(formatIntermediateMessage(report, pendingRecords.size()));
+            harvestRow = updateHarvestRow(context, harvestRow);
+
+            context.commit();
+
+            harvestRow = reloadEntity(context, harvestRow);
+
+            report.incrementSuccessCount(pendingRecords.size());
+
+        } catch (Exception ex) {
+            log.warn("An error occurs committing a batch of " + pendingRecords.size() + " records, "
+                + "the records will be processed one by one", ex);
+            harvestRow = rollbackAndReloadEntity(context, harvestRow);
+            searchedItems.clear();
+            harvestRow = replayRecords(context, harvestRow, pendingRecords, repositoryId, report, options,
+                searchedItems);
+        }
+
+        pendingRecords.clear();
+        return harvestRow;
+    }
+
+    private HarvestedCollection replayRecords(Context context, HarvestedCollection harvestRow,
+        Map<Element, Integer> records, String repositoryId, OAIHarvesterReport report, OAIHarvesterOptions options,
+        Map<String, UUID> searchedItems) {
+
+        for (Map.Entry<Element, Integer> pendingRecord : records.entrySet()) {
+
+            Element record = pendingRecord.getKey();
+            Long startTimestamp = System.currentTimeMillis();
+
+            // the messages reported by the rolled back processing are reported again by the replay
+            report.discardErrorMessages(getItemIdentifier(record), pendingRecord.getValue());
 
             try {
 
-                processRecord(context, harvestRow, record, repositoryId, options, startTimestamp, report);
+                processRecord(context, harvestRow, record, repositoryId, options, startTimestamp, report,
+                    searchedItems);
 
-                harvestRow.setHarvestMessage(formatIntermediateMessage(report));
+                harvestRow.setHarvestMessage(formatIntermediateMessage(report, 1));
                 harvestRow = updateHarvestRow(context, harvestRow);
 
                 context.commit();
@@ -323,11 +473,9 @@ public class OAIHarvester {
                 report.incrementSuccessCount();
 
             } catch (Exception ex) {
-                log.error("An error occurs while process the record " + getItemIdentifier(record), ex);
-                report.addError(getItemIdentifier(record), getRootMessage(ex), NONE.getAction());
-                report.incrementFailureCount();
                 harvestRow = rollbackAndReloadEntity(context, harvestRow);
-                logRecord(context, options, harvestRow, false, startTimestamp, getItemIdentifier(record), NONE);
+                searchedItems.clear();
+                handleRecordFailure(context, harvestRow, record, ex, startTimestamp, report, options);
             }
 
         }
@@ -335,17 +483,27 @@ public class OAIHarvester {
         return harvestRow;
     }
 
+    private void handleRecordFailure(Context context, HarvestedCollection harvestRow, Element record, Exception ex,
+        Long startTimestamp, OAIHarvesterReport report, OAIHarvesterOptions options) {
+        log.error("An error occurs while process the record " + getItemIdentifier(record), ex);
+        report.addError(getItemIdentifier(record), getRootMessage(ex), NONE.getAction());
+        report.incrementFailureCount();
+        logRecord(context, options, harvestRow, false, startTimestamp, getItemIdentifier(record), NONE);
+    }
+
     private void processRecord(Context context, HarvestedCollection harvestRow, Element record, String repositoryId,
-        OAIHarvesterOptions options, long startTime, OAIHarvesterReport report) throws Exception {
+        OAIHarvesterOptions options, long startTime, OAIHarvesterReport report, Map<String, UUID> searchedItems)
+        throws Exception {
 
         Collection targetCollection = harvestRow.getCollection();
         String itemOaiID = getItemIdentifier(record);
+        Optional<String> crisSourceId = calculateCrisSourceId(record, repositoryId);
 
         HarvestedItem harvestedItem = harvestedItemService.findByOAIId(context, itemOaiID, targetCollection);
         Item item = harvestedItem != null ? harvestedItem.getItem() : null;
 
         if (item == null) {
-            item = searchItem(context, record, repositoryId, targetCollection);
+            item = searchItem(context, crisSourceId, targetCollection, searchedItems);
             if (item != null) {
                 harvestedItem = harvestedItemService.create(context, item, itemOaiID);
             }
@@ -355,6 +513,7 @@ public class OAIHarvester {
             log.info("Item " + itemOaiID + " has been marked as deleted on the OAI server.");
             if (item != null) {
                 collectionService.removeItem(context, targetCollection, item);
+                crisSourceId.ifPresent(sourceId -> searchedItems.remove(sourceId));
             }
 
             logRecord(context, options, harvestRow, true, startTime, itemOaiID, DELETION);
@@ -368,6 +527,10 @@ public class OAIHarvester {
         } else {
             harvestedItem = createItem(context, harvestRow, record, repositoryId, options, startTime, report);
             item = harvestedItem.getItem();
+            if (crisSourceId.isPresent() && hasCrisSourceId(item, crisSourceId.get())) {
+                // the new item is not yet indexed, so next records of the page can't find it searching
+                searchedItems.put(crisSourceId.get(), item.getID());
+            }
         }
 
         context.uncacheEntity(harvestedItem.getItem());
@@ -377,13 +540,28 @@ public class OAIHarvester {
 
     }
 
-    private Item searchItem(Context context, Element record, String repositoryId, Collection collection) {
-        Optional<String> crisSourceId = calculateCrisSourceId(record, repositoryId);
+    private Item searchItem(Context context, Optional<String> crisSourceId, Collection collection,
+        Map<String, UUID> searchedItems) throws SQLException {
+
         if (crisSourceId.isEmpty()) {
             return null;
         }
-        Item item = itemSearchService.search(context, crisSourceId.get());
-        return item != null && collection.equals(item.getOwningCollection()) ? item : null;
+
+        String sourceId = crisSourceId.get();
+        if (searchedItems.containsKey(sourceId)) {
+            UUID itemId = searchedItems.get(sourceId);
+            return itemId != null ? itemService.find(context, itemId) : null;
+        }
+
+        Item item = itemSearchService.search(context, sourceId);
+        item = item != null && collection.equals(item.getOwningCollection()) ? item : null;
+        searchedItems.put(sourceId, item != null ? item.getID() : null);
+        return item;
+    }
+
+    private boolean hasCrisSourceId(Item item, String crisSourceId) {
+        return itemService.getMetadata(item, CRIS.getName(), "sourceId", null, ANY).stream()
+            .anyMatch(value -> crisSourceId.equals(value.getValue()));
     }
 
     private void handleORE(Context context, HarvestedCollection harvestRow, String repositoryId, String itemOaiID,
@@ -768,6 +946,14 @@ public class OAIHarvester {
         }
     }
 
+    private int getBatchSize() {
+        return Math.max(configurationService.getIntProperty("oai.harvester.batch-size", 1), 1);
+    }
+
+    private boolean isPrefetchEnabled() {
+        return configurationService.getBooleanProperty("oai.harvester.prefetch.enabled", true);
+    }
+
     private Date getExpirationDate() {
         int expirationInterval = configurationService.getIntProperty("oai.harvester.threadTimeout");
         if (expirationInterval == 0) {
@@ -1009,8 +1195,8 @@ public class OAIHarvester {
         }
     }
 
-    private String formatIntermediateMessage(OAIHarvesterReport report) {
-        int currentRecord = report.getCurrentRecord();
+    private String formatIntermediateMessage(OAIHarvesterReport report, int pendingRecords) {
+        int currentRecord = report.getCurrentRecord() + pendingRecords - 1;
         int totalRecordSize = report.getTotalRecordSize();
         String message = "Collection is currently being harvested (item " + currentRecord;
         return totalRecordSize != 0 ? message + " of " + totalRecordSize + ")" : message + ")";
@@ -1024,6 +1210,13 @@ public class OAIHarvester {
         return message + " - Record import failures: " + report.getFailureCount();
     }
 
+    private String getThroughputMessage(OAIHarvesterReport report) {
+        return format("Harvested %d records from %d pages in %d ms (%.2f records/s), "
+            + "%d ms spent waiting for the OAI server", report.getSuccessCount() + report.getFailureCount(),
+            report.getPageCount(), report.getElapsedTime(), report.getRecordsPerSecond(),
+            report.getPageWaitingTime());
+    }
+
     private void logRecord(Context context, OAIHarvesterOptions options, HarvestedCollection harvestRow,
         boolean isValid, Long startTimestamp, String itemIdentifier, OAIHarvesterAction action) {
 
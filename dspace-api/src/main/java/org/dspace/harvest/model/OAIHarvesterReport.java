@@ -24,6 +24,14 @@ public class OAIHarvesterReport {
 
     private int successCount = 0;
 
+    private int pageCount = 0;
+
+    private long pageWaitingTime = 0;
+
+    private long processingTime = 0;
+
+    private final long startTime;
+
     private final int totalRecordSize;
 
     private final Map<String, ErrorDetails> errors;
@@ -31,6 +39,7 @@ public class OAIHarvesterReport {
     public OAIHarvesterReport(int totalRecordSize) {
         this.totalRecordSize = totalRecordSize;
         this.errors = new LinkedHashMap<String, ErrorDetails>();
+        this.startTime = System.currentTimeMillis();
     }
 
     public boolean noRecordImportFails() {
@@ -45,6 +54,33 @@ public class OAIHarvesterReport {
         this.successCount++;
     }
 
+    public void incrementSuccessCount(int count) {
+        this.successCount += count;
+    }
+
+    public void incrementPageCount() {
+        this.pageCount++;
+    }
+
+    /**
+     * Add the time, in milliseconds, that the harvesting spent blocked waiting for
+     * a page of records from the OAI server (not overlapped with the ingestion).
+     *
+     * @param millis the waiting time in milliseconds
+     */
+    public void addPageWaitingTime(long millis) {
+        this.pageWaitingTime += millis;
+    }
+
+    /**
+     * Add the time, in milliseconds, spent ingesting a page of records.
+     *
+     * @param millis the processing time in milliseconds
+     */
+    public void addProcessingTime(long millis) {
+        this.processingTime += millis;
+    }
+
     public int getSuccessCount() {
         return successCount;
     }
@@ -57,6 +93,33 @@ public class OAIHarvesterReport {
         return totalRecordSize;
     }
 
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public long getPageWaitingTime() {
+        return pageWaitingTime;
+    }
+
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    public long getElapsedTime() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * Returns the number of processed records (successfully or not) per second
+     * since the creation of this report.
+     *
+     * @return the records throughput
+     */
+    public double getRecordsPerSecond() {
+        long elapsedTime = getElapsedTime();
+        return elapsedTime > 0 ? (successCount + failureCount) * 1000.0 / elapsedTime : 0;
+    }
+
     public int getCurrentRecord() {
         return successCount + failureCount + 1;
     }
@@ -77,6 +140,35 @@ public class OAIHarvesterReport {
         }
     }
 
+    /**
+     * Returns the number of error messages reported for the given record.
+     *
+     * @param  recordId the record identifier
+     * @return          the number of messages
+     */
+    public int getErrorMessageCount(String recordId) {
+        return errors.containsKey(recordId) ? errors.get(recordId).getMessages().size() : 0;
+    }
+
+    /**
+     * Discard the error messages reported for the given record after the first
+     * messageCount ones, e.g. the messages of a processing that was rolled back.
+     *
+     * @param recordId     the record identifier
+     * @param messageCount the number of messages to keep
+     */
+    public void discardErrorMessages(String recordId, int messageCount) {
+        ErrorDetails errorDetails = errors.get(recordId);
+        if (errorDetails == null) {
+            return;
+        }
+        if (messageCount == 0) {
+            errors.remove(recordId);
+        } else {
+            errorDetails.messages.subList(messageCount, errorDetails.messages.size()).clear();
+        }
+    }
+
     public Map<String, ErrorDetails> getErrors() {
         return errors;
     }
@@ -97,7 +189,7 @@ public class OAIHarvesterReport {
         }
 
         public ErrorDetails(List<String> messages, String action) {
-            this.messages = messages;
+            this.messages = new ArrayList<>(messages);
             this.action = action;
         }
 
@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external.liveimportclient.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The counters of the usages of the {@link LiveImportClientCache} related to
+ * a single host.
+ */
+public class CacheStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong revalidations = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Count a response served by the cache without any request.
+     */
+    public void incrementHits() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Count a response served by the cache after a conditional request answered
+     * with 304 Not Modified.
+     */
+    public void incrementRevalidations() {
+        revalidations.incrementAndGet();
+    }
+
+    /**
+     * Count a response that has been fully downloaded.
+     */
+    public void incrementMisses() {
+        misses.incrementAndGet();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() + ", revalidations=" + getRevalidations() + ", misses=" + getMisses();
+    }
+
+}
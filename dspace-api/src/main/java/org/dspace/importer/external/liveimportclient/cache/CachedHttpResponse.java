@@ -0,0 +1,87 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external.liveimportclient.cache;
+
+/**
+ * A response of a GET request stored in the {@link LiveImportClientCache},
+ * with the validators that can be used to revalidate it once it is expired.
+ */
+public class CachedHttpResponse {
+
+    private String body;
+
+    private String etag;
+
+    private String lastModified;
+
+    private long storedAt;
+
+    public CachedHttpResponse() {
+
+    }
+
+    public CachedHttpResponse(String body, String etag, String lastModified, long storedAt) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.storedAt = storedAt;
+    }
+
+    /**
+     * Returns true if the response can be revalidated with a conditional
+     * request, false otherwise.
+     *
+     * @return true if an ETag or a Last-Modified header is available
+     */
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * Returns a copy of this response, stored at the given time.
+     *
+     * @param  time the new storing time
+     * @return      the new response
+     */
+    public CachedHttpResponse storedAt(long time) {
+        return new CachedHttpResponse(body, etag, lastModified, time);
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    public void setStoredAt(long storedAt) {
+        this.storedAt = storedAt;
+    }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external.liveimportclient.cache;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Default implementation of {@link LiveImportClientCache} that keeps the last
+ * used responses in memory, up to a configured number of entries. If a
+ * directory is configured, the responses are also stored on disk, so that they
+ * can be shared between different processes (e.g. CLI scripts). The files on
+ * disk are deleted when they are older than the configured maximum age.
+ *
+ * The responses are fresh for the configured time to live, after that they are
+ * revalidated with a conditional request, if possible.
+ */
+public class DefaultLiveImportClientCache implements LiveImportClientCache {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final long DEFAULT_TTL = 300;
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private static final long DEFAULT_DISK_MAX_AGE = 86400;
+
+    /**
+     * The number of writes on disk after which the expired files are deleted.
+     */
+    private static final int DISK_CLEANUP_INTERVAL = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrentMap<String, CacheStatistics> statistics = new ConcurrentHashMap<>();
+
+    private final AtomicInteger diskWrites = new AtomicInteger();
+
+    private Map<String, CachedHttpResponse> memoryCache;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public CachedHttpResponse get(String key) {
+
+        CachedHttpResponse response = getMemoryCache().get(key);
+        if (response != null) {
+            return response;
+        }
+
+        response = readFromDisk(key);
+        if (response != null) {
+            getMemoryCache().put(key, response);
+        }
+
+        return response;
+    }
+
+    @Override
+    public void put(String key, CachedHttpResponse response) {
+        getMemoryCache().put(key, response);
+        writeOnDisk(key, response);
+    }
+
+    @Override
+    public boolean isFresh(CachedHttpResponse response) {
+        return System.currentTimeMillis() - response.getStoredAt() < getTimeToLive() * 1000;
+    }
+
+    @Override
+    public void clear() {
+        getMemoryCache().clear();
+        File directory = getDiskDirectory();
+        if (directory != null) {
+            deleteFiles(directory, file -> true);
+        }
+    }
+
+    @Override
+    public CacheStatistics getStatistics(String host) {
+        return statistics.computeIfAbsent(StringUtils.defaultString(host), h -> new CacheStatistics());
+    }
+
+    @Override
+    public Map<String, CacheStatistics> getStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<>(statistics));
+    }
+
+    private CachedHttpResponse readFromDisk(String key) {
+
+        File file = getDiskFile(key);
+        if (file == null || !file.exists()) {
+            return null;
+        }
+
+        if (isExpiredOnDisk(file)) {
+            FileUtils.deleteQuietly(file);
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(file, CachedHttpResponse.class);
+        } catch (IOException e) {
+            log.warn("An error occurs reading the cached response " + file.getName() + ": " + e.getMessage());
+            FileUtils.deleteQuietly(file);
+            return null;
+        }
+
+    }
+
+    private void writeOnDisk(String key, CachedHttpResponse response) {
+
+        File file = getDiskFile(key);
+        if (file == null) {
+            return;
+        }
+
+        try {
+            File directory = file.getParentFile();
+            directory.mkdirs();
+            // write a temporary file and then move it, so other processes never read a partial response
+            File tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            objectMapper.writeValue(tempFile, response);
+            Files.move(tempFile.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("An error occurs writing the cached response " + file.getName() + ": " + e.getMessage());
+        }
+
+        if (diskWrites.incrementAndGet() % DISK_CLEANUP_INTERVAL == 0) {
+            deleteFiles(file.getParentFile(), this::isExpiredOnDisk);
+        }
+
+    }
+
+    private void deleteFiles(File directory, Predicate<File> filter) {
+        File[] files = directory.listFiles(file -> file.isFile()
+            && (file.getName().endsWith(".json") || file.getName().endsWith(".tmp")));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (filter.test(file)) {
+                FileUtils.deleteQuietly(file);
+            }
+        }
+    }
+
+    private boolean isExpiredOnDisk(File file) {
+        long maxAge = configurationService.getLongProperty("live-import.cache.disk.max-age", DEFAULT_DISK_MAX_AGE);
+        return System.currentTimeMillis() - file.lastModified() >= maxAge * 1000;
+    }
+
+    private File getDiskFile(String key) {
+        File directory = getDiskDirectory();
+        return directory != null ? new File(directory, DigestUtils.sha256Hex(key) + ".json") : null;
+    }
+
+    private File getDiskDirectory() {
+        String directory = configurationService.getProperty("live-import.cache.disk.dir");
+        return StringUtils.isNotBlank(directory) ? new File(directory) : null;
+    }
+
+    private synchronized Map<String, CachedHttpResponse> getMemoryCache() {
+        if (memoryCache == null) {
+            int maxEntries = configurationService.getIntProperty("live-import.cache.max-entries",
+                DEFAULT_MAX_ENTRIES);
+            memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedHttpResponse> eldest) {
+                    return size() > maxEntries;
+                }
+
+            });
+        }
+        return memoryCache;
+    }
+
+    private long getTimeToLive() {
+        return configurationService.getLongProperty("live-import.cache.ttl", DEFAULT_TTL);
+    }
+
+}
@@ -0,0 +1,66 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external.liveimportclient.cache;
+
+import java.util.Map;
+
+import org.dspace.importer.external.liveimportclient.service.LiveImportClient;
+
+/**
+ * Cache of the responses of the GET requests performed by the
+ * {@link LiveImportClient}.
+ */
+public interface LiveImportClientCache {
+
+    /**
+     * Returns the response stored with the given key, even if it is expired, or
+     * null if no response is found.
+     *
+     * @param  key the key of the request
+     * @return     the cached response, if any
+     */
+    CachedHttpResponse get(String key);
+
+    /**
+     * Store the given response with the given key.
+     *
+     * @param key      the key of the request
+     * @param response the response to store
+     */
+    void put(String key, CachedHttpResponse response);
+
+    /**
+     * Returns true if the given response can be served without performing any
+     * request, false if it must be revalidated.
+     *
+     * @param  response the response to check
+     * @return          true if the response is not expired
+     */
+    boolean isFresh(CachedHttpResponse response);
+
+    /**
+     * Remove all the stored responses.
+     */
+    void clear();
+
+    /**
+     * Returns the usage counters of the given host.
+     *
+     * @param  host the host
+     * @return      the counters
+     */
+    CacheStatistics getStatistics(String host);
+
+    /**
+     * Returns the usage counters of all the hosts contacted so far.
+     *
+     * @return the counters by host
+     */
+    Map<String, CacheStatistics> getStatistics();
+
+}
@@ -13,12 +13,16 @@ import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.config.RequestConfig.Builder;
 import org.apache.http.client.methods.HttpGet;
@@ -30,6 +34,9 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.importer.external.liveimportclient.cache.CacheStatistics;
+import org.dspace.importer.external.liveimportclient.cache.CachedHttpResponse;
+import org.dspace.importer.external.liveimportclient.cache.LiveImportClientCache;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -50,6 +57,9 @@ public class LiveImportClientImpl implements LiveImportClient {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired(required = false)
+    private LiveImportClientCache cache;
+
     @Override
     public String executeHttpGetRequest(int timeout, String URL, Map<String, Map<String, String>> params) {
         HttpGet method = null;
@@ -71,17 +81,42 @@ public class LiveImportClientImpl implements LiveImportClient {
                 }
             }
 
+            String cacheKey = getCacheKey(uri, headerParams);
+            CachedHttpResponse cachedResponse = cacheKey != null ? cache.get(cacheKey) : null;
+            if (cachedResponse != null && cache.isFresh(cachedResponse)) {
+                getCacheStatistics(method).incrementHits();
+                return cachedResponse.getBody();
+            }
+
+            if (cachedResponse != null) {
+                addConditionalHeaders(method, cachedResponse);
+            }
+
             configureProxy(method, defaultRequestConfig);
             if (log.isDebugEnabled()) {
                 log.debug("Performing GET request to \"" + uri + "\"...");
             }
             HttpResponse httpResponse = httpClient.execute(method);
+
+            if (cachedResponse != null && getStatusCode(httpResponse) == HttpStatus.SC_NOT_MODIFIED) {
+                getCacheStatistics(method).incrementRevalidations();
+                cache.put(cacheKey, cachedResponse.storedAt(System.currentTimeMillis()));
+                return cachedResponse.getBody();
+            }
+
             if (isNotSuccessfull(httpResponse)) {
                 throw new RuntimeException("The request failed with: " + getStatusCode(httpResponse) + " code, reason= "
                                            + httpResponse.getStatusLine().getReasonPhrase());
             }
             InputStream inputStream = httpResponse.getEntity().getContent();
-            return IOUtils.toString(inputStream, Charset.defaultCharset());
+            String body = IOUtils.toString(inputStream, Charset.defaultCharset());
+
+            if (cacheKey != null) {
+                getCacheStatistics(method).incrementMisses();
+                storeInCache(cacheKey, httpResponse, body);
+            }
+
+            return body;
         } catch (Exception e1) {
             log.error(e1.getMessage(), e1);
         } finally {
@@ -129,6 +164,50 @@ public class LiveImportClientImpl implements LiveImportClient {
         return StringUtils.EMPTY;
     }
 
+    /**
+     * Returns the key used to cache the response of the request with the given
+     * uri and headers, or null if the cache is not configured or not enabled.
+     */
+    private String getCacheKey(String uri, Map<String, String> headerParams) {
+        if (cache == null || !configurationService.getBooleanProperty("live-import.cache.enabled", false)) {
+            return null;
+        }
+        StringBuilder cacheKey = new StringBuilder(uri);
+        if (MapUtils.isNotEmpty(headerParams)) {
+            new TreeMap<>(headerParams).forEach((name, value) -> cacheKey.append('\n').append(name.toLowerCase())
+                .append(':').append(value));
+        }
+        return cacheKey.toString();
+    }
+
+    private void addConditionalHeaders(HttpGet method, CachedHttpResponse cachedResponse) {
+        if (cachedResponse.getEtag() != null) {
+            method.setHeader(HttpHeaders.IF_NONE_MATCH, cachedResponse.getEtag());
+        }
+        if (cachedResponse.getLastModified() != null) {
+            method.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cachedResponse.getLastModified());
+        }
+    }
+
+    private void storeInCache(String cacheKey, HttpResponse httpResponse, String body) {
+        Header cacheControl = httpResponse.getFirstHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null && StringUtils.containsIgnoreCase(cacheControl.getValue(), "no-store")) {
+            return;
+        }
+        String etag = getHeaderValue(httpResponse, HttpHeaders.ETAG);
+        String lastModified = getHeaderValue(httpResponse, HttpHeaders.LAST_MODIFIED);
+        cache.put(cacheKey, new CachedHttpResponse(body, etag, lastModified, System.currentTimeMillis()));
+    }
+
+    private String getHeaderValue(HttpResponse httpResponse, String name) {
+        Header header = httpResponse.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
+    private CacheStatistics getCacheStatistics(HttpGet method) {
+        return cache.getStatistics(method.getURI().getHost());
+    }
+
     private void configureProxy(HttpRequestBase method, RequestConfig defaultRequestConfig) {
         String proxyHost = configurationService.getProperty("http.proxy.host");
         String proxyPort = configurationService.getProperty("http.proxy.port");
@@ -189,6 +268,18 @@ public class LiveImportClientImpl implements LiveImportClient {
 
     public void setHttpClient(CloseableHttpClient httpClient) {
         this.httpClient = httpClient;
+        // the responses cached so far were returned by the previous client
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    public LiveImportClientCache getCache() {
+        return cache;
+    }
+
+    public void setCache(LiveImportClientCache cache) {
+        this.cache = cache;
     }
 
 }
@@ -0,0 +1,139 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.scripts;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * The append-only log file of a running {@link Process}. The file is kept
+ * open while the process runs: the lines are buffered and written when the
+ * buffer is full, when the flush interval is elapsed since the last write and
+ * before the file is read.
+ */
+public class ProcessLogChannel implements Closeable {
+
+    private final File file;
+
+    private final BufferedWriter writer;
+
+    private final long flushInterval;
+
+    private long lastFlushTime;
+
+    private boolean closed = false;
+
+    /**
+     * Open the log channel on the given file, replacing any previous content.
+     *
+     * @param  file          the log file
+     * @param  bufferSize    the number of characters buffered before writing
+     *                       them to the file
+     * @param  flushInterval the maximum time in milliseconds the lines are
+     *                       kept in the buffer, checked on every append
+     * @throws IOException   if the file cannot be opened
+     */
+    public ProcessLogChannel(File file, int bufferSize, long flushInterval) throws IOException {
+        this.file = file;
+        this.flushInterval = flushInterval;
+        OutputStream out = Files.newOutputStream(file.toPath(), CREATE, TRUNCATE_EXISTING, WRITE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferSize);
+        this.lastFlushTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Append the given line to the log.
+     *
+     * @param  line        the line to append
+     * @throws IOException if an error occurs writing the log
+     */
+    public synchronized void append(String line) throws IOException {
+        if (closed) {
+            throw new IOException("The log " + file + " is closed");
+        }
+
+        writer.write(line);
+        writer.newLine();
+
+        long now = System.currentTimeMillis();
+        if (now - lastFlushTime >= flushInterval) {
+            writer.flush();
+            lastFlushTime = now;
+        }
+    }
+
+    /**
+     * Returns the size in bytes of the log, flushing the buffered lines first.
+     *
+     * @return             the log size
+     * @throws IOException if an error occurs writing the log
+     */
+    public long size() throws IOException {
+        flush();
+        return file.length();
+    }
+
+    /**
+     * Write the log content between the given positions to the given stream.
+     * The content is read from the file, so the buffered lines are not
+     * included: use {@link #size()} to get the end position.
+     *
+     * @param  start       the position of the first byte to write
+     * @param  end         the position following the last byte to write
+     * @param  out         the stream to write to
+     * @throws IOException if an error occurs reading the log
+     */
+    public void transferTo(long start, long end, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long current = start;
+            while (current < end) {
+                current += channel.transferTo(current, end - current, target);
+            }
+        }
+    }
+
+    /**
+     * Write the buffered lines to the log file.
+     *
+     * @throws IOException if an error occurs writing the log
+     */
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            writer.flush();
+            lastFlushTime = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            writer.close();
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+}
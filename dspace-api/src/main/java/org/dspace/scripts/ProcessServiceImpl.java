@@ -7,12 +7,12 @@
  */
 package org.dspace.scripts;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -26,6 +26,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.ListUtils;
@@ -50,6 +52,7 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.scripts.service.ProcessService;
+import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -77,6 +80,20 @@ public class ProcessServiceImpl implements ProcessService {
     @Autowired
     private MetadataFieldService metadataFieldService;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * The open logs of the running processes, by process id.
+     */
+    private final ConcurrentMap<Integer, ProcessLogChannel> logChannels = new ConcurrentHashMap<>();
+
+    /**
+     * The ids of the processes whose log is stored as bitstream, to which no
+     * more lines can be appended. Updated while holding the logChannels lock.
+     */
+    private final Set<Integer> storedLogs = ConcurrentHashMap.newKeySet();
+
     @Override
     public Process create(Context context, EPerson ePerson, String scriptName,
                           List<DSpaceCommandLineParameter> parameters,
@@ -246,6 +263,17 @@ public class ProcessServiceImpl implements ProcessService {
             bitstreamService.delete(context, bitstream);
         }
         processDAO.delete(context, process);
+
+        ProcessLogChannel logChannel;
+        synchronized (logChannels) {
+            logChannel = logChannels.remove(process.getID());
+            storedLogs.remove(process.getID());
+        }
+        if (logChannel != null) {
+            logChannel.close();
+            logChannel.getFile().delete();
+        }
+
         log.info(LogHelper.getHeader(context, "process_delete", "Process with ID " + process.getID()
             + " and name " + process.getName() + " has been deleted"));
     }
@@ -344,36 +372,89 @@ public class ProcessServiceImpl implements ProcessService {
     @Override
     public void appendLog(int processId, String scriptName, String output, ProcessLogLevel processLogLevel)
             throws IOException {
-        File tmpDir = FileUtils.getTempDirectory();
-        File tempFile = new File(tmpDir, scriptName + processId + ".log");
-        FileWriter out = new FileWriter(tempFile, true);
-        try {
-            try (BufferedWriter writer = new BufferedWriter(out)) {
-                writer.append(formatLogLine(processId, scriptName, output, processLogLevel));
-                writer.newLine();
-            }
-        } finally {
-            out.close();
-        }
+        ProcessLogChannel logChannel = getLogChannel(processId, scriptName);
+        logChannel.append(formatLogLine(processId, scriptName, output, processLogLevel));
     }
 
     @Override
     public void createLogBitstream(Context context, Process process)
             throws IOException, SQLException, AuthorizeException {
-        File tmpDir = FileUtils.getTempDirectory();
-        File tempFile = new File(tmpDir, process.getName() + process.getID() + ".log");
+        File tempFile = getLogFile(process.getID(), process.getName());
+        // no channel can be opened again on the file once it is removed: the
+        // lines appended to the removed channel are written by close, the
+        // later ones are refused
+        ProcessLogChannel logChannel;
+        synchronized (logChannels) {
+            storedLogs.add(process.getID());
+            logChannel = logChannels.remove(process.getID());
+        }
+        if (logChannel != null) {
+            logChannel.close();
+            tempFile = logChannel.getFile();
+        }
         FileInputStream inputStream = FileUtils.openInputStream(tempFile);
         appendFile(context, process, inputStream, Process.OUTPUT_TYPE, process.getName() + process.getID() + ".log");
         inputStream.close();
         tempFile.delete();
     }
 
+    @Override
+    public long getRunningLogSize(int processId) throws IOException {
+        ProcessLogChannel logChannel = logChannels.get(processId);
+        return logChannel != null ? logChannel.size() : -1;
+    }
+
+    @Override
+    public boolean writeRunningLog(int processId, long start, long end, OutputStream out) throws IOException {
+        ProcessLogChannel logChannel = logChannels.get(processId);
+        if (logChannel == null) {
+            return false;
+        }
+        try {
+            logChannel.transferTo(start, end, out);
+            return true;
+        } catch (NoSuchFileException e) {
+            // the process completed meanwhile and its log was stored as bitstream
+            return false;
+        }
+    }
+
     @Override
     public List<Process> findByStatusAndCreationTimeOlderThan(Context context, List<ProcessStatus> statuses,
         Date date) throws SQLException {
         return this.processDAO.findByStatusAndCreationTimeOlderThan(context, statuses, date);
     }
 
+    private ProcessLogChannel getLogChannel(int processId, String scriptName) throws IOException {
+        ProcessLogChannel logChannel = logChannels.get(processId);
+        if (logChannel != null) {
+            return logChannel;
+        }
+
+        synchronized (logChannels) {
+            if (storedLogs.contains(processId)) {
+                throw new IOException("The log of the process " + processId + " is already stored");
+            }
+            logChannel = logChannels.get(processId);
+            if (logChannel == null) {
+                logChannel = new ProcessLogChannel(getLogFile(processId, scriptName),
+                    configurationService.getIntProperty("process.log.buffer-size", 8192),
+                    configurationService.getLongProperty("process.log.flush-interval", 1000));
+                logChannels.put(processId, logChannel);
+            }
+            return logChannel;
+        }
+    }
+
+    /**
+     * The temporary log file of the given process: the dash separates the
+     * script name from the id, so that two processes cannot share the same file
+     * (e.g. the process 23 of script1 and the process 123 of script).
+     */
+    private File getLogFile(int processId, String scriptName) {
+        return new File(FileUtils.getTempDirectory(), scriptName + "-" + processId + ".log");
+    }
+
     private String formatLogLine(int processId, String scriptName, String output, ProcessLogLevel processLogLevel) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
         StringBuilder sb = new StringBuilder();
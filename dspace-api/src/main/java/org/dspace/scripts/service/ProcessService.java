@@ -9,6 +9,7 @@ package org.dspace.scripts.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
@@ -273,7 +274,8 @@ public interface ProcessService {
      * @param scriptName    The name of the Script that Process runs
      * @param output        The output to append
      * @param processLogLevel   The loglevel of the output
-     * @throws IOException  If something goes wrong
+     * @throws IOException  If something goes wrong, or if the log of the process is already stored by
+     *                      {@link #createLogBitstream(Context, Process)}
      */
     void appendLog(int processId, String scriptName, String output, ProcessLogLevel processLogLevel) throws IOException;
 
@@ -288,6 +290,28 @@ public interface ProcessService {
     void createLogBitstream(Context context, Process process)
              throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * This method will return the current size of the log of the given running {@link Process}, writing the
+     * buffered lines to its file
+     * @param processId     The ID of the {@link Process} to get the log size of
+     * @return              The log size in bytes, or -1 if the process has no running log
+     * @throws IOException  If something goes wrong
+     */
+    long getRunningLogSize(int processId) throws IOException;
+
+    /**
+     * This method will write the part of the log of the given running {@link Process} between the given positions
+     * to the given stream, without reading the rest of the log
+     * @param processId     The ID of the {@link Process} to read the log of
+     * @param start         The position of the first byte to write
+     * @param end           The position following the last byte to write, at most the size returned by
+     *                      {@link #getRunningLogSize(int)}
+     * @param out           The stream to write to
+     * @return              true if the log was written, false if the process has no running log
+     * @throws IOException  If something goes wrong
+     */
+    boolean writeRunningLog(int processId, long start, long end, OutputStream out) throws IOException;
+
     /**
      * Find all the processes with one of the given status and with a creation time
      * older than the specified date.
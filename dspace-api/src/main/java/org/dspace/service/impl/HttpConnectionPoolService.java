@@ -15,7 +15,9 @@ import javax.inject.Singleton;
 
 import org.apache.http.HeaderElement;
 import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -24,6 +26,8 @@ import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeaderElementIterator;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
+import org.dspace.core.profiling.ProfilingHttpInterceptor;
+import org.dspace.core.profiling.RequestProfile;
 import org.dspace.services.ConfigurationService;
 
 /**
@@ -107,14 +111,19 @@ public class HttpConnectionPoolService {
     }
 
     /**
-     * Create an HTTP client which uses a pooled connection.
+     * Create an HTTP client which uses a pooled connection.  The calls made
+     * by the client are timed in the {@link RequestProfile} of the calling
+     * thread, if any.
      *
      * @return the client.
      */
     public CloseableHttpClient getClient() {
+        ProfilingHttpInterceptor profilingInterceptor = new ProfilingHttpInterceptor();
         CloseableHttpClient httpClient = HttpClientBuilder.create()
                 .setKeepAliveStrategy(keepAliveStrategy)
                 .setConnectionManager(connManager)
+                .addInterceptorFirst((HttpRequestInterceptor) profilingInterceptor)
+                .addInterceptorLast((HttpResponseInterceptor) profilingInterceptor)
                 .build();
         return httpClient;
     }
@@ -11,6 +11,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.commons.lang.StringUtils.EMPTY;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -46,26 +47,8 @@ public class ContentGenerator {
                                        List<SubscriptionItem> indexableColl,
                                        Map<String, List<SubscriptionItem>> indexableEntityByType) {
         try {
-            if (Objects.nonNull(ePerson)) {
-                Locale supportedLocale = I18nUtil.getEPersonLocale(ePerson);
-                Email email = Email.getEmail(I18nUtil.getEmailFilename(supportedLocale, "subscriptions_content"));
-                email.addRecipient(ePerson.getEmail());
-
-                String bodyCommunities = generateBodyMail("Community", indexableComm);
-                String bodyCollections = generateBodyMail("Collection", indexableColl);
-                if (bodyCommunities.equals(EMPTY) && bodyCollections.equals(EMPTY)) {
-                    log.debug("subscription(s) of eperson {} do(es) not match any new items: nothing to send" +
-                                  " - exit silently", ePerson::getID);
-                    return;
-                }
-                email.addArgument(configurationService.getProperty("subscription.url"));
-                email.addArgument(bodyCommunities);
-                email.addArgument(bodyCollections);
-                email.addArgument(
-                    indexableEntityByType.entrySet().stream()
-                                         .map(entry -> generateBodyMail(entry.getKey(), entry.getValue()))
-                                         .collect(Collectors.joining("\n\n"))
-                );
+            Email email = createEmail(ePerson, indexableComm, indexableColl, indexableEntityByType);
+            if (email != null) {
                 email.send();
             }
         } catch (Exception e) {
@@ -74,6 +57,54 @@ public class ContentGenerator {
         }
     }
 
+    /**
+     * Create the email with the given subscription items, without sending it.
+     * The email doesn't refer to any database object, so it can be sent by a
+     * different thread with {@link #sendEmail(EPerson, Email)}.
+     *
+     * @return the email, or null if there is nothing to send
+     */
+    public Email createEmail(EPerson ePerson,
+                             List<SubscriptionItem> indexableComm,
+                             List<SubscriptionItem> indexableColl,
+                             Map<String, List<SubscriptionItem>> indexableEntityByType) throws IOException {
+        if (Objects.isNull(ePerson)) {
+            return null;
+        }
+        Locale supportedLocale = I18nUtil.getEPersonLocale(ePerson);
+        Email email = Email.getEmail(I18nUtil.getEmailFilename(supportedLocale, "subscriptions_content"));
+        email.addRecipient(ePerson.getEmail());
+
+        String bodyCommunities = generateBodyMail("Community", indexableComm);
+        String bodyCollections = generateBodyMail("Collection", indexableColl);
+        if (bodyCommunities.equals(EMPTY) && bodyCollections.equals(EMPTY)) {
+            log.debug("subscription(s) of eperson {} do(es) not match any new items: nothing to send" +
+                          " - exit silently", ePerson::getID);
+            return null;
+        }
+        email.addArgument(configurationService.getProperty("subscription.url"));
+        email.addArgument(bodyCommunities);
+        email.addArgument(bodyCollections);
+        email.addArgument(
+            indexableEntityByType.entrySet().stream()
+                                 .map(entry -> generateBodyMail(entry.getKey(), entry.getValue()))
+                                 .collect(Collectors.joining("\n\n"))
+        );
+        return email;
+    }
+
+    /**
+     * Send an email created with {@link #createEmail}, logging the failures.
+     */
+    public void sendEmail(EPerson ePerson, Email email) {
+        try {
+            email.send();
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            log.warn("Cannot email user eperson_id: {} eperson_email: {}", ePerson::getID, ePerson::getEmail);
+        }
+    }
+
     private String generateBodyMail(String type, List<SubscriptionItem> subscriptionItems) {
         if (subscriptionItems == null || subscriptionItems.isEmpty()) {
             return EMPTY;
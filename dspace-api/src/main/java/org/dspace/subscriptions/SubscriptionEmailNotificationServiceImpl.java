@@ -14,12 +14,19 @@ import static org.dspace.core.Constants.ITEM;
 import static org.dspace.core.Constants.READ;
 import static org.dspace.subscriptions.SubscriptionItem.fromItem;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -33,12 +40,15 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.core.Context;
+import org.dspace.core.Email;
 import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.SearchServiceException;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Subscription;
 import org.dspace.eperson.service.SubscribeService;
 import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.ConfigurationService;
 import org.dspace.subscriptions.service.DSpaceObjectUpdates;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -62,6 +72,8 @@ public class SubscriptionEmailNotificationServiceImpl implements SubscriptionEma
     private SubscribeService subscribeService;
     @Autowired
     private CrisMetricsService crisMetricsService;
+    @Autowired
+    private ConfigurationService configurationService;
 
     public SubscriptionEmailNotificationServiceImpl(Map<String, DSpaceObjectUpdates> contentUpdates,
                                                     ContentGenerator contentGenerator,
@@ -88,83 +100,40 @@ public class SubscriptionEmailNotificationServiceImpl implements SubscriptionEma
     @SuppressWarnings({ "rawtypes" })
     private void performForContent(Context context, DSpaceRunnableHandler handler,
                                    String subscriptionType, String frequency) {
+        ExecutorService mailSender = Executors.newFixedThreadPool(getMailSenderThreads());
         try {
             List<Subscription> subscriptions =
                 findAllSubscriptionsBySubscriptionTypeAndFrequency(context, subscriptionType, frequency);
-            List<SubscriptionItem> communityItems = new ArrayList<>();
-            List<SubscriptionItem> collectionsItems = new ArrayList<>();
-            Map<String, List<SubscriptionItem>> entityItemsByEntityType = new HashMap<>();
-            int iterator = 0;
-
-            for (Subscription subscription : subscriptions) {
-                DSpaceObject dSpaceObject = subscription.getDSpaceObject();
-                EPerson ePerson = subscription.getEPerson();
 
-                if (!authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject, READ, true)) {
-                    iterator++;
-                    continue;
-                }
+            // the updates of each subscribed object and its readability by anonymous users are computed once
+            // and shared among all its subscribers
+            Map<UUID, List<IndexableObject>> updatesByObject = new HashMap<>();
+            Map<UUID, Boolean> readableByAnonymous = new HashMap<>();
 
-                switch (dSpaceObject.getType()) {
-                    case COMMUNITY:
-                        List<IndexableObject> indexableCommunityItems = getItems(
-                            context, ePerson,
-                            contentUpdates.get(Community.class.getSimpleName().toLowerCase())
-                                          .findUpdates(context, dSpaceObject, frequency)
-                        );
-                        communityItems.add(fromItem(dSpaceObject, indexableCommunityItems));
-                        break;
-                    case COLLECTION:
-                        List<IndexableObject> indexableCollectionItems = getItems(
-                            context, ePerson,
-                            contentUpdates.get(Collection.class.getSimpleName().toLowerCase())
-                                          .findUpdates(context, dSpaceObject, frequency)
-                        );
-                        collectionsItems.add(fromItem(dSpaceObject, indexableCollectionItems));
-                        break;
-                    case ITEM:
-                        List<IndexableObject> indexableEntityItems = getItems(
-                            context, ePerson, contentUpdates.get(Item.class.getSimpleName().toLowerCase())
-                                                            .findUpdates(context, dSpaceObject, frequency)
-                        );
-                        String dspaceType = ContentServiceFactory
-                            .getInstance().getDSpaceObjectService(dSpaceObject)
-                            .getMetadataFirstValue(dSpaceObject, "dspace", "entity", "type", ANY);
-
-                        entityItemsByEntityType.computeIfAbsent(dspaceType, k -> new ArrayList<>())
-                                               .add(fromItem(dSpaceObject, indexableEntityItems));
-                        break;
-                    default:
-                        log.warn("found an invalid DSpace Object type ({}) among subscriptions to send",
-                                 dSpaceObject.getType());
-                        continue;
-                }
+            Map<EPerson, List<Subscription>> subscriptionsByEPerson = subscriptions.stream()
+                .collect(Collectors.groupingBy(Subscription::getEPerson, LinkedHashMap::new, Collectors.toList()));
 
-                if (iterator < subscriptions.size() - 1) {
-                    // as the subscriptions are ordered by eperson id, so we send them by ePerson
-                    if (ePerson.equals(subscriptions.get(iterator + 1).getEPerson())) {
-                        iterator++;
-                        continue;
-                    } else {
-                        contentGenerator.notifyForSubscriptions(
-                            ePerson, communityItems, collectionsItems, entityItemsByEntityType
-                        );
-                        communityItems.clear();
-                        collectionsItems.clear();
-                        entityItemsByEntityType.clear();
+            for (Entry<EPerson, List<Subscription>> entry : subscriptionsByEPerson.entrySet()) {
+                EPerson ePerson = entry.getKey();
+                // a failure with the subscriptions of an eperson doesn't prevent the others from being notified
+                try {
+                    Email email = createEmail(context, ePerson, entry.getValue(), frequency, updatesByObject,
+                        readableByAnonymous);
+                    if (email != null) {
+                        mailSender.submit(() -> contentGenerator.sendEmail(ePerson, email));
                     }
-                } else {
-                    //in the end of the iteration
-                    contentGenerator.notifyForSubscriptions(
-                        ePerson, communityItems, collectionsItems, entityItemsByEntityType
-                    );
+                } catch (Exception e) {
+                    log.error(e.getMessage(), e);
+                    log.warn("Cannot email user eperson_id: {} eperson_email: {}", ePerson::getID,
+                        ePerson::getEmail);
                 }
-                iterator++;
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             handler.handleException(e);
             context.abort();
+        } finally {
+            awaitMailSender(mailSender);
         }
     }
 
@@ -197,19 +166,120 @@ public class SubscriptionEmailNotificationServiceImpl implements SubscriptionEma
         }
     }
 
+    /**
+     * Collect the content of the digest of the given eperson, the mail being rendered and sent by the workers.
+     *
+     * @return the email, or null if there is nothing to send
+     */
     @SuppressWarnings("rawtypes")
-    private List<IndexableObject> getItems(Context context, EPerson ePerson, List<IndexableObject> indexableItems)
-            throws SQLException {
+    private Email createEmail(Context context, EPerson ePerson, List<Subscription> subscriptions, String frequency,
+        Map<UUID, List<IndexableObject>> updatesByObject, Map<UUID, Boolean> readableByAnonymous)
+        throws SQLException, SearchServiceException, IOException {
+        List<SubscriptionItem> communityItems = new ArrayList<>();
+        List<SubscriptionItem> collectionsItems = new ArrayList<>();
+        Map<String, List<SubscriptionItem>> entityItemsByEntityType = new HashMap<>();
+
+        for (Subscription subscription : subscriptions) {
+            DSpaceObject dSpaceObject = subscription.getDSpaceObject();
+
+            if (!canRead(context, ePerson, dSpaceObject, readableByAnonymous)) {
+                continue;
+            }
+
+            switch (dSpaceObject.getType()) {
+                case COMMUNITY:
+                    List<IndexableObject> indexableCommunityItems = getItems(context, ePerson,
+                        findUpdates(context, Community.class, dSpaceObject, frequency, updatesByObject),
+                        readableByAnonymous);
+                    communityItems.add(fromItem(dSpaceObject, indexableCommunityItems));
+                    break;
+                case COLLECTION:
+                    List<IndexableObject> indexableCollectionItems = getItems(context, ePerson,
+                        findUpdates(context, Collection.class, dSpaceObject, frequency, updatesByObject),
+                        readableByAnonymous);
+                    collectionsItems.add(fromItem(dSpaceObject, indexableCollectionItems));
+                    break;
+                case ITEM:
+                    List<IndexableObject> indexableEntityItems = getItems(context, ePerson,
+                        findUpdates(context, Item.class, dSpaceObject, frequency, updatesByObject),
+                        readableByAnonymous);
+                    String dspaceType = ContentServiceFactory
+                        .getInstance().getDSpaceObjectService(dSpaceObject)
+                        .getMetadataFirstValue(dSpaceObject, "dspace", "entity", "type", ANY);
+
+                    entityItemsByEntityType.computeIfAbsent(dspaceType, k -> new ArrayList<>())
+                                           .add(fromItem(dSpaceObject, indexableEntityItems));
+                    break;
+                default:
+                    log.warn("found an invalid DSpace Object type ({}) among subscriptions to send",
+                             dSpaceObject.getType());
+            }
+        }
+
+        if (communityItems.isEmpty() && collectionsItems.isEmpty() && entityItemsByEntityType.isEmpty()) {
+            return null;
+        }
+
+        return contentGenerator.createEmail(ePerson, communityItems, collectionsItems, entityItemsByEntityType);
+    }
+
+    /**
+     * Return the updates of the given subscribed object, searching them only for its first subscriber
+     */
+    @SuppressWarnings("rawtypes")
+    private List<IndexableObject> findUpdates(Context context, Class<? extends DSpaceObject> type,
+        DSpaceObject dSpaceObject, String frequency, Map<UUID, List<IndexableObject>> updatesByObject)
+        throws SearchServiceException {
+        List<IndexableObject> updates = updatesByObject.get(dSpaceObject.getID());
+        if (updates == null) {
+            updates = contentUpdates.get(type.getSimpleName().toLowerCase())
+                                    .findUpdates(context, dSpaceObject, frequency);
+            updatesByObject.put(dSpaceObject.getID(), updates);
+        }
+        return updates;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<IndexableObject> getItems(Context context, EPerson ePerson, List<IndexableObject> indexableItems,
+        Map<UUID, Boolean> readableByAnonymous) throws SQLException {
         List<IndexableObject> items = new ArrayList<IndexableObject>();
         for (IndexableObject indexableItem : indexableItems) {
             Item item = (Item) indexableItem.getIndexedObject();
-            if (authorizeService.authorizeActionBoolean(context, ePerson, item, READ, true)) {
+            if (canRead(context, ePerson, item, readableByAnonymous)) {
                 items.add(indexableItem);
             }
         }
         return items;
     }
 
+    /**
+     * Check if the given eperson can read the given object. The objects readable by anonymous users are
+     * readable by everyone, so the policies are checked for the specific eperson only for the other objects.
+     */
+    private boolean canRead(Context context, EPerson ePerson, DSpaceObject dSpaceObject,
+        Map<UUID, Boolean> readableByAnonymous) throws SQLException {
+        Boolean anonymousRead = readableByAnonymous.get(dSpaceObject.getID());
+        if (anonymousRead == null) {
+            anonymousRead = authorizeService.authorizeActionBoolean(context, null, dSpaceObject, READ, true);
+            readableByAnonymous.put(dSpaceObject.getID(), anonymousRead);
+        }
+        return anonymousRead || authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject, READ, true);
+    }
+
+    private int getMailSenderThreads() {
+        return Math.max(1, configurationService.getIntProperty("subscription.mail.threads", 4));
+    }
+
+    private void awaitMailSender(ExecutorService mailSender) {
+        mailSender.shutdown();
+        try {
+            mailSender.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            log.warn("Interrupted while waiting for the subscription emails to be sent");
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Return all Subscriptions by subscriptionType and frequency ordered by ePerson ID
      * if there are none it returns an empty list
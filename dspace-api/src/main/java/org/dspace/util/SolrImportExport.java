@@ -7,19 +7,45 @@
  */
 package org.dspace.util;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.file.Files;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
-
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -30,6 +56,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
@@ -37,13 +64,19 @@ import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.request.LukeRequest;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FieldStatsInfo;
 import org.apache.solr.client.solrj.response.LukeResponse;
+import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.luke.FieldFlag;
 import org.apache.solr.common.params.CoreAdminParams;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
+import org.apache.solr.common.util.ContentStreamBase;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
@@ -58,6 +91,11 @@ public class SolrImportExport {
     private static final ThreadLocal<DateFormat> SOLR_DATE_FORMAT_NO_MS;
     private static final ThreadLocal<DateFormat> EXPORT_DATE_FORMAT;
     private static final String EXPORT_SEP = "_export_";
+    private static final String EXPORT_MANIFEST_SUFFIX = "_export.manifest";
+    private static final String IMPORT_MANIFEST_SUFFIX = "_import.manifest";
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    private static final String CSV_CONTENT_TYPE = "text/csv;charset=utf-8";
 
     static {
         SOLR_DATE_FORMAT = new ThreadLocal<DateFormat>() {
@@ -92,10 +130,16 @@ public class SolrImportExport {
     private static final String INDEX_NAME_OPTION = "i";
     private static final String KEEP_OPTION = "k";
     private static final String LAST_OPTION = "l";
+    private static final String RESUME_OPTION = "r";
+    private static final String THREADS_OPTION = "t";
+    private static final String COMPRESS_OPTION = "z";
 
     public static final int ROWS_PER_FILE = 10_000;
 
+    public static final int DEFAULT_THREADS = 4;
+
     private static final String MULTIPLE_VALUES_SPLITTER = ",";
+    private static final String MULTIPLE_VALUES_ESCAPE = "\\";
 
     private static final Logger log = LogManager.getLogger(SolrImportExport.class);
     private static final ConfigurationService configurationService
@@ -132,6 +176,8 @@ public class SolrImportExport {
             String directoryName = makeDirectoryName(line.getOptionValue(DIRECTORY_OPTION));
 
             String action = line.getOptionValue(ACTION_OPTION, "export");
+            int threads = getThreads(line.getOptionValue(THREADS_OPTION));
+            boolean resume = line.hasOption(RESUME_OPTION);
             if ("import".equals(action)) {
                 for (String indexName : indexNames) {
                     File importDir = new File(directoryName);
@@ -145,7 +191,7 @@ public class SolrImportExport {
                     try {
                         String solrUrl = makeSolrUrl(indexName);
                         boolean clear = line.hasOption(CLEAR_OPTION);
-                        importIndex(indexName, importDir, solrUrl, clear);
+                        importIndex(indexName, importDir, solrUrl, clear, threads, resume);
                     } catch (IOException | SolrServerException | SolrImportExportException e) {
                         System.err.println("Problem encountered while trying to import index " + indexName + ".");
                         e.printStackTrace(System.err);
@@ -175,7 +221,8 @@ public class SolrImportExport {
                         String solrUrl = makeSolrUrl(indexName);
                         String timeField = makeTimeField(indexName);
                         exportIndex(indexName, exportDir, solrUrl, timeField, lastValue,
-                                    line.hasOption(OVERWRITE_OPTION));
+                                    line.hasOption(OVERWRITE_OPTION), threads, line.hasOption(COMPRESS_OPTION),
+                                    resume);
                     } catch (SolrServerException | IOException | SolrImportExportException e) {
                         System.err.println("Problem encountered while trying to export index " + indexName + ".");
                         e.printStackTrace(System.err);
@@ -186,7 +233,7 @@ public class SolrImportExport {
                     try {
                         boolean keepExport = line.hasOption(KEEP_OPTION);
                         boolean overwrite = line.hasOption(OVERWRITE_OPTION);
-                        reindex(indexName, directoryName, keepExport, overwrite);
+                        reindex(indexName, directoryName, keepExport, overwrite, threads);
                     } catch (IOException | SolrServerException | SolrImportExportException e) {
                         e.printStackTrace();
                     }
@@ -226,6 +273,13 @@ public class SolrImportExport {
             " a number, in which case the last [number] of days are exported, through to now (use 0 for today's data)" +
             "." +
             " Date calculation is done in UTC. If omitted, all documents are exported.");
+        options.addOption(THREADS_OPTION, "threads", true, "The number of month slices exported, or files imported," +
+            " concurrently. Default: " + DEFAULT_THREADS + ", see solr.import-export.threads.");
+        options.addOption(COMPRESS_OPTION, "compress", false, "When exporting, write GZIP-compressed CSV files." +
+            " Compressed files are recognized automatically when importing.");
+        options.addOption(RESUME_OPTION, "resume", false, "When exporting or importing, skip the month slices or the" +
+            " files already completed by a previous interrupted run, as recorded in the manifest file written to" +
+            " the directory. When importing, the index is not cleared if the run is resumed.");
         return options;
     }
 
@@ -240,9 +294,10 @@ public class SolrImportExport {
      *                      export directory was created by this method, the export directory will be deleted at the
      *                      end of the reimport.
      * @param overwrite     allow export files to be overwritten during re-index
+     * @param threads       the number of month slices exported, or files imported, concurrently
      */
-    private static void reindex(String indexName, String exportDirName, boolean keepExport, boolean overwrite)
-        throws IOException, SolrServerException, SolrImportExportException {
+    private static void reindex(String indexName, String exportDirName, boolean keepExport, boolean overwrite,
+                                int threads) throws IOException, SolrServerException, SolrImportExportException {
         String tempIndexName = indexName + "-temp";
 
         String origSolrUrl = makeSolrUrl(indexName);
@@ -334,10 +389,10 @@ public class SolrImportExport {
 
             try {
                 // export from the actual core (from temp core name, actual data dir)
-                exportIndex(indexName, exportDir, tempSolrUrl, timeField, overwrite);
+                exportIndex(indexName, exportDir, tempSolrUrl, timeField, null, overwrite, threads, false, false);
 
                 // clear actual core (temp core name, clearing actual data dir) & import
-                importIndex(indexName, exportDir, tempSolrUrl, true);
+                importIndex(indexName, exportDir, tempSolrUrl, true, threads, false);
             } catch (IOException | SolrServerException | SolrImportExportException e) {
                 // we ran into some problems with the export/import -- keep going to try and restore the solr cores
                 System.err.println(
@@ -359,9 +414,9 @@ public class SolrImportExport {
             // export all docs from now-temp core into export directory -- this won't cause name collisions with the
             // actual export
             // because the core name for the temporary export has -temp in it while the actual core doesn't
-            exportIndex(tempIndexName, exportDir, tempSolrUrl, timeField, overwrite);
+            exportIndex(tempIndexName, exportDir, tempSolrUrl, timeField, null, overwrite, threads, false, false);
             // ...and import them into the now-again-actual core *without* clearing
-            importIndex(tempIndexName, exportDir, origSolrUrl, false);
+            importIndex(tempIndexName, exportDir, origSolrUrl, false, threads, false);
 
             // commit changes
             origSolr.commit();
@@ -416,30 +471,75 @@ public class SolrImportExport {
      */
     public static void importIndex(final String indexName, File fromDir, String solrUrl, boolean clear)
         throws IOException, SolrServerException, SolrImportExportException {
+        importIndex(indexName, fromDir, solrUrl, clear, getThreads(null), false);
+    }
+
+    /**
+     * Import previously exported documents (or externally created CSV files that have the appropriate structure)
+     * into the specified index, sending up to the given number of files concurrently. The files, optionally
+     * GZIP-compressed, are streamed to Solr so the memory used doesn't depend on their size. The imported files
+     * are recorded in a manifest in the source directory, so that an interrupted import can be resumed.
+     *
+     * @param indexName the index to import.
+     * @param fromDir   the source directory. Must exist and be readable.
+     *                  The importer will look for files whose name starts with <pre>indexName</pre>
+     *                  and ends with .csv or .csv.gz (to match what is generated by #makeExportFilename).
+     * @param solrUrl   The solr URL for the index to export. Must not be null.
+     * @param clear     if true, clear the index before importing, unless an import is resumed.
+     * @param threads   the number of files to import concurrently.
+     * @param resume    if true, skip the files already imported according to the manifest.
+     * @throws IOException               if there is a problem reading the files or communicating with Solr.
+     * @throws SolrServerException       if there is a problem reading the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem communicating with Solr.
+     */
+    public static void importIndex(final String indexName, File fromDir, String solrUrl, boolean clear, int threads,
+                                   boolean resume) throws IOException, SolrServerException, SolrImportExportException {
         if (StringUtils.isBlank(solrUrl)) {
             throw new SolrImportExportException(
                 "Could not construct solr URL for index" + indexName + ", aborting export.");
         }
 
+        importIndex(indexName, fromDir, new HttpSolrClient.Builder(solrUrl).build(), clear, threads, resume);
+    }
+
+    /**
+     * Import previously exported documents into the index of the given Solr client, see
+     * #importIndex(String, File, String, boolean, int, boolean).
+     *
+     * @param indexName the index to import.
+     * @param fromDir   the source directory. Must exist and be readable.
+     * @param solr      the client of the index to import.
+     * @param clear     if true, clear the index before importing, unless an import is resumed.
+     * @param threads   the number of files to import concurrently.
+     * @param resume    if true, skip the files already imported according to the manifest.
+     * @throws IOException               if there is a problem reading the files or communicating with Solr.
+     * @throws SolrServerException       if there is a problem reading the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem communicating with Solr.
+     */
+    public static void importIndex(final String indexName, File fromDir, SolrClient solr, boolean clear, int threads,
+                                   boolean resume) throws IOException, SolrServerException, SolrImportExportException {
         if (!fromDir.exists() || !fromDir.canRead()) {
             throw new SolrImportExportException("Source directory " + fromDir
                                                     + " doesn't exist or isn't readable, aborting export of index "
                                                     + indexName);
         }
 
-        HttpSolrClient solr = new HttpSolrClient.Builder(solrUrl).build();
-
         // must get multivalue fields before clearing
-        List<String> multivaluedFields = getMultiValuedFields(solr);
+        MultiValuedFields multivaluedFields = getMultiValuedFields(solr);
+
+        SliceManifest manifest = new SliceManifest(new File(fromDir, indexName + IMPORT_MANIFEST_SUFFIX), resume);
 
-        if (clear) {
-            clearIndex(solrUrl);
+        if (clear && manifest.isEmpty()) {
+            clearIndex(solr);
+        } else if (clear) {
+            log.info("Resuming the import of index " + indexName + ", the index is not cleared");
         }
 
         File[] files = fromDir.listFiles(new FilenameFilter() {
             @Override
             public boolean accept(File dir, String name) {
-                return name.startsWith(indexName + EXPORT_SEP) && name.endsWith(".csv");
+                return name.startsWith(indexName + EXPORT_SEP)
+                    && (name.endsWith(CSV_EXTENSION) || name.endsWith(CSV_EXTENSION + COMPRESSED_EXTENSION));
             }
         });
 
@@ -450,32 +550,60 @@ public class SolrImportExport {
 
         Arrays.sort(files);
 
-        for (File file : files) {
-            log.info("Importing file " + file.getCanonicalPath());
-            ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update/csv");
-            contentStreamUpdateRequest.setParam("skip", "_version_");
-            for (String mvField : multivaluedFields) {
-                contentStreamUpdateRequest.setParam("f." + mvField + ".split", "true");
-                contentStreamUpdateRequest.setParam("f." + mvField + ".separator", MULTIPLE_VALUES_SPLITTER);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Map<String, Future<?>> imports = new LinkedHashMap<>();
+        try {
+            for (File file : files) {
+                if (manifest.contains(file.getName())) {
+                    log.info("Skipping file " + file.getCanonicalPath() + ", already imported");
+                    continue;
+                }
+                imports.put(file.getName(), executor.submit((Callable<Void>) () -> {
+                    importFile(solr, file, multivaluedFields);
+                    manifest.add(file.getName());
+                    return null;
+                }));
             }
-            contentStreamUpdateRequest.setParam("stream.contentType", "text/csv;charset=utf-8");
-            contentStreamUpdateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
-            contentStreamUpdateRequest.addFile(file, "text/csv;charset=utf-8");
+            waitFor(imports, "import", indexName);
+        } finally {
+            executor.shutdownNow();
+            // commit what has been imported, also on failure, so that a resumed import starts from there
+            solr.commit(true, true);
+        }
+    }
 
-            solr.request(contentStreamUpdateRequest);
+    /**
+     * Stream the given CSV file, optionally GZIP-compressed, to the update handler of the given Solr index. No commit
+     * is performed.
+     */
+    private static void importFile(SolrClient solr, File file, MultiValuedFields multivaluedFields)
+        throws IOException, SolrServerException {
+        log.info("Importing file " + file.getCanonicalPath());
+        CsvFileStream csvFileStream = new CsvFileStream(file);
+        ContentStreamUpdateRequest contentStreamUpdateRequest = new ContentStreamUpdateRequest("/update/csv");
+        contentStreamUpdateRequest.setParam("skip", "_version_");
+        for (String fieldName : csvFileStream.getHeader()) {
+            if (multivaluedFields.contains(fieldName)) {
+                contentStreamUpdateRequest.setParam("f." + fieldName + ".split", "true");
+                contentStreamUpdateRequest.setParam("f." + fieldName + ".separator", MULTIPLE_VALUES_SPLITTER);
+                contentStreamUpdateRequest.setParam("f." + fieldName + ".escape", MULTIPLE_VALUES_ESCAPE);
+            }
         }
+        contentStreamUpdateRequest.setParam("stream.contentType", CSV_CONTENT_TYPE);
+        contentStreamUpdateRequest.addContentStream(csvFileStream);
 
-        solr.commit(true, true);
+        solr.request(contentStreamUpdateRequest);
     }
 
     /**
-     * Determine the names of all multi-valued fields from the data in the index.
+     * Determine the multi-valued fields from the data in the index and from its schema, which also covers the fields
+     * of an empty index.
      *
      * @param solr the solr server to query.
-     * @return A list containing all multi-valued fields, or an empty list if none are found / there aren't any.
+     * @return the multi-valued fields, empty if none are found / there aren't any.
      */
-    private static List<String> getMultiValuedFields(HttpSolrClient solr) {
-        List<String> result = new ArrayList<>();
+    private static MultiValuedFields getMultiValuedFields(SolrClient solr) {
+        MultiValuedFields result = new MultiValuedFields();
         try {
             LukeRequest request = new LukeRequest();
             // this needs to be a non-schema request, otherwise we'll miss dynamic fields
@@ -483,7 +611,23 @@ public class SolrImportExport {
             Map<String, LukeResponse.FieldInfo> fields = response.getFieldInfo();
             for (LukeResponse.FieldInfo info : fields.values()) {
                 if (info.getSchema().contains(FieldFlag.MULTI_VALUED.getAbbreviation() + "")) {
-                    result.add(info.getName());
+                    result.fields.add(info.getName());
+                }
+            }
+
+            LukeRequest schemaRequest = new LukeRequest();
+            schemaRequest.setShowSchema(true);
+            LukeResponse schemaResponse = schemaRequest.process(solr);
+            for (LukeResponse.FieldInfo info : schemaResponse.getFieldInfo().values()) {
+                if (isMultiValued(info)) {
+                    result.fields.add(info.getName());
+                }
+            }
+            if (schemaResponse.getDynamicFieldInfo() != null) {
+                for (LukeResponse.FieldInfo info : schemaResponse.getDynamicFieldInfo().values()) {
+                    if (isMultiValued(info)) {
+                        result.dynamicFields.add(info.getName());
+                    }
                 }
             }
         } catch (IOException | SolrServerException e) {
@@ -492,6 +636,10 @@ public class SolrImportExport {
         return result;
     }
 
+    private static boolean isMultiValued(LukeResponse.FieldInfo info) {
+        return info.getFlags() != null && info.getFlags().contains(FieldFlag.MULTI_VALUED);
+    }
+
     /**
      * Remove all documents from the Solr index with the given URL, then commit and optimise the index.
      *
@@ -500,7 +648,17 @@ public class SolrImportExport {
      * @throws SolrServerException if there is a problem in communicating with Solr.
      */
     public static void clearIndex(String solrUrl) throws IOException, SolrServerException {
-        HttpSolrClient solr = new HttpSolrClient.Builder(solrUrl).build();
+        clearIndex(new HttpSolrClient.Builder(solrUrl).build());
+    }
+
+    /**
+     * Remove all documents from the Solr index of the given client, then commit and optimise the index.
+     *
+     * @param solr the client of the Solr core to clear.
+     * @throws IOException         if there is a problem in communicating with Solr.
+     * @throws SolrServerException if there is a problem in communicating with Solr.
+     */
+    public static void clearIndex(SolrClient solr) throws IOException, SolrServerException {
         solr.deleteByQuery("*:*");
         solr.commit();
         solr.optimize();
@@ -526,6 +684,35 @@ public class SolrImportExport {
     public static void exportIndex(String indexName, File toDir, String solrUrl, String timeField, String fromWhen,
                                    boolean overwrite)
         throws SolrServerException, IOException, SolrImportExportException {
+        exportIndex(indexName, toDir, solrUrl, timeField, fromWhen, overwrite, getThreads(null), false, false);
+    }
+
+    /**
+     * Exports documents from the given index to the specified target directory in batches of #ROWS_PER_FILE,
+     * starting at fromWhen (or all documents). The documents are split by month and up to the given number of
+     * months are exported concurrently, each one paging through the index with a cursor. The exported months are
+     * recorded in a manifest in the target directory, so that an interrupted export can be resumed.
+     * See #makeExportFilename for the file names that are generated.
+     *
+     * @param indexName The index to export.
+     * @param toDir     The target directory for the export. Will be created if it doesn't exist yet. The directory
+     *                  must be writeable.
+     * @param solrUrl   The solr URL for the index to export. Must not be null.
+     * @param timeField The time field to use for splitting the export. Must not be null.
+     * @param fromWhen  Optionally, from when to export. See options for allowed values. If null or empty, all
+     *                  documents will be exported.
+     * @param overwrite If set, allow export files to be overwritten
+     * @param threads   The number of months to export concurrently.
+     * @param compress  If set, write GZIP-compressed files.
+     * @param resume    If set, skip the months already exported according to the manifest and allow the files of
+     *                  the other months to be overwritten.
+     * @throws SolrServerException       if there is a problem with exporting the index.
+     * @throws IOException               if there is a problem creating the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem in communicating with Solr.
+     */
+    public static void exportIndex(String indexName, File toDir, String solrUrl, String timeField, String fromWhen,
+                                   boolean overwrite, int threads, boolean compress, boolean resume)
+        throws SolrServerException, IOException, SolrImportExportException {
         log.info(String.format("Export Index [%s] to [%s] using [%s] Time Field[%s] FromWhen[%s]", indexName, toDir,
                                solrUrl, timeField, fromWhen));
         if (StringUtils.isBlank(solrUrl)) {
@@ -533,14 +720,38 @@ public class SolrImportExport {
                 "Could not construct solr URL for index" + indexName + ", aborting export.");
         }
 
+        exportIndex(indexName, toDir, new HttpSolrClient.Builder(solrUrl).build(), timeField, fromWhen, overwrite,
+            threads, compress, resume);
+    }
+
+    /**
+     * Exports documents from the index of the given Solr client to the specified target directory, see
+     * #exportIndex(String, File, String, String, String, boolean, int, boolean, boolean).
+     *
+     * @param indexName The index to export.
+     * @param toDir     The target directory for the export. The directory must exist and be writeable.
+     * @param solr      The client of the index to export.
+     * @param timeField The time field to use for splitting the export. Must not be null.
+     * @param fromWhen  Optionally, from when to export. See options for allowed values. If null or empty, all
+     *                  documents will be exported.
+     * @param overwrite If set, allow export files to be overwritten
+     * @param threads   The number of months to export concurrently.
+     * @param compress  If set, write GZIP-compressed files.
+     * @param resume    If set, skip the months already exported according to the manifest and allow the files of
+     *                  the other months to be overwritten.
+     * @throws SolrServerException       if there is a problem with exporting the index.
+     * @throws IOException               if there is a problem creating the files or communicating with Solr.
+     * @throws SolrImportExportException if there is a problem in communicating with Solr.
+     */
+    public static void exportIndex(String indexName, File toDir, SolrClient solr, String timeField, String fromWhen,
+                                   boolean overwrite, int threads, boolean compress, boolean resume)
+        throws SolrServerException, IOException, SolrImportExportException {
         if (!toDir.exists() || !toDir.canWrite()) {
             throw new SolrImportExportException("Target directory " + toDir
                                                     + " doesn't exist or is not writable, aborting export of index "
                                                     + indexName);
         }
 
-        HttpSolrClient solr = new HttpSolrClient.Builder(solrUrl).build();
-
         SolrQuery query = new SolrQuery("*:*");
         if (StringUtils.isNotBlank(fromWhen)) {
             String lastValueFilter = makeFilterQuery(timeField, fromWhen);
@@ -554,17 +765,15 @@ public class SolrImportExport {
         Map<String, FieldStatsInfo> fieldInfo = solr.query(query).getFieldStatsInfo();
         if (fieldInfo == null || !fieldInfo.containsKey(timeField)) {
             log.warn(String.format(
-                "Queried [%s].  No fieldInfo found while exporting index [%s] time field [%s] from [%s]. Export " +
-                    "cancelled.",
-                solrUrl, indexName, timeField, fromWhen));
+                "No fieldInfo found while exporting index [%s] time field [%s] from [%s]. Export cancelled.",
+                indexName, timeField, fromWhen));
             return;
         }
         FieldStatsInfo timeFieldInfo = fieldInfo.get(timeField);
         if (timeFieldInfo == null || timeFieldInfo.getMin() == null) {
             log.warn(String.format(
-                "Queried [%s].  No earliest date found while exporting index [%s] time field [%s] from [%s]. Export " +
-                    "cancelled.",
-                solrUrl, indexName, timeField, fromWhen));
+                "No earliest date found while exporting index [%s] time field [%s] from [%s]. Export cancelled.",
+                indexName, timeField, fromWhen));
             return;
         }
         Date earliestTimestamp = (Date) timeFieldInfo.getMin();
@@ -581,32 +790,79 @@ public class SolrImportExport {
 
         List<RangeFacet.Count> monthFacets = solr.query(query).getFacetRanges().get(0).getCounts();
 
-        for (RangeFacet.Count monthFacet : monthFacets) {
-            Date monthStartDate;
-            String monthStart = monthFacet.getValue();
-            try {
-                monthStartDate = SOLR_DATE_FORMAT_NO_MS.get().parse(monthStart);
-            } catch (java.text.ParseException e) {
-                throw new SolrImportExportException("Could not read start of month batch as date: " + monthStart, e);
-            }
-            int docsThisMonth = monthFacet.getCount();
+        String[] filterQueries = query.getFilterQueries();
+        String uniqueKey = getUniqueKey(solr);
+        MultiValuedFields multivaluedFields = getMultiValuedFields(solr);
+        SliceManifest manifest = new SliceManifest(new File(toDir, indexName + EXPORT_MANIFEST_SUFFIX), resume);
 
-            SolrQuery monthQuery = new SolrQuery("*:*");
-            monthQuery.setRows(ROWS_PER_FILE);
-            monthQuery.set("wt", "csv");
-            monthQuery.set("fl", "*");
-            monthQuery.setParam("csv.mv.separator", MULTIPLE_VALUES_SPLITTER);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Map<String, Future<?>> exports = new LinkedHashMap<>();
+        try {
+            for (RangeFacet.Count monthFacet : monthFacets) {
+                Date monthStartDate;
+                String monthStart = monthFacet.getValue();
+                try {
+                    monthStartDate = SOLR_DATE_FORMAT_NO_MS.get().parse(monthStart);
+                } catch (java.text.ParseException e) {
+                    throw new SolrImportExportException("Could not read start of month batch as date: " + monthStart,
+                        e);
+                }
+                int docsThisMonth = monthFacet.getCount();
 
-            monthQuery.addFilterQuery(timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH]");
+                if (manifest.contains(monthStart)) {
+                    log.info(String.format("Skipping Index [%s] Month [%s], already exported", indexName, monthStart));
+                    continue;
+                }
+
+                SolrQuery monthQuery = new SolrQuery("*:*");
+                monthQuery.setRows(ROWS_PER_FILE);
+                monthQuery.setFields("*");
+                if (filterQueries != null) {
+                    monthQuery.addFilterQuery(filterQueries);
+                }
+                // the end of the month is excluded, as in the range facet, otherwise the documents at midnight of
+                // the first day of a month would be exported with the previous month too
+                monthQuery.addFilterQuery(timeField + ":[" + monthStart + " TO " + monthStart + "+1MONTH}");
+                // a cursor requires a sort on the unique key
+                monthQuery.addSort(uniqueKey, SolrQuery.ORDER.asc);
+
+                exports.put(monthStart, executor.submit((Callable<Void>) () -> {
+                    exportMonth(solr, monthQuery, indexName, toDir, monthStart, monthStartDate, docsThisMonth,
+                        multivaluedFields, overwrite || resume, compress);
+                    manifest.add(monthStart);
+                    return null;
+                }));
+            }
+            waitFor(exports, "export", indexName);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-            for (int i = 0; i < docsThisMonth; i += ROWS_PER_FILE) {
-                monthQuery.setStart(i);
-                URL url = new URL(solrUrl + "/select?" + monthQuery.toString());
+    /**
+     * Export the documents of a month to the target directory, one file for each page of #ROWS_PER_FILE documents
+     * retrieved with a cursor.
+     */
+    private static void exportMonth(SolrClient solr, SolrQuery monthQuery, String indexName, File toDir,
+                                    String monthStart, Date monthStartDate, int docsThisMonth,
+                                    MultiValuedFields multivaluedFields, boolean overwrite, boolean compress)
+        throws SolrServerException, IOException, SolrImportExportException {
 
-                File file = new File(toDir.getCanonicalPath(),
-                                     makeExportFilename(indexName, monthStartDate, docsThisMonth, i));
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        int i = 0;
+        while (true) {
+            monthQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solr.query(monthQuery);
+            SolrDocumentList documents = response.getResults();
+
+            if (!documents.isEmpty()) {
+                // the month may have grown since it was counted, make sure that each batch gets its own file
+                long totalRecords = Math.max(docsThisMonth, (long) i + documents.size());
+                String filename = makeExportFilename(indexName, monthStartDate, totalRecords, i)
+                    + (compress ? COMPRESSED_EXTENSION : "");
+                File file = new File(toDir.getCanonicalPath(), filename);
                 if (file.createNewFile() || overwrite) {
-                    FileUtils.copyURLToFile(url, file);
+                    writeCsvFile(file, documents, multivaluedFields, compress);
                     String message = String.format(
                         "Solr export to file [%s] complete.  Export for Index [%s] Month [%s] Batch [%d] Num Docs [%d]",
                         file.getCanonicalPath(), indexName, monthStart, i, docsThisMonth);
@@ -625,8 +881,102 @@ public class SolrImportExport {
                     throw new
                         SolrImportExportException(message);
                 }
+                i += documents.size();
+            }
+
+            String nextCursorMark = response.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+                return;
+            }
+            cursorMark = nextCursorMark;
+        }
+    }
+
+    /**
+     * Write the given documents to a CSV file with the same structure of the files generated by the Solr CSV
+     * response writer: a header with the stored fields of the documents and the values of the multi-valued fields
+     * joined by #MULTIPLE_VALUES_SPLITTER.
+     */
+    private static void writeCsvFile(File file, SolrDocumentList documents, MultiValuedFields multivaluedFields,
+                                     boolean compress) throws IOException {
+        Set<String> fieldNames = new TreeSet<>();
+        for (SolrDocument document : documents) {
+            fieldNames.addAll(document.getFieldNames());
+        }
+        fieldNames.remove("_version_");
+
+        OutputStream outputStream = new FileOutputStream(file);
+        if (compress) {
+            outputStream = new GZIPOutputStream(outputStream);
+        }
+
+        try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream, UTF_8))) {
+            writer.writeNext(fieldNames.toArray(new String[0]), false);
+            for (SolrDocument document : documents) {
+                String[] row = fieldNames.stream()
+                    .map(fieldName -> toCsvValue(document.getFieldValues(fieldName),
+                        multivaluedFields.contains(fieldName)))
+                    .toArray(String[]::new);
+                writer.writeNext(row, false);
+            }
+        }
+    }
+
+    private static String toCsvValue(Collection<Object> values, boolean multivalued) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.stream()
+            .map(value -> value instanceof Date ? SOLR_DATE_FORMAT.get().format((Date) value) : value.toString())
+            .map(value -> multivalued ? escapeMultipleValue(value) : value)
+            .collect(Collectors.joining(MULTIPLE_VALUES_SPLITTER));
+    }
+
+    /**
+     * Escape a value of a multi-valued field, so that Solr splits the joined values back at #MULTIPLE_VALUES_SPLITTER
+     * only. The line breaks are escaped too, since Solr splits the values at them and unescapes them back.
+     */
+    private static String escapeMultipleValue(String value) {
+        return value.replace(MULTIPLE_VALUES_ESCAPE, MULTIPLE_VALUES_ESCAPE + MULTIPLE_VALUES_ESCAPE)
+            .replace(MULTIPLE_VALUES_SPLITTER, MULTIPLE_VALUES_ESCAPE + MULTIPLE_VALUES_SPLITTER)
+            .replace("\n", MULTIPLE_VALUES_ESCAPE + "n")
+            .replace("\r", MULTIPLE_VALUES_ESCAPE + "r");
+    }
+
+    /**
+     * Wait for the completion of all the given tasks. The failure of a task does not stop the other ones, the
+     * failed tasks are reported at the end so that the run can be resumed.
+     */
+    private static void waitFor(Map<String, Future<?>> tasks, String action, String indexName)
+        throws SolrImportExportException {
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Future<?>> task : tasks.entrySet()) {
+            try {
+                task.getValue().get();
+            } catch (ExecutionException e) {
+                log.error("Could not " + action + " " + task.getKey() + " of index " + indexName, e.getCause());
+                failures.add(task.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SolrImportExportException("Interrupted during the " + action + " of index " + indexName, e);
             }
         }
+
+        if (!failures.isEmpty()) {
+            throw new SolrImportExportException("Could not " + action + " " + failures + " of index " + indexName
+                + ", run again with the -" + RESUME_OPTION + " option to process only the missing ones");
+        }
+    }
+
+    /**
+     * Returns the name of the unique key field of the given Solr index.
+     */
+    private static String getUniqueKey(SolrClient solr) throws SolrImportExportException {
+        try {
+            return new SchemaRequest.UniqueKey().process(solr).getUniqueKey();
+        } catch (IOException | SolrServerException e) {
+            throw new SolrImportExportException("Cannot determine the unique key field: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -722,6 +1072,18 @@ public class SolrImportExport {
         return null; // TODO some sort of default?
     }
 
+    /**
+     * Returns the number of concurrent exports or imports to use: the given value, if any, or the configured one.
+     *
+     * @param threadsValue the number of threads from the command line. Optional.
+     * @return the number of threads, at least one
+     */
+    private static int getThreads(String threadsValue) {
+        int threads = StringUtils.isNotBlank(threadsValue) ? Integer.parseInt(threadsValue)
+            : configurationService.getIntProperty("solr.import-export.threads", DEFAULT_THREADS);
+        return Math.max(threads, 1);
+    }
+
     /**
      * A utility method to print out all available command-line options and exit given the specified code.
      *
@@ -737,4 +1099,105 @@ public class SolrImportExport {
         System.out.println("\tsolr-reindex-statistics [-a reindex] [-i statistics]");
         System.exit(exitCode);
     }
+
+    /**
+     * The slices of an export (the months) or of an import (the files) that have been completed, recorded one per
+     * line in a file, so that an interrupted run can skip them.
+     */
+    private static class SliceManifest {
+
+        private final File file;
+
+        private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+        SliceManifest(File file, boolean resume) throws IOException {
+            this.file = file;
+            if (resume && file.exists()) {
+                Files.readAllLines(file.toPath(), UTF_8).stream()
+                    .filter(StringUtils::isNotBlank)
+                    .forEach(completed::add);
+            } else {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+
+        boolean contains(String slice) {
+            return completed.contains(slice);
+        }
+
+        boolean isEmpty() {
+            return completed.isEmpty();
+        }
+
+        synchronized void add(String slice) throws IOException {
+            Files.write(file.toPath(), List.of(slice), UTF_8, CREATE, APPEND);
+            completed.add(slice);
+        }
+
+    }
+
+    /**
+     * The multi-valued fields of an index: the names of the fields and the patterns of the dynamic fields, starting
+     * or ending with a wildcard.
+     */
+    private static class MultiValuedFields {
+
+        private final Set<String> fields = new TreeSet<>();
+
+        private final Set<String> dynamicFields = new TreeSet<>();
+
+        boolean contains(String fieldName) {
+            if (fields.contains(fieldName)) {
+                return true;
+            }
+            for (String dynamicField : dynamicFields) {
+                boolean matches = dynamicField.startsWith("*")
+                    ? fieldName.endsWith(dynamicField.substring(1))
+                    : fieldName.startsWith(StringUtils.removeEnd(dynamicField, "*"));
+                if (matches) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * A CSV file to be sent to Solr, decompressed on the fly if its name ends with #COMPRESSED_EXTENSION.
+     */
+    private static class CsvFileStream extends ContentStreamBase {
+
+        private final File file;
+
+        CsvFileStream(File file) {
+            this.file = file;
+            this.name = file.getName();
+            this.contentType = CSV_CONTENT_TYPE;
+            this.size = isCompressed() ? null : file.length();
+        }
+
+        @Override
+        public InputStream getStream() throws IOException {
+            InputStream inputStream = new FileInputStream(file);
+            return isCompressed() ? new GZIPInputStream(inputStream) : inputStream;
+        }
+
+        /**
+         * Returns the field names in the first line of the file.
+         */
+        String[] getHeader() throws IOException {
+            try (CSVReader reader = new CSVReader(new InputStreamReader(getStream(), UTF_8))) {
+                String[] header = reader.readNext();
+                return header != null ? header : new String[0];
+            } catch (CsvValidationException e) {
+                throw new IOException("Cannot read the header of " + file.getName(), e);
+            }
+        }
+
+        private boolean isCompressed() {
+            return file.getName().endsWith(COMPRESSED_EXTENSION);
+        }
+
+    }
 }
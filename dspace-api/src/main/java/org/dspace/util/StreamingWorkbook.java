@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.io.IOException;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Extension of {@link SXSSFWorkbook} used to write large xlsx workbooks: only
+ * the last rows of each sheet (the row access window) are kept in memory, the
+ * older ones are flushed to compressed temporary files that are merged in the
+ * final workbook when it is written.
+ *
+ * Unlike {@link SXSSFWorkbook}, the temporary files are deleted when the
+ * workbook is closed. The rows created through {@link #createHeaderRow(String)}
+ * are kept in memory until the workbook is written, so they can be modified
+ * at any time, for example to append new header cells.
+ */
+public class StreamingWorkbook extends SXSSFWorkbook {
+
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = 100;
+
+    public StreamingWorkbook(int rowAccessWindowSize) {
+        super(new XSSFWorkbook(), rowAccessWindowSize > 0 ? rowAccessWindowSize : DEFAULT_ROW_ACCESS_WINDOW_SIZE,
+            true, false);
+    }
+
+    /**
+     * Create a new sheet with the given name, tracking all its columns for auto
+     * sizing.
+     *
+     * @param  sheetname the name of the sheet
+     * @return           the created sheet
+     */
+    @Override
+    public SXSSFSheet createSheet(String sheetname) {
+        SXSSFSheet sheet = super.createSheet(sheetname);
+        sheet.trackAllColumnsForAutoSizing();
+        return sheet;
+    }
+
+    /**
+     * Create the first row of the sheet with the given name. This row is not
+     * subject to the row access window, so its cells can be added until the
+     * workbook is written. The streamed rows of the same sheet must start from
+     * the row number 1.
+     *
+     * @param  sheetname the name of the sheet
+     * @return           the created row
+     */
+    public Row createHeaderRow(String sheetname) {
+        return getXSSFWorkbook().getSheet(sheetname).createRow(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            dispose();
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create TABLE item_access_status
+-----------------------------------------------------------------------------------
+
+CREATE TABLE item_access_status
+(
+    uuid            UUID          NOT NULL  PRIMARY KEY REFERENCES item(uuid) ON DELETE CASCADE,
+    access_status   VARCHAR(64)   NOT NULL,
+    next_update     TIMESTAMP,
+    last_update     TIMESTAMP     NOT NULL
+);
+CREATE INDEX idx_item_access_status_next_update ON item_access_status(next_update);
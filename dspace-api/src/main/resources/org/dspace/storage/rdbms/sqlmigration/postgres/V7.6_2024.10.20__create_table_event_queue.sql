@@ -0,0 +1,44 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create TABLE event_queue
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE event_queue_id_seq;
+
+CREATE TABLE event_queue
+(
+    id              BIGINT        NOT NULL  PRIMARY KEY,
+    consumer        VARCHAR(64)   NOT NULL,
+    event_type      INTEGER       NOT NULL,
+    subject_type    INTEGER       NOT NULL,
+    subject_id      UUID,
+    object_type     INTEGER       NOT NULL,
+    object_id       UUID,
+    detail          TEXT,
+    identifiers     TEXT,
+    transaction_id  VARCHAR(64),
+    created         TIMESTAMP     NOT NULL,
+    attempts        INTEGER       NOT NULL  DEFAULT 0,
+    retry_after     TIMESTAMP,
+    last_error      TEXT,
+    dead            BOOLEAN       NOT NULL  DEFAULT FALSE
+);
+CREATE INDEX idx_event_queue_consumer ON event_queue(consumer, dead, id);
+
+-----------------------------------------------------------------------------------
+-- Create TABLE event_queue_lease
+-----------------------------------------------------------------------------------
+
+CREATE TABLE event_queue_lease
+(
+    consumer        VARCHAR(64)   NOT NULL  PRIMARY KEY,
+    owner           VARCHAR(64)   NOT NULL,
+    expires         TIMESTAMP     NOT NULL
+);
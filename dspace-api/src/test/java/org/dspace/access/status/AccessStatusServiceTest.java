@@ -7,6 +7,7 @@
  */
 package org.dspace.access.status;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 
@@ -123,4 +124,13 @@ public class AccessStatusServiceTest extends AbstractUnitTest {
         String status = accessStatusService.getAccessStatus(context, item);
         assertNotEquals("testGetAccessStatus 0", status, DefaultAccessStatusHelper.UNKNOWN);
     }
+
+    @Test
+    public void testGetStoredAccessStatus() throws Exception {
+        accessStatusService.updateAccessStatus(context, item);
+        String status = accessStatusService.getAccessStatus(context, item);
+        assertEquals("testGetStoredAccessStatus 0", DefaultAccessStatusHelper.METADATA_ONLY, status);
+        // without bitstreams no change of the access status is scheduled
+        assertEquals("testGetStoredAccessStatus 1", 0, accessStatusService.updateExpiredAccessStatuses(context));
+    }
 }
@@ -8,6 +8,7 @@
 package org.dspace.access.status;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -275,6 +276,8 @@ public class DefaultAccessStatusHelperTest  extends AbstractUnitTest {
         assertThat("testWithEmbargo 0", status, equalTo(DefaultAccessStatusHelper.EMBARGO));
         String embargoDate = helper.getEmbargoFromItem(context, itemWithEmbargo, threshold);
         assertThat("testWithEmbargo 1", embargoDate, equalTo(policy.getStartDate().toString()));
+        Date nextChange = helper.getNextAccessStatusChange(context, itemWithEmbargo, threshold);
+        assertThat("testWithEmbargo 2", nextChange, equalTo(policy.getStartDate()));
     }
 
     /**
@@ -302,6 +305,8 @@ public class DefaultAccessStatusHelperTest  extends AbstractUnitTest {
         context.restoreAuthSystemState();
         String status = helper.getAccessStatusFromItem(context, itemWithDateRestriction, threshold);
         assertThat("testWithDateRestriction 0", status, equalTo(DefaultAccessStatusHelper.RESTRICTED));
+        Date nextChange = helper.getNextAccessStatusChange(context, itemWithDateRestriction, threshold);
+        assertThat("testWithDateRestriction 1", nextChange, nullValue());
     }
 
     /**
@@ -0,0 +1,128 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.io.IOUtils.toInputStream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Date;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.access.status.DefaultAccessStatusHelper;
+import org.dspace.access.status.ItemAccessStatus;
+import org.dspace.access.status.dao.ItemAccessStatusDAO;
+import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BundleService;
+import org.dspace.core.Constants;
+import org.dspace.eperson.Group;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link AccessStatusConsumer}, which stores again
+ * the access status of the items whose policies, bundles or bitstreams change.
+ */
+public class AccessStatusConsumerIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ItemAccessStatusDAO itemAccessStatusDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(ItemAccessStatusDAO.class).get(0);
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final ResourcePolicyService resourcePolicyService =
+        AuthorizeServiceFactory.getInstance().getResourcePolicyService();
+
+    private final BundleService bundleService = ContentServiceFactory.getInstance().getBundleService();
+
+    private Collection collection;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        collection = CollectionBuilder.createCollection(context, CommunityBuilder.createCommunity(context).build())
+            .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testReadPolicyChangeStoresTheNewStatus() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        Bitstream bitstream = BitstreamBuilder.createBitstream(context, item, toInputStream("content", UTF_8))
+            .build();
+        context.restoreAuthSystemState();
+
+        ItemAccessStatus storedStatus = itemAccessStatusDAO.findByItem(context, item.getID());
+        assertThat(storedStatus.getAccessStatus(), is(DefaultAccessStatusHelper.OPEN_ACCESS));
+        assertThat(storedStatus.getNextUpdate(), nullValue());
+
+        // the anonymous read policy now starts in the future, the item is embargoed until then
+        context.turnOffAuthorisationSystem();
+        ResourcePolicy policy = getAnonymousReadPolicy(bitstream);
+        policy.setStartDate(DateUtils.addMonths(new Date(), 6));
+        resourcePolicyService.update(context, policy);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        storedStatus = itemAccessStatusDAO.findByItem(context, item.getID());
+        assertThat(storedStatus.getAccessStatus(), is(DefaultAccessStatusHelper.EMBARGO));
+        assertThat(storedStatus.getNextUpdate(), notNullValue());
+    }
+
+    @Test
+    public void testBundleChangeStoresTheNewStatus() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        Bitstream bitstream = BitstreamBuilder.createBitstream(context, item, toInputStream("content", UTF_8))
+            .build();
+        context.restoreAuthSystemState();
+
+        assertThat(itemAccessStatusDAO.findByItem(context, item.getID()).getAccessStatus(),
+            is(DefaultAccessStatusHelper.OPEN_ACCESS));
+
+        // without bitstreams only the metadata of the item are available
+        context.turnOffAuthorisationSystem();
+        bitstream = context.reloadEntity(bitstream);
+        Bundle bundle = bitstream.getBundles().get(0);
+        bundleService.removeBitstream(context, bundle, bitstream);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertThat(itemAccessStatusDAO.findByItem(context, item.getID()).getAccessStatus(),
+            is(DefaultAccessStatusHelper.METADATA_ONLY));
+    }
+
+    private ResourcePolicy getAnonymousReadPolicy(Bitstream bitstream) throws Exception {
+        return authorizeService.getPoliciesActionFilter(context, context.reloadEntity(bitstream), Constants.READ)
+            .stream()
+            .filter(policy -> policy.getGroup() != null)
+            .filter(policy -> StringUtils.equals(policy.getGroup().getName(), Group.ANONYMOUS))
+            .findFirst()
+            .orElseThrow();
+    }
+
+}
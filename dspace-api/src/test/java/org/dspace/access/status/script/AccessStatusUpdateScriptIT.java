@@ -0,0 +1,152 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.access.status.script;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.io.IOUtils.toInputStream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Date;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.access.status.DefaultAccessStatusHelper;
+import org.dspace.access.status.ItemAccessStatus;
+import org.dspace.access.status.dao.ItemAccessStatusDAO;
+import org.dspace.access.status.factory.AccessStatusServiceFactory;
+import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.eperson.Group;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the update of the stored access statuses whose
+ * scheduled change is due, by {@link AccessStatusService} and by the
+ * {@link AccessStatusUpdateScript}.
+ */
+public class AccessStatusUpdateScriptIT extends AbstractIntegrationTestWithDatabase {
+
+    private final AccessStatusService accessStatusService =
+        AccessStatusServiceFactory.getInstance().getAccessStatusService();
+
+    private final ItemAccessStatusDAO itemAccessStatusDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(ItemAccessStatusDAO.class).get(0);
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final ResourcePolicyService resourcePolicyService =
+        AuthorizeServiceFactory.getInstance().getResourcePolicyService();
+
+    private Collection collection;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        collection = CollectionBuilder.createCollection(context, CommunityBuilder.createCommunity(context).build())
+            .build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void cleanup() {
+        context.setDispatcher(null);
+    }
+
+    @Test
+    public void testUpdateExpiredAccessStatuses() throws Exception {
+        Item item = createEmbargoedItem();
+        Item otherItem = createEmbargoedItem();
+
+        liftEmbargo(item);
+
+        assertThat(accessStatusService.updateExpiredAccessStatuses(context), is(1));
+
+        ItemAccessStatus storedStatus = itemAccessStatusDAO.findByItem(context, item.getID());
+        assertThat(storedStatus.getAccessStatus(), is(DefaultAccessStatusHelper.OPEN_ACCESS));
+        assertThat(storedStatus.getNextUpdate(), nullValue());
+
+        // the status whose change is not due yet is left untouched
+        storedStatus = itemAccessStatusDAO.findByItem(context, otherItem.getID());
+        assertThat(storedStatus.getAccessStatus(), is(DefaultAccessStatusHelper.EMBARGO));
+
+        assertThat(accessStatusService.updateExpiredAccessStatuses(context), is(0));
+    }
+
+    @Test
+    public void testAccessStatusUpdateScript() throws Exception {
+        Item item = createEmbargoedItem();
+
+        liftEmbargo(item);
+
+        assertThat(runDSpaceScript("access-status-update"), is(0));
+
+        context.commit();
+        ItemAccessStatus storedStatus = itemAccessStatusDAO.findByItem(context, item.getID());
+        assertThat(storedStatus.getAccessStatus(), is(DefaultAccessStatusHelper.OPEN_ACCESS));
+        assertThat(storedStatus.getNextUpdate(), nullValue());
+    }
+
+    private Item createEmbargoedItem() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Embargoed item").build();
+        BitstreamBuilder.createBitstream(context, item, toInputStream("content", UTF_8))
+            .withEmbargoPeriod("6 months")
+            .build();
+        context.commit();
+        context.restoreAuthSystemState();
+
+        ItemAccessStatus storedStatus = itemAccessStatusDAO.findByItem(context, item.getID());
+        assertThat(storedStatus.getAccessStatus(), is(DefaultAccessStatusHelper.EMBARGO));
+        assertThat(storedStatus.getNextUpdate(), notNullValue());
+        return item;
+    }
+
+    /**
+     * Move the start of the anonymous read policy of the item and the next
+     * update of its stored status to yesterday, as if the embargo had been
+     * lifted, without the consumer storing the status again.
+     */
+    private void liftEmbargo(Item item) throws Exception {
+        Date yesterday = DateUtils.addDays(new Date(), -1);
+
+        context.turnOffAuthorisationSystem();
+        context.setDispatcher("noindex");
+        item = context.reloadEntity(item);
+        Bitstream bitstream = item.getBundles(Constants.CONTENT_BUNDLE_NAME).get(0).getBitstreams().get(0);
+        ResourcePolicy policy = authorizeService.getPoliciesActionFilter(context, bitstream, Constants.READ).stream()
+            .filter(readPolicy -> readPolicy.getGroup() != null)
+            .filter(readPolicy -> StringUtils.equals(readPolicy.getGroup().getName(), Group.ANONYMOUS))
+            .findFirst()
+            .orElseThrow();
+        policy.setStartDate(yesterday);
+        resourcePolicyService.update(context, policy);
+        itemAccessStatusDAO.save(context, item.getID(), DefaultAccessStatusHelper.EMBARGO, yesterday);
+        context.commit();
+        context.setDispatcher(null);
+        context.restoreAuthSystemState();
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkimport.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dspace.app.bulkimport.util.ChildRowsIndex.SpilledRow;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ChildRowsIndex}.
+ */
+public class ChildRowsIndexTest {
+
+    @Test
+    public void testRowsAreReadBackInInsertionOrder() throws Exception {
+
+        try (ChildRowsIndex index = new ChildRowsIndex()) {
+
+            index.add("ROW-ID::2", "dc.contributor.author", 1, List.of("ROW-ID::2", "Author1"));
+            index.add("b5ad6864-012d-4989-8e0d-4acfa1156fd9", "dc.contributor.author", 2, List.of("b5ad", "Author2"));
+            index.add("ROW-ID::2", "oairecerif.author.affiliation", 1, List.of("ROW-ID::2", "Università"));
+            index.add("ROW-ID::3", "dc.contributor.author", 3, List.of("ROW-ID::3", ""));
+
+            assertThat(index.size(), is(4));
+
+            List<SpilledRow> rows = index.get("b5ad6864-012d-4989-8e0d-4acfa1156fd9", "ROW-ID::2");
+            assertThat(rows, hasSize(3));
+            assertThat(rows.stream().map(SpilledRow::getRowNum).collect(Collectors.toList()), contains(1, 2, 1));
+            assertThat(rows.get(0).getSheetName(), is("dc.contributor.author"));
+            assertThat(rows.get(1).getValues(), contains("b5ad", "Author2"));
+            assertThat(rows.get(2).getSheetName(), is("oairecerif.author.affiliation"));
+            assertThat(rows.get(2).getValues(), contains("ROW-ID::2", "Università"));
+
+            assertThat(index.get("ROW-ID::3").get(0).getValues(), contains("ROW-ID::3", ""));
+            assertThat(index.get("ROW-ID::4"), empty());
+        }
+
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRowsCannotBeAddedAfterReading() throws Exception {
+
+        try (ChildRowsIndex index = new ChildRowsIndex()) {
+            index.add("ROW-ID::2", "dc.contributor.author", 1, List.of("ROW-ID::2", "Author1"));
+            index.get("ROW-ID::2");
+            index.add("ROW-ID::3", "dc.contributor.author", 2, List.of("ROW-ID::3", "Author2"));
+        }
+
+    }
+
+}
@@ -8,6 +8,7 @@
 package org.dspace.app.itemexport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -16,6 +17,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.io.IOUtils;
@@ -227,6 +229,68 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkZip(zipFileName);
     }
 
+    @Test
+    public void exportZipItemWithBitstreamsWithoutStreaming() throws Exception {
+        configurationService.setProperty("org.dspace.app.itemexport.zip.streaming", false);
+        try {
+            exportZipItemWithBitstreams();
+        } finally {
+            configurationService.setProperty("org.dspace.app.itemexport.zip.streaming", true);
+        }
+    }
+
+    @Test
+    public void exportZipCollectionEntries() throws Exception {
+        // create items
+        context.turnOffAuthorisationSystem();
+        Item item1 = ItemBuilder.createItem(context, collection)
+                .withTitle(title)
+                .withMetadata("dc", "date", "issued", dateIssued)
+                .build();
+        Item item2 = ItemBuilder.createItem(context, collection)
+                .withTitle(title + " 2")
+                .build();
+        // create bitstreams with the same name
+        for (String bitstreamContent : new String[] { "FIRST", "SECOND" }) {
+            try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, item1, is)
+                        .withName("Bitstream")
+                        .withMimeType("text/plain")
+                        .build();
+            }
+        }
+        context.restoreAuthSystemState();
+
+        String[] args = new String[] { "export", "-t", "COLLECTION",
+                "-i", collection.getHandle(), "-d", tempDir.toString(), "-z", zipFileName, "-n", "1" };
+        perfomExportScript(args);
+
+        checkZip(zipFileName);
+        assertFalse(Files.exists(tempDir.resolve(zipFileName + "_tmp")));
+
+        try (ZipFile zipFile = new ZipFile(tempDir.resolve(zipFileName).toFile())) {
+            assertNotNull(zipFile.getEntry("1/dublin_core.xml"));
+            assertNotNull(zipFile.getEntry("2/dublin_core.xml"));
+
+            // the items are exported in the order of their ids
+            String dir1 = readEntry(zipFile, "1/handle").trim().equals(item1.getHandle()) ? "1/" : "2/";
+            String dir2 = dir1.equals("1/") ? "2/" : "1/";
+            assertEquals(item2.getHandle(), readEntry(zipFile, dir2 + "handle").trim());
+
+            String dublinCore = readEntry(zipFile, dir1 + "dublin_core.xml");
+            assertTrue(dublinCore.contains(title));
+            assertTrue(dublinCore.contains(dateIssued));
+            assertEquals(collection.getHandle(), readEntry(zipFile, dir1 + "collections").trim());
+            assertEquals("FIRST", readEntry(zipFile, dir1 + "Bitstream"));
+            assertEquals("SECOND", readEntry(zipFile, dir1 + "1_Bitstream"));
+
+            String contents = readEntry(zipFile, dir1 + "contents");
+            assertTrue(contents.startsWith("Bitstream\tbundle:ORIGINAL"));
+            assertTrue(contents.contains("1_Bitstream\tbundle:ORIGINAL"));
+            assertEquals("", readEntry(zipFile, dir2 + "contents"));
+        }
+    }
+
     @Test
     public void migrateCollection() throws Exception {
         // create items
@@ -339,6 +403,12 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
                 .count());
     }
 
+    private String readEntry(ZipFile zipFile, String name) throws Exception {
+        try (InputStream is = zipFile.getInputStream(zipFile.getEntry(name))) {
+            return IOUtils.toString(is, CharEncoding.UTF_8);
+        }
+    }
+
     /**
      * Check migration of collection
      * @throws Exception
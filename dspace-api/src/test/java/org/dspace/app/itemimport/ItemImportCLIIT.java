@@ -8,11 +8,13 @@
 package org.dspace.app.itemimport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +32,7 @@ import org.dspace.content.EntityType;
 import org.dspace.content.Item;
 import org.dspace.content.Relationship;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.services.ConfigurationService;
@@ -53,6 +56,7 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
     private static final String personTitle = "Person Test";
 
     private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+    private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
     private RelationshipService relationshipService = ContentServiceFactory.getInstance().getRelationshipService();
     private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
     private Collection collection;
@@ -137,6 +141,97 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkBitstream();
     }
 
+    @Test
+    public void importItemsBySafWithBitstreamsConcurrently() throws Exception {
+        // create a SAF with more items than reader threads
+        Path safDir = Files.createDirectory(Path.of(tempDir.toString() + "/test"));
+        for (int i = 0; i < 5; i++) {
+            Path itemDir = Files.createDirectory(Path.of(safDir.toString() + "/item_00" + i));
+            Files.copy(getClass().getResourceAsStream("dublin_core.xml"),
+                    Path.of(itemDir.toString() + "/dublin_core.xml"));
+            Path contentsFile = Files.createFile(Path.of(itemDir.toString() + "/contents"));
+            Files.writeString(contentsFile,
+                    "file1.txt");
+            Path bitstreamFile = Files.createFile(Path.of(itemDir.toString() + "/file1.txt"));
+            Files.writeString(bitstreamFile,
+                    "TEST TEST TEST " + i);
+        }
+
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", safDir.toString(), "-m", tempDir.toString() + "/mapfile.out", "-t", "2" };
+        perfomImportScript(args);
+
+        Iterator<Item> items = itemService.findArchivedByMetadataField(
+                context, "dc", "title", null, publicationTitle);
+        int count = 0;
+        while (items.hasNext()) {
+            Item item = items.next();
+            assertEquals(itemService.getMetadata(item, "dc.date.issued"), "1990");
+            Bitstream bitstream = item.getBundles("ORIGINAL").get(0).getBitstreams().get(0);
+            assertEquals(bitstream.getName(), "file1.txt");
+            count++;
+        }
+        assertEquals(5, count);
+    }
+
+    @Test
+    public void importItemsBySafConcurrentlyWithFailure() throws Exception {
+        Path safDir = createSafWithBitstreams(5);
+        // the fourth item fails, while the third one is imported in the same transaction
+        Files.writeString(Path.of(safDir.toString() + "/item_003/dublin_core.xml"),
+                "<dublin_core><dcvalue element=\"unknown\" qualifier=\"none\">Unknown</dcvalue></dublin_core>");
+        Path mapFile = Path.of(tempDir.toString() + "/mapfile.out");
+
+        configurationService.setProperty("itemimport.concurrent.batch-size", 2);
+        try {
+            String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c",
+                    collection.getID().toString(), "-s", safDir.toString(), "-m", mapFile.toString(), "-t", "2" };
+            assertThrows(Exception.class, () -> perfomImportScript(args));
+        } finally {
+            configurationService.setProperty("itemimport.concurrent.batch-size", null);
+        }
+
+        // only the items of the committed transaction are imported and recorded in the mapfile
+        assertEquals(2, countImportedItems());
+        assertEquals(List.of("item_000", "item_001"), Files.readAllLines(mapFile).stream()
+                .map(line -> line.split(" ")[0])
+                .collect(Collectors.toList()));
+        // and the bitstreams prepared for the other items are deleted
+        assertEquals(2L, countBitstreams());
+        assertEquals(0L, countOrphanBitstreams());
+    }
+
+    @Test
+    public void resumeImportItemsBySafConcurrentlyAfterFailure() throws Exception {
+        Path safDir = createSafWithBitstreams(5);
+        Path validMetadata = Path.of(tempDir.toString() + "/dublin_core.xml");
+        Files.move(Path.of(safDir.toString() + "/item_003/dublin_core.xml"), validMetadata);
+        Files.writeString(Path.of(safDir.toString() + "/item_003/dublin_core.xml"),
+                "<dublin_core><dcvalue element=\"unknown\" qualifier=\"none\">Unknown</dcvalue></dublin_core>");
+        Path mapFile = Path.of(tempDir.toString() + "/mapfile.out");
+
+        configurationService.setProperty("itemimport.concurrent.batch-size", 2);
+        try {
+            String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c",
+                    collection.getID().toString(), "-s", safDir.toString(), "-m", mapFile.toString(), "-t", "2" };
+            assertThrows(Exception.class, () -> perfomImportScript(args));
+
+            // resume the import once the failing item is fixed
+            Files.move(validMetadata, Path.of(safDir.toString() + "/item_003/dublin_core.xml"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            String[] resumeArgs = new String[] { "import", "-a", "-R", "-e", admin.getEmail(), "-c",
+                    collection.getID().toString(), "-s", safDir.toString(), "-m", mapFile.toString(), "-t", "2" };
+            perfomImportScript(resumeArgs);
+        } finally {
+            configurationService.setProperty("itemimport.concurrent.batch-size", null);
+        }
+
+        // every item is imported once, with its bitstream
+        assertEquals(5, countImportedItems());
+        assertEquals(5L, countBitstreams());
+        assertEquals(0L, countOrphanBitstreams());
+    }
+
     @Test
     public void importItemBySafWithAnotherMetadataSchema() throws Exception {
         // create simple SAF
@@ -603,6 +698,56 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         assertEquals(item.getID(), relationships.get(0).getLeftItem().getID());
     }
 
+    /**
+     * Create a SAF with the given number of items, each with a bitstream.
+     */
+    private Path createSafWithBitstreams(int items) throws Exception {
+        Path safDir = Files.createDirectory(Path.of(tempDir.toString() + "/test"));
+        for (int i = 0; i < items; i++) {
+            Path itemDir = Files.createDirectory(Path.of(safDir.toString() + "/item_00" + i));
+            Files.copy(getClass().getResourceAsStream("dublin_core.xml"),
+                    Path.of(itemDir.toString() + "/dublin_core.xml"));
+            Files.writeString(Path.of(itemDir.toString() + "/contents"), "file1.txt");
+            Files.writeString(Path.of(itemDir.toString() + "/file1.txt"), "TEST TEST TEST " + i);
+        }
+        return safDir;
+    }
+
+    private int countImportedItems() throws Exception {
+        Iterator<Item> items = itemService.findArchivedByMetadataField(
+                context, "dc", "title", null, publicationTitle);
+        int count = 0;
+        while (items.hasNext()) {
+            Item item = items.next();
+            assertEquals(1, item.getBundles("ORIGINAL").get(0).getBitstreams().size());
+            count++;
+        }
+        return count;
+    }
+
+    private long countBitstreams() throws Exception {
+        long count = 0;
+        for (Bitstream bitstream : bitstreamService.findAll(context)) {
+            if (!bitstream.isDeleted()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the bitstreams that are neither deleted nor in a bundle.
+     */
+    private long countOrphanBitstreams() throws Exception {
+        long count = 0;
+        for (Bitstream bitstream : bitstreamService.findAll(context)) {
+            if (!bitstream.isDeleted() && bitstream.getBundles().isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private void perfomImportScript(String[] args)
             throws Exception {
         runDSpaceScript(args);
@@ -0,0 +1,155 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the delta mode of {@link SitemapsOrgGenerator}.
+ */
+public class SitemapsOrgGeneratorTest {
+
+    private static final long PAST_MODIFIED = 1_000_000_000_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testDeltaModeReplacesOnlyChangedFiles() throws Exception {
+
+        File outputDir = temporaryFolder.newFolder();
+
+        assertThat(generate(outputDir, "a", "b", "c"), is(3));
+        for (int i = 0; i < 3; i++) {
+            new File(outputDir, "sitemap" + i + ".xml").setLastModified(PAST_MODIFIED);
+        }
+
+        assertThat(generate(outputDir, "a", "b", "d"), is(3));
+
+        assertThat(new File(outputDir, "sitemap0.xml").lastModified(), is(PAST_MODIFIED));
+        assertThat(new File(outputDir, "sitemap1.xml").lastModified(), is(PAST_MODIFIED));
+        assertThat(new File(outputDir, "sitemap2.xml").lastModified(), greaterThan(PAST_MODIFIED));
+        assertThat(read(outputDir, "sitemap2.xml"), containsString("http://localhost/d"));
+        assertThat(read(outputDir, "sitemap_index.xml"), containsString("<lastmod>2001-09-"));
+        assertThat(new File(outputDir, "sitemap2.xml.tmp").exists(), is(false));
+
+    }
+
+    @Test
+    public void testDeltaModeKeepsThePartitionsInTheirFiles() throws Exception {
+
+        File outputDir = temporaryFolder.newFolder();
+
+        assertThat(generatePartitions(outputDir, List.of("a"), List.of("b", "c"), List.of()), is(3));
+        for (int i = 0; i < 3; i++) {
+            new File(outputDir, "sitemap" + i + ".xml").setLastModified(PAST_MODIFIED);
+        }
+
+        // the url added to the first partition doesn't move the others to the next files
+        assertThat(generatePartitions(outputDir, List.of("a", "a2"), List.of("b", "c"), List.of()), is(3));
+
+        assertThat(new File(outputDir, "sitemap0.xml").lastModified(), greaterThan(PAST_MODIFIED));
+        assertThat(new File(outputDir, "sitemap1.xml").lastModified(), is(PAST_MODIFIED));
+        assertThat(new File(outputDir, "sitemap2.xml").lastModified(), is(PAST_MODIFIED));
+        assertThat(read(outputDir, "sitemap0.xml"), containsString("http://localhost/a2"));
+        assertThat(read(outputDir, "sitemap2.xml"), not(containsString("<url>")));
+
+        // a removed url changes the file of its partition
+        assertThat(generatePartitions(outputDir, List.of("a", "a2"), List.of("b"), List.of()), is(3));
+
+        assertThat(new File(outputDir, "sitemap1.xml").lastModified(), greaterThan(PAST_MODIFIED));
+        assertThat(read(outputDir, "sitemap1.xml"), not(containsString("http://localhost/c")));
+        assertThat(new File(outputDir, "sitemap2.xml").lastModified(), is(PAST_MODIFIED));
+
+    }
+
+    @Test
+    public void testDeltaModeReplacesTheFilesWithUrlsModifiedAfterThem() throws Exception {
+
+        File outputDir = temporaryFolder.newFolder();
+
+        assertThat(generate(outputDir, "a"), is(1));
+        File file = new File(outputDir, "sitemap0.xml");
+        file.setLastModified(PAST_MODIFIED);
+
+        AbstractGenerator generator = new SitemapsOrgGenerator(outputDir, "http://localhost/sitemap", ".xml");
+        generator.setDeltaMode(true);
+        generator.addURL("http://localhost/a", new Date(PAST_MODIFIED + 1000));
+        generator.finish();
+
+        assertThat(file.lastModified(), greaterThan(PAST_MODIFIED));
+        assertThat(read(outputDir, "sitemap0.xml"), containsString("<lastmod>2001-09-"));
+
+    }
+
+    @Test
+    public void testFilesOfPreviousRunAreRemoved() throws Exception {
+
+        File outputDir = temporaryFolder.newFolder();
+
+        assertThat(generate(outputDir, "a", "b", "c"), is(3));
+        assertThat(generate(outputDir, "a"), is(1));
+
+        assertThat(new File(outputDir, "sitemap0.xml").exists(), is(true));
+        assertThat(new File(outputDir, "sitemap1.xml").exists(), is(false));
+        assertThat(new File(outputDir, "sitemap2.xml").exists(), is(false));
+
+    }
+
+    private int generate(File outputDir, String... paths) throws Exception {
+        AbstractGenerator generator = new SitemapsOrgGenerator(outputDir, "http://localhost/sitemap", ".xml") {
+
+            @Override
+            public int getMaxURLs() {
+                return 1;
+            }
+
+        };
+        generator.setDeltaMode(true);
+
+        for (String path : List.of(paths)) {
+            generator.addURL("http://localhost/" + path, null);
+        }
+
+        return generator.finish();
+    }
+
+    @SafeVarargs
+    private int generatePartitions(File outputDir, List<String>... partitions) throws Exception {
+        AbstractGenerator generator = new SitemapsOrgGenerator(outputDir, "http://localhost/sitemap", ".xml");
+        generator.setDeltaMode(true);
+
+        for (List<String> paths : partitions) {
+            for (String path : paths) {
+                generator.addURL("http://localhost/" + path, null);
+            }
+            generator.closeFile();
+        }
+
+        return generator.finish();
+    }
+
+    private String read(File outputDir, String filename) throws Exception {
+        return FileUtils.readFileToString(new File(outputDir, filename), StandardCharsets.UTF_8);
+    }
+
+}
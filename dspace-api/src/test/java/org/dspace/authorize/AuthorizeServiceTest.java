@@ -9,6 +9,7 @@
 package org.dspace.authorize;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
@@ -18,6 +19,7 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
@@ -127,6 +129,57 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
             throw new AssertionError(ex);
         }
     }
+
+    @Test
+    public void testauthorizeMethodWithPrefetchedPolicies() {
+        EPerson eperson1;
+        EPerson eperson2;
+        Group group;
+
+        Community parent;
+        Community dso;
+        try {
+            context.turnOffAuthorisationSystem();
+
+            eperson1 = ePersonService.create(context);
+            eperson2 = ePersonService.create(context);
+            group = groupService.create(context);
+            // A group has to have a name, otherwise there are queries that break
+            groupService.setName(group, "My test group 3");
+            groupService.addMember(context, group, eperson1);
+            groupService.update(context, group);
+
+            // the policies of the parent community must be prefetched too, to check the inherited admin rights
+            parent = communityService.create(null, context);
+            dso = communityService.createSubcommunity(context, parent);
+
+            authorizeService.addPolicy(context, dso, Constants.WRITE, group);
+            authorizeService.addPolicy(context, parent, Constants.ADMIN, eperson2);
+            context.commit();
+        } catch (SQLException | AuthorizeException ex) {
+            throw new AssertionError(ex);
+        } finally {
+            context.restoreAuthSystemState();
+        }
+
+        Context.Mode originalMode = context.getCurrentMode();
+        try {
+            context.setMode(Context.Mode.READ_ONLY);
+            authorizeService.prefetchPolicies(context, List.of(dso));
+
+            Assert.assertNotNull(context.getCachedResourcePolicies(dso));
+            Assert.assertNotNull(context.getCachedResourcePolicies(parent));
+
+            Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson1, dso, Constants.WRITE, false));
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson1, dso, Constants.ADD, false));
+            Assert.assertFalse(authorizeService.isAdmin(context, eperson1, dso));
+            Assert.assertTrue(authorizeService.isAdmin(context, eperson2, dso));
+        } catch (SQLException ex) {
+            throw new AssertionError(ex);
+        } finally {
+            context.setMode(originalMode);
+        }
+    }
 //
 //    @Test
 //    public void testIsCollectionAdmin() throws SQLException, AuthorizeException, IOException {
@@ -0,0 +1,352 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.builder.util;
+
+import java.io.ByteArrayInputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EntityTypeBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.RelationshipBuilder;
+import org.dspace.builder.RelationshipTypeBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.EntityType;
+import org.dspace.content.Item;
+import org.dspace.content.RelationshipType;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.EntityTypeService;
+import org.dspace.content.service.RelationshipTypeService;
+import org.dspace.core.Context;
+
+/**
+ * Generates a synthetic CRIS dataset with the test builders: OrgUnits with a
+ * parent organization, Persons affiliated to them, Projects with investigators
+ * and coordinators, and Publications with authors, projects and bitstreams.
+ * The links between the entities are authority values, and the Publications
+ * are also related to their projects with relationships.
+ *
+ * The dataset is generated from the given seed, so that the same seed and
+ * scale always produce the same metadata and links. All the objects are
+ * registered with the builders, so they are removed by the builders cleanup.
+ */
+public class CrisDatasetGenerator {
+
+    private static final String[] SUBJECTS = { "Physics", "Chemistry", "Biology", "Mathematics", "Medicine",
+        "Computer science", "Economics", "History", "Linguistics", "Engineering", "Astronomy", "Geology" };
+
+    private static final String[] WORDS = { "analysis", "model", "data", "network", "quantum", "cell", "protein",
+        "climate", "learning", "system", "theory", "evaluation", "method", "structure", "dynamics", "health" };
+
+    private final Context context;
+
+    private final Random random;
+
+    private int orgUnits = 10;
+
+    private int persons = 100;
+
+    private int projects = 20;
+
+    private int publications = 500;
+
+    private int maxAuthors = 8;
+
+    private int bitstreamsPerPublication = 1;
+
+    private int bitstreamSize = 16 * 1024;
+
+    public CrisDatasetGenerator(Context context, long seed) {
+        this.context = context;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Multiply the default number of entities by the given factor.
+     *
+     * @param  scale the scale factor
+     * @return       this generator
+     */
+    public CrisDatasetGenerator withScale(double scale) {
+        this.orgUnits = Math.max(1, (int) (orgUnits * scale));
+        this.persons = Math.max(1, (int) (persons * scale));
+        this.projects = Math.max(1, (int) (projects * scale));
+        this.publications = Math.max(1, (int) (publications * scale));
+        return this;
+    }
+
+    public CrisDatasetGenerator withOrgUnits(int orgUnits) {
+        this.orgUnits = orgUnits;
+        return this;
+    }
+
+    public CrisDatasetGenerator withPersons(int persons) {
+        this.persons = persons;
+        return this;
+    }
+
+    public CrisDatasetGenerator withProjects(int projects) {
+        this.projects = projects;
+        return this;
+    }
+
+    public CrisDatasetGenerator withPublications(int publications) {
+        this.publications = publications;
+        return this;
+    }
+
+    public CrisDatasetGenerator withMaxAuthors(int maxAuthors) {
+        this.maxAuthors = maxAuthors;
+        return this;
+    }
+
+    public CrisDatasetGenerator withBitstreamsPerPublication(int bitstreamsPerPublication) {
+        this.bitstreamsPerPublication = bitstreamsPerPublication;
+        return this;
+    }
+
+    public CrisDatasetGenerator withBitstreamSize(int bitstreamSize) {
+        this.bitstreamSize = bitstreamSize;
+        return this;
+    }
+
+    /**
+     * Generate the dataset. The authorization system must be turned off in
+     * the context.
+     *
+     * @return           the generated dataset
+     * @throws Exception if an error occurs creating the objects
+     */
+    public CrisDataset generate() throws Exception {
+        Community community = CommunityBuilder.createCommunity(context).withName("CRIS dataset").build();
+
+        CrisDataset dataset = new CrisDataset();
+        generateOrgUnits(dataset, createCollection(community, "OrgUnit"));
+        generatePersons(dataset, createCollection(community, "Person"));
+        generateProjects(dataset, createCollection(community, "Project"));
+        generatePublications(dataset, createCollection(community, "Publication"));
+        return dataset;
+    }
+
+    private Collection createCollection(Community community, String entityType) {
+        return CollectionBuilder.createCollection(context, community)
+            .withName(entityType + "s")
+            .withEntityType(entityType)
+            .build();
+    }
+
+    private void generateOrgUnits(CrisDataset dataset, Collection collection) {
+        for (int i = 0; i < orgUnits; i++) {
+            ItemBuilder orgUnit = ItemBuilder.createItem(context, collection)
+                .withEntityType("OrgUnit")
+                .withTitle("Organization " + i)
+                .withOrgUnitLegalName("Organization " + i + " legal name")
+                .withOrgUnitCountry("Country " + random.nextInt(10))
+                .withOrgUnitLocality("City " + random.nextInt(50));
+            // the first organizations are the roots of the others
+            if (i > 0) {
+                Item parent = dataset.orgUnits.get(random.nextInt(Math.min(i, 3)));
+                orgUnit.withParentOrganization(parent.getName(), parent.getID().toString());
+            }
+            dataset.orgUnits.add(orgUnit.build());
+        }
+    }
+
+    private void generatePersons(CrisDataset dataset, Collection collection) {
+        for (int i = 0; i < persons; i++) {
+            Item orgUnit = pick(dataset.orgUnits);
+            String givenName = "Given" + i;
+            String familyName = "Family" + random.nextInt(Math.max(1, persons / 2));
+            dataset.persons.add(ItemBuilder.createItem(context, collection)
+                .withEntityType("Person")
+                .withTitle(familyName + ", " + givenName)
+                .withFullName(givenName + " " + familyName)
+                .withGivenName(givenName)
+                .withFamilyName(familyName)
+                .withPersonMainAffiliationName(orgUnit.getName(), orgUnit.getID().toString())
+                .withPersonEmail("person" + i + "@example.com")
+                .withSubject(pick(SUBJECTS))
+                .withDescriptionAbstract(sentence(10 + random.nextInt(60)))
+                .build());
+        }
+    }
+
+    private void generateProjects(CrisDataset dataset, Collection collection) {
+        for (int i = 0; i < projects; i++) {
+            Item investigator = pick(dataset.persons);
+            Item coordinator = pick(dataset.orgUnits);
+            int startYear = 2000 + random.nextInt(20);
+            ItemBuilder project = ItemBuilder.createItem(context, collection)
+                .withEntityType("Project")
+                .withTitle("Project " + i + " on " + sentence(3))
+                .withAcronym("PRJ" + i)
+                .withProjectStartDate(startYear + "-01-01")
+                .withProjectEndDate((startYear + 1 + random.nextInt(5)) + "-12-31")
+                .withProjectInvestigator(investigator.getName(), investigator.getID().toString())
+                .withProjectCoordinator(coordinator.getName(), coordinator.getID().toString())
+                .withDescriptionAbstract(sentence(20 + random.nextInt(80)));
+            int coinvestigators = random.nextInt(4);
+            for (int j = 0; j < coinvestigators; j++) {
+                Item coinvestigator = pick(dataset.persons);
+                project.withProjectCoinvestigators(coinvestigator.getName(), coinvestigator.getID().toString());
+            }
+            dataset.projects.add(project.build());
+        }
+    }
+
+    private void generatePublications(CrisDataset dataset, Collection collection) throws Exception {
+        RelationshipType projectRelationshipType = findOrCreateProjectRelationshipType();
+
+        for (int i = 0; i < publications; i++) {
+            ItemBuilder publicationBuilder = ItemBuilder.createItem(context, collection)
+                .withEntityType("Publication")
+                .withTitle(StringUtils.capitalize(sentence(4 + random.nextInt(8))))
+                .withIssueDate(String.valueOf(1990 + random.nextInt(35)))
+                .withType("Controlled Vocabulary for Resource Type Genres::text::journal::journal article")
+                .withDescriptionAbstract(sentence(50 + random.nextInt(200)))
+                .withLanguage("en");
+
+            int authors = 1 + random.nextInt(maxAuthors);
+            for (int j = 0; j < authors; j++) {
+                Item author = pick(dataset.persons);
+                publicationBuilder.withAuthor(author.getName(), author.getID().toString());
+            }
+
+            int subjects = 1 + random.nextInt(4);
+            for (int j = 0; j < subjects; j++) {
+                publicationBuilder.withSubject(pick(SUBJECTS));
+            }
+
+            // about a third of the publications are results of a project
+            Item project = random.nextInt(3) == 0 ? pick(dataset.projects) : null;
+            if (project != null) {
+                publicationBuilder.withRelationProject(project.getName(), project.getID().toString());
+            }
+
+            Item publication = publicationBuilder.build();
+            dataset.publications.add(publication);
+
+            if (project != null) {
+                RelationshipBuilder.createRelationshipBuilder(context, publication, project, projectRelationshipType)
+                    .build();
+            }
+
+            for (int j = 0; j < bitstreamsPerPublication; j++) {
+                byte[] content = new byte[bitstreamSize];
+                random.nextBytes(content);
+                dataset.bitstreams.add(BitstreamBuilder
+                    .createBitstream(context, publication, new ByteArrayInputStream(content))
+                    .withName("publication-" + i + "-" + j + ".pdf")
+                    .withMimeType("application/pdf")
+                    .build());
+            }
+        }
+    }
+
+    /**
+     * Returns the relationship type between Publications and Projects, which
+     * may be already defined in the test database.
+     */
+    private RelationshipType findOrCreateProjectRelationshipType() throws SQLException {
+        EntityType publicationType = findOrCreateEntityType("Publication");
+        EntityType projectType = findOrCreateEntityType("Project");
+
+        RelationshipTypeService relationshipTypeService = ContentServiceFactory.getInstance()
+            .getRelationshipTypeService();
+        RelationshipType relationshipType = relationshipTypeService.findbyTypesAndTypeName(context,
+            publicationType, projectType, "isProjectOfPublication", "isPublicationOfProject");
+        if (relationshipType != null) {
+            return relationshipType;
+        }
+
+        return RelationshipTypeBuilder.createRelationshipTypeBuilder(context, publicationType, projectType,
+            "isProjectOfPublication", "isPublicationOfProject", 0, null, 0, null).build();
+    }
+
+    private EntityType findOrCreateEntityType(String label) throws SQLException {
+        EntityTypeService entityTypeService = ContentServiceFactory.getInstance().getEntityTypeService();
+        EntityType entityType = entityTypeService.findByEntityType(context, label);
+        return entityType != null ? entityType : EntityTypeBuilder.createEntityTypeBuilder(context, label).build();
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String sentence(int words) {
+        List<String> sentence = new ArrayList<>(words);
+        for (int i = 0; i < words; i++) {
+            sentence.add(pick(WORDS));
+        }
+        return String.join(" ", sentence);
+    }
+
+    /**
+     * The objects of a generated dataset.
+     */
+    public static class CrisDataset {
+
+        private final List<Item> orgUnits = new ArrayList<>();
+
+        private final List<Item> persons = new ArrayList<>();
+
+        private final List<Item> projects = new ArrayList<>();
+
+        private final List<Item> publications = new ArrayList<>();
+
+        private final List<Bitstream> bitstreams = new ArrayList<>();
+
+        public List<Item> getOrgUnits() {
+            return orgUnits;
+        }
+
+        public List<Item> getPersons() {
+            return persons;
+        }
+
+        public List<Item> getProjects() {
+            return projects;
+        }
+
+        public List<Item> getPublications() {
+            return publications;
+        }
+
+        public List<Bitstream> getBitstreams() {
+            return bitstreams;
+        }
+
+        /**
+         * Returns all the generated items.
+         *
+         * @return the items of every entity type
+         */
+        public List<Item> getItems() {
+            List<Item> items = new ArrayList<>();
+            items.addAll(orgUnits);
+            items.addAll(persons);
+            items.addAll(projects);
+            items.addAll(publications);
+            return items;
+        }
+
+    }
+
+}
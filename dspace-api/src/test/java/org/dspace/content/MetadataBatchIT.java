@@ -0,0 +1,229 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.authority.Choices;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.content.service.MetadataFieldService;
+import org.dspace.event.Event;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the metadata writes performed with a
+ * {@link MetadataBatch}.
+ */
+public class MetadataBatchIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final MetadataFieldService metadataFieldService =
+        ContentServiceFactory.getInstance().getMetadataFieldService();
+
+    private Collection collection;
+
+    private MetadataField subjectField;
+
+    private MetadataField authorField;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, community).build();
+        context.restoreAuthSystemState();
+
+        subjectField = metadataFieldService.findByElement(context, "dc", "subject", null);
+        authorField = metadataFieldService.findByElement(context, "dc", "contributor", "author");
+    }
+
+    @Test
+    public void testWriteMetadata() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        Item item = ItemBuilder.createItem(context, collection)
+            .withTitle("Old title")
+            .withSubject("First")
+            .withSubject("Second")
+            .build();
+
+        Item otherItem = ItemBuilder.createItem(context, collection)
+            .withTitle("Other title")
+            .build();
+
+        MetadataValue title = itemService.getMetadata(item, "dc", "title", null, Item.ANY).get(0);
+        MetadataValue firstSubject = itemService.getMetadata(item, "dc", "subject", null, Item.ANY).get(0);
+
+        MetadataBatch batch = new MetadataBatch()
+            .addValue(item, subjectField, null, "Third")
+            .addValue(item, subjectField, null, "Fou\u0007rth ")
+            .addValue(otherItem, subjectField, "en", "Other subject")
+            .updateValue(title, null, "New title", null, -1)
+            .removeValue(firstSubject);
+
+        itemService.writeMetadata(context, batch);
+
+        // the changed items are evicted from the session and must be reloaded
+        assertThat(context.reloadEntity(item), not(sameInstance(item)));
+        item = context.reloadEntity(item);
+        otherItem = context.reloadEntity(otherItem);
+
+        assertThat(getValues(item, "title"), contains("New title"));
+        assertThat(getValues(item, "subject"), contains("Second", "Third", "Fou rth"));
+        assertThat(getValues(otherItem, "subject"), contains("Other subject"));
+
+        List<MetadataValue> subjects = itemService.getMetadata(item, "dc", "subject", null, Item.ANY);
+        assertThat(subjects.get(1).getPlace(), is(2));
+        assertThat(subjects.get(2).getPlace(), is(3));
+
+        // the modify metadata events are fired by the batch, with the changed fields
+        Map<UUID, String> details = context.getEvents().stream()
+            .filter(event -> event.getEventType() == Event.MODIFY_METADATA)
+            .collect(Collectors.toMap(Event::getSubjectID, Event::getDetail));
+        assertThat(details.get(item.getID()), is("dc_subject, dc_subject, dc_title, dc_subject"));
+        assertThat(details.get(otherItem.getID()), is("dc_subject"));
+
+        context.commit();
+
+        item = context.reloadEntity(item);
+        assertThat(getValues(item, "title"), contains("New title"));
+        assertThat(getValues(item, "subject"), contains("Second", "Third", "Fou rth"));
+
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testUpdatesAreNormalizedLikeInserts() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        Item item = ItemBuilder.createItem(context, collection)
+            .withTitle("Title")
+            .withSubject("Subject")
+            .withAuthor("Author")
+            .build();
+
+        MetadataValue subject = itemService.getMetadata(item, "dc", "subject", null, Item.ANY).get(0);
+        MetadataValue author = itemService.getMetadata(item, "dc", "contributor", "author", Item.ANY).get(0);
+
+        // dc.subject is not authority controlled, dc.contributor.author is
+        MetadataBatch batch = new MetadataBatch()
+            .updateValue(subject, " en ", "New\u0007subject", null, Choices.CF_ACCEPTED)
+            .updateValue(author, null, "New author", "", Choices.CF_ACCEPTED);
+
+        itemService.writeMetadata(context, batch);
+        context.commit();
+
+        item = context.reloadEntity(item);
+        subject = itemService.getMetadata(item, "dc", "subject", null, Item.ANY).get(0);
+        assertThat(subject.getValue(), is("New subject"));
+        assertThat(subject.getLanguage(), is("en"));
+        assertThat(subject.getAuthority(), nullValue());
+        assertThat(subject.getConfidence(), is(Choices.CF_UNSET));
+
+        author = itemService.getMetadata(item, "dc", "contributor", "author", Item.ANY).get(0);
+        assertThat(author.getValue(), is("New author"));
+        assertThat(author.getAuthority(), nullValue());
+        assertThat(author.getConfidence(), is(Choices.CF_ACCEPTED));
+
+        context.restoreAuthSystemState();
+    }
+
+    /**
+     * Write the values of many items in a single batch, mixing plain and
+     * authority controlled values, and check what is read back from the
+     * database. The number of items can be set with the metadata.batch.items
+     * system property, e.g. 100000 for a bulk import sized run.
+     */
+    @Test
+    public void testWriteMetadataOfManyItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        int amount = Integer.getInteger("metadata.batch.items", 200);
+        int valuesPerItem = 5;
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            items.add(ItemBuilder.createItem(context, collection)
+                .withTitle("Item " + i)
+                .withSubject("Existing subject")
+                .withAuthor("Existing author", "existing-author", Choices.CF_ACCEPTED)
+                .build());
+        }
+        context.commit();
+
+        MetadataBatch batch = new MetadataBatch();
+        for (int i = 0; i < amount; i++) {
+            Item item = context.reloadEntity(items.get(i));
+            for (int j = 0; j < valuesPerItem; j++) {
+                batch.addValue(item, subjectField, null, "Subject " + i + "." + j);
+            }
+            batch.addValue(item, authorField, null, "Author " + i, "author-" + i, Choices.CF_ACCEPTED, null);
+            batch.addValue(item, authorField, "en", "Unmatched author " + i, null, Choices.CF_NOTFOUND, null);
+        }
+        itemService.writeMetadata(context, batch);
+        context.commit();
+
+        for (int i = 0; i < amount; i++) {
+            Item item = context.reloadEntity(items.get(i));
+
+            List<MetadataValue> subjects = itemService.getMetadata(item, "dc", "subject", null, Item.ANY);
+            assertThat(subjects, hasSize(valuesPerItem + 1));
+            assertThat(subjects.get(0).getValue(), is("Existing subject"));
+            for (int j = 0; j < valuesPerItem; j++) {
+                MetadataValue subject = subjects.get(j + 1);
+                assertThat(subject.getValue(), is("Subject " + i + "." + j));
+                assertThat(subject.getPlace(), is(j + 1));
+                assertThat(subject.getAuthority(), nullValue());
+                assertThat(subject.getConfidence(), is(Choices.CF_UNSET));
+            }
+
+            List<MetadataValue> authors = itemService.getMetadata(item, "dc", "contributor", "author", Item.ANY);
+            assertThat(authors, hasSize(3));
+            assertThat(authors.get(0).getAuthority(), is("existing-author"));
+            assertThat(authors.get(1).getValue(), is("Author " + i));
+            assertThat(authors.get(1).getPlace(), is(1));
+            assertThat(authors.get(1).getAuthority(), is("author-" + i));
+            assertThat(authors.get(1).getConfidence(), is(Choices.CF_ACCEPTED));
+            assertThat(authors.get(2).getValue(), is("Unmatched author " + i));
+            assertThat(authors.get(2).getLanguage(), is("en"));
+            assertThat(authors.get(2).getPlace(), is(2));
+            assertThat(authors.get(2).getAuthority(), nullValue());
+            assertThat(authors.get(2).getConfidence(), is(Choices.CF_NOTFOUND));
+
+            context.uncacheEntity(item);
+        }
+
+        context.restoreAuthSystemState();
+    }
+
+    private List<String> getValues(Item item, String element) {
+        return itemService.getMetadata(item, "dc", element, null, Item.ANY).stream()
+            .map(MetadataValue::getValue)
+            .collect(Collectors.toList());
+    }
+
+}
@@ -9,12 +9,16 @@ package org.dspace.content;
 
 import java.sql.SQLException;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.content.dao.MetadataFieldDAO;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.MetadataFieldService;
+import org.dspace.utils.DSpace;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -25,6 +29,8 @@ import org.junit.Test;
  */
 public class MetadataFieldPerformanceTest extends AbstractUnitTest {
 
+    private static final Logger log = LogManager.getLogger(MetadataFieldPerformanceTest.class);
+
     private final MetadataFieldService metadataFieldService =
             ContentServiceFactory.getInstance().getMetadataFieldService();
     private final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
@@ -53,6 +59,42 @@ public class MetadataFieldPerformanceTest extends AbstractUnitTest {
                 (((double) duration) / amount) + " ms.", duration < maxDuration);
     }
 
+    @Test
+    public void testRegistrySnapshotAgainstDatabaseQuery() throws SQLException {
+
+        MetadataFieldDAO metadataFieldDAO = new DSpace().getSingletonService(MetadataFieldDAO.class);
+        String[] fields = { "dc.title", "dc.contributor.author", "dc.date.issued", "dc.description.abstract",
+            "dc.identifier.uri", "dc.type" };
+
+        int amount = 20000;
+
+        // warm up both paths, so that the snapshot is built and the query cache is populated
+        for (String field : fields) {
+            MetadataField expected = metadataFieldService.findByString(context, field, '.');
+            String[] parts = field.split("\\.");
+            Assert.assertEquals(expected, metadataFieldDAO.findByElement(context, parts[0], parts[1],
+                parts.length > 2 ? parts[2] : null));
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < amount; i++) {
+            String[] parts = fields[i % fields.length].split("\\.");
+            metadataFieldDAO.findByElement(context, parts[0], parts[1], parts.length > 2 ? parts[2] : null);
+        }
+        long queryDuration = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < amount; i++) {
+            String[] parts = fields[i % fields.length].split("\\.");
+            metadataFieldService.findByElement(context, parts[0], parts[1], parts.length > 2 ? parts[2] : null);
+        }
+        long snapshotDuration = System.nanoTime() - startTime;
+
+        // only reported, the durations depend too much on the machine running the tests to be compared
+        log.info("Metadata field lookups: " + amount + " database queries in " + queryDuration / 1000000 + " ms, "
+            + amount + " registry snapshot lookups in " + snapshotDuration / 1000000 + " ms");
+    }
+
     @Test
     public void testManyMetadataAdds() throws SQLException, AuthorizeException {
         context.turnOffAuthorisationSystem();
@@ -0,0 +1,129 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.dspace.content.dao.MetadataFieldDAO;
+import org.dspace.content.dao.MetadataSchemaDAO;
+import org.dspace.core.Context;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link MetadataRegistryCache}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MetadataRegistryCacheTest {
+
+    @Mock
+    private MetadataFieldDAO metadataFieldDAO;
+
+    @Mock
+    private MetadataSchemaDAO metadataSchemaDAO;
+
+    @Mock
+    private Context context;
+
+    @InjectMocks
+    private MetadataRegistryCache metadataRegistryCache;
+
+    private MetadataSchema dc;
+
+    private MetadataField dcTitle;
+
+    @Before
+    public void setUp() throws Exception {
+        dc = mock(MetadataSchema.class);
+        when(dc.getID()).thenReturn(1);
+        when(dc.getName()).thenReturn("dc");
+
+        dcTitle = mock(MetadataField.class);
+        when(dcTitle.getID()).thenReturn(10);
+        when(dcTitle.getMetadataSchema()).thenReturn(dc);
+        when(dcTitle.getElement()).thenReturn("title");
+
+        when(metadataSchemaDAO.findAll(context, MetadataSchema.class)).thenReturn(List.of(dc));
+        when(metadataFieldDAO.findAll(context, MetadataField.class)).thenReturn(List.of(dcTitle));
+    }
+
+    @Test
+    public void testFindFromSnapshot() throws Exception {
+        when(metadataFieldDAO.findByID(context, MetadataField.class, 10)).thenReturn(dcTitle);
+        when(metadataSchemaDAO.findByID(context, MetadataSchema.class, 1)).thenReturn(dc);
+
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", null), is(dcTitle));
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", ""), is(dcTitle));
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", "alternative"), nullValue());
+        assertThat(metadataRegistryCache.findSchema(context, "dc"), is(dc));
+        assertThat(metadataRegistryCache.findSchema(context, "dcterms"), nullValue());
+
+        // the snapshot is built once
+        verify(metadataFieldDAO, times(1)).findAll(context, MetadataField.class);
+        verify(metadataSchemaDAO, times(1)).findAll(context, MetadataSchema.class);
+    }
+
+    @Test
+    public void testInvalidateAfterCommit() throws Exception {
+        when(metadataFieldDAO.findByID(context, MetadataField.class, 10)).thenReturn(dcTitle);
+        ArgumentCaptor<Runnable> afterCommit = ArgumentCaptor.forClass(Runnable.class);
+        doNothing().when(context).runAfterCommit(afterCommit.capture());
+
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", null), is(dcTitle));
+        metadataRegistryCache.invalidateAfterCommit(context);
+
+        // the snapshot is kept until the commit
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", null), is(dcTitle));
+        verify(metadataFieldDAO, times(1)).findAll(context, MetadataField.class);
+
+        afterCommit.getValue().run();
+
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", null), is(dcTitle));
+        verify(metadataFieldDAO, times(2)).findAll(context, MetadataField.class);
+    }
+
+    @Test
+    public void testOutdatedSnapshotIsDiscarded() throws Exception {
+        // the field has been renamed after the snapshot was built
+        MetadataField renamed = mock(MetadataField.class);
+        when(renamed.getMetadataSchema()).thenReturn(dc);
+        when(renamed.getElement()).thenReturn("subject");
+        when(metadataFieldDAO.findByID(context, MetadataField.class, 10)).thenReturn(renamed);
+
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", null), nullValue());
+        assertThat(metadataRegistryCache.findField(context, "dc", "title", null), nullValue());
+
+        // the outdated snapshot is rebuilt on the next lookup
+        verify(metadataFieldDAO, times(2)).findAll(context, MetadataField.class);
+    }
+
+    @Test
+    public void testNoCommitCallbackWithoutChanges() throws Exception {
+        when(metadataSchemaDAO.findByID(context, MetadataSchema.class, 1)).thenReturn(dc);
+
+        assertThat(metadataRegistryCache.findSchema(context, "dc"), is(dc));
+
+        verify(context, times(0)).runAfterCommit(any());
+    }
+
+}
@@ -315,4 +315,30 @@ public class MetadataSchemaTest extends AbstractUnitTest {
         assertThat("testFind_Context_String 4", found, nullValue());
     }
 
+    /**
+     * Test of find method, of class MetadataSchema, after a schema is renamed.
+     */
+    @Test
+    public void testFind_Context_StringAfterRename() throws Exception {
+        // Allow full Admin perms
+        when(authorizeServiceSpy.isAdmin(context)).thenReturn(true);
+
+        MetadataSchema metadataSchema = metadataSchemaService.create(context, "name4", "namespace4");
+        assertThat("testFind_Context_StringAfterRename 0", metadataSchemaService.find(context, "name4"),
+            equalTo(metadataSchema));
+        // the second lookup is resolved by the registry cache
+        assertThat("testFind_Context_StringAfterRename 1", metadataSchemaService.find(context, "name4"),
+            equalTo(metadataSchema));
+
+        metadataSchema.setName("name5");
+        metadataSchemaService.update(context, metadataSchema);
+
+        assertThat("testFind_Context_StringAfterRename 2", metadataSchemaService.find(context, "name4"),
+            nullValue());
+        assertThat("testFind_Context_StringAfterRename 3", metadataSchemaService.find(context, "name5"),
+            equalTo(metadataSchema));
+        assertThat("testFind_Context_StringAfterRename 4", metadataSchemaService.find(context, ms.getName()),
+            equalTo(ms));
+    }
+
 }
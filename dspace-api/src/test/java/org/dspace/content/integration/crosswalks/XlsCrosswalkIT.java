@@ -21,6 +21,7 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -47,6 +48,8 @@ import org.dspace.core.CrisConstants;
 import org.dspace.eperson.EPerson;
 import org.dspace.layout.CrisLayoutField;
 import org.dspace.layout.LayoutSecurity;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 import org.junit.After;
 import org.junit.Before;
@@ -70,6 +73,8 @@ public class XlsCrosswalkIT extends AbstractIntegrationTestWithDatabase {
 
     private DCInputsReader dcInputsReader;
 
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
     @Before
     public void setup() throws SQLException, AuthorizeException, DCInputsReaderException {
 
@@ -193,6 +198,52 @@ public class XlsCrosswalkIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testDisseminateManyPersonsWithSmallRowAccessWindow() throws Exception {
+
+        configurationService.setProperty("crosswalk.xls.row-access-window", 2);
+
+        context.turnOffAuthorisationSystem();
+
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 1; i <= 5; i++) {
+            items.add(createItem(context, collection)
+                .withEntityType("Person")
+                .withTitle("Person " + i)
+                .withGivenName("Name " + i)
+                .build());
+        }
+
+        context.restoreAuthSystemState();
+
+        try {
+
+            xlsCrosswalk = (XlsCrosswalk) crosswalkMapper.getByType("person-xls");
+            assertThat(xlsCrosswalk, notNullValue());
+            xlsCrosswalk.setDCInputsReader(dcInputsReader);
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            xlsCrosswalk.disseminate(context, items.iterator(), baos);
+
+            Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(baos.toByteArray()));
+            assertThat(workbook.getNumberOfSheets(), equalTo(1));
+
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getPhysicalNumberOfRows(), equalTo(6));
+
+            assertThat(getRowValues(sheet.getRow(0)).get(0), equalTo("Preferred name"));
+            for (int i = 1; i <= 5; i++) {
+                List<String> values = getRowValues(sheet.getRow(i));
+                assertThat(values.get(0), equalTo("Person " + i));
+                assertThat(values.get(4), equalTo("Name " + i));
+            }
+
+        } finally {
+            configurationService.setProperty("crosswalk.xls.row-access-window", null);
+        }
+
+    }
+
     @Test
     public void testDisseminateSinglePerson() throws Exception {
 
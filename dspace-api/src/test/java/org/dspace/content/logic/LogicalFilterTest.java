@@ -7,7 +7,9 @@
  */
 package org.dspace.content.logic;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -19,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
@@ -38,6 +41,7 @@ import org.dspace.content.logic.condition.BitstreamCountCondition;
 import org.dspace.content.logic.condition.Condition;
 import org.dspace.content.logic.condition.InCollectionCondition;
 import org.dspace.content.logic.condition.InCommunityCondition;
+import org.dspace.content.logic.condition.IsArchivedCondition;
 import org.dspace.content.logic.condition.IsWithdrawnCondition;
 import org.dspace.content.logic.condition.MetadataValueMatchCondition;
 import org.dspace.content.logic.condition.MetadataValuesMatchCondition;
@@ -57,6 +61,7 @@ import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.MetadataValueService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
@@ -623,6 +628,70 @@ public class LogicalFilterTest extends AbstractUnitTest {
         }
     }
 
+    /**
+     * Test that the result of a named filter is evaluated once per item when the context is in READ_ONLY mode,
+     * and every time otherwise
+     */
+    @Test
+    public void testFilterResultCachedInReadOnlyMode() throws SQLException {
+        AtomicInteger evaluations = new AtomicInteger();
+        DefaultFilter filter = new DefaultFilter();
+        filter.setBeanName("countingFilter");
+        filter.setStatement((context, item) -> evaluations.incrementAndGet() > 0);
+
+        Context.Mode originalMode = context.getCurrentMode();
+        try {
+            context.setMode(Context.Mode.READ_ONLY);
+            assertTrue(filter.getResult(context, itemOne));
+            assertTrue(filter.getResult(context, itemOne));
+            assertEquals("The filter was evaluated again for the same item in READ_ONLY mode",
+                1, evaluations.get());
+            assertTrue(filter.getResult(context, itemTwo));
+            assertEquals("The filter was not evaluated for a different item", 2, evaluations.get());
+
+            context.setMode(Context.Mode.READ_WRITE);
+            assertTrue(filter.getResult(context, itemOne));
+            assertEquals("The filter result was cached outside READ_ONLY mode", 3, evaluations.get());
+        } catch (LogicalStatementException e) {
+            log.error(e.getMessage());
+            fail("LogicalStatementException thrown testing the filter result cache" + e.getMessage());
+        } finally {
+            context.setMode(originalMode);
+        }
+    }
+
+    /**
+     * Test the translation of filters, operators and conditions to Solr queries
+     */
+    @Test
+    public void testSolrQuery() {
+        Condition withdrawn = new IsWithdrawnCondition();
+        Condition archived = new IsArchivedCondition();
+
+        try {
+            DefaultFilter filter = new DefaultFilter();
+            filter.setStatement(new And(List.of(withdrawn, new Not(archived))));
+            assertEquals("(withdrawn:true AND (search.resourcetype:Item -archived:true))",
+                filter.getSolrQuery(context));
+
+            // the queries matching all the documents are restricted to the items
+            assertEquals("(search.resourcetype:Item -(withdrawn:true OR archived:true))",
+                new Nor(List.of(withdrawn, archived)).getSolrQuery(context));
+            assertEquals("(search.resourcetype:Item -(withdrawn:true AND archived:true))",
+                new Nand(List.of(withdrawn, archived)).getSolrQuery(context));
+            assertEquals("search.resourcetype:Item", new And(new ArrayList<>()).getSolrQuery(context));
+            assertEquals("(*:* -*:*)", new Or(new ArrayList<>()).getSolrQuery(context));
+            assertEquals("search.resourcetype:Item", new TrueFilter().getSolrQuery(context));
+
+            // A statement without an index equivalent makes the whole tree not translatable
+            assertNull(new Or(List.of(withdrawn, trueStatementOne)).getSolrQuery(context));
+            assertNull(new Not(new MetadataValueMatchCondition()).getSolrQuery(context));
+        } catch (LogicalStatementException e) {
+            log.error(e.getMessage());
+            fail("LogicalStatementException thrown testing the Solr query translation" + e.getMessage());
+        }
+    }
+
     /**
      * Set up some simple statements for testing out operators
      */
@@ -9,6 +9,7 @@ package org.dspace.content.service;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -23,6 +24,7 @@ import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Logger;
@@ -928,6 +930,45 @@ public class ItemServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testFindByIdsWithMetadata() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        Item firstItem = ItemBuilder.createItem(context, collection1)
+            .withTitle("First item")
+            .build();
+
+        Item secondItem = ItemBuilder.createItem(context, collection1)
+            .withTitle("Second item")
+            .withAuthor("White, Walter")
+            .build();
+
+        context.restoreAuthSystemState();
+        context.commit();
+
+        UUID firstItemId = firstItem.getID();
+        UUID secondItemId = secondItem.getID();
+        context.uncacheEntity(firstItem);
+        context.uncacheEntity(secondItem);
+
+        List<Item> items = itemService.findByIdsWithMetadata(context,
+            List.of(secondItemId, UUID.randomUUID(), firstItemId, secondItemId));
+
+        assertThat(items, hasSize(2));
+        assertThat(items.stream().map(Item::getID).collect(Collectors.toSet()),
+            containsInAnyOrder(firstItemId, secondItemId));
+
+        Item foundSecondItem = items.stream()
+            .filter(foundItem -> foundItem.getID().equals(secondItemId))
+            .findFirst().get();
+        assertThat(itemService.getMetadataFirstValue(foundSecondItem, "dc", "title", null, Item.ANY),
+            equalTo("Second item"));
+        assertThat(itemService.getMetadataFirstValue(foundSecondItem, "dc", "contributor", "author", Item.ANY),
+            equalTo("White, Walter"));
+
+        assertThat(itemService.findByIdsWithMetadata(context, List.of()), hasSize(0));
+    }
+
     private void assertMetadataValue(String authorQualifier, String contributorElement, String dcSchema, String value,
                                      String authority, int place, MetadataValue metadataValue) {
         assertThat(metadataValue.getValue(), equalTo(value));
@@ -0,0 +1,112 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core.profiling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.message.BasicHttpRequest;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RequestProfile}.
+ */
+public class RequestProfileTest {
+
+    @After
+    public void cleanup() {
+        RequestProfile.stop();
+    }
+
+    @Test
+    public void testCurrentProfile() {
+        assertThat(RequestProfile.current(), nullValue());
+
+        RequestProfile profile = RequestProfile.start();
+        assertThat(RequestProfile.current(), sameInstance(profile));
+
+        assertThat(RequestProfile.stop(), sameInstance(profile));
+        assertThat(RequestProfile.current(), nullValue());
+    }
+
+    @Test
+    public void testStatements() {
+        RequestProfile profile = RequestProfile.start();
+
+        ProfilingStatementInspector inspector = new ProfilingStatementInspector();
+        String selectBitstream = "select * from bitstream where uuid=?";
+        for (int i = 0; i < 3; i++) {
+            assertThat(inspector.inspect(selectBitstream), is(selectBitstream));
+        }
+        inspector.inspect("select * from item where uuid=?");
+        profile.recordStatementExecution(TimeUnit.MILLISECONDS.toNanos(4));
+
+        assertThat(profile.getStatements(), is(4));
+        assertThat(profile.getStatementTime(), is(4.0));
+        assertThat(profile.getRepeatedStatements(2), is(Map.of(selectBitstream, 3)));
+        assertThat(profile.getRepeatedStatements(1).keySet().iterator().next(), is(selectBitstream));
+    }
+
+    @Test
+    public void testSolrCallsAndConversions() {
+        RequestProfile profile = RequestProfile.start();
+
+        profile.recordSolrCall("search", TimeUnit.MILLISECONDS.toNanos(10));
+        profile.recordSolrCall("search", TimeUnit.MILLISECONDS.toNanos(5));
+        profile.recordSolrCall("statistics", TimeUnit.MILLISECONDS.toNanos(1));
+
+        // an item conversion including the conversion of two bundles
+        profile.startConversion();
+        profile.startConversion();
+        profile.endConversion("Bundle", TimeUnit.MILLISECONDS.toNanos(2));
+        profile.startConversion();
+        profile.endConversion("Bundle", TimeUnit.MILLISECONDS.toNanos(3));
+        profile.endConversion("Item", TimeUnit.MILLISECONDS.toNanos(8));
+
+        assertThat(profile.getSolrCalls(), is(3));
+        assertThat(profile.getSolrTime(), is(16.0));
+        assertThat(profile.getConversions(), is(3));
+        assertThat(profile.getConversionTime(), is(8.0));
+
+        assertThat(profile.getServerTiming(), containsString("solr;desc=\"3 calls\";dur=16.0"));
+        assertThat(profile.getServerTiming(), containsString("convert;desc=\"3 objects\";dur=8.0"));
+        assertThat(profile.getSummary(), containsString("[search=2, statistics=1]"));
+        assertThat(profile.getSummary(), containsString("[Bundle=2, Item=1]"));
+    }
+
+    @Test
+    public void testTrackedStatementsLimit() {
+        RequestProfile profile = RequestProfile.start();
+
+        for (int i = 0; i < RequestProfile.MAX_TRACKED_STATEMENTS + 10; i++) {
+            profile.recordStatement("select " + i);
+        }
+        profile.recordStatement("select 0");
+
+        assertThat(profile.getStatements(), is(RequestProfile.MAX_TRACKED_STATEMENTS + 11));
+        assertThat(profile.getRepeatedStatements(2), is(Map.of("select 0", 2)));
+    }
+
+    @Test
+    public void testSolrCore() {
+        for (List<String> uriAndCore : List.of(List.of("/solr/search/select?q=*:*", "search"),
+            List.of("http://localhost:8983/solr/statistics/update", "statistics"), List.of("/", "unknown"))) {
+            BasicHttpRequest request = new BasicHttpRequest("GET", uriAndCore.get(0));
+            assertThat(ProfilingHttpInterceptor.getCore(request), is(uriAndCore.get(1)));
+        }
+    }
+
+}
@@ -8,6 +8,8 @@
 package org.dspace.discovery;
 
 import static org.dspace.discovery.SolrServiceWorkspaceWorkflowRestrictionPlugin.DISCOVER_WORKSPACE_CONFIGURATION_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -796,6 +798,44 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void searchResultsKeepSolrOrderAndSkipDeletedItemsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                                           .withName("Collection 1").build();
+        Collection col2 = CollectionBuilder.createCollection(context, parentCommunity)
+                                           .withName("Collection 2").build();
+
+        // the items are created in an order different from the sort order of the search
+        ItemBuilder.createItem(context, col1).withTitle("Item C").build();
+        ItemBuilder.createItem(context, col2).withTitle("Item A").build();
+        Item itemToDelete = ItemBuilder.createItem(context, col1).withTitle("Item D").build();
+        ItemBuilder.createItem(context, col2).withTitle("Item B").build();
+        ItemBuilder.createItem(context, col1).withTitle("Item E").build();
+
+        // delete an item leaving its document in the index
+        context.setDispatcher("noindex");
+        itemService.delete(context, context.reloadEntity(itemToDelete));
+        context.restoreAuthSystemState();
+
+        assertThat(searchItemTitles(DiscoverQuery.SORT_ORDER.asc),
+            contains("Item A", "Item B", "Item C", "Item E"));
+        assertThat(searchItemTitles(DiscoverQuery.SORT_ORDER.desc),
+            contains("Item E", "Item C", "Item B", "Item A"));
+    }
+
+    private List<String> searchItemTitles(DiscoverQuery.SORT_ORDER sortOrder) throws SearchServiceException {
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("*:*");
+        discoverQuery.addFilterQueries("search.resourcetype:" + IndexableItem.TYPE);
+        discoverQuery.setSortField("dc.title_sort", sortOrder);
+        return searchService.search(context, discoverQuery).getIndexableObjects().stream()
+            .map(indexableObject -> ((Item) indexableObject.getIndexedObject()).getName())
+            .collect(Collectors.toList());
+    }
+
     private void assertSearchQuery(String resourceType, int size) throws SearchServiceException {
         assertSearchQuery(resourceType, size, size, 0, -1);
     }
@@ -0,0 +1,89 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Map;
+
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SearchResponseCache}.
+ */
+public class SearchResponseCacheTest {
+
+    @Test
+    public void testResponseIsServedUntilNextGeneration() {
+
+        SearchResponseCache cache = new SearchResponseCache(10);
+        QueryResponse response = new QueryResponse();
+
+        assertThat(cache.get("q=*:*", -1), nullValue());
+        cache.put("q=*:*", cache.getGeneration(), response);
+
+        assertThat(cache.get("q=*:*", -1), sameInstance(response));
+
+        cache.nextGeneration();
+
+        assertThat(cache.get("q=*:*", -1), nullValue());
+
+        Map<String, Object> statistics = cache.getStatistics();
+        assertThat(statistics.get("hits"), is(1L));
+        assertThat(statistics.get("misses"), is(2L));
+        assertThat(statistics.get("invalidations"), is(1L));
+        assertThat(statistics.get("size"), is(0));
+
+    }
+
+    @Test
+    public void testResponseOfQuerySentBeforeCommitIsNotCached() {
+
+        SearchResponseCache cache = new SearchResponseCache(10);
+
+        long generation = cache.getGeneration();
+        cache.nextGeneration();
+        cache.put("q=*:*", generation, new QueryResponse());
+
+        assertThat(cache.get("q=*:*", -1), nullValue());
+
+    }
+
+    @Test
+    public void testResponseOlderThanMaxAgeIsDiscarded() {
+
+        SearchResponseCache cache = new SearchResponseCache(10);
+        cache.put("q=*:*", cache.getGeneration(), new QueryResponse());
+
+        assertThat(cache.get("q=*:*", 0), nullValue());
+
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResponseIsEvicted() {
+
+        SearchResponseCache cache = new SearchResponseCache(2);
+        QueryResponse first = new QueryResponse();
+        QueryResponse second = new QueryResponse();
+
+        cache.put("q=first", cache.getGeneration(), first);
+        cache.put("q=second", cache.getGeneration(), second);
+        cache.get("q=first", -1);
+        cache.put("q=third", cache.getGeneration(), new QueryResponse());
+
+        assertThat(cache.get("q=first", -1), sameInstance(first));
+        assertThat(cache.get("q=second", -1), nullValue());
+        assertThat(cache.getStatistics().get("evictions"), is(1L));
+
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dspace.core.Constants;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConsumerStatistics}.
+ */
+public class ConsumerStatisticsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStatistics() {
+
+        ConsumerStatistics statistics = new ConsumerStatistics("discovery");
+
+        statistics.recordConsume(event(Event.MODIFY, Constants.ITEM), TimeUnit.MICROSECONDS.toNanos(500), false);
+        statistics.recordConsume(event(Event.MODIFY, Constants.ITEM), TimeUnit.MILLISECONDS.toNanos(2), false);
+        statistics.recordConsume(event(Event.CREATE, Constants.BITSTREAM), TimeUnit.MILLISECONDS.toNanos(20), false);
+        statistics.recordEnd(TimeUnit.MILLISECONDS.toNanos(200), true);
+
+        assertThat(statistics.getEventCount(), is(3L));
+        assertThat(statistics.getTotalTime(), is(222.5));
+
+        Map<String, Object> values = statistics.getStatistics();
+        assertThat(values.get("events"), is(3L));
+        assertThat(values.get("eventsByType"), is(Map.of("BITSTREAM+CREATE", 1L, "ITEM+MODIFY", 2L)));
+
+        Map<String, Object> consume = (Map<String, Object>) values.get("consume");
+        assertThat(consume.get("calls"), is(3L));
+        assertThat(consume.get("errors"), is(0L));
+        assertThat(consume.get("maxMs"), is(20.0));
+        assertThat(consume.get("p50Ms"), is(5.0));
+        assertThat(consume.get("p95Ms"), is(20.0));
+
+        Map<String, Long> histogram = (Map<String, Long>) consume.get("histogram");
+        assertThat(histogram.get("<1ms"), is(1L));
+        assertThat(histogram.get("<5ms"), is(1L));
+        assertThat(histogram.get("<50ms"), is(1L));
+        assertThat(histogram.get(">=10000ms"), is(0L));
+
+        Map<String, Object> end = (Map<String, Object>) values.get("end");
+        assertThat(end.get("calls"), is(1L));
+        assertThat(end.get("errors"), is(1L));
+
+        assertThat(statistics.isSlow(100), is(true));
+        assertThat(statistics.isSlow(1000), is(false));
+    }
+
+    @Test
+    public void testEmptyStatistics() {
+
+        ConsumerStatistics statistics = new ConsumerStatistics("eperson");
+
+        assertThat(statistics.getEventCount(), is(0L));
+        assertThat(statistics.getTotalTime(), is(0.0));
+        assertThat(statistics.isSlow(0), is(false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSlowCallsAreForgottenAfterTwoWindows() {
+
+        AtomicLong now = new AtomicLong(1000);
+        ConsumerStatistics statistics = new ConsumerStatistics("discovery", 100, now::get);
+
+        statistics.recordEnd(TimeUnit.MILLISECONDS.toNanos(2000), false);
+        assertThat(statistics.isSlow(1000), is(true));
+
+        // the window of the slow call is the previous one
+        now.addAndGet(150);
+        statistics.recordEnd(TimeUnit.MILLISECONDS.toNanos(2), false);
+        assertThat(statistics.isSlow(1000), is(true));
+
+        // the window of the slow call is older than the previous one
+        now.addAndGet(100);
+        statistics.recordEnd(TimeUnit.MILLISECONDS.toNanos(2), false);
+        assertThat(statistics.isSlow(1000), is(false));
+
+        Map<String, Object> end = (Map<String, Object>) statistics.getStatistics().get("end");
+        assertThat(end.get("calls"), is(3L));
+        assertThat(end.get("maxMs"), is(2000.0));
+        assertThat(end.get("recentCalls"), is(2L));
+        assertThat(end.get("recentP95Ms"), is(2.0));
+
+        // without calls, all the windows expire
+        now.addAndGet(300);
+        end = (Map<String, Object>) statistics.getStatistics().get("end");
+        assertThat(end.get("recentCalls"), is(0L));
+    }
+
+    private Event event(int eventType, int subjectType) {
+        return new Event(eventType, subjectType, UUID.randomUUID(), null);
+    }
+
+}
@@ -0,0 +1,296 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.event.dao.EventQueueDAO;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.event.service.EventQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the delivery of the events to the asynchronous
+ * consumers through the {@link EventQueueService}.
+ */
+public class EventQueueServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String CONSUMER = "queuetest";
+
+    private static final String FAILING_DISPATCHER = "queuefailuretest";
+
+    private final EventQueueService eventQueueService = EventServiceFactory.getInstance().getEventQueueService();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final EventQueueDAO eventQueueDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(EventQueueDAO.class).get(0);
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    @Before
+    public void setup() {
+        QueueTestConsumer.delivered.clear();
+        QueueTestConsumer.failingDetails.clear();
+        SynchronousTestConsumer.consumed.clear();
+        SynchronousTestConsumer.ended.set(0);
+        configurationService.setProperty("event.queue.retry.delay", 0);
+        configurationService.setProperty("event.queue.max.attempts", 2);
+    }
+
+    @After
+    public void cleanup() {
+        context.setDispatcher(null);
+        configurationService.setProperty("event.queue.retry.delay", null);
+        configurationService.setProperty("event.queue.max.attempts", null);
+    }
+
+    @Test
+    public void testDeliverQueuedEventsInOrder() throws Exception {
+        UUID firstSubject = UUID.randomUUID();
+        UUID secondSubject = UUID.randomUUID();
+
+        addEvents(firstSubject, "1", secondSubject, "2", firstSubject, "3");
+
+        assertThat(QueueTestConsumer.delivered, empty());
+
+        assertThat(eventQueueService.deliverQueuedEvents(), is(3));
+        assertThat(QueueTestConsumer.delivered, contains("1", "2", "3"));
+
+        assertThat(eventQueueService.deliverQueuedEvents(), is(0));
+    }
+
+    @Test
+    public void testRetryAndDeadLetters() throws Exception {
+        UUID firstSubject = UUID.randomUUID();
+        UUID secondSubject = UUID.randomUUID();
+
+        QueueTestConsumer.failingDetails.add("1");
+
+        addEvents(firstSubject, "1", secondSubject, "2", firstSubject, "3");
+
+        // the event 3 waits for the event 1, delivered again and then moved to the dead letters
+        assertThat(eventQueueService.deliverQueuedEvents(), is(1));
+        assertThat(QueueTestConsumer.delivered, contains("2"));
+
+        List<QueuedEvent> deadLetters = eventQueueService.findDeadLetters(context, CONSUMER);
+        assertThat(deadLetters, hasSize(1));
+        assertThat(deadLetters.get(0).getEvent().getDetail(), is("1"));
+        assertThat(deadLetters.get(0).getEvent().getSubjectID(), is(firstSubject));
+        assertThat(deadLetters.get(0).getAttempts(), is(2));
+
+        QueueTestConsumer.failingDetails.clear();
+
+        // the dead letter keeps blocking the event 3
+        assertThat(eventQueueService.deliverQueuedEvents(), is(0));
+
+        assertThat(eventQueueService.requeueDeadLetters(context, CONSUMER), is(1));
+        context.commit();
+
+        assertThat(eventQueueService.deliverQueuedEvents(), is(2));
+        assertThat(QueueTestConsumer.delivered, contains("2", "1", "3"));
+        assertThat(eventQueueService.findDeadLetters(context, CONSUMER), empty());
+    }
+
+    @Test
+    public void testConsumerLeasedByAnotherProcess() throws Exception {
+        addEvents(UUID.randomUUID(), "1");
+
+        long now = System.currentTimeMillis();
+        assertThat(eventQueueDAO.acquireLease(context, CONSUMER, "another process", new Date(now),
+            new Date(now + 60000)), is(true));
+        context.commit();
+
+        assertThat(eventQueueService.deliverQueuedEvents(), is(0));
+        assertThat(QueueTestConsumer.delivered, empty());
+
+        // the other process stopped without releasing the lease, which expires
+        assertThat(eventQueueDAO.acquireLease(context, CONSUMER, "another process", new Date(now),
+            new Date(now - 1000)), is(true));
+        context.commit();
+
+        assertThat(eventQueueService.deliverQueuedEvents(), is(1));
+        assertThat(QueueTestConsumer.delivered, contains("1"));
+
+        // the lease has been released
+        assertThat(eventQueueDAO.acquireLease(context, CONSUMER, "another process", new Date(),
+            new Date(now + 60000)), is(true));
+        eventQueueDAO.releaseLease(context, CONSUMER, "another process");
+        context.commit();
+    }
+
+    @Test
+    public void testTransactionFailsWhenTheEventsCannotBeQueued() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group group = groupService.create(context);
+        groupService.setName(group, "Event queue failure");
+        context.restoreAuthSystemState();
+
+        context.setDispatcher(FAILING_DISPATCHER);
+        context.addEvent(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), "1"));
+        assertThrows(IllegalStateException.class, () -> context.commit());
+        context.setDispatcher(null);
+
+        // the changes are not committed without the events
+        assertThat(isGroupCommitted("Event queue failure"), is(false));
+        assertThat(eventQueueService.deliverQueuedEvents(), is(0));
+    }
+
+    @Test
+    public void testSynchronousConsumersSkippedWhenTheEventsCannotBeQueued() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group group = groupService.create(context);
+        groupService.setName(group, "Event queue failure with synchronous consumer");
+        context.restoreAuthSystemState();
+
+        context.setDispatcher(FAILING_DISPATCHER);
+        context.addEvent(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), "1"));
+        assertThrows(IllegalStateException.class, () -> context.commit());
+
+        // the transaction is aborted before the synchronous consumer gets the events
+        assertThat(context.isValid(), is(false));
+        assertThat(SynchronousTestConsumer.consumed, empty());
+        assertThat(SynchronousTestConsumer.ended.get(), is(0));
+
+        assertThat(isGroupCommitted("Event queue failure with synchronous consumer"), is(false));
+        assertThat(isGroupCommitted(SynchronousTestConsumer.GROUP_NAME), is(false));
+        assertThat(eventQueueService.deliverQueuedEvents(), is(0));
+    }
+
+    /**
+     * Check if the group with the given name is in the database, looking for
+     * it from another thread, which has its own Hibernate session.
+     */
+    private boolean isGroupCommitted(String name) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                try (Context otherContext = new Context(Context.Mode.READ_ONLY)) {
+                    return groupService.findByName(otherContext, name) != null;
+                }
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void addEvents(Object... subjectsAndDetails) throws Exception {
+        context.setDispatcher(CONSUMER);
+        for (int i = 0; i < subjectsAndDetails.length; i += 2) {
+            UUID subject = (UUID) subjectsAndDetails[i];
+            String detail = (String) subjectsAndDetails[i + 1];
+            context.addEvent(new Event(Event.MODIFY, Constants.ITEM, subject, detail));
+        }
+        context.commit();
+        context.setDispatcher(null);
+    }
+
+    /**
+     * Consumer recording the details of the delivered events, failing on the
+     * events with the configured details.
+     */
+    public static class QueueTestConsumer implements Consumer {
+
+        private static final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+
+        private static final Set<String> failingDetails = ConcurrentHashMap.newKeySet();
+
+        private final List<String> pending = new ArrayList<>();
+
+        @Override
+        public void initialize() throws Exception {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) throws Exception {
+            if (failingDetails.contains(event.getDetail())) {
+                throw new IllegalStateException("Failed event " + event.getDetail());
+            }
+            pending.add(event.getDetail());
+        }
+
+        @Override
+        public void end(Context ctx) throws Exception {
+            delivered.addAll(pending);
+            pending.clear();
+        }
+
+        @Override
+        public void finish(Context ctx) throws Exception {
+        }
+
+    }
+
+    /**
+     * Synchronous consumer recording the details of the consumed events and
+     * writing to the database when it ends, as the consumers updating the
+     * objects of the transaction do.
+     */
+    public static class SynchronousTestConsumer implements Consumer {
+
+        private static final String GROUP_NAME = "Synchronous consumer write";
+
+        private static final List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+
+        private static final AtomicInteger ended = new AtomicInteger();
+
+        @Override
+        public void initialize() throws Exception {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) throws Exception {
+            consumed.add(event.getDetail());
+        }
+
+        @Override
+        public void end(Context ctx) throws Exception {
+            ended.incrementAndGet();
+            ctx.turnOffAuthorisationSystem();
+            try {
+                Group group = EPersonServiceFactory.getInstance().getGroupService().create(ctx);
+                EPersonServiceFactory.getInstance().getGroupService().setName(group, GROUP_NAME);
+            } finally {
+                ctx.restoreAuthSystemState();
+            }
+        }
+
+        @Override
+        public void finish(Context ctx) throws Exception {
+        }
+
+    }
+
+}
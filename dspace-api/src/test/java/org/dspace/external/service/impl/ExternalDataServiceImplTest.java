@@ -0,0 +1,238 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.external.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocumentList;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.app.deduplication.service.DedupService;
+import org.dspace.external.model.ExternalDataObject;
+import org.dspace.external.model.MultiSourceSearchResult;
+import org.dspace.external.provider.AbstractExternalDataProvider;
+import org.dspace.external.provider.ExternalDataProvider;
+import org.dspace.importer.external.liveimportclient.service.LiveImportClient;
+import org.dspace.importer.external.liveimportclient.service.LiveImportClientImpl;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.verify.VerificationTimes;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the parallel search of {@link ExternalDataServiceImpl}, using
+ * local HTTP stubs as external sources.
+ */
+public class ExternalDataServiceImplTest extends AbstractDSpaceTest {
+
+    @Rule
+    public MockServerRule mockServerRule = new MockServerRule(this);
+
+    private MockServerClient mockServerClient;
+
+    private ConfigurationService configurationService;
+
+    private ExternalDataServiceImpl externalDataService;
+
+    @Before
+    public void setup() throws Exception {
+
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("external-sources.search.timeout.slow", 500);
+
+        LiveImportClientImpl liveImportClient = new LiveImportClientImpl();
+        ReflectionTestUtils.setField(liveImportClient, "configurationService", configurationService);
+
+        List<ExternalDataProvider> providers = Arrays.asList(
+            new StubDataProvider("fast", getUrl("/fast"), liveImportClient),
+            new StubDataProvider("other", getUrl("/other"), liveImportClient),
+            new StubDataProvider("slow", getUrl("/slow"), liveImportClient),
+            new StubDataProvider("failing", getUrl("/failing"), liveImportClient));
+
+        QueryResponse queryResponse = mock(QueryResponse.class);
+        when(queryResponse.getResults()).thenReturn(new SolrDocumentList());
+
+        DedupService dedupService = mock(DedupService.class, invocation -> queryResponse);
+
+        externalDataService = new ExternalDataServiceImpl();
+        ReflectionTestUtils.setField(externalDataService, "externalDataProviders", providers);
+        ReflectionTestUtils.setField(externalDataService, "dedupService", dedupService);
+        ReflectionTestUtils.setField(externalDataService, "configurationService", configurationService);
+        ReflectionTestUtils.setField(externalDataService, "cacheManager", new ConcurrentMapCacheManager());
+
+        mockServerClient.when(request().withPath("/fast"))
+            .respond(response().withStatusCode(200).withBody("First record\nSecond record"));
+
+        mockServerClient.when(request().withPath("/other"))
+            .respond(response().withStatusCode(200).withBody("Other record"));
+
+        mockServerClient.when(request().withPath("/slow"))
+            .respond(response().withStatusCode(200).withBody("Slow record").withDelay(TimeUnit.SECONDS, 3));
+
+        mockServerClient.when(request().withPath("/failing"))
+            .respond(response().withStatusCode(500));
+    }
+
+    @After
+    public void destroy() {
+        configurationService.setProperty("external-sources.search.timeout.slow", null);
+        externalDataService.destroy();
+    }
+
+    @Test
+    public void testSearchWithPartialResults() {
+
+        long startTime = System.currentTimeMillis();
+
+        MultiSourceSearchResult result = externalDataService.searchExternalDataObjects(
+            List.of("fast", "other", "slow", "failing"), "test", 0, 10);
+
+        assertThat(System.currentTimeMillis() - startTime, lessThan(3000L));
+
+        assertThat(result.isPartial(), is(true));
+        assertThat(getValues(result.getResults("fast")), contains("First record", "Second record"));
+        assertThat(getValues(result.getResults("other")), contains("Other record"));
+        assertThat(result.getResults("slow"), empty());
+        assertThat(result.getTimedOutSources(), contains("slow"));
+        assertThat(result.getErrors(), hasKey("failing"));
+
+    }
+
+    @Test
+    public void testSearchWithAllSourcesAnswering() {
+
+        MultiSourceSearchResult result = externalDataService.searchExternalDataObjects(
+            List.of("fast", "other"), "test", 0, 10);
+
+        assertThat(result.isPartial(), is(false));
+        assertThat(result.getResults().keySet(), contains("fast", "other"));
+        assertThat(getValues(result.getResults("fast")), contains("First record", "Second record"));
+        assertThat(getValues(result.getResults("other")), contains("Other record"));
+
+    }
+
+    @Test
+    public void testSearchResultsAreCachedByNormalizedQuery() {
+
+        externalDataService.searchExternalDataObjects(List.of("fast"), "Test  query", 0, 10);
+        MultiSourceSearchResult result = externalDataService.searchExternalDataObjects(List.of("fast"),
+            " test query ", 0, 10);
+
+        assertThat(getValues(result.getResults("fast")), contains("First record", "Second record"));
+        mockServerClient.verify(request().withPath("/fast"), VerificationTimes.once());
+
+        externalDataService.searchExternalDataObjects(List.of("fast"), "test query", 10, 10);
+        mockServerClient.verify(request().withPath("/fast"), VerificationTimes.exactly(2));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchWithUnknownSource() {
+        externalDataService.searchExternalDataObjects(List.of("fast", "unknown"), "test", 0, 10);
+    }
+
+    private String getUrl(String path) {
+        return "http://localhost:" + mockServerClient.getPort() + path;
+    }
+
+    private List<String> getValues(List<ExternalDataObject> externalDataObjects) {
+        return externalDataObjects.stream()
+            .map(ExternalDataObject::getValue)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Provider that performs the searches on a local HTTP stub, returning one
+     * object for each line of the response.
+     */
+    private static class StubDataProvider extends AbstractExternalDataProvider {
+
+        private final String sourceIdentifier;
+
+        private final String url;
+
+        private final LiveImportClient liveImportClient;
+
+        StubDataProvider(String sourceIdentifier, String url, LiveImportClient liveImportClient) {
+            this.sourceIdentifier = sourceIdentifier;
+            this.url = url;
+            this.liveImportClient = liveImportClient;
+        }
+
+        @Override
+        public String getSourceIdentifier() {
+            return sourceIdentifier;
+        }
+
+        @Override
+        public Optional<ExternalDataObject> getExternalDataObject(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<ExternalDataObject> searchExternalDataObjects(String query, int start, int limit) {
+
+            Map<String, Map<String, String>> params = new HashMap<>();
+            params.put(LiveImportClientImpl.URI_PARAMETERS, Map.of("query", query, "start", String.valueOf(start)));
+
+            String response = liveImportClient.executeHttpGetRequest(5000, url, params);
+            if (StringUtils.isBlank(response)) {
+                throw new IllegalStateException("No response from " + url);
+            }
+
+            return response.lines()
+                .map(this::toExternalDataObject)
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public boolean supports(String source) {
+            return sourceIdentifier.equals(source);
+        }
+
+        @Override
+        public int getNumberOfResults(String query) {
+            return searchExternalDataObjects(query, 0, Integer.MAX_VALUE).size();
+        }
+
+        private ExternalDataObject toExternalDataObject(String line) {
+            ExternalDataObject externalDataObject = new ExternalDataObject(sourceIdentifier);
+            externalDataObject.setId(line);
+            externalDataObject.setValue(line);
+            externalDataObject.setDisplayValue(line);
+            return externalDataObject;
+        }
+
+    }
+
+}
@@ -151,10 +151,12 @@ public class OAIHarvesterIT extends AbstractIntegrationTestWithDatabase {
         configurationService.setProperty("oai.harvester.tranformation-dir", OAI_PMH_DIR_PATH + "cerif");
         configurationService.setProperty("oai.harvester.validation-dir", VALIDATION_DIR);
         configurationService.setProperty("oai.harvester.validation.cerif.xsd", CERIF_XSD_NAME);
+        configurationService.setProperty("oai.harvester.batch-size", 20);
     }
 
     @After
     public void afterTests() throws SQLException {
+        configurationService.setProperty("oai.harvester.batch-size", null);
         harvester.setOaiHarvesterClient(oaiHarvesterClient);
         poolTaskService.findAll(context).forEach(this::deletePoolTask);
     }
@@ -305,6 +307,115 @@ public class OAIHarvesterIT extends AbstractIntegrationTestWithDatabase {
         assertThat(getFirstMetadataValue(item, "cris.sourceId"), equalTo("test-harvest::3"));
     }
 
+    @Test
+    public void testRunHarvestWithResumptionTokenWithoutPrefetchAndBatch() throws Exception {
+
+        configurationService.setProperty("oai.harvester.batch-size", 1);
+        configurationService.setProperty("oai.harvester.prefetch.enabled", false);
+
+        when(mockClient.listRecords(eq(BASE_URL), isNull(), any(), eq("publications"), eq("oai_cerif_openaire")))
+            .thenReturn(buildResponseWithResumptionToken("publications-with-resumption-token.xml", "token"));
+        when(mockClient.listRecords(BASE_URL, "token")).thenReturn(buildResponse("single-publication.xml"));
+
+        try {
+
+            context.turnOffAuthorisationSystem();
+            HarvestedCollection harvestRow = HarvestedCollectionBuilder.create(context, collection)
+                .withOaiSource(BASE_URL)
+                .withOaiSetId("publications")
+                .withMetadataConfigId("cerif")
+                .withHarvestType(HarvestedCollection.TYPE_DMD)
+                .withHarvestStatus(HarvestedCollection.STATUS_READY)
+                .build();
+            context.restoreAuthSystemState();
+
+            harvester.runHarvest(context, harvestRow, getDefaultOptions());
+
+            verify(mockClient).listRecords(BASE_URL, "token");
+
+            List<Item> items = IteratorUtils.toList(itemService.findAllByCollection(context, collection));
+            assertThat(items, hasSize(3));
+
+            harvestRow = harvestedCollectionService.find(context, collection);
+            assertThat(harvestRow.getHarvestStatus(), equalTo(HarvestedCollection.STATUS_READY));
+            assertThat(harvestRow.getHarvestMessage(), equalTo("Imported 3 records with success"));
+
+        } finally {
+            configurationService.setProperty("oai.harvester.prefetch.enabled", true);
+        }
+    }
+
+    @Test
+    public void testRunHarvestWithFailingBatchReplayedRecordByRecord() throws Exception {
+
+        OAIHarvesterEmailSender originalEmailSender = harvester.getOaiHarvesterEmailSender();
+
+        try {
+
+            OAIHarvesterEmailSender mockEmailSender = mock(OAIHarvesterEmailSender.class);
+            harvester.setOaiHarvesterEmailSender(mockEmailSender);
+
+            // the second record fails when the first one is already processed in the same batch
+            when(mockClient.listRecords(eq(BASE_URL), isNull(), any(), eq("publications"), eq("oai_cerif_openaire")))
+                .thenReturn(buildResponse("many-publications-with-one-corrupted.xml"));
+
+            context.turnOffAuthorisationSystem();
+
+            collection = createCollection(context, community)
+                .withEntityType("Publication")
+                .withAdminGroup(eperson)
+                .withHarvestingEmail("IDENTIFY")
+                .withHarvestingItemValidationEnabled()
+                .build();
+
+            HarvestedCollection harvestRow = HarvestedCollectionBuilder.create(context, collection)
+                .withOaiSource(BASE_URL)
+                .withOaiSetId("publications")
+                .withMetadataConfigId("cerif")
+                .withHarvestType(HarvestedCollection.TYPE_DMD)
+                .withHarvestStatus(HarvestedCollection.STATUS_READY)
+                .build();
+            context.restoreAuthSystemState();
+
+            harvester.runHarvest(context, harvestRow, getDefaultOptions());
+
+            // the first record, rolled back with the failing batch, is replayed in its own transaction
+            List<WorkspaceItem> workspaceItems = workspaceItemService.findByCollection(context, collection);
+            assertThat(workspaceItems, hasSize(2));
+
+            assertThat(harvestedItemService.findByOAIId(context,
+                "oai:test-harvest:Publications/c3ae30ae-ddc4-4c25-b0b8-c87a3f850bca", collection), notNullValue());
+            assertThat(harvestedItemService.findByOAIId(context,
+                "oai:test-harvest:Publications/123456789/6", collection), nullValue());
+            assertThat(harvestedItemService.findByOAIId(context,
+                "oai:test-harvest:Publications/123456789/7", collection), notNullValue());
+
+            ArgumentCaptor<OAIHarvesterReport> captor = ArgumentCaptor.forClass(OAIHarvesterReport.class);
+            verify(mockEmailSender).notifyCompletionWithErrors(eq("test@4science.it"), any(), captor.capture());
+
+            OAIHarvesterReport harvesterReport = captor.getValue();
+            assertThat(harvesterReport.getSuccessCount(), is(2));
+            assertThat(harvesterReport.getFailureCount(), is(1));
+
+            // the validation messages of the rolled back processing are not reported twice
+            Map<String, ErrorDetails> errors = harvesterReport.getErrors();
+            assertThat(errors.size(), is(3));
+
+            ErrorDetails replayedRecordErrors = errors.get(
+                "oai:test-harvest:Publications/c3ae30ae-ddc4-4c25-b0b8-c87a3f850bca");
+            assertThat(replayedRecordErrors.getAction(), is("created"));
+            assertThat(replayedRecordErrors.getMessages(), hasSize(2));
+            assertThat(replayedRecordErrors.getMessages(),
+                hasItem("error.validation.filerequired - [/sections/upload]"));
+
+            assertThat(errors, hasKey("oai:test-harvest:Publications/123456789/6"));
+            assertThat(errors.get("oai:test-harvest:Publications/123456789/7").getMessages(), hasSize(2));
+
+        } finally {
+            harvester.setOaiHarvesterEmailSender(originalEmailSender);
+        }
+    }
+
     @Test
     public void testRunHarvestWithNoRecordsMatch() throws Exception {
         when(mockClient.listRecords(eq(BASE_URL), isNull(), any(), eq("publications"), eq("oai_cerif_openaire")))
@@ -0,0 +1,261 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.importer.external.liveimportclient.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.http.impl.client.HttpClients;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.importer.external.liveimportclient.cache.CacheStatistics;
+import org.dspace.importer.external.liveimportclient.cache.DefaultLiveImportClientCache;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.verify.VerificationTimes;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the response cache of {@link LiveImportClientImpl}.
+ */
+public class LiveImportClientImplTest extends AbstractDSpaceTest {
+
+    @Rule
+    public MockServerRule mockServerRule = new MockServerRule(this);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockServerClient mockServerClient;
+
+    private ConfigurationService configurationService;
+
+    @Before
+    public void setup() {
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("live-import.cache.enabled", true);
+    }
+
+    @After
+    public void after() {
+        configurationService.setProperty("live-import.cache.ttl", null);
+        configurationService.setProperty("live-import.cache.disk.dir", null);
+        configurationService.setProperty("live-import.cache.disk.max-age", null);
+        configurationService.setProperty("live-import.cache.enabled", false);
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() {
+
+        configurationService.setProperty("live-import.cache.enabled", null);
+
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("record"));
+
+        LiveImportClientImpl client = createClient();
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+
+        mockServerClient.verify(request().withPath("/record"), VerificationTimes.exactly(2));
+        assertThat(client.getCache().getStatistics().isEmpty(), is(true));
+
+    }
+
+    @Test
+    public void testFreshResponseIsServedFromCache() {
+
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("record"));
+
+        LiveImportClientImpl client = createClient();
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/2")), is("record"));
+
+        mockServerClient.verify(request().withPath("/record"), VerificationTimes.exactly(2));
+
+        CacheStatistics statistics = client.getCache().getStatistics("localhost");
+        assertThat(statistics.getHits(), is(1L));
+        assertThat(statistics.getMisses(), is(2L));
+        assertThat(statistics.getRevalidations(), is(0L));
+
+    }
+
+    @Test
+    public void testExpiredResponseIsRevalidated() {
+
+        configurationService.setProperty("live-import.cache.ttl", 0);
+
+        mockServerClient.when(request().withPath("/record").withHeader("If-None-Match", "\"v1\""))
+            .respond(response().withStatusCode(304));
+
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withHeader("ETag", "\"v1\"").withBody("record"));
+
+        LiveImportClientImpl client = createClient();
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+
+        mockServerClient.verify(request().withPath("/record"), VerificationTimes.exactly(2));
+        mockServerClient.verify(request().withPath("/record").withHeader("If-None-Match", "\"v1\""),
+            VerificationTimes.once());
+
+        CacheStatistics statistics = client.getCache().getStatistics("localhost");
+        assertThat(statistics.getHits(), is(0L));
+        assertThat(statistics.getMisses(), is(1L));
+        assertThat(statistics.getRevalidations(), is(1L));
+
+    }
+
+    @Test
+    public void testChangedResponseIsFetchedAgainWhenExpired() {
+
+        configurationService.setProperty("live-import.cache.ttl", 0);
+
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("first version"));
+
+        LiveImportClientImpl client = createClient();
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")),
+            is("first version"));
+
+        mockServerClient.reset();
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("second version"));
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")),
+            is("second version"));
+
+        CacheStatistics statistics = client.getCache().getStatistics("localhost");
+        assertThat(statistics.getHits(), is(0L));
+        assertThat(statistics.getMisses(), is(2L));
+
+    }
+
+    @Test
+    public void testCacheIsClearedWhenTheHttpClientChanges() {
+
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("first version"));
+
+        LiveImportClientImpl client = createClient();
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")),
+            is("first version"));
+
+        mockServerClient.reset();
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("second version"));
+
+        // the fresh response is still served from the cache
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")),
+            is("first version"));
+
+        client.setHttpClient(HttpClients.createDefault());
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")),
+            is("second version"));
+
+    }
+
+    @Test
+    public void testExpiredResponsesAreDeletedFromTheDiskCache() throws Exception {
+
+        File directory = temporaryFolder.newFolder();
+        configurationService.setProperty("live-import.cache.disk.dir", directory.getAbsolutePath());
+        configurationService.setProperty("live-import.cache.disk.max-age", 0);
+
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("record"));
+
+        LiveImportClientImpl firstClient = createClient();
+        LiveImportClientImpl secondClient = createClient();
+
+        assertThat(firstClient.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+        assertThat(directory.list().length, is(1));
+
+        assertThat(secondClient.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+
+        mockServerClient.verify(request().withPath("/record"), VerificationTimes.exactly(2));
+        assertThat(secondClient.getCache().getStatistics("localhost").getMisses(), is(1L));
+
+    }
+
+    @Test
+    public void testResponsesAreSharedThroughTheDiskCache() throws Exception {
+
+        configurationService.setProperty("live-import.cache.disk.dir", temporaryFolder.newFolder().getAbsolutePath());
+
+        mockServerClient.when(request().withPath("/record"))
+            .respond(response().withStatusCode(200).withBody("record"));
+
+        LiveImportClientImpl firstClient = createClient();
+        LiveImportClientImpl secondClient = createClient();
+
+        assertThat(firstClient.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+        assertThat(secondClient.executeHttpGetRequest(1000, getUrl("/record"), getParams("10.1000/1")), is("record"));
+
+        mockServerClient.verify(request().withPath("/record"), VerificationTimes.once());
+        assertThat(secondClient.getCache().getStatistics("localhost").getHits(), is(1L));
+
+    }
+
+    @Test
+    public void testFailedResponsesAreNotCached() {
+
+        mockServerClient.when(request().withPath("/error"))
+            .respond(response().withStatusCode(500));
+
+        LiveImportClientImpl client = createClient();
+
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/error"), getParams("10.1000/1")), is(""));
+        assertThat(client.executeHttpGetRequest(1000, getUrl("/error"), getParams("10.1000/1")), is(""));
+
+        mockServerClient.verify(request().withPath("/error"), VerificationTimes.exactly(2));
+
+    }
+
+    private LiveImportClientImpl createClient() {
+
+        DefaultLiveImportClientCache cache = new DefaultLiveImportClientCache();
+        ReflectionTestUtils.setField(cache, "configurationService", configurationService);
+
+        LiveImportClientImpl client = new LiveImportClientImpl();
+        ReflectionTestUtils.setField(client, "configurationService", configurationService);
+        client.setCache(cache);
+        return client;
+    }
+
+    private Map<String, Map<String, String>> getParams(String doi) {
+        Map<String, Map<String, String>> params = new HashMap<>();
+        params.put(LiveImportClientImpl.URI_PARAMETERS, Map.of("doi", doi));
+        params.put(LiveImportClientImpl.HEADER_PARAMETERS, Map.of("Accept", "application/json"));
+        return params;
+    }
+
+    private String getUrl(String path) {
+        return "http://localhost:" + mockServerClient.getPort() + path;
+    }
+
+}
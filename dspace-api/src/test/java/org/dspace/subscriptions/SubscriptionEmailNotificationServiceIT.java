@@ -0,0 +1,172 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.subscriptions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.SubscribeBuilder;
+import org.dspace.content.Collection;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.SubscriptionParameter;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.externalservices.scopus.factory.CrisMetricsServiceFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.subscriptions.dSpaceObjectsUpdates.CollectionsUpdates;
+import org.dspace.subscriptions.service.DSpaceObjectUpdates;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests for the content subscriptions of
+ * {@link SubscriptionEmailNotificationServiceImpl}, the updates of the
+ * subscribed collections being searched in the test Solr core and the emails
+ * being created by a mocked {@link ContentGenerator}.
+ */
+public class SubscriptionEmailNotificationServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private DSpaceObjectUpdates collectionUpdates;
+
+    private ContentGenerator contentGenerator;
+
+    private SubscriptionEmailNotificationServiceImpl subscriptionEmailNotificationService;
+
+    private TestDSpaceRunnableHandler handler;
+
+    private Collection collection;
+
+    private EPerson firstSubscriber;
+
+    private EPerson secondSubscriber;
+
+    @Before
+    public void setUpSubscriptions() throws Exception {
+        collectionUpdates = spy(new CollectionsUpdates(SearchUtils.getSearchService()));
+        contentGenerator = mock(ContentGenerator.class);
+        subscriptionEmailNotificationService = new SubscriptionEmailNotificationServiceImpl(
+            Map.of("collection", collectionUpdates), contentGenerator, null, List.of("content", "statistics"));
+        ReflectionTestUtils.setField(subscriptionEmailNotificationService, "authorizeService",
+            AuthorizeServiceFactory.getInstance().getAuthorizeService());
+        ReflectionTestUtils.setField(subscriptionEmailNotificationService, "subscribeService",
+            EPersonServiceFactory.getInstance().getSubscribeService());
+        ReflectionTestUtils.setField(subscriptionEmailNotificationService, "crisMetricsService",
+            CrisMetricsServiceFactory.getInstance().getCrisMetricsService());
+        ReflectionTestUtils.setField(subscriptionEmailNotificationService, "configurationService",
+            DSpaceServicesFactory.getInstance().getConfigurationService());
+        handler = new TestDSpaceRunnableHandler();
+
+        context.turnOffAuthorisationSystem();
+
+        firstSubscriber = EPersonBuilder.createEPerson(context)
+            .withEmail("first.subscriber@example.com")
+            .build();
+        secondSubscriber = EPersonBuilder.createEPerson(context)
+            .withEmail("second.subscriber@example.com")
+            .build();
+        Group readers = GroupBuilder.createGroup(context)
+            .withName("Private item readers")
+            .addMember(firstSubscriber)
+            .build();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+            .withName("Parent community")
+            .build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity)
+            .withName("Subscribed collection")
+            .build();
+
+        ItemBuilder.createItem(context, collection)
+            .withTitle("Public item")
+            .build();
+        ItemBuilder.createItem(context, collection)
+            .withTitle("Private item")
+            .withReaderGroup(readers)
+            .build();
+
+        subscribe(firstSubscriber);
+        subscribe(secondSubscriber);
+
+        context.restoreAuthSystemState();
+        // the script searches the updates as the administrator running it
+        context.setCurrentUser(admin);
+    }
+
+    @Test
+    public void testUpdatesAreSearchedOnceForAllTheSubscribers() throws Exception {
+        subscriptionEmailNotificationService.perform(context, handler, "content", "D");
+
+        assertThat(handler.getException(), nullValue());
+        verify(collectionUpdates, times(1)).findUpdates(any(), eq(collection), eq("D"));
+        assertThat(getNotifiedItems(firstSubscriber), containsInAnyOrder("Public item", "Private item"));
+        assertThat(getNotifiedItems(secondSubscriber), contains("Public item"));
+    }
+
+    @Test
+    public void testFailureForOneSubscriberDoesNotStopTheOthers() throws Exception {
+        // the digest of the subscriber processed first fails
+        when(contentGenerator.createEmail(any(), any(), any(), any()))
+            .thenThrow(new IOException("Template not found"))
+            .thenReturn(null);
+
+        subscriptionEmailNotificationService.perform(context, handler, "content", "D");
+
+        assertThat(handler.getException(), nullValue());
+        assertThat(getNotifiedItems(firstSubscriber), containsInAnyOrder("Public item", "Private item"));
+        assertThat(getNotifiedItems(secondSubscriber), contains("Public item"));
+    }
+
+    /**
+     * Returns the names of the items of the subscribed collection in the digest created for the given eperson.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<String> getNotifiedItems(EPerson ePerson) throws Exception {
+        ArgumentCaptor<List> collectionsItems = ArgumentCaptor.forClass(List.class);
+        verify(contentGenerator).createEmail(eq(ePerson), any(), collectionsItems.capture(), any());
+
+        List<SubscriptionItem> subscriptionItems = collectionsItems.getValue();
+        assertThat(subscriptionItems, hasSize(1));
+        return new ArrayList<>(subscriptionItems.get(0).getItemUrlsByItemName().keySet());
+    }
+
+    private void subscribe(EPerson ePerson) {
+        SubscriptionParameter frequency = new SubscriptionParameter();
+        frequency.setName("frequency");
+        frequency.setValue("D");
+        List<SubscriptionParameter> subscriptionParameters = new ArrayList<>();
+        subscriptionParameters.add(frequency);
+        SubscribeBuilder.subscribeBuilder(context, "content", collection, ePerson, subscriptionParameters).build();
+    }
+
+}
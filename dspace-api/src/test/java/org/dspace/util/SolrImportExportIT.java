@@ -0,0 +1,263 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import com.opencsv.CSVReader;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.solr.MockSolrServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for {@link SolrImportExport}: the documents of the
+ * statistics core are exported, the core is emptied and the documents are
+ * imported back, checking that they are unchanged.
+ */
+public class SolrImportExportIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String INDEX_NAME = "statistics";
+
+    private static final String TIME_FIELD = "time";
+
+    private static final int THREADS = 3;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockSolrServer mockSolrServer;
+
+    private SolrClient solr;
+
+    private Map<String, SolrDocument> originalDocuments;
+
+    @Before
+    public void setUpStatistics() throws Exception {
+        mockSolrServer = new MockSolrServer(INDEX_NAME);
+        solr = mockSolrServer.getSolrServer();
+        mockSolrServer.reset();
+
+        // the documents at the first and last instant of the months, including a leap day
+        addDocument("dec-last", "2019-12-31T23:59:59.999Z");
+        addDocument("jan-first", "2020-01-01T00:00:00.000Z");
+        addDocument("jan-last", "2020-01-31T23:59:59.999Z");
+        addDocument("feb-first", "2020-02-01T00:00:00.000Z");
+        addDocument("feb-leap", "2020-02-29T23:59:59.999Z");
+        addDocument("mar-first", "2020-03-01T00:00:00.000Z");
+        solr.commit();
+
+        originalDocuments = findAllDocuments();
+    }
+
+    @After
+    public void tearDownStatistics() throws Exception {
+        mockSolrServer.reset();
+        solr.commit();
+        mockSolrServer.destroy();
+    }
+
+    @Test
+    public void testExportAndImport() throws Exception {
+        File directory = folder.newFolder("export");
+
+        SolrImportExport.exportIndex(INDEX_NAME, directory, solr, TIME_FIELD, null, false, THREADS, false, false);
+
+        // one file per month, each document exported once
+        assertThat(exportFileNames(directory), arrayContainingInAnyOrder("statistics_export_2019-12.csv",
+            "statistics_export_2020-01.csv", "statistics_export_2020-02.csv", "statistics_export_2020-03.csv"));
+        assertThat(countRows(directory), is(originalDocuments.size()));
+        assertThat(countRows(new File(directory, "statistics_export_2020-02.csv")), is(2));
+
+        emptyIndex();
+        SolrImportExport.importIndex(INDEX_NAME, directory, solr, true, THREADS, false);
+
+        assertImportedDocuments();
+    }
+
+    @Test
+    public void testCompressedExportAndImport() throws Exception {
+        File directory = folder.newFolder("export");
+
+        SolrImportExport.exportIndex(INDEX_NAME, directory, solr, TIME_FIELD, null, false, THREADS, true, false);
+
+        assertThat(exportFileNames(directory), arrayContainingInAnyOrder("statistics_export_2019-12.csv.gz",
+            "statistics_export_2020-01.csv.gz", "statistics_export_2020-02.csv.gz",
+            "statistics_export_2020-03.csv.gz"));
+        assertThat(countRows(directory), is(originalDocuments.size()));
+
+        emptyIndex();
+        SolrImportExport.importIndex(INDEX_NAME, directory, solr, true, THREADS, false);
+
+        assertImportedDocuments();
+    }
+
+    @Test
+    public void testResumeExportOfPartiallyWrittenMonth() throws Exception {
+        File directory = folder.newFolder("export");
+        SolrImportExport.exportIndex(INDEX_NAME, directory, solr, TIME_FIELD, null, false, THREADS, false, false);
+
+        // simulate an export interrupted while writing the file of February
+        File februaryFile = new File(directory, "statistics_export_2020-02.csv");
+        try (RandomAccessFile file = new RandomAccessFile(februaryFile, "rw")) {
+            file.setLength(file.length() / 2);
+        }
+        File manifest = new File(directory, "statistics_export.manifest");
+        removeLines(manifest, "2020-02");
+
+        File januaryFile = new File(directory, "statistics_export_2020-01.csv");
+        FileTime exportTime = FileTime.from(Instant.parse("2000-01-01T00:00:00Z"));
+        Files.setLastModifiedTime(januaryFile.toPath(), exportTime);
+
+        SolrImportExport.exportIndex(INDEX_NAME, directory, solr, TIME_FIELD, null, false, THREADS, false, true);
+
+        // only the interrupted month is exported again
+        assertThat(Files.getLastModifiedTime(januaryFile.toPath()), is(exportTime));
+        assertThat(countRows(februaryFile), is(2));
+        assertThat(Files.readAllLines(manifest.toPath(), UTF_8), containsInAnyOrder("2019-12-01T00:00:00Z",
+            "2020-01-01T00:00:00Z", "2020-02-01T00:00:00Z", "2020-03-01T00:00:00Z"));
+
+        emptyIndex();
+        SolrImportExport.importIndex(INDEX_NAME, directory, solr, true, THREADS, false);
+
+        assertImportedDocuments();
+    }
+
+    @Test
+    public void testResumeImport() throws Exception {
+        File directory = folder.newFolder("export");
+        SolrImportExport.exportIndex(INDEX_NAME, directory, solr, TIME_FIELD, null, false, THREADS, false, false);
+        emptyIndex();
+        SolrImportExport.importIndex(INDEX_NAME, directory, solr, true, THREADS, false);
+
+        // simulate an import interrupted before the file of February
+        File manifest = new File(directory, "statistics_import.manifest");
+        removeLines(manifest, "statistics_export_2020-02.csv");
+        solr.deleteByQuery("uid:feb-first OR uid:feb-leap");
+        // a document of an imported file, that must not be imported again
+        solr.deleteById("jan-first");
+        solr.commit();
+
+        SolrImportExport.importIndex(INDEX_NAME, directory, solr, true, THREADS, true);
+
+        Map<String, SolrDocument> importedDocuments = findAllDocuments();
+        assertThat(importedDocuments.keySet(), containsInAnyOrder("dec-last", "jan-last", "feb-first", "feb-leap",
+            "mar-first"));
+        assertThat(importedDocuments.get("feb-first").getFieldValue(TIME_FIELD),
+            is(originalDocuments.get("feb-first").getFieldValue(TIME_FIELD)));
+    }
+
+    private void addDocument(String uid, String time) throws Exception {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("uid", uid);
+        document.addField("type", 2);
+        document.addField("id", uid + "-id");
+        document.addField(TIME_FIELD, Date.from(Instant.parse(time)));
+        document.addField("statistics_type", "view");
+        document.addField("isBot", false);
+        document.addField("latitude", 40.7605f);
+        // the separator, the escape, the quotes and the line breaks in multi-valued fields
+        document.addField("owningComm", "first, with comma");
+        document.addField("owningComm", "back\\slash");
+        document.addField("owningComm", "\"quoted\"");
+        document.addField("owningComm", "multi\nline");
+        document.addField("owningComm", "trailing\\");
+        document.addField("owningColl", uid + "-collection");
+        // and in single-valued fields
+        document.addField("userAgent", "Agent \"quoted\", with comma\nand line break");
+        document.addField("referrer", "http://example.com/back\\slash?a=1,b=2");
+        solr.add(document);
+    }
+
+    private Map<String, SolrDocument> findAllDocuments() throws Exception {
+        SolrQuery query = new SolrQuery("*:*");
+        query.setRows(100);
+        Map<String, SolrDocument> documents = new HashMap<>();
+        for (SolrDocument document : solr.query(query).getResults()) {
+            document.removeFields("_version_");
+            documents.put((String) document.getFieldValue("uid"), document);
+        }
+        return documents;
+    }
+
+    private void emptyIndex() throws Exception {
+        SolrImportExport.clearIndex(solr);
+        assertThat(findAllDocuments().size(), is(0));
+    }
+
+    private void assertImportedDocuments() throws Exception {
+        Map<String, SolrDocument> importedDocuments = findAllDocuments();
+        assertThat(importedDocuments.keySet(), containsInAnyOrder(originalDocuments.keySet().toArray()));
+        for (SolrDocument original : originalDocuments.values()) {
+            SolrDocument imported = importedDocuments.get((String) original.getFieldValue("uid"));
+            assertThat(imported.getFieldNames(), containsInAnyOrder(original.getFieldNames().toArray()));
+            for (String fieldName : original.getFieldNames()) {
+                assertThat(fieldName, imported.getFieldValues(fieldName),
+                    contains(original.getFieldValues(fieldName).toArray()));
+            }
+        }
+    }
+
+    private String[] exportFileNames(File directory) {
+        return directory.list((dir, name) -> name.startsWith("statistics_export_"));
+    }
+
+    private int countRows(File fileOrDirectory) throws Exception {
+        if (fileOrDirectory.isDirectory()) {
+            int rows = 0;
+            for (String fileName : exportFileNames(fileOrDirectory)) {
+                rows += countRows(new File(fileOrDirectory, fileName));
+            }
+            return rows;
+        }
+
+        InputStream inputStream = new FileInputStream(fileOrDirectory);
+        if (fileOrDirectory.getName().endsWith(".gz")) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+        try (CSVReader reader = new CSVReader(new InputStreamReader(inputStream, UTF_8))) {
+            // the first row is the header
+            return reader.readAll().size() - 1;
+        }
+    }
+
+    private void removeLines(File file, String prefix) throws Exception {
+        List<String> lines = Files.readAllLines(file.toPath(), UTF_8);
+        Files.write(file.toPath(), lines.stream()
+            .filter(line -> !line.startsWith(prefix))
+            .collect(Collectors.toList()), UTF_8);
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the authorization decisions of the AuthorizeServiceImpl on
+ * the publications, for the anonymous user and for a user without special
+ * permissions. The context is in READ_WRITE mode, which doesn't cache the
+ * decisions, so that each one is computed again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+public class AuthorizeBenchmark {
+
+    private AuthorizeService authorizeService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+    }
+
+    @Benchmark
+    public void anonymousRead(DSpaceEnvironment environment, Blackhole blackhole) throws Exception {
+        authorize(environment, null, Constants.READ, blackhole);
+    }
+
+    @Benchmark
+    public void epersonRead(DSpaceEnvironment environment, Blackhole blackhole) throws Exception {
+        authorize(environment, environment.getEPerson(), Constants.READ, blackhole);
+    }
+
+    @Benchmark
+    public void epersonWrite(DSpaceEnvironment environment, Blackhole blackhole) throws Exception {
+        authorize(environment, environment.getEPerson(), Constants.WRITE, blackhole);
+    }
+
+    private void authorize(DSpaceEnvironment environment, EPerson ePerson, int action, Blackhole blackhole)
+        throws Exception {
+        Context context = environment.getContext();
+        for (Item publication : environment.getPublications()) {
+            blackhole.consume(authorizeService.authorizeActionBoolean(context, ePerson, publication, action, true));
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the JSON results of two benchmark runs, e.g. of two commits,
+ * printing for each benchmark the scores of both runs and their difference.
+ * The differences within the sum of the score errors of the two runs are
+ * marked as not significant.
+ *
+ * Usage: BenchmarkComparison baseline.json current.json
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json>");
+            System.exit(1);
+        }
+
+        Map<String, JsonNode> baseline = readResults(new File(args[0]));
+        Map<String, JsonNode> current = readResults(new File(args[1]));
+
+        System.out.println(String.format("%-70s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode currentMetric = entry.getValue();
+            JsonNode baselineMetric = baseline.get(entry.getKey());
+            String unit = currentMetric.path("scoreUnit").asText();
+            double currentScore = currentMetric.path("score").asDouble();
+
+            if (baselineMetric == null) {
+                System.out.println(String.format("%-70s %14s %14.3f %9s %s", entry.getKey(), "-", currentScore,
+                    "new", unit));
+                continue;
+            }
+
+            double baselineScore = baselineMetric.path("score").asDouble();
+            double change = baselineScore != 0 ? (currentScore - baselineScore) / baselineScore * 100 : 0;
+            double error = baselineMetric.path("scoreError").asDouble(0) + currentMetric.path("scoreError").asDouble(0);
+            boolean significant = Math.abs(currentScore - baselineScore) > error;
+
+            System.out.println(String.format("%-70s %14.3f %14.3f %+8.1f%% %s%s", entry.getKey(), baselineScore,
+                currentScore, change, unit, significant ? "" : " (not significant)"));
+        }
+    }
+
+    /**
+     * Returns the primary metrics of the results, by benchmark name and
+     * parameters.
+     */
+    private static Map<String, JsonNode> readResults(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String name = result.path("benchmark").asText().replace("org.dspace.benchmark.", "");
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(),
+                param.getValue().asText()));
+            results.put(params.isEmpty() ? name : name + params, result.path("primaryMetric"));
+        }
+        return results;
+    }
+
+}
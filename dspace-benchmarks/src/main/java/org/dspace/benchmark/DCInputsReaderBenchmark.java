@@ -0,0 +1,42 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.app.util.DCInputsReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the parsing of the submission forms of the test environment
+ * by the {@link DCInputsReader}, done by every new reader instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class DCInputsReaderBenchmark {
+
+    @Benchmark
+    public DCInputsReader parseSubmissionForms(DSpaceEnvironment environment) throws Exception {
+        return new DCInputsReader();
+    }
+
+    @Benchmark
+    public Object getInputsByFormName(DSpaceEnvironment environment) throws Exception {
+        return new DCInputsReader().getInputsByFormName("traditionalpageone");
+    }
+
+}
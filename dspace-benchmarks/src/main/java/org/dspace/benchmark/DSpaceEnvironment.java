@@ -0,0 +1,176 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.builder.AbstractBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.servicemanager.DSpaceKernelImpl;
+import org.dspace.servicemanager.DSpaceKernelInit;
+import org.dspace.storage.rdbms.DatabaseUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The DSpace test environment of the benchmarks: the kernel started on the
+ * installation given by the dspace.dir system property, with its H2 database,
+ * and a set of Publication and Person items created with the test builders.
+ * The items are generated from a fixed seed, so that every run measures the
+ * same data.
+ *
+ * The state is bound to the benchmark thread, as the Hibernate session of the
+ * context, to which the items are attached, is bound to the thread that
+ * created it.
+ */
+@State(Scope.Thread)
+public class DSpaceEnvironment {
+
+    private static final long SEED = 42;
+
+    private static final int PUBLICATIONS = 100;
+
+    private static final int PERSONS = 20;
+
+    private static final String[] SUBJECTS = { "Physics", "Chemistry", "Biology", "Mathematics", "Medicine",
+        "Computer science", "Economics", "History", "Linguistics", "Engineering" };
+
+    private DSpaceKernelImpl kernel;
+
+    private Context context;
+
+    private EPerson eperson;
+
+    private List<Item> publications;
+
+    private List<Item> persons;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Dublin"));
+
+        kernel = DSpaceKernelInit.getKernel(null);
+        if (!kernel.isRunning()) {
+            kernel.start(System.getProperty("dspace.dir"));
+        }
+        DatabaseUtils.updateDatabase();
+        AbstractBuilder.init();
+
+        context = new Context(Context.Mode.READ_WRITE);
+        context.turnOffAuthorisationSystem();
+        EPersonServiceFactory.getInstance().getGroupService().initDefaultGroupNames(context);
+
+        eperson = EPersonBuilder.createEPerson(context)
+            .withEmail("benchmark@example.com")
+            .withNameInMetadata("Benchmark", "User")
+            .build();
+
+        Collection collection = CollectionBuilder.createCollection(context,
+            CommunityBuilder.createCommunity(context).withName("Benchmarks").build())
+            .withName("Publications")
+            .build();
+
+        Random random = new Random(SEED);
+
+        persons = new ArrayList<>();
+        for (int i = 0; i < PERSONS; i++) {
+            persons.add(ItemBuilder.createItem(context, collection)
+                .withEntityType("Person")
+                .withTitle("Person " + i)
+                .withFullName("Person " + i)
+                .withGivenName("Given " + i)
+                .withFamilyName("Family " + i)
+                .withBirthDate("19" + (50 + random.nextInt(50)) + "-01-01")
+                .withPersonMainAffiliation("University " + random.nextInt(5))
+                .withPersonEmail("person" + i + "@example.com")
+                .withDescriptionAbstract(StringUtils.repeat("Biography of the person. ", 1 + random.nextInt(20)))
+                .build());
+        }
+
+        publications = new ArrayList<>();
+        for (int i = 0; i < PUBLICATIONS; i++) {
+            ItemBuilder publication = ItemBuilder.createItem(context, collection)
+                .withEntityType("Publication")
+                .withTitle("Publication " + i)
+                .withIssueDate(String.valueOf(1990 + random.nextInt(35)))
+                .withType("Controlled Vocabulary for Resource Type Genres::text::journal::journal article")
+                .withDescriptionAbstract(StringUtils.repeat("Abstract of the publication. ", 1 + random.nextInt(40)));
+            int authors = 1 + random.nextInt(10);
+            for (int author = 0; author < authors; author++) {
+                Item person = persons.get(random.nextInt(PERSONS));
+                publication.withAuthor(person.getName(), person.getID().toString());
+            }
+            int subjects = 1 + random.nextInt(5);
+            for (int subject = 0; subject < subjects; subject++) {
+                publication.withSubject(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+            }
+            publications.add(publication.build());
+        }
+
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // the commit detaches the items from the session
+        eperson = context.reloadEntity(eperson);
+        persons = reload(persons);
+        publications = reload(publications);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (context != null && context.isValid()) {
+            context.abort();
+        }
+        AbstractBuilder.cleanupObjects();
+        AbstractBuilder.cleanupBuilderCache();
+        if (kernel != null) {
+            kernel.destroy();
+        }
+    }
+
+    private List<Item> reload(List<Item> items) throws SQLException {
+        List<Item> reloaded = new ArrayList<>();
+        for (Item item : items) {
+            reloaded.add(context.reloadEntity(item));
+        }
+        return reloaded;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public EPerson getEPerson() {
+        return eperson;
+    }
+
+    public List<Item> getPublications() {
+        return publications;
+    }
+
+    public List<Item> getPersons() {
+        return persons;
+    }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.core.Context;
+import org.dspace.core.profiling.RequestProfile;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResult;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of the discovery searches returning pages of items of different
+ * sizes, including the loading of the found items from the database. Besides
+ * the latency, the benchmark counts the database statements executed by the
+ * searches: the statements counter divided by the searches counter is the
+ * number of statements of each search.
+ *
+ * The found items are uncached after each search, so that every search loads
+ * them again from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+public class DiscoveryHydrationBenchmark {
+
+    @Param({ "10", "20", "50", "100" })
+    private int pageSize;
+
+    private SearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        searchService = SearchUtils.getSearchService();
+    }
+
+    @Benchmark
+    public void searchItems(DSpaceEnvironment environment, StatementCounters counters, Blackhole blackhole)
+        throws Exception {
+
+        Context context = environment.getContext();
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("*:*");
+        discoverQuery.addFilterQueries("search.resourcetype:" + IndexableItem.TYPE);
+        discoverQuery.setSortField("dc.title_sort", DiscoverQuery.SORT_ORDER.asc);
+        discoverQuery.setMaxResults(pageSize);
+
+        RequestProfile profile = RequestProfile.start();
+        try {
+            DiscoverResult result = searchService.search(context, discoverQuery);
+            blackhole.consume(result);
+            counters.statements += profile.getStatements();
+            counters.searches++;
+            for (IndexableObject<?, ?> indexableObject : result.getIndexableObjects()) {
+                context.uncacheEntity(indexableObject.getIndexedObject());
+            }
+        } finally {
+            RequestProfile.stop();
+        }
+
+    }
+
+    /**
+     * The number of searches and of the database statements they executed,
+     * reported by JMH next to the latency.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class StatementCounters {
+
+        public long statements;
+
+        public long searches;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            searches = 0;
+        }
+
+    }
+
+}
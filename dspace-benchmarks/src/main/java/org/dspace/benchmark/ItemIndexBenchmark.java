@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.content.Item;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of the creation of the Solr documents of the items, without
+ * sending them to Solr.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+public class ItemIndexBenchmark {
+
+    private ItemIndexFactory itemIndexFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        itemIndexFactory = (ItemIndexFactory) IndexObjectFactoryFactory.getInstance()
+            .getIndexFactoryByType(IndexableItem.TYPE);
+    }
+
+    @Benchmark
+    public void buildPublicationDocuments(DSpaceEnvironment environment, Blackhole blackhole) throws Exception {
+        for (Item publication : environment.getPublications()) {
+            blackhole.consume(itemIndexFactory.buildDocument(environment.getContext(), new IndexableItem(publication)));
+        }
+    }
+
+    @Benchmark
+    public void buildPersonDocuments(DSpaceEnvironment environment, Blackhole blackhole) throws Exception {
+        for (Item person : environment.getPersons()) {
+            blackhole.consume(itemIndexFactory.buildDocument(environment.getContext(), new IndexableItem(person)));
+        }
+    }
+
+}
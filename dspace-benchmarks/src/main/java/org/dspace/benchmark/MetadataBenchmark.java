@@ -0,0 +1,92 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.content.Item;
+import org.dspace.content.MetadataValue;
+import org.dspace.content.MetadataValueComparators;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the metadata lookups of DSpaceObjectServiceImpl and of the
+ * sorting of the metadata values, over all the publications of the
+ * {@link DSpaceEnvironment}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+public class MetadataBenchmark {
+
+    private ItemService itemService;
+
+    private List<List<MetadataValue>> shuffledMetadata;
+
+    @Setup(Level.Trial)
+    public void setup(DSpaceEnvironment environment) {
+        itemService = ContentServiceFactory.getInstance().getItemService();
+
+        Random random = new Random(42);
+        shuffledMetadata = new ArrayList<>();
+        for (Item publication : environment.getPublications()) {
+            List<MetadataValue> metadata = new ArrayList<>(publication.getMetadata());
+            Collections.shuffle(metadata, random);
+            shuffledMetadata.add(metadata);
+        }
+    }
+
+    @Benchmark
+    public void getMetadataByField(DSpaceEnvironment environment, Blackhole blackhole) {
+        for (Item publication : environment.getPublications()) {
+            blackhole.consume(itemService.getMetadata(publication, "dc", "contributor", "author", Item.ANY));
+        }
+    }
+
+    @Benchmark
+    public void getMetadataByWildcard(DSpaceEnvironment environment, Blackhole blackhole) {
+        for (Item publication : environment.getPublications()) {
+            blackhole.consume(itemService.getMetadata(publication, "dc", Item.ANY, Item.ANY, Item.ANY));
+        }
+    }
+
+    @Benchmark
+    public void getMetadataFirstValue(DSpaceEnvironment environment, Blackhole blackhole) {
+        for (Item publication : environment.getPublications()) {
+            blackhole.consume(itemService.getMetadataFirstValue(publication, "dc", "title", null, Item.ANY));
+        }
+    }
+
+    @Benchmark
+    public void sortMetadataValues(Blackhole blackhole) {
+        for (List<MetadataValue> metadata : shuffledMetadata) {
+            blackhole.consume(MetadataValueComparators.sort(metadata));
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.MetadataBatch;
+import org.dspace.content.MetadataField;
+import org.dspace.content.MetadataValue;
+import org.dspace.content.WorkspaceItem;
+import org.dspace.content.authority.Choices;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.InstallItemService;
+import org.dspace.content.service.ItemService;
+import org.dspace.content.service.MetadataFieldService;
+import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.core.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the metadata writes of a bulk import: five subjects and two
+ * authors, one of them with an authority, are added to each of the given
+ * number of items, committing every thousand items. The values are written
+ * either with a {@link MetadataBatch} per commit or one by one through
+ * Hibernate, with an update of each item.
+ *
+ * The items are created once per trial, without the discovery consumer, and
+ * the added values are removed before each iteration. Each iteration writes
+ * all the items once, so the score is the time of the whole import.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class MetadataWriteBenchmark {
+
+    private static final int COMMIT_SIZE = 1000;
+
+    private static final int SUBJECTS = 5;
+
+    @Param({ "100000" })
+    private int items;
+
+    @Param({ "batch", "hibernate" })
+    private String path;
+
+    private ItemService itemService;
+
+    private MetadataField subjectField;
+
+    private MetadataField authorField;
+
+    private List<UUID> itemIds;
+
+    @Setup(Level.Trial)
+    public void setup(DSpaceEnvironment environment) throws Exception {
+        itemService = ContentServiceFactory.getInstance().getItemService();
+        WorkspaceItemService workspaceItemService = ContentServiceFactory.getInstance().getWorkspaceItemService();
+        InstallItemService installItemService = ContentServiceFactory.getInstance().getInstallItemService();
+        MetadataFieldService metadataFieldService = ContentServiceFactory.getInstance().getMetadataFieldService();
+
+        Context context = environment.getContext();
+        context.turnOffAuthorisationSystem();
+        context.setDispatcher("noindex");
+
+        subjectField = metadataFieldService.findByElement(context, "dc", "subject", null);
+        authorField = metadataFieldService.findByElement(context, "dc", "contributor", "author");
+
+        Collection collection = CollectionBuilder.createCollection(context,
+            CommunityBuilder.createCommunity(context).withName("Metadata writes").build())
+            .withName("Imported items")
+            .build();
+
+        itemIds = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            WorkspaceItem workspaceItem = workspaceItemService.create(context, collection, false);
+            Item item = installItemService.installItem(context, workspaceItem);
+            itemService.addMetadata(context, item, "dc", "title", null, null, "Imported item " + i);
+            itemService.update(context, item);
+            itemIds.add(item.getID());
+            if ((i + 1) % COMMIT_SIZE == 0) {
+                context.commit();
+                collection = context.reloadEntity(collection);
+            }
+        }
+        context.commit();
+    }
+
+    @Setup(Level.Iteration)
+    public void removeWrittenValues(DSpaceEnvironment environment) throws Exception {
+        Context context = environment.getContext();
+        MetadataBatch batch = new MetadataBatch();
+        for (int i = 0; i < itemIds.size(); i++) {
+            Item item = itemService.find(context, itemIds.get(i));
+            for (MetadataValue metadataValue : item.getMetadata()) {
+                if (metadataValue.getMetadataField().equals(subjectField)
+                    || metadataValue.getMetadataField().equals(authorField)) {
+                    batch.removeValue(metadataValue);
+                }
+            }
+            if ((i + 1) % COMMIT_SIZE == 0) {
+                itemService.writeMetadata(context, batch);
+                batch.clear();
+                context.commit();
+            }
+        }
+        itemService.writeMetadata(context, batch);
+        context.commit();
+    }
+
+    @Benchmark
+    public void writeMetadata(DSpaceEnvironment environment) throws Exception {
+        Context context = environment.getContext();
+        MetadataBatch batch = new MetadataBatch();
+        for (int i = 0; i < itemIds.size(); i++) {
+            Item item = itemService.find(context, itemIds.get(i));
+            if ("batch".equals(path)) {
+                addToBatch(batch, item, i);
+            } else {
+                addOneByOne(context, item, i);
+            }
+            if ((i + 1) % COMMIT_SIZE == 0) {
+                itemService.writeMetadata(context, batch);
+                batch.clear();
+                context.commit();
+            }
+        }
+        itemService.writeMetadata(context, batch);
+        context.commit();
+    }
+
+    private void addToBatch(MetadataBatch batch, Item item, int index) {
+        for (int j = 0; j < SUBJECTS; j++) {
+            batch.addValue(item, subjectField, null, "Subject " + index + "." + j);
+        }
+        batch.addValue(item, authorField, null, "Author " + index, "author-" + index, Choices.CF_ACCEPTED, null);
+        batch.addValue(item, authorField, null, "Unmatched author " + index, null, Choices.CF_NOTFOUND, null);
+    }
+
+    private void addOneByOne(Context context, Item item, int index) throws Exception {
+        for (int j = 0; j < SUBJECTS; j++) {
+            itemService.addMetadata(context, item, subjectField, null, "Subject " + index + "." + j);
+        }
+        itemService.addMetadata(context, item, authorField, null, "Author " + index, "author-" + index,
+            Choices.CF_ACCEPTED);
+        itemService.addMetadata(context, item, authorField, null, "Unmatched author " + index, null,
+            Choices.CF_NOTFOUND);
+        itemService.update(context, item);
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.dspace.content.Item;
+import org.dspace.content.integration.crosswalks.ReferCrosswalk;
+import org.dspace.content.integration.crosswalks.StreamDisseminationCrosswalkMapper;
+import org.dspace.utils.DSpace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the rendering of the items with the {@link ReferCrosswalk}
+ * templates, single and multiple.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+public class ReferCrosswalkBenchmark {
+
+    private static final OutputStream OUT = NullOutputStream.NULL_OUTPUT_STREAM;
+
+    private ReferCrosswalk publicationCrosswalk;
+
+    private ReferCrosswalk personCrosswalk;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StreamDisseminationCrosswalkMapper crosswalkMapper =
+            new DSpace().getSingletonService(StreamDisseminationCrosswalkMapper.class);
+        publicationCrosswalk = (ReferCrosswalk) crosswalkMapper.getByType("publication-cerif-xml");
+        personCrosswalk = (ReferCrosswalk) crosswalkMapper.getByType("person-xml");
+    }
+
+    @Benchmark
+    public void renderPublications(DSpaceEnvironment environment) throws Exception {
+        for (Item publication : environment.getPublications()) {
+            publicationCrosswalk.disseminate(environment.getContext(), publication, OUT);
+        }
+    }
+
+    @Benchmark
+    public void renderPersons(DSpaceEnvironment environment) throws Exception {
+        for (Item person : environment.getPersons()) {
+            personCrosswalk.disseminate(environment.getContext(), person, OUT);
+        }
+    }
+
+    @Benchmark
+    public void renderPublicationList(DSpaceEnvironment environment) throws Exception {
+        publicationCrosswalk.disseminate(environment.getContext(), environment.getPublications().iterator(), OUT);
+    }
+
+}
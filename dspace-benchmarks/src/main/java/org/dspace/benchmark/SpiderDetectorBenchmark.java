@@ -0,0 +1,96 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.statistics.util.IPTable;
+import org.dspace.statistics.util.SpiderDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the spider detection done for each usage event: the lookups
+ * in an {@link IPTable} of the given size and the full {@link SpiderDetector}
+ * check with the spider lists of the test environment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+public class SpiderDetectorBenchmark {
+
+    private static final int LOOKUPS = 100;
+
+    private static final String BROWSER_AGENT =
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36";
+
+    private static final String SPIDER_AGENT =
+        "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)";
+
+    @Param({ "100", "10000" })
+    public int tableSize;
+
+    private IPTable table;
+
+    private String[] addresses;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Random random = new Random(42);
+
+        table = new IPTable();
+        for (int i = 0; i < tableSize; i++) {
+            // a mix of single addresses and of /24 subnets
+            String subnet = random.nextInt(224) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            table.add(random.nextBoolean() ? subnet : subnet + "." + random.nextInt(256));
+        }
+
+        addresses = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            addresses[i] = random.nextInt(224) + "." + random.nextInt(256) + "." + random.nextInt(256) + "."
+                + random.nextInt(256);
+        }
+    }
+
+    @Benchmark
+    public void ipTableLookup(Blackhole blackhole) throws Exception {
+        for (String address : addresses) {
+            blackhole.consume(table.contains(address));
+        }
+    }
+
+    @Benchmark
+    public void spiderDetectorBrowser(DSpaceEnvironment environment, Blackhole blackhole) {
+        for (String address : addresses) {
+            blackhole.consume(SpiderDetector.isSpider(address, null, null, BROWSER_AGENT));
+        }
+    }
+
+    @Benchmark
+    public void spiderDetectorSpider(DSpaceEnvironment environment, Blackhole blackhole) {
+        for (String address : addresses) {
+            blackhole.consume(SpiderDetector.isSpider(address, null, null, SPIDER_AGENT));
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFIER_AS_DIGIT;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dspace.app.rest.model.ProcessRest;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.core.Context;
+import org.dspace.scripts.Process;
+import org.dspace.scripts.service.ProcessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This RestController streams the log of a running process, while the complete log is available through the
+ * /output endpoint once the process is completed.
+ * The endpoint can be found at /api/system/processes/{process-id}/log
+ * <br><code>
+ * curl -i "http://{dspace.server.url}/api/system/processes/{process-id}/log?position=-4096"
+ * </code>
+ * <br>
+ * The response contains the log from the given position up to its current end, which is returned in the
+ * X-Log-Position header: sending it as the position of the next request returns only the new lines. A negative
+ * position is relative to the end of the log; without position the last 64KB are returned. If the process is not
+ * running the response has no content.
+ */
+@RestController
+@RequestMapping("/api/" + ProcessRest.CATEGORY + "/" + ProcessRest.PLURAL_NAME
+    + REGEX_REQUESTMAPPING_IDENTIFIER_AS_DIGIT + "/log")
+public class ProcessLogController {
+
+    public static final String LOG_POSITION_HEADER = "X-Log-Position";
+
+    private static final long DEFAULT_TAIL_SIZE = 64 * 1024;
+
+    @Autowired
+    private ProcessService processService;
+
+    @RequestMapping(method = RequestMethod.GET)
+    @PreAuthorize("hasPermission(#id, 'PROCESS', 'READ')")
+    public void getRunningLog(@PathVariable Integer id,
+                              @RequestParam(name = "position", required = false) Long position,
+                              HttpServletRequest request, HttpServletResponse response)
+        throws SQLException, IOException {
+
+        Context context = ContextUtil.obtainContext(request);
+        Process process = processService.find(context, id);
+        if (process == null) {
+            throw new ResourceNotFoundException("The process with id: " + id + " wasn't found");
+        }
+
+        long size = processService.getRunningLogSize(id);
+        if (size < 0) {
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            return;
+        }
+
+        long requestedPosition = position != null ? position : -DEFAULT_TAIL_SIZE;
+        long start = requestedPosition < 0 ? Math.max(size + requestedPosition, 0) : Math.min(requestedPosition, size);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(LOG_POSITION_HEADER, String.valueOf(size));
+        response.setContentLengthLong(size - start);
+        if (!processService.writeRunningLog(id, start, size, response.getOutputStream())) {
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            response.setContentLengthLong(0);
+        }
+    }
+
+}
@@ -194,7 +194,8 @@ public class WebApplication {
                                 "X-Requested-With", "X-XSRF-TOKEN", "X-CORRELATION-ID", "X-REFERRER",
                                 "x-recaptcha-token")
                             // Allow list of response headers allowed to be sent by us (the server) to the client
-                            .exposedHeaders("Authorization", "DSPACE-XSRF-TOKEN", "Location", "WWW-Authenticate");
+                            .exposedHeaders("Authorization", "DSPACE-XSRF-TOKEN", "Location", "WWW-Authenticate",
+                                ProcessLogController.LOG_POSITION_HEADER);
                 }
                 if (iiifAllowedOrigins != null) {
                     registry.addMapping("/iiif/**").allowedMethods(CorsConfiguration.ALL)
@@ -14,6 +14,7 @@ import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.SiteRest;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
+import org.dspace.eperson.EPerson;
 
 /**
  * This service provides access to the Authorization Features and check if the feature is allowed or not in a specific
@@ -38,6 +39,28 @@ public interface AuthorizationFeatureService {
     boolean isAuthorized(Context context, AuthorizationFeature feature, BaseObjectRest object)
         throws SQLException, SearchServiceException;
 
+    /**
+     * Check many features against many objects at once, returning the granted
+     * authorizations ordered by object and then by feature name. The resource
+     * policies of the involved DSpace objects and of their parents are loaded
+     * in bulk before the evaluation, and each pair feature/object is evaluated
+     * only once even if requested more times.
+     *
+     * @param context
+     *            the DSpace Context
+     * @param user
+     *            the user the authorizations are related to, null for anonymous
+     * @param objects
+     *            the objects target by the features, the null objects are ignored
+     * @param featureNames
+     *            the names of the features to check, the unknown names are ignored. A blank name stands for all the
+     *            features that apply to the type of each object, and it can be mixed with other names: the result
+     *            is the union of the authorizations of every name, as if each name was checked on its own
+     * @return the granted authorizations
+     */
+    List<Authorization> findAuthorizations(Context context, EPerson user, List<BaseObjectRest> objects,
+        List<String> featureNames) throws SQLException, SearchServiceException;
+
     /**
      * Get all the authorization features defined in the system
      *
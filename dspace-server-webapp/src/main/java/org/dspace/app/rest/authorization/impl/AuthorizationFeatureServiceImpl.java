@@ -8,17 +8,25 @@
 package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.dspace.app.rest.authorization.Authorization;
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureService;
 import org.dspace.app.rest.model.BaseObjectRest;
+import org.dspace.app.rest.model.DSpaceObjectRest;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
+import org.dspace.eperson.EPerson;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -37,6 +45,9 @@ public class AuthorizationFeatureServiceImpl implements AuthorizationFeatureServ
     @Autowired
     private Utils utils;
 
+    @Autowired
+    private AuthorizeService authorizeService;
+
     @Override
     public boolean isAuthorized(Context context, AuthorizationFeature feature, BaseObjectRest object)
         throws SQLException, SearchServiceException {
@@ -53,6 +64,67 @@ public class AuthorizationFeatureServiceImpl implements AuthorizationFeatureServ
         return feature.isAuthorized(context, object);
     }
 
+    @Override
+    public List<Authorization> findAuthorizations(Context context, EPerson user, List<BaseObjectRest> objects,
+        List<String> featureNames) throws SQLException, SearchServiceException {
+
+        prefetchPolicies(context, objects);
+
+        // the same object can be requested more times, evaluate each pair feature/object once
+        Map<String, Boolean> decisions = new HashMap<>();
+        List<Authorization> authorizations = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            if (object == null) {
+                continue;
+            }
+            for (AuthorizationFeature feature : findFeatures(featureNames, object)) {
+                String key = feature.getName() + "_" + object.getUniqueType() + "_" + object.getId();
+                Boolean authorized = decisions.get(key);
+                if (authorized == null) {
+                    authorized = isAuthorized(context, feature, object);
+                    decisions.put(key, authorized);
+                }
+                if (authorized) {
+                    authorizations.add(new Authorization(user, feature, object));
+                }
+            }
+        }
+        return authorizations;
+    }
+
+    /**
+     * Returns the features named by the given names for the given object, in
+     * the order of the names: a blank name is replaced by all the features
+     * that apply to the type of the object, the unknown names are skipped.
+     */
+    private List<AuthorizationFeature> findFeatures(List<String> featureNames, BaseObjectRest object) {
+        List<AuthorizationFeature> objectFeatures = new ArrayList<>();
+        for (String featureName : featureNames) {
+            if (StringUtils.isBlank(featureName)) {
+                objectFeatures.addAll(findByResourceType(object.getUniqueType()));
+            } else {
+                AuthorizationFeature feature = find(featureName);
+                if (feature != null) {
+                    objectFeatures.add(feature);
+                }
+            }
+        }
+        return objectFeatures;
+    }
+
+    private void prefetchPolicies(Context context, List<BaseObjectRest> objects) throws SQLException {
+        List<DSpaceObject> dsos = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            if (object instanceof DSpaceObjectRest) {
+                Object dso = utils.getDSpaceAPIObjectFromRest(context, object);
+                if (dso instanceof DSpaceObject) {
+                    dsos.add((DSpaceObject) dso);
+                }
+            }
+        }
+        authorizeService.prefetchPolicies(context, dsos);
+    }
+
     @Override
     public List<AuthorizationFeature> findAll() {
         return features;
@@ -13,15 +13,20 @@ import java.util.Arrays;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
+import org.dspace.app.rest.health.EventConsumersHealthIndicator;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
+import org.dspace.app.rest.security.jwt.VerifiedTokenCache;
 import org.dspace.authority.AuthoritySolrServiceImpl;
+import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SolrSearchCore;
+import org.dspace.event.service.EventService;
 import org.dspace.statistics.SolrStatisticsCore;
 import org.dspace.xoai.services.api.solr.SolrServerResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
 import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.boot.actuate.solr.SolrHealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -88,6 +93,27 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("eventConsumers")
+    public EventConsumersHealthIndicator eventConsumersHealthIndicator() {
+        return new EventConsumersHealthIndicator();
+    }
+
+    @Bean
+    public InfoContributor verifiedTokenCacheInfoContributor(VerifiedTokenCache verifiedTokenCache) {
+        return builder -> builder.withDetail("jwtCache", verifiedTokenCache.getStatistics());
+    }
+
+    @Bean
+    public InfoContributor searchResponseCacheInfoContributor(SearchService searchService) {
+        return builder -> builder.withDetail("searchCache", searchService.getSearchResponseCacheStatistics());
+    }
+
+    @Bean
+    public InfoContributor eventConsumersInfoContributor(EventService eventService) {
+        return builder -> builder.withDetail("eventConsumers", eventService.getStatistics());
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
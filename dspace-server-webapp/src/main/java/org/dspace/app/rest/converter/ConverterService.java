@@ -33,6 +33,7 @@ import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.core.profiling.RequestProfile;
 import org.dspace.services.RequestService;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -107,6 +108,21 @@ public class ConverterService {
      * @throws ClassCastException if the converter's return type is not compatible with the inferred return type.
      */
     public <M, R> R toRest(M modelObject, Projection projection) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return convert(modelObject, projection);
+        }
+
+        profile.startConversion();
+        long start = System.nanoTime();
+        try {
+            return convert(modelObject, projection);
+        } finally {
+            profile.endConversion(modelObject.getClass().getSimpleName(), System.nanoTime() - start);
+        }
+    }
+
+    private <M, R> R convert(M modelObject, Projection projection) {
         M transformedModel = projection.transformModel(modelObject);
         DSpaceConverter<M, R> converter = requireConverter(modelObject.getClass());
         R restObject = converter.convert(transformedModel, projection);
@@ -0,0 +1,42 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import java.util.List;
+
+import org.dspace.event.service.EventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that verifies if the event
+ * consumers are slow, i.e. if the recent 95th percentile latency of their
+ * calls is above the configured threshold.
+ */
+public class EventConsumersHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private EventService eventService;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+
+        List<String> slowConsumers = eventService.getSlowConsumers();
+        if (slowConsumers.isEmpty()) {
+            builder.up();
+        } else {
+            builder.status(UP_WITH_ISSUES_STATUS).withDetail("slowConsumers", slowConsumers);
+        }
+
+    }
+
+}
@@ -213,22 +213,16 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
             return new ArrayList<>();
         }
 
-        List<Authorization> authorizations = new ArrayList<>();
-
         List<BaseObjectRest> objects = uuidList.stream()
             .map(uuid -> utils.getBaseObjectRestFromTypeAndUUID(context, type, uuid))
             .collect(Collectors.toList());
 
-        objects.forEach(object ->
-            featureNames.forEach(featureName -> {
-                try {
-                    authorizations.addAll(authorizationsForObject(context, user, featureName, object));
-                } catch (Exception ex) {
-                    log.error("An error occurred during authorizations check");
-                    throw new RuntimeException(ex);
-                }
-            }));
-        return authorizations;
+        try {
+            return authorizationFeatureService.findAuthorizations(context, user, objects, featureNames);
+        } catch (Exception ex) {
+            log.error("An error occurred during authorizations check");
+            throw new RuntimeException(ex);
+        }
     }
 
     private List<Authorization> findAuthorizationsForUri(
@@ -35,6 +35,7 @@ import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.util.DateUtils;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
+import org.dspace.app.rest.security.jwt.VerifiedTokenCache.VerifiedToken;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
@@ -81,6 +82,9 @@ public abstract class JWTTokenHandler {
     @Autowired
     private MachineClaimProvider machineClaimProvider;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
@@ -114,6 +118,15 @@ public abstract class JWTTokenHandler {
      */
     protected abstract String getCompressionEnabledConfigurationKey();
 
+    /**
+     * Get the configuration property key for the verified token cache enable
+     * setting. By default the verified tokens are not cached.
+     * @return the configuration property key, null if the cache is not supported
+     */
+    protected String getVerifiedTokenCacheEnabledConfigurationKey() {
+        return null;
+    }
+
     /**
      * Retrieve EPerson from a JSON Web Token (JWT)
      *
@@ -130,6 +143,16 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+
+        boolean cacheEnabled = isVerifiedTokenCacheEnabled();
+        if (cacheEnabled) {
+            EPerson ePerson = parseEPersonFromVerifiedToken(token, request, context);
+            if (ePerson != null) {
+                return ePerson;
+            }
+        }
+
+        long startTime = System.nanoTime();
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -142,10 +165,14 @@ public abstract class JWTTokenHandler {
 
             log.debug("Received valid token for username: " + ePerson.getEmail());
 
-            for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
-                jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+            if (cacheEnabled) {
+                verifiedTokenCache.recordVerification(System.nanoTime() - startTime);
+                verifiedTokenCache.put(getClass().getName(), token,
+                    new VerifiedToken(jwtClaimsSet, ePerson.getID(), getSigningKeyDigest(jwtClaimsSet, ePerson)));
             }
 
+            parseClaims(context, request, jwtClaimsSet);
+
             return ePerson;
         } else {
             log.warn(getIpAddress(request) + " tried to use an expired or non-valid token");
@@ -204,6 +231,9 @@ public abstract class JWTTokenHandler {
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
             }
+            if (isVerifiedTokenCacheEnabled()) {
+                verifiedTokenCache.remove(getClass().getName(), token);
+            }
 
         }
     }
@@ -221,6 +251,9 @@ public abstract class JWTTokenHandler {
             if (ePerson != null) {
                 ePerson.setMachineSessionSalt("");
             }
+            if (isVerifiedTokenCacheEnabled()) {
+                verifiedTokenCache.remove(getClass().getName(), token);
+            }
         }
     }
 
@@ -274,6 +307,59 @@ public abstract class JWTTokenHandler {
         return secretString.getBytes();
     }
 
+    public boolean isVerifiedTokenCacheEnabled() {
+        String configurationKey = getVerifiedTokenCacheEnabledConfigurationKey();
+        return configurationKey != null && configurationService.getBooleanProperty(configurationKey, false);
+    }
+
+    /**
+     * Retrieve the EPerson from a token already verified and cached within the
+     * configured time to live. The cached token is used only if it is not
+     * expired and if the key that would sign it now, which depends on the
+     * session salt of the EPerson, is the same used to sign it.
+     *
+     * @param token token as a string
+     * @param request current request
+     * @param context current Context
+     * @return the EPerson, or null if the token is not cached or no longer valid
+     * @throws SQLException
+     */
+    private EPerson parseEPersonFromVerifiedToken(String token, HttpServletRequest request, Context context)
+        throws SQLException {
+
+        VerifiedToken verifiedToken = verifiedTokenCache.get(getClass().getName(), token);
+        if (verifiedToken == null) {
+            return null;
+        }
+
+        JWTClaimsSet jwtClaimsSet = verifiedToken.getClaimsSet();
+        EPerson ePerson = ePersonService.find(context, verifiedToken.getEPersonId());
+        Date expirationTime = jwtClaimsSet.getExpirationTime();
+
+        if (ePerson == null
+            || StringUtils.isBlank(getSalt(jwtClaimsSet, ePerson))
+            || !verifiedToken.getSigningKeyDigest().equals(getSigningKeyDigest(jwtClaimsSet, ePerson))
+            || !DateUtils.isAfter(expirationTime, new Date(), MAX_CLOCK_SKEW_SECONDS)) {
+            verifiedTokenCache.remove(getClass().getName(), token);
+            return null;
+        }
+
+        parseClaims(context, request, jwtClaimsSet);
+        return ePerson;
+    }
+
+    private void parseClaims(Context context, HttpServletRequest request, JWTClaimsSet jwtClaimsSet)
+        throws SQLException {
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+        }
+    }
+
+    private String getSigningKeyDigest(JWTClaimsSet jwtClaimsSet, EPerson ePerson) {
+        String encryptionKey = isEncryptionEnabled() ? new String(getEncryptionKey()) : "";
+        return VerifiedTokenCache.digest(buildSigningKey(ePerson, getSalt(jwtClaimsSet, ePerson)) + encryptionKey);
+    }
+
     private JWEObject encryptJWT(SignedJWT signedJWT) throws JOSEException {
         JWEObject jweObject = new JWEObject(
             compression(new JWEHeader.Builder(JWEAlgorithm.DIR, EncryptionMethod.A128GCM)
@@ -0,0 +1,184 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.security.jwt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded and short lived cache of the JSON Web Tokens already verified by a
+ * {@link JWTTokenHandler}, so that the following requests with the same token
+ * can skip the token decryption and the signature verification.
+ *
+ * Each entry holds the verified claims and a digest of the key used to sign
+ * the token: the handler recomputes the signing key on every cache hit, so an
+ * entry is discarded as soon as the session salt of the EPerson changes (e.g.
+ * on logout) or the server secret is changed.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static final long DEFAULT_TTL = 60;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong verifications = new AtomicLong();
+
+    private final AtomicLong verificationNanos = new AtomicLong();
+
+    private Map<String, VerifiedToken> cache;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * Returns the verified token related to the given token, if it was cached
+     * within the configured time to live, null otherwise.
+     *
+     * @param  handlerName the name of the handler that verified the token
+     * @param  token       the token as a string
+     * @return             the verified token, if any
+     */
+    public VerifiedToken get(String handlerName, String token) {
+        String key = getKey(handlerName, token);
+        VerifiedToken verifiedToken = getCache().get(key);
+        if (verifiedToken != null && isExpired(verifiedToken)) {
+            getCache().remove(key);
+            verifiedToken = null;
+        }
+
+        if (verifiedToken != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        return verifiedToken;
+    }
+
+    public void put(String handlerName, String token, VerifiedToken verifiedToken) {
+        getCache().put(getKey(handlerName, token), verifiedToken);
+    }
+
+    public void remove(String handlerName, String token) {
+        getCache().remove(getKey(handlerName, token));
+    }
+
+    /**
+     * Records the time spent to fully verify a token that was not cached.
+     *
+     * @param nanos the verification time in nanoseconds
+     */
+    public void recordVerification(long nanos) {
+        verifications.incrementAndGet();
+        verificationNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Returns the cache statistics: the hits and the misses, the average time
+     * of a full token verification and the verification time saved by the
+     * hits, estimated from that average.
+     *
+     * @return the statistics by name
+     */
+    public Map<String, Object> getStatistics() {
+        long verificationCount = verifications.get();
+        long averageNanos = verificationCount > 0 ? verificationNanos.get() / verificationCount : 0;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", getCache().size());
+        statistics.put("hits", hits.get());
+        statistics.put("misses", misses.get());
+        statistics.put("averageVerificationMicros", TimeUnit.NANOSECONDS.toMicros(averageNanos));
+        statistics.put("savedVerificationMillis", TimeUnit.NANOSECONDS.toMillis(averageNanos * hits.get()));
+        return statistics;
+    }
+
+    public static String digest(String value) {
+        return DigestUtils.sha256Hex(value);
+    }
+
+    private boolean isExpired(VerifiedToken verifiedToken) {
+        long ttl = configurationService.getLongProperty("jwt.cache.ttl", DEFAULT_TTL);
+        return System.currentTimeMillis() - verifiedToken.getVerifiedAt() >= ttl * 1000;
+    }
+
+    private String getKey(String handlerName, String token) {
+        return handlerName + ":" + digest(token);
+    }
+
+    private synchronized Map<String, VerifiedToken> getCache() {
+        if (cache == null) {
+            int maxEntries = configurationService.getIntProperty("jwt.cache.max-entries", DEFAULT_MAX_ENTRIES);
+            cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                    return size() > maxEntries;
+                }
+
+            });
+        }
+        return cache;
+    }
+
+    /**
+     * A token whose signature has been verified.
+     */
+    public static class VerifiedToken {
+
+        private final JWTClaimsSet claimsSet;
+
+        private final UUID ePersonId;
+
+        private final String signingKeyDigest;
+
+        private final long verifiedAt;
+
+        public VerifiedToken(JWTClaimsSet claimsSet, UUID ePersonId, String signingKeyDigest) {
+            this.claimsSet = claimsSet;
+            this.ePersonId = ePersonId;
+            this.signingKeyDigest = signingKeyDigest;
+            this.verifiedAt = System.currentTimeMillis();
+        }
+
+        public JWTClaimsSet getClaimsSet() {
+            return claimsSet;
+        }
+
+        public UUID getEPersonId() {
+            return ePersonId;
+        }
+
+        public String getSigningKeyDigest() {
+            return signingKeyDigest;
+        }
+
+        public long getVerifiedAt() {
+            return verifiedAt;
+        }
+
+    }
+
+}
@@ -7,11 +7,21 @@
  */
 package org.dspace.app.rest.utils;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.ThreadContext;
+import org.dspace.core.profiling.RequestProfile;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.filter.AbstractRequestLoggingFilter;
@@ -30,12 +40,40 @@ import org.springframework.web.filter.AbstractRequestLoggingFilter;
  * friendly client applications (such as our angular UI), if specified as
  * X-Correlation-ID (correlationID)
  *
+ * When the logging.server.profiling.enabled property is true the database
+ * statements, the Solr calls and the REST conversions of each request are
+ * profiled: their counts and times are reported in the Server-Timing response
+ * header and a sample of the slow requests, or of the ones repeating the same
+ * statement many times (a likely N+1 select), is logged with their profile.
+ *
  * @author Andrea Bollini (andrea.bollini at 4science.it)
  */
 public class DSpaceAPIRequestLoggingFilter extends AbstractRequestLoggingFilter {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        if (!isProfilingEnabled() || isAsyncDispatch(request)) {
+            super.doFilterInternal(request, response, filterChain);
+            return;
+        }
+
+        RequestProfile profile = RequestProfile.start();
+        try {
+            if (configurationService.getBooleanProperty("logging.server.profiling.include-headers", true)) {
+                ProfilingResponseWrapper responseWrapper = new ProfilingResponseWrapper(response, profile);
+                super.doFilterInternal(request, responseWrapper, filterChain);
+                responseWrapper.addServerTiming();
+            } else {
+                super.doFilterInternal(request, response, filterChain);
+            }
+        } finally {
+            RequestProfile.stop();
+        }
+    }
+
     @Override
     protected boolean shouldLog(HttpServletRequest request) {
         return true;
@@ -89,10 +127,102 @@ public class DSpaceAPIRequestLoggingFilter extends AbstractRequestLoggingFilter
         if (isAfterRequestLoggingEnabled()) {
             logger.info(message);
         }
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            logProfile(request, profile);
+        }
         ThreadContext.clearAll();
     }
 
+    /**
+     * Log the profile of the request if it's slow or if it repeated the same
+     * statement many times, limited to the configured percentage of them.
+     */
+    private void logProfile(HttpServletRequest request, RequestProfile profile) {
+        long slowRequestThreshold =
+            configurationService.getLongProperty("logging.server.profiling.slow-request-threshold", 1000);
+        int repeatedStatementThreshold =
+            configurationService.getIntProperty("logging.server.profiling.repeated-statement-threshold", 10);
+        int samplePercentage = configurationService.getIntProperty("logging.server.profiling.sample-percentage", 100);
+
+        Map<String, Integer> repeatedStatements = profile.getRepeatedStatements(repeatedStatementThreshold);
+        boolean slow = profile.getElapsedTime() >= slowRequestThreshold;
+        if ((!slow && repeatedStatements.isEmpty()) || ThreadLocalRandom.current().nextInt(100) >= samplePercentage) {
+            return;
+        }
+
+        logger.warn((slow ? "Slow request " : "Request ") + request.getMethod() + " " + request.getRequestURI()
+            + ": " + profile.getSummary());
+        repeatedStatements.forEach((sql, count) ->
+            logger.warn("Statement executed " + count + " times, possible N+1 select: " + sql));
+    }
+
     private boolean isAfterRequestLoggingEnabled() {
         return configurationService.getBooleanProperty("logging.server.include-after-request");
     }
+
+    private boolean isProfilingEnabled() {
+        return configurationService.getBooleanProperty("logging.server.profiling.enabled", false);
+    }
+
+    /**
+     * Response wrapper adding the Server-Timing header with the profile of the
+     * request as soon as the body starts to be written, as the headers can't
+     * be changed once the response is committed.
+     */
+    private static class ProfilingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final RequestProfile profile;
+
+        private boolean serverTimingAdded;
+
+        private ProfilingResponseWrapper(HttpServletResponse response, RequestProfile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+
+        private void addServerTiming() {
+            if (!serverTimingAdded && !isCommitted()) {
+                addHeader("Server-Timing", profile.getServerTiming());
+            }
+            serverTimingAdded = true;
+        }
+
+    }
 }
@@ -0,0 +1,58 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.scheduler.access;
+
+import java.sql.SQLException;
+
+import org.dspace.access.status.service.AccessStatusService;
+import org.dspace.core.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Computes again the stored access status of the items whose scheduled
+ * change, like an embargo lift, is due. Can be enabled via the configuration
+ * property {@code access.status.scheduler.enabled}
+ **/
+@Service
+@ConditionalOnProperty(prefix = "access.status.scheduler", name = "enabled", havingValue = "true")
+public class AccessStatusScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessStatusScheduler.class);
+
+    @Autowired
+    private AccessStatusService accessStatusService;
+
+    /**
+     * Updates the expired access statuses.
+     * This task is scheduled to be run by the cron expression defined in the configuration file.
+     *
+     */
+    @Scheduled(cron = "${access.status.scheduler.cron:-}")
+    protected void updateExpiredAccessStatuses() throws SQLException {
+        Context context = new Context();
+        context.turnOffAuthorisationSystem();
+        try {
+
+            int count = accessStatusService.updateExpiredAccessStatuses(context);
+            log.info("Updated the access status of {} items", count);
+
+            context.restoreAuthSystemState();
+            context.complete();
+        } catch (Exception e) {
+            context.abort();
+            log.error("Failed to update the expired access statuses", e);
+            throw e;
+        }
+    }
+
+}
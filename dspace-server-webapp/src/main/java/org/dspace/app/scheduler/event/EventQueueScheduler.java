@@ -0,0 +1,50 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.scheduler.event;
+
+import java.sql.SQLException;
+
+import org.dspace.event.service.EventQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Delivers the queued events to the asynchronous consumers. Can be enabled
+ * via the configuration property {@code event.queue.scheduler.enabled}
+ **/
+@Service
+@ConditionalOnProperty(prefix = "event.queue.scheduler", name = "enabled", havingValue = "true")
+public class EventQueueScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EventQueueScheduler.class);
+
+    @Autowired
+    private EventQueueService eventQueueService;
+
+    /**
+     * Delivers the queued events.
+     * This task is scheduled to be run with the delay defined in the configuration file.
+     *
+     */
+    @Scheduled(fixedDelayString = "${event.queue.scheduler.delay:5000}")
+    protected void deliverQueuedEvents() {
+        try {
+            int delivered = eventQueueService.deliverQueuedEvents();
+            if (delivered > 0) {
+                log.debug("Delivered {} queued events", delivered);
+            }
+        } catch (SQLException e) {
+            log.error("Failed to deliver the queued events", e);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.scheduler.event;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.event.ConsumerStatistics;
+import org.dspace.event.service.EventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Logs a periodic summary of the event consumer statistics, with the events
+ * per second received by each consumer since the previous summary. Can be
+ * enabled via the configuration property {@code event.statistics.log.enabled}
+ **/
+@Service
+@ConditionalOnProperty(prefix = "event.statistics.log", name = "enabled", havingValue = "true")
+public class EventStatisticsScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStatisticsScheduler.class);
+
+    @Autowired
+    private EventService eventService;
+
+    private final Map<String, Long> previousEventCounts = new HashMap<>();
+
+    private long previousTime = System.currentTimeMillis();
+
+    /**
+     * Logs the summary of the consumers that received events since the
+     * previous summary, starting from the ones that spent the most time.
+     * This task is scheduled to be run with the delay defined in the configuration file.
+     *
+     */
+    @Scheduled(fixedDelayString = "${event.statistics.log.delay:300000}")
+    protected void logStatistics() {
+        long now = System.currentTimeMillis();
+        double elapsedSeconds = Math.max(1, now - previousTime) / 1000.0;
+        previousTime = now;
+
+        for (ConsumerStatistics statistics : eventService.getConsumerStatistics()) {
+            long eventCount = statistics.getEventCount();
+            Long previousEventCount = previousEventCounts.put(statistics.getName(), eventCount);
+            long intervalEvents = eventCount - (previousEventCount != null ? previousEventCount : 0);
+            if (intervalEvents > 0) {
+                log.info("Consumer {}: {} events ({} events/s), {}", statistics.getName(), intervalEvents,
+                    String.format("%.2f", intervalEvents / elapsedSeconds), statistics.getSummary());
+            }
+        }
+
+        List<String> slowConsumers = eventService.getSlowConsumers();
+        if (!slowConsumers.isEmpty()) {
+            log.warn("Slow event consumers: {}", slowConsumers);
+        }
+    }
+
+}
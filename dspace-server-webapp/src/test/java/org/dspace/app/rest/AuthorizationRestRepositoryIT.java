@@ -2145,6 +2145,62 @@ public class AuthorizationRestRepositoryIT extends AbstractControllerIntegration
                                        )));
     }
 
+    @Test
+    /**
+     * Verify that the search by multiple objects mixing a blank feature name with other feature names returns the
+     * union of the authorizations of every name, as the single searches would do.
+     *
+     * @throws Exception
+     */
+    public void findByMultipleObjectsAndBlankAndNamedFeaturesTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community com = CommunityBuilder.createCommunity(context).withName("A test community").build();
+        String comId = com.getID().toString();
+        CommunityRest comRest = communityConverter.convert(com, DefaultProjection.DEFAULT);
+        context.restoreAuthSystemState();
+
+        String adminToken = getAuthToken(admin.getEmail(), password);
+
+        String alwaysTrueId = admin.getID().toString() + "_" + alwaysTrue.getName() + "_"
+            + comRest.getUniqueType() + "_" + comRest.getId();
+        String alwaysFalseId = admin.getID().toString() + "_" + alwaysFalse.getName() + "_"
+            + comRest.getUniqueType() + "_" + comRest.getId();
+
+        // all the features granted on the community, searched without feature name
+        String comUri = utils.linkToSingleResource(comRest, "self").getHref();
+        String allFeaturesResponse = getClient(adminToken).perform(get("/api/authz/authorizations/search/object")
+            .param("uri", comUri)
+            .param("size", "100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$._embedded.authorizations[?(@.id == '" + alwaysTrueId + "')]", hasSize(1)))
+            .andReturn().getResponse().getContentAsString();
+        int allFeatures = read(allFeaturesResponse, "$.page.totalElements");
+
+        // the named features are added to all the features, the granted ones are repeated
+        getClient(adminToken).perform(get("/api/authz/authorizations/search/objects")
+            .param("type", "core.community")
+            .param("uuid", comId)
+            .param("feature", "")
+            .param("feature", alwaysTrue.getName())
+            .param("feature", alwaysFalse.getName())
+            .param("size", "100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page.totalElements", is(allFeatures + 1)))
+            .andExpect(jsonPath("$._embedded.authorizations[?(@.id == '" + alwaysTrueId + "')]", hasSize(2)))
+            .andExpect(jsonPath("$._embedded.authorizations[?(@.id == '" + alwaysFalseId + "')]", hasSize(0)));
+
+        // the order of the names doesn't matter
+        getClient(adminToken).perform(get("/api/authz/authorizations/search/objects")
+            .param("type", "core.community")
+            .param("uuid", comId)
+            .param("feature", alwaysTrue.getName())
+            .param("feature", "")
+            .param("size", "100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page.totalElements", is(allFeatures + 1)))
+            .andExpect(jsonPath("$._embedded.authorizations[?(@.id == '" + alwaysTrueId + "')]", hasSize(2)));
+    }
+
     @Test
     /**
      * Verify that the search by many objects and features works return 204 No Content when no feature is granted.
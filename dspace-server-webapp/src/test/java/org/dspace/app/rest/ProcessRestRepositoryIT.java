@@ -12,11 +12,18 @@ import static org.dspace.content.ProcessStatus.SCHEDULED;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.LinkedList;
@@ -26,6 +33,7 @@ import java.util.UUID;
 
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.dspace.app.rest.matcher.PageMatcher;
 import org.dspace.app.rest.matcher.ProcessFileTypesMatcher;
@@ -45,6 +53,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
 
 public class ProcessRestRepositoryIT extends AbstractControllerIntegrationTest {
 
@@ -948,6 +957,75 @@ public class ProcessRestRepositoryIT extends AbstractControllerIntegrationTest {
         processService.delete(context, process);
     }
 
+    @Test
+    public void getRunningProcessLog() throws Exception {
+        Process process = ProcessBuilder.createProcess(context, eperson, "mock-script", parameters).build();
+        processService.appendLog(process.getID(), process.getName(), "first line", ProcessLogLevel.INFO);
+        processService.appendLog(process.getID(), process.getName(), "second line", ProcessLogLevel.WARNING);
+
+        String token = getAuthToken(eperson.getEmail(), password);
+
+        MvcResult result = getClient(token).perform(get("/api/system/processes/" + process.getID() + "/log"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().string(containsString("INFO mock-script - " + process.getID()
+                            + " @ first line")))
+                        .andExpect(content().string(containsString("WARNING mock-script - " + process.getID()
+                            + " @ second line")))
+                        .andReturn();
+
+        String position = result.getResponse().getHeader(ProcessLogController.LOG_POSITION_HEADER);
+        processService.appendLog(process.getID(), process.getName(), "third line", ProcessLogLevel.INFO);
+
+        getClient(token).perform(get("/api/system/processes/" + process.getID() + "/log")
+                            .param("position", position))
+                        .andExpect(status().isOk())
+                        .andExpect(content().string(not(containsString("first line"))))
+                        .andExpect(content().string(containsString("@ third line")));
+
+        getClient(token).perform(get("/api/system/processes/" + process.getID() + "/log")
+                            .param("position", "-5"))
+                        .andExpect(status().isOk())
+                        .andExpect(content().string(is("line" + System.lineSeparator())));
+
+        processService.createLogBitstream(context, process);
+
+        getClient(token).perform(get("/api/system/processes/" + process.getID() + "/log"))
+                        .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void appendLogAfterLogBitstreamIsRefused() throws Exception {
+        Process process = ProcessBuilder.createProcess(context, eperson, "mock-script", parameters).build();
+        processService.appendLog(process.getID(), process.getName(), "first line", ProcessLogLevel.INFO);
+        processService.createLogBitstream(context, process);
+
+        assertThrows(IOException.class, () -> processService.appendLog(process.getID(), process.getName(),
+            "late line", ProcessLogLevel.INFO));
+
+        // no log is opened again on the temporary file
+        assertFalse(new File(FileUtils.getTempDirectory(), "mock-script-" + process.getID() + ".log").exists());
+
+        String token = getAuthToken(eperson.getEmail(), password);
+        getClient(token).perform(get("/api/system/processes/" + process.getID() + "/log"))
+                        .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void getRunningProcessLogOfOthersByNotAdminTest() throws Exception {
+        Process process = ProcessBuilder.createProcess(context, admin, "mock-script", parameters).build();
+        processService.appendLog(process.getID(), process.getName(), "testlog", ProcessLogLevel.INFO);
+
+        String token = getAuthToken(eperson.getEmail(), password);
+
+        getClient(token).perform(get("/api/system/processes/" + process.getID() + "/log"))
+                        .andExpect(status().isForbidden());
+
+        getClient().perform(get("/api/system/processes/" + process.getID() + "/log"))
+                        .andExpect(status().isUnauthorized());
+
+        processService.delete(context, process);
+    }
+
     @Test
     public void testFindByCurrentUser() throws Exception {
 
@@ -0,0 +1,117 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The latencies and the errors of the requests sent to an endpoint during a
+ * load test. The requests are recorded concurrently by the worker threads.
+ */
+public class EndpointStatistics {
+
+    private final String endpoint;
+
+    private long[] latencies = new long[1024];
+
+    private int requests;
+
+    private int errors;
+
+    public EndpointStatistics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Record a request sent to the endpoint.
+     *
+     * @param nanos   the latency of the request in nanoseconds
+     * @param success whether the request succeeded
+     */
+    public synchronized void record(long nanos, boolean success) {
+        if (requests == latencies.length) {
+            latencies = Arrays.copyOf(latencies, requests * 2);
+        }
+        latencies[requests++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public synchronized int getRequests() {
+        return requests;
+    }
+
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the number of requests served per second in the given time.
+     *
+     * @param  elapsedNanos the duration of the load test in nanoseconds
+     * @return              the throughput
+     */
+    public synchronized double getThroughput(long elapsedNanos) {
+        return elapsedNanos > 0 ? requests * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    /**
+     * Returns the latency below which the given percentage of the requests
+     * were served, with the nearest rank method.
+     *
+     * @param  percentile the percentile, between 0 and 100
+     * @return            the latency in milliseconds, or 0 if no request was
+     *                    recorded
+     */
+    public synchronized double getPercentile(double percentile) {
+        if (requests == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, requests);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * requests);
+        return toMillis(sorted[Math.max(0, Math.min(rank, requests) - 1)]);
+    }
+
+    public synchronized double getMax() {
+        return getPercentile(100);
+    }
+
+    /**
+     * Returns a report line with the statistics of the endpoint.
+     *
+     * @param  elapsedNanos the duration of the load test in nanoseconds
+     * @return              the report line
+     */
+    public String format(long elapsedNanos) {
+        return String.format(Locale.ROOT, "%-20s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f", endpoint, getRequests(),
+            getErrors(), getThroughput(elapsedNanos), getPercentile(50), getPercentile(90), getPercentile(99),
+            getMax());
+    }
+
+    /**
+     * Returns the header of the report lines.
+     *
+     * @return the header
+     */
+    public static String formatHeader() {
+        return String.format(Locale.ROOT, "%-20s %8s %7s %9s %9s %9s %9s %9s", "endpoint", "requests", "errors",
+            "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.loadtest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link EndpointStatistics}.
+ */
+public class EndpointStatisticsTest {
+
+    @Test
+    public void testPercentiles() {
+        EndpointStatistics statistics = new EndpointStatistics("item");
+        // record the latencies from 100 down to 1 milliseconds, the last ten failing
+        for (int i = 100; i > 0; i--) {
+            statistics.record(TimeUnit.MILLISECONDS.toNanos(i), i > 10);
+        }
+
+        assertThat(statistics.getRequests(), is(100));
+        assertThat(statistics.getErrors(), is(10));
+        assertThat(statistics.getPercentile(50), is(50.0));
+        assertThat(statistics.getPercentile(90), is(90.0));
+        assertThat(statistics.getPercentile(99), is(99.0));
+        assertThat(statistics.getPercentile(0), is(1.0));
+        assertThat(statistics.getMax(), is(100.0));
+        assertThat(statistics.getThroughput(TimeUnit.SECONDS.toNanos(4)), is(25.0));
+    }
+
+    @Test
+    public void testGrowAndFormat() {
+        EndpointStatistics statistics = new EndpointStatistics("search");
+        for (int i = 0; i < 5000; i++) {
+            statistics.record(TimeUnit.MILLISECONDS.toNanos(2), true);
+        }
+
+        assertThat(statistics.getRequests(), is(5000));
+        assertThat(statistics.getPercentile(99), is(2.0));
+        assertThat(statistics.format(TimeUnit.SECONDS.toNanos(1)), containsString("search"));
+        assertThat(statistics.format(TimeUnit.SECONDS.toNanos(1)), containsString("5000.0"));
+    }
+
+    @Test
+    public void testNoRequests() {
+        EndpointStatistics statistics = new EndpointStatistics("facets");
+
+        assertThat(statistics.getPercentile(50), is(0.0));
+        assertThat(statistics.getThroughput(TimeUnit.SECONDS.toNanos(1)), is(0.0));
+    }
+
+}
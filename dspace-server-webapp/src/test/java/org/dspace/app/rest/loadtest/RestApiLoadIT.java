@@ -0,0 +1,228 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.loadtest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.rest.test.AbstractWebClientIntegrationTest;
+import org.dspace.builder.util.CrisDatasetGenerator;
+import org.dspace.builder.util.CrisDatasetGenerator.CrisDataset;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Item;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Load test of the REST API: a synthetic CRIS dataset is generated in the
+ * test database and Solr core, then a scripted mix of item page, discovery
+ * search, facet and bitstream download requests is sent to the embedded
+ * server from concurrent clients, reporting the throughput and the latency
+ * percentiles of every endpoint.
+ * <P>
+ * The test is skipped unless the loadtest system property is true, e.g.
+ * <code>mvn verify -DskipIntegrationTests=false -Dloadtest=true -Dit.test=RestApiLoadIT</code>.
+ * The following system properties configure the run:
+ * <ul>
+ * <li>loadtest.scale: the scale of the dataset, 1 generating 500 publications (default 1)</li>
+ * <li>loadtest.seed: the seed of the dataset and of the workload (default 42)</li>
+ * <li>loadtest.threads: the number of concurrent clients (default 4)</li>
+ * <li>loadtest.requests: the number of measured requests (default 2000)</li>
+ * <li>loadtest.duration: the maximum duration of the measurement in seconds (default 300)</li>
+ * <li>loadtest.warmup: the number of unmeasured requests sent first by every client (default 20); the
+ * measurement starts when all the clients have sent them</li>
+ * <li>loadtest.report: the JSON file where the statistics are written (optional)</li>
+ * </ul>
+ */
+public class RestApiLoadIT extends AbstractWebClientIntegrationTest {
+
+    private static final Logger log = LogManager.getLogger(RestApiLoadIT.class);
+
+    private static final String[] QUERIES = { "analysis", "quantum model", "protein", "climate data", "network",
+        "learning system", "theory" };
+
+    private static final String[] FACETS = { "author", "subject", "dateIssued" };
+
+    private CrisDataset dataset;
+
+    private final Map<String, EndpointStatistics> statistics = new LinkedHashMap<>();
+
+    @Before
+    public void onlyRunIfEnabled() throws Exception {
+        Assume.assumeTrue("Load test enabled", Boolean.getBoolean("loadtest"));
+
+        context.turnOffAuthorisationSystem();
+        long start = System.currentTimeMillis();
+        dataset = new CrisDatasetGenerator(context, Long.getLong("loadtest.seed", 42))
+            .withScale(Double.parseDouble(System.getProperty("loadtest.scale", "1")))
+            .generate();
+        context.restoreAuthSystemState();
+        // the server threads read the dataset from the database
+        context.commit();
+
+        log.info("Generated {} items and {} bitstreams in {} ms", dataset.getItems().size(),
+            dataset.getBitstreams().size(), System.currentTimeMillis() - start);
+
+        for (String endpoint : List.of("item", "search", "facets", "bitstream")) {
+            statistics.put(endpoint, new EndpointStatistics(endpoint));
+        }
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 4);
+        int warmup = Integer.getInteger("loadtest.warmup", 20);
+        int requests = Integer.getInteger("loadtest.requests", 2000);
+        long duration = TimeUnit.SECONDS.toNanos(Long.getLong("loadtest.duration", 300));
+        long seed = Long.getLong("loadtest.seed", 42);
+
+        AtomicInteger remaining = new AtomicInteger(requests);
+        // the measurement starts when all the clients have completed their warmup
+        AtomicLong start = new AtomicLong();
+        CyclicBarrier warmedUp = new CyclicBarrier(threads, () -> start.set(System.nanoTime()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Random random = new Random(seed + i);
+                clients.add(executor.submit(() -> {
+                    for (int j = 0; j < warmup; j++) {
+                        sendRequest(random, false);
+                    }
+                    warmedUp.await();
+                    long deadline = start.get() + duration;
+                    while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+                        sendRequest(random, true);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start.get();
+
+        report(threads, elapsed);
+
+        for (EndpointStatistics endpointStatistics : statistics.values()) {
+            assertThat("Failed requests to " + endpointStatistics.getEndpoint(), endpointStatistics.getErrors(),
+                is(0));
+        }
+    }
+
+    /**
+     * Send a request chosen with the weights of a typical navigation: item
+     * pages are the most requested, followed by searches, facets and
+     * downloads.
+     */
+    private void sendRequest(Random random, boolean measured) {
+        int choice = random.nextInt(100);
+        String endpoint;
+        String path;
+        if (choice < 40) {
+            Item item = pick(random, dataset.getItems());
+            endpoint = "item";
+            path = "/api/core/items/" + item.getID() + "?embed=bundles&embed=thumbnail";
+        } else if (choice < 70) {
+            endpoint = "search";
+            path = "/api/discover/search/objects?query=" + pick(random, QUERIES) + "&page=" + random.nextInt(3);
+        } else if (choice < 85) {
+            endpoint = "facets";
+            path = "/api/discover/facets/" + pick(random, FACETS);
+        } else {
+            Bitstream bitstream = pick(random, dataset.getBitstreams());
+            endpoint = "bitstream";
+            path = "/api/core/bitstreams/" + bitstream.getID() + "/content";
+        }
+
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            ResponseEntity<byte[]> response = getClient().getForEntity(getURL(path), byte[].class);
+            success = response.getStatusCode().is2xxSuccessful();
+            if (!success && measured) {
+                log.warn("Request to {} failed with status {}", path, response.getStatusCodeValue());
+            }
+        } catch (RuntimeException e) {
+            success = false;
+            if (measured) {
+                log.warn("Request to {} failed", path, e);
+            }
+        }
+        if (measured) {
+            statistics.get(endpoint).record(System.nanoTime() - start, success);
+        }
+    }
+
+    private void report(int threads, long elapsed) throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(EndpointStatistics.formatHeader());
+        for (EndpointStatistics endpointStatistics : statistics.values()) {
+            lines.add(endpointStatistics.format(elapsed));
+        }
+        log.info("Load test with {} clients in {} ms:\n{}", threads, TimeUnit.NANOSECONDS.toMillis(elapsed),
+            String.join("\n", lines));
+
+        String reportFile = System.getProperty("loadtest.report");
+        if (StringUtils.isBlank(reportFile)) {
+            return;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("items", dataset.getItems().size());
+        report.put("bitstreams", dataset.getBitstreams().size());
+        report.put("threads", threads);
+        report.put("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (EndpointStatistics endpointStatistics : statistics.values()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", endpointStatistics.getRequests());
+            values.put("errors", endpointStatistics.getErrors());
+            values.put("throughput", endpointStatistics.getThroughput(elapsed));
+            values.put("p50", endpointStatistics.getPercentile(50));
+            values.put("p90", endpointStatistics.getPercentile(90));
+            values.put("p99", endpointStatistics.getPercentile(99));
+            values.put("max", endpointStatistics.getMax());
+            endpoints.put(endpointStatistics.getEndpoint(), values);
+        }
+        report.put("endpoints", endpoints);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(reportFile), report);
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+}
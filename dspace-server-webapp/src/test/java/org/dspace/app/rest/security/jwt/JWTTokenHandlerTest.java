@@ -9,6 +9,8 @@ package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -16,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
 
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -37,6 +40,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 import org.springframework.security.crypto.keygen.StringKeyGenerator;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * @author Frederic Van Reet (frederic dot vanreet at atmire dot com)
@@ -76,6 +80,8 @@ public class JWTTokenHandlerTest {
     @Spy
     protected List<JWTClaimProvider> jwtClaimProviders = new ArrayList<>();
 
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Before
     public void setUp() throws Exception {
         when(ePerson.getSessionSalt()).thenReturn("01234567890123456789012345678901");
@@ -91,6 +97,21 @@ public class JWTTokenHandlerTest {
     public void tearDown() throws Exception {
     }
 
+    private UUID enableVerifiedTokenCache() throws Exception {
+        UUID ePersonId = UUID.randomUUID();
+        when(ePerson.getID()).thenReturn(ePersonId);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        when(ePersonService.find(context, ePersonId)).thenReturn(ePerson);
+        when(configurationService.getBooleanProperty("jwt.login.cache.enabled", false)).thenReturn(true);
+        when(configurationService.getLongProperty("jwt.cache.ttl", 60L)).thenReturn(60L);
+        when(configurationService.getIntProperty("jwt.cache.max-entries", 10000)).thenReturn(10000);
+
+        verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "configurationService", configurationService);
+        ReflectionTestUtils.setField(loginJWTTokenHandler, "verifiedTokenCache", verifiedTokenCache);
+        return ePersonId;
+    }
+
     @Test
     public void testJWTNoEncryption() throws Exception {
         Date previous = new Date(System.currentTimeMillis() - 10000000000L);
@@ -142,6 +163,39 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testVerifiedTokenIsCached() throws Exception {
+        UUID ePersonId = enableVerifiedTokenCache();
+        Date previous = new Date(System.currentTimeMillis() - 10000000000L);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+
+        // the claims are parsed on every request, but the token is verified only once
+        verify(ePersonClaimProvider, times(2)).parseClaim(any(), any(), any());
+        verify(ePersonClaimProvider, times(1)).getEPerson(any(), any());
+        verify(ePersonService, times(1)).find(context, ePersonId);
+        assertEquals(1L, verifiedTokenCache.getStatistics().get("hits"));
+        assertEquals(1L, verifiedTokenCache.getStatistics().get("misses"));
+    }
+
+    @Test
+    public void testCachedTokenIsDiscardedWhenSessionSaltChanges() throws Exception {
+        enableVerifiedTokenCache();
+        Date previous = new Date(System.currentTimeMillis() - 10000000000L);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+
+        // simulate a new login from another device, that regenerates the session salt
+        when(ePerson.getSessionSalt()).thenReturn("98765432109876543210987654321098");
+        assertEquals(null, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(0, verifiedTokenCache.getStatistics().get("size"));
+    }
+
     @Test
     public void testInvalidatedToken() throws Exception {
         Date previous = new Date(System.currentTimeMillis() - 10000000000L);
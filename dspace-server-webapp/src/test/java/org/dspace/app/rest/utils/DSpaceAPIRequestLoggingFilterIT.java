@@ -0,0 +1,92 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the profiling of the requests by
+ * {@link DSpaceAPIRequestLoggingFilter}, reported in the Server-Timing
+ * response header.
+ */
+public class DSpaceAPIRequestLoggingFilterIT extends AbstractControllerIntegrationTest {
+
+    // at least one statement and one conversion, with any duration
+    private static final String SERVER_TIMING_REGEX = "db;desc=\"[1-9]\\d* statements\";dur=[\\d.]+, "
+        + "solr;desc=\"\\d+ calls\";dur=[\\d.]+, convert;desc=\"[1-9]\\d* objects\";dur=[\\d.]+, total;dur=[\\d.]+";
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private Item item;
+
+    @Before
+    public void setup() {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+            .withName("Parent Community")
+            .build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+            .withName("Collection")
+            .build();
+        item = ItemBuilder.createItem(context, collection)
+            .withTitle("Profiled item")
+            .build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void resetProfiling() {
+        configurationService.setProperty("logging.server.profiling.enabled", null);
+        configurationService.setProperty("logging.server.profiling.include-headers", null);
+    }
+
+    @Test
+    public void testServerTimingHeaderWhenProfilingEnabled() throws Exception {
+        configurationService.setProperty("logging.server.profiling.enabled", true);
+
+        getClient().perform(get("/api/core/items/" + item.getID()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Server-Timing", matchesPattern(SERVER_TIMING_REGEX)));
+    }
+
+    @Test
+    public void testNoServerTimingHeaderWhenProfilingDisabled() throws Exception {
+        configurationService.setProperty("logging.server.profiling.enabled", false);
+
+        getClient().perform(get("/api/core/items/" + item.getID()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Server-Timing"));
+    }
+
+    @Test
+    public void testNoServerTimingHeaderWhenHeadersExcluded() throws Exception {
+        configurationService.setProperty("logging.server.profiling.enabled", true);
+        configurationService.setProperty("logging.server.profiling.include-headers", false);
+
+        getClient().perform(get("/api/core/items/" + item.getID()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Server-Timing"));
+    }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.servicemanager.config;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.apache.commons.configuration2.Configuration;
+
+/**
+ * The interpolated and converted values read from a given version of the
+ * configuration. Each value is read from the configuration the first time it
+ * is requested, then it is served from the snapshot without locking.
+ * <P>
+ * A snapshot is never updated: when the configuration changes the
+ * {@link DSpaceConfigurationService} replaces it with a new one. Errors, like
+ * circular variable references or values not convertible to the requested
+ * type, are not cached.
+ */
+final class ConfigurationSnapshot {
+
+    // Placeholder for null values, which cannot be stored in a ConcurrentHashMap
+    private static final Object NULL_VALUE = new Object();
+
+    // The types cached by the snapshot, besides the String ones and the arrays, which are copied when returned
+    private static final Set<Class<?>> CACHEABLE_TYPES = Set.of(BigDecimal.class, BigInteger.class,
+        Boolean.class, boolean.class, Byte.class, byte.class, Double.class, double.class, Float.class, float.class,
+        Integer.class, int.class, Long.class, long.class, Short.class, short.class);
+
+    private final Configuration configuration;
+
+    private final long version;
+
+    private final ConcurrentMap<String, Boolean> keys = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Object>> values = new ConcurrentHashMap<>();
+
+    ConfigurationSnapshot(Configuration configuration, long version) {
+        this.configuration = configuration;
+        this.version = version;
+    }
+
+    /**
+     * Returns whether the given type is cached by the snapshot: the types
+     * String is assignable to, like Object, are read as String values.
+     *
+     * @param type the requested type
+     * @return true if the values of the given type are cached
+     */
+    static boolean isCacheable(Class<?> type) {
+        return type.isArray() || type.isAssignableFrom(String.class) || CACHEABLE_TYPES.contains(type);
+    }
+
+    Configuration getConfiguration() {
+        return configuration;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether the given key exists in the configuration.
+     *
+     * @param name key of the property
+     * @return true if the key exists
+     */
+    boolean containsKey(String name) {
+        Boolean containsKey = keys.get(name);
+        if (containsKey == null) {
+            containsKey = keys.computeIfAbsent(name, configuration::containsKey);
+        }
+        return containsKey;
+    }
+
+    /**
+     * Returns the value of the given property converted to the given
+     * cacheable type, converting it with the given function the first time
+     * it is requested.
+     *
+     * @param name      key of the property
+     * @param type      a cacheable type
+     * @param converter the conversion of the property value
+     * @param <T>       object type
+     * @return the converted value
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getValue(String name, Class<T> type, Function<String, T> converter) {
+        Map<String, Object> typeValues = values.get(type);
+        if (typeValues == null) {
+            typeValues = values.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+
+        Object value = typeValues.get(name);
+        if (value == null) {
+            value = typeValues.computeIfAbsent(name, key -> {
+                T converted = converter.apply(key);
+                return converted != null ? converted : NULL_VALUE;
+            });
+        }
+
+        if (value == NULL_VALUE) {
+            return null;
+        }
+        if (value instanceof Object[]) {
+            return (T) ((Object[]) value).clone();
+        }
+        return (T) value;
+    }
+
+}
@@ -21,14 +21,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.ConfigurationConverter;
 import org.apache.commons.configuration2.builder.ConfigurationBuilderEvent;
+import org.apache.commons.configuration2.builder.ConfigurationBuilderResultCreatedEvent;
 import org.apache.commons.configuration2.builder.combined.ReloadingCombinedConfigurationBuilder;
 import org.apache.commons.configuration2.builder.fluent.Parameters;
 import org.apache.commons.configuration2.convert.DefaultListDelimiterHandler;
+import org.apache.commons.configuration2.event.ConfigurationEvent;
 import org.apache.commons.configuration2.event.Event;
+import org.apache.commons.configuration2.event.EventSource;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.dspace.services.ConfigurationService;
 import org.slf4j.Logger;
@@ -39,6 +43,12 @@ import org.springframework.core.io.ClassPathResource;
 /**
  * The central DSpace configuration service. Uses Apache Commons Configuration
  * to provide the ability to reload Property files.
+ * <P>
+ * The String, primitive and array values are read through a
+ * {@link ConfigurationSnapshot}, without locking: any change of the
+ * configuration, including its reload, replaces the snapshot. As the reads
+ * served by the snapshot don't access the configuration builder, the
+ * reloading checks are performed by them at most once per second.
  *
  * @author Tim Donohue (rewrote to use Apache Commons Config
  * @author Aaron Zeckoski
@@ -67,6 +77,9 @@ public final class DSpaceConfigurationService implements ConfigurationService {
     // Configuration list delimiter. Configurations with this character will be split into arrays
     public static final char CONFIG_LIST_DELIMITER = ',';
 
+    // Minimum interval in milliseconds between two reloading checks performed by the snapshot reads
+    private static final long RELOAD_CHECK_INTERVAL = 1000;
+
     // Current ConfigurationBuilder
     // NOTE: we only cache the "builder", as it controls when a configuration is automatically reloaded
     private ReloadingCombinedConfigurationBuilder configurationBuilder = null;
@@ -77,6 +90,15 @@ public final class DSpaceConfigurationService implements ConfigurationService {
     // Current Configuration Definition File
     private String configDefinition = null;
 
+    // Version of the configuration, incremented on every change
+    private final AtomicLong version = new AtomicLong();
+
+    // Values read from the current version of the configuration
+    private volatile ConfigurationSnapshot snapshot = null;
+
+    // Time of the next reloading check performed by the snapshot reads
+    private final AtomicLong nextReloadCheck = new AtomicLong();
+
     /**
      * Initializes a ConfigurationService based on default values. The DSpace
      * Home directory is determined based on system properties / searching.
@@ -177,7 +199,7 @@ public final class DSpaceConfigurationService implements ConfigurationService {
      * @see org.dspace.services.ConfigurationService#getProperty(java.lang.String)
      */
     @Override
-    public synchronized String getProperty(String name) {
+    public String getProperty(String name) {
         return getProperty(name, null);
     }
 
@@ -198,7 +220,7 @@ public final class DSpaceConfigurationService implements ConfigurationService {
      * @see org.dspace.services.ConfigurationService#getProperty(java.lang.String, java.lang.String)
      */
     @Override
-    public synchronized String getProperty(String name, String defaultValue) {
+    public String getProperty(String name, String defaultValue) {
         return getPropertyAsType(name, defaultValue);
     }
 
@@ -349,11 +371,7 @@ public final class DSpaceConfigurationService implements ConfigurationService {
      */
     @Override
     public boolean hasProperty(String name) {
-        if (getConfiguration().containsKey(name)) {
-            return true;
-        } else {
-            return false;
-        }
+        return getSnapshot().containsKey(name);
     }
 
     @Override
@@ -524,6 +542,21 @@ public final class DSpaceConfigurationService implements ConfigurationService {
                             .setFile(new File(this.configDefinition))
                             .setListDelimiterHandler(listDelimiterHandler));
 
+            // Replace the snapshot whenever the configuration is reset (e.g. reloaded), recreated or changed
+            this.configurationBuilder.addEventListener(ConfigurationBuilderEvent.RESET,
+                (ConfigurationBuilderEvent e) -> invalidateSnapshot());
+            this.configurationBuilder.addEventListener(ConfigurationBuilderResultCreatedEvent.RESULT_CREATED,
+                (ConfigurationBuilderResultCreatedEvent e) -> {
+                    if (e.getConfiguration() instanceof EventSource) {
+                        ((EventSource) e.getConfiguration()).addEventListener(ConfigurationEvent.ANY,
+                            (ConfigurationEvent ce) -> {
+                                if (!ce.isBeforeUpdate()) {
+                                    invalidateSnapshot();
+                                }
+                            });
+                    }
+                });
+
             // Parse our configuration definition and initialize resulting Configuration
             this.configurationBuilder.getConfiguration();
 
@@ -562,6 +595,8 @@ public final class DSpaceConfigurationService implements ConfigurationService {
             // This ensures all configs, including System properties and Environment variables are reloaded
             this.configurationBuilder.getConfiguration().invalidate();
 
+            invalidateSnapshot();
+
             // Reload/reinitialize our configuration
             this.configurationBuilder.getConfiguration();
 
@@ -573,6 +608,43 @@ public final class DSpaceConfigurationService implements ConfigurationService {
         log.info("Reloaded configuration service: " + toString());
     }
 
+    /**
+     * Returns the snapshot of the current version of the configuration,
+     * creating it if the configuration changed since the last one.
+     *
+     * @return the current snapshot
+     */
+    private ConfigurationSnapshot getSnapshot() {
+        checkForReloading();
+
+        // Read the version before the configuration: if they change meanwhile, the snapshot is recreated next time
+        long currentVersion = version.get();
+        ConfigurationSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null || currentSnapshot.getVersion() != currentVersion) {
+            currentSnapshot = new ConfigurationSnapshot(getConfiguration(), currentVersion);
+            snapshot = currentSnapshot;
+        }
+        return currentSnapshot;
+    }
+
+    private void invalidateSnapshot() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Checks the reloadable configurations for any updates, as done on every
+     * access to the configuration builder, at most once per
+     * RELOAD_CHECK_INTERVAL and by a single thread.
+     */
+    private void checkForReloading() {
+        long now = System.currentTimeMillis();
+        long next = nextReloadCheck.get();
+        if (now >= next && nextReloadCheck.compareAndSet(next, now + RELOAD_CHECK_INTERVAL)
+                && this.configurationBuilder.getReloadingController() != null) {
+            this.configurationBuilder.getReloadingController().checkForReloading(null);
+        }
+    }
+
     /**
      * Sets properties which are determined dynamically rather than
      * loaded via configuration.
@@ -718,8 +790,10 @@ public final class DSpaceConfigurationService implements ConfigurationService {
     @SuppressWarnings("unchecked")
     private <T> T convert(String name, Class<T> type) {
 
+        ConfigurationSnapshot currentSnapshot = getSnapshot();
+
         // If this key doesn't exist, just return null
-        if (!getConfiguration().containsKey(name)) {
+        if (!currentSnapshot.containsKey(name)) {
             // Special case. For booleans, return false if key doesn't exist
             if (Boolean.class.equals(type) || boolean.class.equals(type)) {
                 return (T) Boolean.FALSE;
@@ -728,36 +802,55 @@ public final class DSpaceConfigurationService implements ConfigurationService {
             }
         }
 
+        Configuration configuration = currentSnapshot.getConfiguration();
+        if (ConfigurationSnapshot.isCacheable(type)) {
+            return currentSnapshot.getValue(name, type, key -> convert(configuration, key, type));
+        }
+        return convert(configuration, name, type);
+    }
+
+    /**
+     * Convert the value of a given property of the given configuration to a
+     * specific object type.
+     *
+     * @param configuration the configuration to read
+     * @param name          Key of the property to convert
+     * @param <T>           object type
+     * @return converted value
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T convert(Configuration configuration, String name, Class<T> type) {
+
         // Based on the type of class, call the appropriate
         // method of the Configuration object
         if (type.isArray()) {
-            return (T) getConfiguration().getStringArray(name);
+            return (T) configuration.getStringArray(name);
         } else if (String.class.equals(type) || type.isAssignableFrom(String.class)) {
-            return (T) getConfiguration().getString(name);
+            return (T) configuration.getString(name);
         } else if (BigDecimal.class.equals(type)) {
-            return (T) getConfiguration().getBigDecimal(name);
+            return (T) configuration.getBigDecimal(name);
         } else if (BigInteger.class.equals(type)) {
-            return (T) getConfiguration().getBigInteger(name);
+            return (T) configuration.getBigInteger(name);
         } else if (Boolean.class.equals(type) || boolean.class.equals(type)) {
-            return (T) Boolean.valueOf(getConfiguration().getBoolean(name));
+            return (T) Boolean.valueOf(configuration.getBoolean(name));
         } else if (Byte.class.equals(type) || byte.class.equals(type)) {
-            return (T) Byte.valueOf(getConfiguration().getByte(name));
+            return (T) Byte.valueOf(configuration.getByte(name));
         } else if (Double.class.equals(type) || double.class.equals(type)) {
-            return (T) Double.valueOf(getConfiguration().getDouble(name));
+            return (T) Double.valueOf(configuration.getDouble(name));
         } else if (Float.class.equals(type) || float.class.equals(type)) {
-            return (T) Float.valueOf(getConfiguration().getFloat(name));
+            return (T) Float.valueOf(configuration.getFloat(name));
         } else if (Integer.class.equals(type) || int.class.equals(type)) {
-            return (T) Integer.valueOf(getConfiguration().getInt(name));
+            return (T) Integer.valueOf(configuration.getInt(name));
         } else if (List.class.equals(type)) {
-            return (T) getConfiguration().getList(name);
+            return (T) configuration.getList(name);
         } else if (Long.class.equals(type) || long.class.equals(type)) {
-            return (T) Long.valueOf(getConfiguration().getLong(name));
+            return (T) Long.valueOf(configuration.getLong(name));
         } else if (Short.class.equals(type) || short.class.equals(type)) {
-            return (T) Short.valueOf(getConfiguration().getShort(name));
+            return (T) Short.valueOf(configuration.getShort(name));
         } else {
             // If none of the above works, try to convert the value to the required type
             SimpleTypeConverter converter = new SimpleTypeConverter();
-            return (T) converter.convertIfNecessary(getConfiguration().getProperty(name), type);
+            return (T) converter.convertIfNecessary(configuration.getProperty(name), type);
         }
     }
 }
@@ -17,9 +17,16 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.commons.configuration2.builder.FileBasedConfigurationBuilder;
@@ -29,6 +36,8 @@ import org.apache.commons.io.FileUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
@@ -38,6 +47,8 @@ import org.junit.Test;
  */
 public class DSpaceConfigurationServiceTest {
 
+    private static final Logger log = LoggerFactory.getLogger(DSpaceConfigurationServiceTest.class);
+
     DSpaceConfigurationService configurationService;
     int numPropsLoaded;
 
@@ -669,4 +680,79 @@ public class DSpaceConfigurationServiceTest {
         // reset DSPACE_HOME to previous value
         System.setProperty(DSpaceConfigurationService.DSPACE_HOME, previousValue);
     }
+
+    @Test
+    public void testChangesReplaceCachedValues() {
+        assertEquals(123, configurationService.getIntProperty("sample.number"));
+        assertEquals("Aaron Zeckoski", configurationService.getProperty("current.user"));
+
+        // changes made through the Configuration object are visible as well
+        configurationService.getConfiguration().setProperty("sample.number", "456");
+        configurationService.setProperty("aaronz", "Tim Donohue");
+
+        assertEquals(456, configurationService.getIntProperty("sample.number"));
+        assertEquals("Tim Donohue", configurationService.getProperty("current.user"));
+
+        configurationService.clearConfig("sample.number");
+        assertFalse(configurationService.hasProperty("sample.number"));
+        assertEquals(0, configurationService.getIntProperty("sample.number"));
+    }
+
+    @Test
+    public void testGetArrayPropertyReturnsCopy() {
+        String[] array = configurationService.getArrayProperty("sample.array");
+        array[0] = "changed";
+
+        assertEquals("itemA", configurationService.getArrayProperty("sample.array")[0]);
+    }
+
+    /**
+     * Reads the same properties from many threads while one of them is
+     * changed, logging the time spent: the reads don't share any lock.
+     */
+    @Test
+    public void testConcurrentReads() throws Exception {
+        int threads = 16;
+        int readsPerThread = 200_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < readsPerThread; j++) {
+                        assertEquals("DSpace", configurationService.getProperty("service.name"));
+                        assertEquals("Aaron Zeckoski", configurationService.getProperty("current.user"));
+                        assertTrue(configurationService.getBooleanProperty("sample.boolean"));
+                        assertEquals(3, configurationService.getArrayProperty("sample.array").length);
+                        assertNull(configurationService.getProperty("XXXXX"));
+                        String value = configurationService.getProperty("test.changing");
+                        assertTrue(value == null || value.startsWith("value"));
+                    }
+                    return null;
+                }));
+            }
+
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (int i = 0; i < 100; i++) {
+                configurationService.setProperty("test.changing", "value" + i);
+                Thread.sleep(1);
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+            log.info("Performed " + threads * readsPerThread * 6L + " reads from " + threads + " threads in "
+                + duration + " ms");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("value99", configurationService.getProperty("test.changing"));
+        configurationService.clearConfig("test.changing");
+    }
 }